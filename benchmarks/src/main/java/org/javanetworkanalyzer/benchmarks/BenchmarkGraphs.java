@@ -0,0 +1,207 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import org.javanetworkanalyzer.data.VId;
+import org.javanetworkanalyzer.generators.BarabasiAlbertGenerator;
+import org.javanetworkanalyzer.generators.EdgeSink;
+import org.javanetworkanalyzer.generators.GraphEdgeSink;
+import org.javanetworkanalyzer.generators.GraphGenerator;
+import org.javanetworkanalyzer.generators.GridGraphGenerator;
+import org.javanetworkanalyzer.generators.RiverTreeGenerator;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.Edge;
+import org.javanetworkanalyzer.model.StrahlerTree;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+
+/**
+ * Builds the seeded graphs the benchmarks run on.
+ *
+ * <p> Three topologies are available: {@link #GRID}, a square road-like grid,
+ * {@link #SCALE_FREE}, a Barabási–Albert graph with two edges per vertex, and
+ * {@link #RANDOM}, a path through all the vertices (so that the graph is
+ * connected) plus as many random edges, i.e. an average degree of about 4.
+ * Directed graphs hold each edge in both directions, like two-way roads, so
+ * that reachability does not depend on the orientation of the generator.
+ */
+// Edge is used raw, as by the graphs it builds.
+@SuppressWarnings("rawtypes")
+public final class BenchmarkGraphs {
+
+    /**
+     * Square grid topology.
+     */
+    public static final String GRID = "grid";
+    /**
+     * Scale-free topology.
+     */
+    public static final String SCALE_FREE = "scalefree";
+    /**
+     * Random topology.
+     */
+    public static final String RANDOM = "random";
+    /**
+     * Seed of all the random choices.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * Utility class.
+     */
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Builds a weighted graph of about {@code size} vertices numbered from 1.
+     *
+     * @param topology    {@link #GRID}, {@link #SCALE_FREE} or
+     *                    {@link #RANDOM}
+     * @param size        Number of vertices
+     * @param directed    Whether the graph is directed
+     * @param vertexClass Vertex class
+     * @param edgeClass   Edge class
+     * @param <V>         Vertex
+     * @param <E>         Edge
+     *
+     * @return The graph.
+     */
+    public static <V extends VId, E extends Edge> WeightedKeyedGraph<V, E>
+            weighted(String topology, int size, boolean directed,
+                     Class<? extends V> vertexClass,
+                     Class<? extends E> edgeClass)
+            throws NoSuchMethodException {
+        if (!directed) {
+            final WeightedKeyedGraph<V, E> graph =
+                    new WeightedPseudoG<V, E>(vertexClass, edgeClass);
+            generator(topology, size).generate(graph);
+            return graph;
+        }
+        final WeightedKeyedGraph<V, E> graph =
+                new DirectedWeightedPseudoG<V, E>(vertexClass, edgeClass);
+        final GraphEdgeSink<V, E> sink = new GraphEdgeSink<V, E>(graph);
+        try {
+            generator(topology, size).generate(new EdgeSink() {
+                @Override
+                public void addEdge(int id, int source, int target,
+                                    double weight) {
+                    sink.addEdge(2 * id - 1, source, target, weight);
+                    sink.addEdge(2 * id, target, source, weight);
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        } catch (IOException ex) {
+            // A graph sink does not do any I/O.
+            throw new IllegalStateException(ex);
+        }
+        sink.close();
+        return graph;
+    }
+
+    /**
+     * Writes a weighted graph as built by {@link #weighted} to a CSV file
+     * readable by the graph creators, the weights being in the column
+     * {@code length}.
+     *
+     * @param topology {@link #GRID}, {@link #SCALE_FREE} or {@link #RANDOM}
+     * @param size     Number of vertices
+     * @param file     Output file
+     *
+     * @throws IOException If the file could not be written.
+     */
+    public static void writeCSV(String topology, int size, File file)
+            throws IOException {
+        generator(topology, size).writeCSV(file);
+    }
+
+    /**
+     * Builds a random binary tree of {@code size} (at least 2) vertices rooted
+     * at 1.
+     *
+     * @param size Number of vertices
+     *
+     * @return The tree.
+     */
+    public static StrahlerTree<Edge> strahlerTree(int size) {
+        return new RiverTreeGenerator(size, SEED).generateTree(Edge.class);
+    }
+
+    /**
+     * Returns the generator of the given topology.
+     *
+     * @param topology {@link #GRID}, {@link #SCALE_FREE} or {@link #RANDOM}
+     * @param size     Number of vertices
+     *
+     * @return The generator of the given topology.
+     */
+    private static GraphGenerator generator(String topology, final int size) {
+        if (GRID.equals(topology)) {
+            final int side = (int) Math.ceil(Math.sqrt(size));
+            return new GridGraphGenerator(side, side, SEED);
+        } else if (SCALE_FREE.equals(topology)) {
+            return new BarabasiAlbertGenerator(size, 2, SEED);
+        } else if (RANDOM.equals(topology)) {
+            return new GraphGenerator(SEED) {
+                @Override
+                public void generate(EdgeSink sink) throws IOException {
+                    final Random random = new Random(seed);
+                    int edgeID = 0;
+                    for (int v = 1; v < size; v++) {
+                        sink.addEdge(++edgeID, v, v + 1,
+                                     1.0 + 9.0 * random.nextDouble());
+                    }
+                    for (int i = 1; i < size; i++) {
+                        sink.addEdge(++edgeID, 1 + random.nextInt(size),
+                                     1 + random.nextInt(size),
+                                     1.0 + 9.0 * random.nextDouble());
+                    }
+                }
+            };
+        }
+        throw new IllegalArgumentException("Unknown topology " + topology
+                + ".");
+    }
+}
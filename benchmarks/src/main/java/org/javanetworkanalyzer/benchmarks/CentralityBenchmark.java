@@ -0,0 +1,107 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.javanetworkanalyzer.analyzers.UnweightedGraphAnalyzer;
+import org.javanetworkanalyzer.analyzers.WeightedGraphAnalyzer;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the all-sources centrality computations, whose cost grows with
+ * the product of the numbers of vertices and edges, hence the smaller sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+// The vertex classes are used raw, as by the analyzers.
+@SuppressWarnings("rawtypes")
+public class CentralityBenchmark {
+
+    @Param({"500", "2000"})
+    private int size;
+    @Param({BenchmarkGraphs.GRID, BenchmarkGraphs.SCALE_FREE,
+            BenchmarkGraphs.RANDOM})
+    private String topology;
+    @Param({"false", "true"})
+    private boolean directed;
+
+    private WeightedGraphAnalyzer<EdgeCent> weightedAnalyzer;
+    private UnweightedGraphAnalyzer<EdgeCent> unweightedAnalyzer;
+
+    @Setup
+    public void setUp() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> weighted =
+                BenchmarkGraphs.weighted(topology, size, directed,
+                                         VWCent.class, EdgeCent.class);
+        WeightedKeyedGraph<VUCent, EdgeCent> unweighted =
+                BenchmarkGraphs.weighted(topology, size, directed,
+                                         VUCent.class, EdgeCent.class);
+        weightedAnalyzer = new WeightedGraphAnalyzer<EdgeCent>(weighted);
+        unweightedAnalyzer = new UnweightedGraphAnalyzer<EdgeCent>(unweighted);
+    }
+
+    @Benchmark
+    public void weightedComputeAll() throws Exception {
+        weightedAnalyzer.computeAll();
+    }
+
+    @Benchmark
+    public void unweightedComputeAll() throws Exception {
+        unweightedAnalyzer.computeAll();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.benchmarks;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.javanetworkanalyzer.alg.BFS;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.data.VBFS;
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.javanetworkanalyzer.model.Edge;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link Dijkstra} and {@link BFS} searches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+// VDijkstra, VBFS and Edge are used raw, as by the searches.
+@SuppressWarnings("rawtypes")
+public class SearchBenchmark {
+
+    /**
+     * Number of targets of the one-to-many and many-to-many searches.
+     */
+    private static final int TARGETS = 10;
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+    @Param({BenchmarkGraphs.GRID, BenchmarkGraphs.SCALE_FREE,
+            BenchmarkGraphs.RANDOM})
+    private String topology;
+    @Param({"false", "true"})
+    private boolean directed;
+
+    private WeightedKeyedGraph<VDijkstra, Edge> weightedGraph;
+    private WeightedKeyedGraph<VBFS, Edge> unweightedGraph;
+    private Dijkstra<VDijkstra, Edge> dijkstra;
+    private BFS<VBFS, Edge> bfs;
+    private VDijkstra source;
+    private VDijkstra target;
+    private Set<VDijkstra> sources;
+    private Set<VDijkstra> targets;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        weightedGraph = BenchmarkGraphs.weighted(topology, size, directed,
+                                                 VDijkstra.class, Edge.class);
+        unweightedGraph = BenchmarkGraphs.weighted(topology, size, directed,
+                                                   VBFS.class, Edge.class);
+        dijkstra = new Dijkstra<VDijkstra, Edge>(weightedGraph);
+        bfs = new BFS<VBFS, Edge>(unweightedGraph);
+        final int n = weightedGraph.vertexSet().size();
+        source = weightedGraph.getVertex(1);
+        target = weightedGraph.getVertex(n);
+        sources = new HashSet<VDijkstra>();
+        targets = new HashSet<VDijkstra>();
+        for (int i = 0; i < TARGETS; i++) {
+            sources.add(weightedGraph.getVertex(1 + i * (n / TARGETS)));
+            targets.add(weightedGraph.getVertex(n - i * (n / TARGETS)));
+        }
+    }
+
+    @Benchmark
+    public Double dijkstraCalculate() {
+        dijkstra.calculate(source);
+        return target.getDistance();
+    }
+
+    @Benchmark
+    public double dijkstraOneToOne() {
+        return dijkstra.oneToOne(source, target);
+    }
+
+    @Benchmark
+    public Map<VDijkstra, Double> dijkstraOneToMany() {
+        return dijkstra.oneToMany(source, targets);
+    }
+
+    @Benchmark
+    public Map<VDijkstra, Map<VDijkstra, Double>> dijkstraManyToMany() {
+        return dijkstra.manyToMany(sources, targets);
+    }
+
+    @Benchmark
+    public int bfsCalculate() {
+        bfs.calculate(unweightedGraph.getVertex(1));
+        return unweightedGraph.getVertex(
+                unweightedGraph.vertexSet().size()).getDistance();
+    }
+}
@@ -85,13 +85,23 @@ public class BFS<V extends VBFS, E extends EdgeSPT>
     public void calculate(V startNode) {
 
         init(startNode);
+        final boolean counting = countOperations;
 
         // While the queue is not empty ...
         while (!queue.isEmpty()) {
             V current = dequeueStep(queue);
+            if (counting) {
+                settledCount++;
+            }
+            if (stopStep(current)) {
+                break;
+            }
 
             // For every neighbor of the current node ...
             Set<E> outgoingEdges = outgoingEdgesOf(current);
+            if (counting) {
+                relaxedCount += outgoingEdges.size();
+            }
             for (E e : outgoingEdges) {
                 V neighbor = Graphs.getOppositeVertex(graph, e, current);
                 // If this neighbor is found for the first time ...
@@ -106,6 +116,10 @@ public class BFS<V extends VBFS, E extends EdgeSPT>
                 }
             }
         }
+        // Each settled node was enqueued and dequeued once.
+        if (counting) {
+            queueOperationCount = 2 * settledCount;
+        }
     }
 
     @Override
@@ -129,6 +143,17 @@ public class BFS<V extends VBFS, E extends EdgeSPT>
         return queue.poll();
     }
 
+    /**
+     * Any work to be done using the current node before visiting its
+     * neighbors. Must return true if the search should be stopped.
+     *
+     * @param current Current node
+     * @return true if we should stop the search.
+     */
+    protected boolean stopStep(V current) {
+        return false;
+    }
+
     /**
      * Enqueue neighbor and set neighbor's distance to be one more than
      * current's distance.
@@ -64,6 +64,14 @@ public class BFSForCentrality<E extends EdgeSPT> extends BFS<VUCent, E>
      * Data structure used to hold information used to calculate closeness.
      */
     private final UnweightedPathLengthData pathsFromStartNode;
+    /**
+     * Farness beyond which the search is cut.
+     */
+    private double farnessBound = Double.POSITIVE_INFINITY;
+    /**
+     * Whether the last search was cut.
+     */
+    private boolean cut;
 
     /**
      * Constructs a new {@link BFSForCentrality} object.
@@ -84,6 +92,7 @@ public class BFSForCentrality<E extends EdgeSPT> extends BFS<VUCent, E>
         super.init(startNode);
         stack.clear();
         pathsFromStartNode.clear();
+        cut = false;
     }
 
     /**
@@ -103,6 +112,27 @@ public class BFSForCentrality<E extends EdgeSPT> extends BFS<VUCent, E>
         return current;
     }
 
+    /**
+     * Cuts the search if the farness of the start node exceeds the bound: the
+     * nodes not found yet are farther than the current node.
+     *
+     * @param current Current node
+     *
+     * @return true if the search is cut.
+     */
+    // VUCent is used raw, as by the rest of this class.
+    @SuppressWarnings("rawtypes")
+    @Override
+    protected boolean stopStep(VUCent current) {
+        if (farnessBound < Double.POSITIVE_INFINITY) {
+            final int notFound = graph.vertexSet().size() - 1
+                    - pathsFromStartNode.getCount();
+            cut = pathsFromStartNode.getTotalLength()
+                    + (current.getDistance() + 1.0) * notFound > farnessBound;
+        }
+        return cut;
+    }
+
     @Override
     protected void firstTimeFoundStep(
             final VUCent current,
@@ -124,4 +154,14 @@ public class BFSForCentrality<E extends EdgeSPT> extends BFS<VUCent, E>
     public UnweightedPathLengthData getPaths() {
         return pathsFromStartNode;
     }
+
+    @Override
+    public void setFarnessBound(double farnessBound) {
+        this.farnessBound = farnessBound;
+    }
+
+    @Override
+    public boolean isCut() {
+        return cut;
+    }
 }
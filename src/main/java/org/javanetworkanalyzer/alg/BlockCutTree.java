@@ -0,0 +1,311 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.alg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+
+/**
+ * Decomposes an undirected graph (the underlying undirected graph of a
+ * directed graph) into its blocks, the biconnected components, which meet at
+ * the articulation points, using an iterative Hopcroft-Tarjan depth-first
+ * search. Parallel edges form a block; loops belong to no block.
+ *
+ * <p> Every shortest path between two vertices goes through the same
+ * articulation points and, between them, stays inside a block. Seen from a
+ * block, each of its vertices therefore stands for the vertices which can
+ * only be reached from the block through it: its weight, given by
+ * {@link Block#getWeight}.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+public class BlockCutTree<V, E> {
+
+    /**
+     * Index of each vertex.
+     */
+    private final Map<V, Integer> index;
+    /**
+     * Size of the connected component of each vertex index.
+     */
+    private final int[] componentSize;
+    /**
+     * Number of vertices cut off from the rest of its component by each
+     * vertex index.
+     */
+    private final int[] separated;
+    /**
+     * Sum of the squared sizes of the parts cut off by each vertex index.
+     */
+    private final long[] separatedSquares;
+    /**
+     * The blocks.
+     */
+    private final List<Block<V, E>> blocks;
+
+    /**
+     * Decomposes the given graph.
+     *
+     * @param graph The graph
+     */
+    public BlockCutTree(Graph<V, E> graph) {
+        final int n = graph.vertexSet().size();
+        this.index = new HashMap<V, Integer>(2 * n);
+        this.componentSize = new int[n];
+        this.separated = new int[n];
+        this.separatedSquares = new long[n];
+        this.blocks = new ArrayList<Block<V, E>>();
+        final List<V> vertices = new ArrayList<V>(n);
+        for (V v : graph.vertexSet()) {
+            index.put(v, vertices.size());
+            vertices.add(v);
+        }
+
+        final int[] discovery = new int[n];
+        final int[] low = new int[n];
+        final int[] subtree = new int[n];
+        // The top vertex and the vertex below it of each block, by index.
+        final List<int[]> tops = new ArrayList<int[]>();
+        final Deque<Frame<V, E>> stack = new ArrayDeque<Frame<V, E>>();
+        final Deque<E> edges = new ArrayDeque<E>();
+        int time = 0;
+        for (V root : vertices) {
+            final int r = index.get(root);
+            if (discovery[r] != 0) {
+                continue;
+            }
+            final int firstBlock = blocks.size();
+            discovery[r] = low[r] = ++time;
+            subtree[r] = 1;
+            stack.push(new Frame<V, E>(root, null, graph.edgesOf(root)));
+            while (!stack.isEmpty()) {
+                final Frame<V, E> frame = stack.peek();
+                final int v = index.get(frame.vertex);
+                if (frame.edges.hasNext()) {
+                    final E e = frame.edges.next();
+                    final V u = Graphs.getOppositeVertex(graph, e,
+                                                         frame.vertex);
+                    if (e == frame.parentEdge || u == frame.vertex) {
+                        continue;
+                    }
+                    final int w = index.get(u);
+                    if (discovery[w] == 0) {
+                        edges.push(e);
+                        discovery[w] = low[w] = ++time;
+                        subtree[w] = 1;
+                        stack.push(new Frame<V, E>(u, e, graph.edgesOf(u)));
+                    } else if (discovery[w] < discovery[v]) {
+                        // A back edge (or a parallel edge to the parent).
+                        edges.push(e);
+                        low[v] = Math.min(low[v], discovery[w]);
+                    }
+                    continue;
+                }
+                stack.pop();
+                if (frame.parentEdge == null) {
+                    continue;
+                }
+                final int p = index.get(stack.peek().vertex);
+                low[p] = Math.min(low[p], low[v]);
+                subtree[p] += subtree[v];
+                if (low[v] >= discovery[p]) {
+                    // p cuts off the subtree of v, which holds the rest of
+                    // the block formed by the edges above the parent edge.
+                    separated[p] += subtree[v];
+                    separatedSquares[p] += (long) subtree[v] * subtree[v];
+                    final Block<V, E> block = new Block<V, E>();
+                    E e;
+                    do {
+                        e = edges.pop();
+                        block.edges.add(e);
+                        block.weights.put(graph.getEdgeSource(e), 0);
+                        block.weights.put(graph.getEdgeTarget(e), 0);
+                    } while (e != frame.parentEdge);
+                    blocks.add(block);
+                    tops.add(new int[]{p, v});
+                }
+            }
+            final int size = subtree[r];
+            for (int b = firstBlock; b < blocks.size(); b++) {
+                final Block<V, E> block = blocks.get(b);
+                final int[] top = tops.get(b);
+                for (V u : block.weights.keySet()) {
+                    final int i = index.get(u);
+                    componentSize[i] = size;
+                    block.weights.put(u, (i == top[0])
+                            ? size - subtree[top[1]]
+                            : 1 + separated[i]);
+                }
+            }
+            componentSize[r] = size;
+        }
+    }
+
+    /**
+     * Returns the blocks.
+     *
+     * @return The blocks.
+     */
+    public List<Block<V, E>> getBlocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+
+    /**
+     * Returns {@code true} if removing the given vertex disconnects its
+     * component.
+     *
+     * @param v Vertex
+     *
+     * @return {@code true} if the vertex is an articulation point.
+     */
+    public boolean isArticulationPoint(V v) {
+        return getSeparatedPairCount(v) > 0.0;
+    }
+
+    /**
+     * Returns the number of ordered pairs of vertices, other than the given
+     * vertex, which are disconnected by removing it.
+     *
+     * @param v Vertex
+     *
+     * @return The number of pairs separated by the vertex.
+     */
+    public double getSeparatedPairCount(V v) {
+        final int i = index.get(v);
+        final double others = componentSize[i] - 1;
+        final double rest = others - separated[i];
+        return others * others - separatedSquares[i] - rest * rest;
+    }
+
+    /**
+     * A frame of the depth-first search.
+     *
+     * @param <V> Vertex
+     * @param <E> Edge
+     */
+    private static class Frame<V, E> {
+
+        /**
+         * The vertex.
+         */
+        private final V vertex;
+        /**
+         * The edge by which the vertex was reached, or null for the root.
+         */
+        private final E parentEdge;
+        /**
+         * The edges left to explore.
+         */
+        private final Iterator<E> edges;
+
+        /**
+         * Constructor.
+         *
+         * @param vertex     The vertex
+         * @param parentEdge The edge by which the vertex was reached
+         * @param edges      The edges of the vertex
+         */
+        Frame(V vertex, E parentEdge, Set<E> edges) {
+            this.vertex = vertex;
+            this.parentEdge = parentEdge;
+            this.edges = edges.iterator();
+        }
+    }
+
+    /**
+     * A biconnected component.
+     *
+     * @param <V> Vertex
+     * @param <E> Edge
+     */
+    public static class Block<V, E> {
+
+        /**
+         * The edges of the block.
+         */
+        private final List<E> edges = new ArrayList<E>();
+        /**
+         * The weight of each vertex of the block.
+         */
+        private final Map<V, Integer> weights = new LinkedHashMap<V, Integer>();
+
+        /**
+         * Returns the edges of the block.
+         *
+         * @return The edges.
+         */
+        public List<E> getEdges() {
+            return Collections.unmodifiableList(edges);
+        }
+
+        /**
+         * Returns the vertices of the block.
+         *
+         * @return The vertices.
+         */
+        public Set<V> getVertices() {
+            return Collections.unmodifiableSet(weights.keySet());
+        }
+
+        /**
+         * Returns the number of vertices of the component of the block which
+         * are reached from the block through the given vertex, itself
+         * included.
+         *
+         * @param v A vertex of the block
+         *
+         * @return The weight of the vertex.
+         */
+        public int getWeight(V v) {
+            return weights.get(v);
+        }
+    }
+}
@@ -61,4 +61,22 @@ public interface CentralityAlg<V extends VCent, E extends EdgeSPT, S extends Pat
      * @return The path length data
      */
     S getPaths();
+
+    /**
+     * Sets the farness (the sum of the distances from the start node to all
+     * other nodes) beyond which a search is cut: the search stops as soon as
+     * the farness of its start node is known to exceed the bound. The bound
+     * is infinite by default; after a cut search, the path length data and
+     * the predecessors are incomplete.
+     *
+     * @param farnessBound The farness bound
+     */
+    void setFarnessBound(double farnessBound);
+
+    /**
+     * Returns true if the last search was cut by the farness bound.
+     *
+     * @return True if the last search was cut
+     */
+    boolean isCut();
 }
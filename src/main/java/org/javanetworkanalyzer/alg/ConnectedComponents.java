@@ -0,0 +1,202 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.alg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jgrapht.Graph;
+
+/**
+ * Labels the connected components of a graph (the weakly connected
+ * components of a directed graph) in a single pass over the edges, using a
+ * union-find structure with path halving and union by size.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+public class ConnectedComponents<V, E> {
+
+    /**
+     * The graph.
+     */
+    private final Graph<V, E> graph;
+    /**
+     * Index of each vertex.
+     */
+    private final Map<V, Integer> index;
+    /**
+     * Union-find parent of each vertex index.
+     */
+    private final int[] parent;
+    /**
+     * Union-find size of each root.
+     */
+    private final int[] size;
+    /**
+     * The components, largest first, or {@code null} until requested.
+     */
+    private List<Set<V>> components;
+
+    /**
+     * Labels the components of the given graph.
+     *
+     * @param graph The graph
+     */
+    public ConnectedComponents(Graph<V, E> graph) {
+        this.graph = graph;
+        final int n = graph.vertexSet().size();
+        this.index = new HashMap<V, Integer>(2 * n);
+        this.parent = new int[n];
+        this.size = new int[n];
+        int i = 0;
+        for (V v : graph.vertexSet()) {
+            index.put(v, i);
+            parent[i] = i;
+            size[i] = 1;
+            i++;
+        }
+        for (E e : graph.edgeSet()) {
+            union(index.get(graph.getEdgeSource(e)),
+                  index.get(graph.getEdgeTarget(e)));
+        }
+    }
+
+    /**
+     * Returns the root of the given vertex index.
+     *
+     * @param i Vertex index
+     *
+     * @return The root.
+     */
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Merges the components of the given vertex indices.
+     *
+     * @param a Vertex index
+     * @param b Vertex index
+     */
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return;
+        }
+        if (size[ra] < size[rb]) {
+            final int tmp = ra;
+            ra = rb;
+            rb = tmp;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+    }
+
+    /**
+     * Returns {@code true} if the two vertices are in the same component.
+     *
+     * @param u Vertex
+     * @param v Vertex
+     *
+     * @return {@code true} if the two vertices are in the same component.
+     */
+    public boolean areConnected(V u, V v) {
+        return find(index.get(u)) == find(index.get(v));
+    }
+
+    /**
+     * Returns the size of the component of the given vertex.
+     *
+     * @param v Vertex
+     *
+     * @return The size of its component.
+     */
+    public int getComponentSize(V v) {
+        return size[find(index.get(v))];
+    }
+
+    /**
+     * Returns the vertex sets of the components, largest first.
+     *
+     * @return The components.
+     */
+    public List<Set<V>> getComponents() {
+        if (components == null) {
+            final Map<Integer, Set<V>> byRoot = new HashMap<Integer, Set<V>>();
+            for (V v : graph.vertexSet()) {
+                final int root = find(index.get(v));
+                Set<V> component = byRoot.get(root);
+                if (component == null) {
+                    component = new HashSet<V>(2 * size[root]);
+                    byRoot.put(root, component);
+                }
+                component.add(v);
+            }
+            components = new ArrayList<Set<V>>(byRoot.values());
+            Collections.sort(components, new Comparator<Set<V>>() {
+                @Override
+                public int compare(Set<V> a, Set<V> b) {
+                    return b.size() - a.size();
+                }
+            });
+        }
+        return components;
+    }
+
+    /**
+     * Returns the number of components.
+     *
+     * @return The number of components.
+     */
+    public int getComponentCount() {
+        return getComponents().size();
+    }
+}
@@ -68,10 +68,6 @@ public class Dijkstra<V extends VDijkstra, E extends EdgeSPT>
      * have the same length.
      */
     protected static final double TOLERANCE = 0.000000001;
-    /**
-     * Distance of the node furthest away in the shortest path tree thus far.
-     */
-    private double largestDistanceSoFar = 0.0;
 
 
     /**
@@ -103,16 +99,28 @@ public class Dijkstra<V extends VDijkstra, E extends EdgeSPT>
      */
     public void calculate(V startNode, double radius) {
         init(startNode);
+        final boolean counting = countOperations;
 
-        while (!queue.isEmpty() && largestDistanceSoFar < radius) {
+        while (!queue.isEmpty()) {
+            // Stop once the nearest node left lies beyond the radius.
+            if (queue.peek().getDistance() > radius) {
+                break;
+            }
             // Extract the minimum element.
             V u = queue.poll();
+            if (counting) {
+                settledCount++;
+                queueOperationCount++;
+            }
             // Do any pre-relax step.
             if (preRelaxStep(startNode, u)) {
                 break;
             }
             // Relax all the outgoing edges of u.
             Set<E> outgoing = outgoingEdgesOf(u);
+            if (counting) {
+                relaxedCount += outgoing.size();
+            }
             for (E e : outgoing) {
                 relax(startNode, u, e, queue);
             }
@@ -128,6 +136,9 @@ public class Dijkstra<V extends VDijkstra, E extends EdgeSPT>
         startNode.setSource();
         queue.clear();
         queue.add(startNode);
+        if (countOperations) {
+            queueOperationCount++;
+        }
     }
 
     /**
@@ -181,10 +192,12 @@ public class Dijkstra<V extends VDijkstra, E extends EdgeSPT>
         v.addPredecessorEdge(e);
         // Set the distance
         v.setDistance(u.getDistance() + uvWeight);
-        largestDistanceSoFar = v.getDistance();
         // Update the queue.
         queue.remove(v);
         queue.add(v);
+        if (countOperations) {
+            queueOperationCount += 2;
+        }
     }
 
     /**
@@ -207,7 +220,7 @@ public class Dijkstra<V extends VDijkstra, E extends EdgeSPT>
      *
      * @return The priority queue used in Dijkstra's algorithm.
      */
-    private PriorityQueue<V> createPriorityQueue() {
+    protected PriorityQueue<V> createPriorityQueue() {
         return new PriorityQueue<V>(
                 graph.vertexSet().size(),
                 new Comparator<V>() {
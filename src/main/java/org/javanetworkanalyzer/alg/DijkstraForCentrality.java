@@ -66,6 +66,14 @@ public class DijkstraForCentrality<E extends EdgeSPT> extends Dijkstra<VWCent, E
      * Data structure used to hold information used to calculate closeness.
      */
     private final WeightedPathLengthData pathsFromStartNode;
+    /**
+     * Farness beyond which the search is cut.
+     */
+    private double farnessBound = Double.POSITIVE_INFINITY;
+    /**
+     * Whether the last search was cut.
+     */
+    private boolean cut;
 
     /**
      * Constructs a new {@link DijkstraForCentrality} object.
@@ -87,6 +95,7 @@ public class DijkstraForCentrality<E extends EdgeSPT> extends Dijkstra<VWCent, E
         super.init(startNode);
         stack.clear();
         pathsFromStartNode.clear();
+        cut = false;
     }
 
     /**
@@ -110,8 +119,15 @@ public class DijkstraForCentrality<E extends EdgeSPT> extends Dijkstra<VWCent, E
         if (!u.equals(startNode)) {
             pathsFromStartNode.addSPLength(u.getDistance());
         }
-        // Don't stop the search.
-        return false;
+        // Cut the search if the farness of the start node exceeds the bound:
+        // the nodes not settled yet are at least as far as u.
+        if (farnessBound < Double.POSITIVE_INFINITY) {
+            final int unsettled = graph.vertexSet().size() - 1
+                    - pathsFromStartNode.getCount();
+            cut = pathsFromStartNode.getTotalLength()
+                    + u.getDistance() * unsettled > farnessBound;
+        }
+        return cut;
     }
 
     /**
@@ -151,4 +167,14 @@ public class DijkstraForCentrality<E extends EdgeSPT> extends Dijkstra<VWCent, E
     public WeightedPathLengthData getPaths() {
         return pathsFromStartNode;
     }
+
+    @Override
+    public void setFarnessBound(double farnessBound) {
+        this.farnessBound = farnessBound;
+    }
+
+    @Override
+    public boolean isCut() {
+        return cut;
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.alg;
+
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.javanetworkanalyzer.model.EdgeSPT;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Dijkstra's algorithm whose shortest path "tree" (distances and predecessor
+ * sets held by the vertices) can be repaired after some edge weights have
+ * changed, in the manner of Ramalingam and Reps, instead of being recomputed
+ * from scratch.
+ *
+ * <p> {@link #update} first detaches the changed edges which are no longer
+ * tight and propagates the loss of shortest paths to the vertices which have
+ * no predecessor left. These vertices get tentative distances from their
+ * neighbours in the unaffected region, the changed edges which became shorter
+ * are relaxed, and a Dijkstra search restricted to the vertices whose
+ * distance actually changes finishes the repair. Closing an edge is modelled
+ * by an infinite weight.
+ *
+ * @param <V> Vertices
+ * @param <E> Edges
+ */
+// Same bounds as Dijkstra, so that the raw vertex and edge classes used
+// throughout the library can be given as type arguments.
+@SuppressWarnings("rawtypes")
+public class DynamicDijkstra<V extends VDijkstra, E extends EdgeSPT>
+        extends Dijkstra<V, E> {
+
+    /**
+     * Queue used by the repair.
+     */
+    private final PriorityQueue<V> repairQueue;
+    /**
+     * Whether the graph is directed.
+     */
+    private final boolean directed;
+    /**
+     * Vertices modified by the repair in progress, {@code null} outside of
+     * {@link #update}.
+     */
+    private Set<V> changed;
+
+    /**
+     * Constructor.
+     *
+     * @param graph The graph.
+     */
+    public DynamicDijkstra(Graph<V, E> graph) {
+        super(graph);
+        this.repairQueue = createPriorityQueue();
+        this.directed = graph instanceof DirectedGraph;
+    }
+
+    /**
+     * Repairs the shortest path tree from the last start node
+     * {@link #calculate} was called on after the weights of the given edges
+     * have been changed in the graph.
+     *
+     * @param changedEdges The edges whose weight has changed
+     *
+     * @return The vertices whose distance or predecessors have changed.
+     */
+    public Set<V> update(Collection<E> changedEdges) {
+        if (currentStartNode == null) {
+            throw new IllegalStateException("You must call #calculate before "
+                    + "updating the shortest path tree.");
+        }
+        changed = new HashSet<V>();
+        try {
+            // Detach the changed edges which are no longer tight and find the
+            // vertices which lose all their shortest paths.
+            final Set<V> affected = new HashSet<V>();
+            final Deque<V> work = new ArrayDeque<V>();
+            for (E e : changedEdges) {
+                if (!graph.containsEdge(e)) {
+                    throw new IllegalArgumentException(
+                            "The graph does not contain the edge " + e + ".");
+                }
+                final V source = graph.getEdgeSource(e);
+                final V target = graph.getEdgeTarget(e);
+                detachIfLonger(source, target, e, affected, work);
+                if (!directed) {
+                    detachIfLonger(target, source, e, affected, work);
+                }
+            }
+            while (!work.isEmpty()) {
+                final V u = work.pop();
+                for (E e : outgoingEdgesOf(u)) {
+                    final V v = Graphs.getOppositeVertex(graph, e, u);
+                    if (v.getPredecessorEdges().contains(e)) {
+                        detach(u, v, e, affected, work);
+                    }
+                }
+            }
+            // Give the affected vertices tentative distances from the
+            // unaffected region.
+            for (V v : affected) {
+                v.reset();
+            }
+            for (V v : affected) {
+                for (E e : incomingEdgesOf(v)) {
+                    final V u = Graphs.getOppositeVertex(graph, e, v);
+                    if (!affected.contains(u)) {
+                        relax(currentStartNode, u, e, repairQueue);
+                    }
+                }
+            }
+            // Relax the changed edges which may have become shorter.
+            for (E e : changedEdges) {
+                relax(currentStartNode, graph.getEdgeSource(e), e,
+                      repairQueue);
+                if (!directed) {
+                    relax(currentStartNode, graph.getEdgeTarget(e), e,
+                          repairQueue);
+                }
+            }
+            // Propagate the new distances.
+            while (!repairQueue.isEmpty()) {
+                final V u = repairQueue.poll();
+                for (E e : outgoingEdgesOf(u)) {
+                    relax(currentStartNode, u, e, repairQueue);
+                }
+            }
+            return changed;
+        } finally {
+            repairQueue.clear();
+            changed = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void shortestPathSoFarUpdate(V startNode, V u, V v,
+                                           Double uvWeight, E e,
+                                           PriorityQueue<V> queue) {
+        super.shortestPathSoFarUpdate(startNode, u, v, uvWeight, e, queue);
+        if (changed != null) {
+            changed.add(v);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void multipleShortestPathUpdate(V u, V v, E e) {
+        if (changed != null && !v.getPredecessorEdges().contains(e)) {
+            changed.add(v);
+        }
+        super.multipleShortestPathUpdate(u, v, e);
+    }
+
+    /**
+     * Detaches edge e from the predecessors of v if it is a predecessor edge
+     * of v which is no longer on a shortest path from u.
+     *
+     * @param u        Vertex u
+     * @param v        Vertex v
+     * @param e        Edge e
+     * @param affected Vertices without any shortest path left
+     * @param work     Affected vertices still to be propagated
+     */
+    private void detachIfLonger(V u, V v, E e, Set<V> affected,
+                                Deque<V> work) {
+        if (u != v && v.getPredecessorEdges().contains(e)
+                && u.getDistance() + graph.getEdgeWeight(e)
+                > v.getDistance() + TOLERANCE) {
+            detach(u, v, e, affected, work);
+        }
+    }
+
+    /**
+     * Removes edge e from the predecessors of v and marks v as affected if it
+     * has no shortest path left.
+     *
+     * @param u        Vertex u
+     * @param v        Vertex v
+     * @param e        Edge e
+     * @param affected Vertices without any shortest path left
+     * @param work     Affected vertices still to be propagated
+     */
+    // The vertices hold predecessors of their own type and edges of the
+    // graph, which the raw bound of V cannot express.
+    @SuppressWarnings("unchecked")
+    private void detach(V u, V v, E e, Set<V> affected, Deque<V> work) {
+        final VDijkstra<V, E> vertex = (VDijkstra<V, E>) v;
+        vertex.removePredecessorEdge(e);
+        boolean stillPredecessor = false;
+        for (E f : incomingEdgesOf(v)) {
+            if (v.getPredecessorEdges().contains(f)
+                    && Graphs.getOppositeVertex(graph, f, v).equals(u)) {
+                stillPredecessor = true;
+                break;
+            }
+        }
+        if (!stillPredecessor) {
+            vertex.removePredecessor(u);
+        }
+        changed.add(v);
+        if (v.getPredecessorEdges().isEmpty()
+                && !v.equals(currentStartNode) && affected.add(v)) {
+            work.push(v);
+        }
+    }
+
+    /**
+     * Returns the edges through which the given vertex may be reached.
+     *
+     * @param v The vertex
+     *
+     * @return The edges through which the given vertex may be reached.
+     */
+    private Set<E> incomingEdgesOf(V v) {
+        if (directed) {
+            return ((DirectedGraph<V, E>) graph).incomingEdgesOf(v);
+        } else {
+            return graph.edgesOf(v);
+        }
+    }
+}
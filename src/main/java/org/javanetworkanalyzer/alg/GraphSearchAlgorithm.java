@@ -69,6 +69,22 @@ public abstract class GraphSearchAlgorithm<V extends VPred, E extends EdgeSPT>
      * Current start node
      */
     protected V currentStartNode;
+    /**
+     * Number of vertices settled by the last search.
+     */
+    protected long settledCount;
+    /**
+     * Number of edges relaxed by the last search.
+     */
+    protected long relaxedCount;
+    /**
+     * Number of queue operations made by the last search.
+     */
+    protected long queueOperationCount;
+    /**
+     * Whether the searches count their operations.
+     */
+    protected boolean countOperations;
 
     /**
      * Constructor. The user can specify whether SPTs/traversal graphs are
@@ -88,6 +104,41 @@ public abstract class GraphSearchAlgorithm<V extends VPred, E extends EdgeSPT>
      */
     protected void init(V startNode) {
         this.currentStartNode = startNode;
+        this.settledCount = 0;
+        this.relaxedCount = 0;
+        this.queueOperationCount = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setOperationCounting(boolean countOperations) {
+        this.countOperations = countOperations;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getRelaxedCount() {
+        return relaxedCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getQueueOperationCount() {
+        return queueOperationCount;
     }
 
     @Override
@@ -133,9 +184,9 @@ public abstract class GraphSearchAlgorithm<V extends VPred, E extends EdgeSPT>
         return outgoingEdgesOf(graph, node);
     }
 
-    public static Set outgoingEdgesOf(Graph g, Object node) {
+    public static <V, E> Set<E> outgoingEdgesOf(Graph<V, E> g, V node) {
         if (g instanceof DirectedGraph) {
-            return ((DirectedGraph) g).outgoingEdgesOf(node);
+            return ((DirectedGraph<V, E>) g).outgoingEdgesOf(node);
         } else {
             return g.edgesOf(node);
         }
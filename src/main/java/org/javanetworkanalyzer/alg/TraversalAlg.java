@@ -68,4 +68,36 @@ public interface TraversalAlg<V extends VPred, E extends EdgeSPT> {
      *         was called on
      */
     TraversalGraph<V, E> reconstructTraversalGraph();
+
+    /**
+     * Sets whether the searches count the vertices they settle, the edges
+     * they relax and their queue operations. Counting is off by default, so
+     * that it costs nothing unless the metrics are enabled; the counts are
+     * zero while it is off.
+     *
+     * @param countOperations Whether to count the operations
+     */
+    void setOperationCounting(boolean countOperations);
+
+    /**
+     * Returns the number of vertices settled by the last search.
+     *
+     * @return The number of vertices settled by the last search.
+     */
+    long getSettledCount();
+
+    /**
+     * Returns the number of edges relaxed by the last search.
+     *
+     * @return The number of edges relaxed by the last search.
+     */
+    long getRelaxedCount();
+
+    /**
+     * Returns the number of queue insertions, removals and polls made by the
+     * last search.
+     *
+     * @return The number of queue operations made by the last search.
+     */
+    long getQueueOperationCount();
 }
@@ -39,9 +39,19 @@
  */
 package org.javanetworkanalyzer.analyzers;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import org.javanetworkanalyzer.alg.DijkstraForAccessibility;
 import org.javanetworkanalyzer.data.VAccess;
+import org.javanetworkanalyzer.metrics.AnalysisMetrics;
+import org.javanetworkanalyzer.model.ChainContraction;
+import org.javanetworkanalyzer.model.Edge;
+import org.javanetworkanalyzer.progress.ProgressMonitor;
 import org.javanetworkanalyzer.model.EdgeSPT;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
@@ -54,12 +64,32 @@ import org.jgrapht.graph.EdgeReversedGraph;
  * @author Adam Gouge
  * @param <E> edge
  */
+// VAccess is used raw, as by DijkstraForAccessibility.
+@SuppressWarnings("rawtypes")
 public class AccessibilityAnalyzer<E extends EdgeSPT> extends GeneralizedGraphAnalyzer<VAccess, E> {
 
+    /**
+     * Tolerance for distances considered equal.
+     */
+    private static final double TOLERANCE = 0.000000001;
     /**
      * The set of destinations.
      */
     private Set<VAccess> destinations;
+    /**
+     * Whether the closest destinations were computed, so that they can be
+     * updated when a destination is added or removed.
+     */
+    private boolean computed;
+    /**
+     * The state of the updates, created by the first one.
+     */
+    private Incremental incremental;
+    /**
+     * The contraction whose contracted graph is analyzed, or null if the
+     * graph is not contracted.
+     */
+    private ChainContraction<VAccess, ?> contraction;
 
     /**
      * Constructor: sets the graph.
@@ -70,34 +100,416 @@ public class AccessibilityAnalyzer<E extends EdgeSPT> extends GeneralizedGraphAn
     public AccessibilityAnalyzer(Graph<VAccess, E> graph,
                                  Set<VAccess> destinations) {
         super(graph);
-        this.destinations = destinations;
+        // Copied, as the destinations may be added or removed later on.
+        this.destinations = new LinkedHashSet<VAccess>(destinations);
         verifyDestinations();
     }
 
+    /**
+     * Constructor: sets the graph and the {@link ProgressMonitor}.
+     *
+     * @param graph        Graph
+     * @param destinations Destinations
+     * @param pm           The {@link ProgressMonitor} to be used
+     */
+    public AccessibilityAnalyzer(Graph<VAccess, E> graph,
+                                 Set<VAccess> destinations,
+                                 ProgressMonitor pm) {
+        this(graph, destinations);
+        this.pm = pm;
+    }
+
+    /**
+     * Returns an analyzer of the contracted graph of the given contraction,
+     * which sets the closest destination of the vertices of the original
+     * graph. The destinations must have been kept by the contraction.
+     *
+     * @param contraction  Contraction of the graph
+     * @param destinations Destinations
+     * @param <E>          Edge
+     *
+     * @return The analyzer.
+     */
+    public static <E extends Edge> AccessibilityAnalyzer<E> contracted(
+            ChainContraction<VAccess, E> contraction,
+            Set<VAccess> destinations) {
+        final AccessibilityAnalyzer<E> analyzer = new AccessibilityAnalyzer<E>(
+                contraction.getContractedGraph(), destinations);
+        analyzer.contraction = contraction;
+        return analyzer;
+    }
+
     /**
      * Performs accessibility analysis.
      */
     public void compute() {
         // If the graph is directed, then reverse it.
-        Graph<VAccess, E> g;
-        if (graph instanceof DirectedGraph) {
-            g = new EdgeReversedGraph<VAccess, E>((DirectedGraph) graph);
-        } else {
-            g = graph;
-        }
+        Graph<VAccess, E> g = searchedGraph();
         // Obtain a Dijkstra algorithm on the reversed graph.
         DijkstraForAccessibility<E> dijkstra =
                 new DijkstraForAccessibility<E>(g);
         // Now shortest paths from each destination the reversed graph
         // correspond to shortest paths to each destination in the original
         // graph.
+        pm.startTask("Accessibility analysis", destinations.size());
+        final long startTime = System.currentTimeMillis();
+        long count = 0;
         for (VAccess dest : destinations) {
+            if (pm.isCancelled()) {
+                break;
+            }
+            final boolean measure = metrics.isEnabled();
+            final long startNanos = measure ? System.nanoTime() : 0L;
+            final long allocated = measure
+                    ? AnalysisMetrics.currentThreadAllocatedBytes() : -1L;
+            dijkstra.setOperationCounting(measure);
             // Update the distance of each destination to itself.
             dest.setClosestDestinationId(dest.getID());
             dest.setDistanceToClosestDestination(0.0);
             // Calculate all shortest paths from this destination and update
             // the closest destination accordingly.
             dijkstra.calculate(dest);
+            if (measure) {
+                metrics.sourceProcessed("accessibility", dest.getID(),
+                                        startNanos, allocated, dijkstra, -1L);
+            }
+            pm.setProgress(++count, startTime);
+        }
+        pm.endTask();
+        if (contraction != null && !pm.isCancelled()) {
+            expandChains();
+        }
+        computed = !pm.isCancelled();
+        // The nearest destinations are only final once all destinations
+        // have been processed.
+        if (resultSink != null && !pm.isCancelled()) {
+            try {
+                for (VAccess v : (contraction == null)
+                        ? graph.vertexSet()
+                        : contraction.getGraph().vertexSet()) {
+                    resultSink.nearestDestination(v.getID(),
+                            v.getClosestDestinationId(),
+                            v.getDistanceToClosestDestination());
+                }
+            } catch (IOException ex) {
+                throw resultSinkFailure(ex);
+            }
+        }
+    }
+
+    /**
+     * Finds the k nearest destinations of each vertex by a single label
+     * setting search from all the destinations at once: the labels (vertex,
+     * destination, distance) are settled by increasing distance, each vertex
+     * being settled at most once by each destination and at most k times in
+     * all. The nearest destinations are stored in the vertices, and the
+     * nearest one also as their closest destination.
+     *
+     * @param k Number of nearest destinations per vertex
+     *
+     * @throws IllegalArgumentException If k is not positive.
+     */
+    public void computeNearest(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive.");
+        }
+        // Search the reversed graph as in compute().
+        final CompactGraph<VAccess, E> compact =
+                new CompactGraph<VAccess, E>(searchedGraph());
+        final List<VAccess> vertices = compact.vertices;
+        for (VAccess v : vertices) {
+            v.resetNearestDestinations(k);
+        }
+        pm.startTask("Nearest destinations", (long) nodeCount * k);
+        final long startTime = System.currentTimeMillis();
+        final LabelQueue queue = new LabelQueue();
+        for (VAccess dest : destinations) {
+            queue.add(compact.indexOf(dest), dest.getID(), 0.0);
+        }
+        long settled = 0;
+        long polled = 0;
+        while (!queue.isEmpty()) {
+            if ((++polled & 0xFFF) == 0) {
+                if (pm.isCancelled()) {
+                    break;
+                }
+                pm.setProgress(settled, startTime);
+            }
+            final int u = queue.vertex[0];
+            final int dest = queue.destination[0];
+            final double distance = queue.distance[0];
+            queue.poll();
+            final VAccess vertex = vertices.get(u);
+            if (!canSettle(vertex, dest, k)) {
+                continue;
+            }
+            vertex.addNearestDestination(dest, distance);
+            settled++;
+            for (int a = compact.first[u]; a < compact.first[u + 1]; a++) {
+                final int w = compact.head[a];
+                if (canSettle(vertices.get(w), dest, k)) {
+                    queue.add(w, dest, distance + compact.weight[a]);
+                }
+            }
+        }
+        pm.endTask();
+        if (pm.isCancelled()) {
+            return;
+        }
+        if (contraction != null) {
+            expandNearest(k);
+        }
+        final Set<VAccess> all = (contraction == null)
+                ? graph.vertexSet() : contraction.getGraph().vertexSet();
+        for (VAccess v : all) {
+            final boolean found = v.getNearestDestinationCount() > 0;
+            v.setClosestDestinationId(
+                    found ? v.getNearestDestinationId(0) : -1);
+            v.setDistanceToClosestDestination(found
+                    ? v.getNearestDestinationDistance(0)
+                    : Double.POSITIVE_INFINITY);
+        }
+        computed = true;
+        if (resultSink != null) {
+            try {
+                for (VAccess v : all) {
+                    for (int i = 0; i < v.getNearestDestinationCount(); i++) {
+                        resultSink.nearestDestination(v.getID(),
+                                v.getNearestDestinationId(i),
+                                v.getNearestDestinationDistance(i));
+                    }
+                }
+            } catch (IOException ex) {
+                throw resultSinkFailure(ex);
+            }
+        }
+    }
+
+    /**
+     * Adds a destination and updates the closest destination of the vertices
+     * it is closer to than their current one, found by a search from the
+     * new destination which stops wherever it is not. The k nearest
+     * destinations are not updated.
+     *
+     * @param dest The new destination
+     *
+     * @throws IllegalStateException    If the closest destinations were not
+     *                                  computed.
+     * @throws IllegalArgumentException If the vertex is not in the graph or
+     *                                  is already a destination.
+     */
+    public void addDestination(VAccess dest) {
+        checkComputed();
+        if (!graph.containsVertex(dest)) {
+            throw new IllegalArgumentException("Destination " + dest.getID()
+                    + " is not contained in the graph.");
+        }
+        if (!destinations.add(dest)) {
+            throw new IllegalArgumentException(
+                    "Vertex " + dest.getID() + " is already a destination.");
+        }
+        incremental().add(dest);
+        if (contraction != null) {
+            expandChainsAt(incremental.changed);
+        }
+    }
+
+    /**
+     * Removes a destination and updates the closest destination of the
+     * vertices it was the closest destination of (its Voronoi cell), from
+     * the closest destinations of the vertices around the cell. The other
+     * vertices are not visited, and the k nearest destinations are not
+     * updated.
+     *
+     * @param dest The destination to remove
+     *
+     * @throws IllegalStateException    If the closest destinations were not
+     *                                  computed.
+     * @throws IllegalArgumentException If the vertex is not a destination.
+     */
+    public void removeDestination(VAccess dest) {
+        checkComputed();
+        if (!destinations.remove(dest)) {
+            throw new IllegalArgumentException(
+                    "Vertex " + dest.getID() + " is not a destination.");
+        }
+        incremental().remove(dest);
+        if (contraction != null) {
+            expandChainsAt(incremental.changed);
+        }
+    }
+
+    /**
+     * Returns the graph searched from the destinations: the reversed graph
+     * if the graph is directed, so that the shortest paths from a
+     * destination are the shortest paths to it in the graph.
+     *
+     * @return The graph searched from the destinations
+     */
+    private Graph<VAccess, E> searchedGraph() {
+        return (graph instanceof DirectedGraph)
+                ? new EdgeReversedGraph<VAccess, E>(
+                        (DirectedGraph<VAccess, E>) graph)
+                : graph;
+    }
+
+    /**
+     * Makes sure that the closest destinations were computed.
+     */
+    private void checkComputed() {
+        if (!computed) {
+            throw new IllegalStateException(
+                    "The closest destinations were not computed.");
+        }
+    }
+
+    /**
+     * Returns the state of the updates, created on the first call.
+     *
+     * @return The state of the updates
+     */
+    private Incremental incremental() {
+        if (incremental == null) {
+            incremental = new Incremental();
+        }
+        return incremental;
+    }
+
+    /**
+     * Returns true if the given vertex can still be settled by the given
+     * destination.
+     *
+     * @param v    The vertex
+     * @param dest The id of the destination
+     * @param k    Number of nearest destinations per vertex
+     *
+     * @return True if the vertex has fewer than k nearest destinations, none
+     *         of which is the given one.
+     */
+    private static boolean canSettle(VAccess v, int dest, int k) {
+        final int count = v.getNearestDestinationCount();
+        if (count == k) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (v.getNearestDestinationId(i) == dest) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the k nearest destinations of the vertices inside the chains of
+     * the contraction from those of the ends of the chains.
+     *
+     * @param k Number of nearest destinations per vertex
+     */
+    private void expandNearest(int k) {
+        for (ChainContraction.Chain<VAccess, ?> chain
+                : contraction.getChains()) {
+            final VAccess source = chain.getSource();
+            final VAccess target = chain.getTarget();
+            final List<VAccess> vertices = chain.getVertices();
+            for (int i = 0; i < vertices.size(); i++) {
+                final VAccess v = vertices.get(i);
+                v.resetNearestDestinations(k);
+                final double toSource = chain.getOffset(i);
+                final double toTarget = chain.getLength() - toSource;
+                // Merge the destinations of both ends by distance.
+                int s = 0;
+                int t = 0;
+                while (v.getNearestDestinationCount() < k
+                        && (s < source.getNearestDestinationCount()
+                            || t < target.getNearestDestinationCount())) {
+                    final double viaSource =
+                            s < source.getNearestDestinationCount()
+                            ? source.getNearestDestinationDistance(s)
+                            + toSource
+                            : Double.POSITIVE_INFINITY;
+                    final double viaTarget =
+                            t < target.getNearestDestinationCount()
+                            ? target.getNearestDestinationDistance(t)
+                            + toTarget
+                            : Double.POSITIVE_INFINITY;
+                    final int dest;
+                    final double distance;
+                    if (viaSource <= viaTarget) {
+                        dest = source.getNearestDestinationId(s++);
+                        distance = viaSource;
+                    } else {
+                        dest = target.getNearestDestinationId(t++);
+                        distance = viaTarget;
+                    }
+                    if (canSettle(v, dest, k)) {
+                        v.addNearestDestination(dest, distance);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the closest destination of the vertices inside the chains of the
+     * contraction: a shortest path from such a vertex leaves the chain
+     * through one of its ends, as no destination lies inside.
+     */
+    private void expandChains() {
+        for (ChainContraction.Chain<VAccess, ?> chain
+                : contraction.getChains()) {
+            expandChain(chain);
+        }
+    }
+
+    /**
+     * Sets the closest destination of the vertices inside the chains ending
+     * at the given vertices of the contracted graph, the only ones whose
+     * closest destination may have changed with those of the vertices.
+     *
+     * @param ends Vertices of the contracted graph
+     */
+    private void expandChainsAt(List<VAccess> ends) {
+        final Set<ChainContraction.Chain<VAccess, ?>> expanded =
+                new HashSet<ChainContraction.Chain<VAccess, ?>>();
+        for (VAccess end : ends) {
+            for (ChainContraction.Chain<VAccess, ?> chain
+                    : contraction.getChainsAt(end)) {
+                if (expanded.add(chain)) {
+                    expandChain(chain);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the closest destination of the vertices inside a chain from
+     * those of its ends.
+     *
+     * @param chain The chain
+     */
+    private void expandChain(ChainContraction.Chain<VAccess, ?> chain) {
+        final VAccess source = chain.getSource();
+        final VAccess target = chain.getTarget();
+        final List<VAccess> vertices = chain.getVertices();
+        for (int i = 0; i < vertices.size(); i++) {
+            final VAccess v = vertices.get(i);
+            final double viaSource =
+                    source.getDistanceToClosestDestination()
+                    + chain.getOffset(i);
+            final double viaTarget =
+                    target.getDistanceToClosestDestination()
+                    + chain.getLength() - chain.getOffset(i);
+            if (viaTarget < viaSource) {
+                v.setDistanceToClosestDestination(viaTarget);
+                v.setClosestDestinationId(target.getClosestDestinationId());
+            } else if (viaSource < Double.POSITIVE_INFINITY) {
+                v.setDistanceToClosestDestination(viaSource);
+                v.setClosestDestinationId(source.getClosestDestinationId());
+            } else {
+                // Both ends may have lost their destination.
+                v.setDistanceToClosestDestination(Double.POSITIVE_INFINITY);
+                v.setClosestDestinationId(-1);
+            }
         }
     }
 
@@ -113,4 +525,294 @@ public class AccessibilityAnalyzer<E extends EdgeSPT> extends GeneralizedGraphAn
             }
         }
     }
+
+    /**
+     * The state of the searches updating the closest destinations when a
+     * destination is added or removed, kept in arrays indexed by vertex
+     * which are reset only where the previous search went.
+     */
+    private final class Incremental {
+
+        /**
+         * The arcs followed from the destinations, reversed on a directed
+         * graph as in {@link #compute()}.
+         */
+        private final CompactGraph<VAccess, E> search;
+        /**
+         * The arcs followed towards the destinations: the arcs of the
+         * graph itself on a directed graph.
+         */
+        private final CompactGraph<VAccess, E> inverse;
+        /**
+         * Tentative distance to the destination, infinite where the search
+         * did not go.
+         */
+        private final double[] dist = new double[nodeCount];
+        /**
+         * Tentative closest destination of the vertices of a cell.
+         */
+        private final int[] owner = new int[nodeCount];
+        /**
+         * Whether each vertex is in the cell being repaired.
+         */
+        private final boolean[] inCell = new boolean[nodeCount];
+        /**
+         * The vertices of the cell being repaired.
+         */
+        private final int[] cell = new int[nodeCount];
+        /**
+         * The vertices the search went to.
+         */
+        private final int[] touched = new int[nodeCount];
+        /**
+         * The vertices to settle, ordered by distance.
+         */
+        private final DistanceHeap heap = new DistanceHeap(dist);
+        /**
+         * The vertices whose closest destination the last update changed.
+         */
+        private final List<VAccess> changed = new ArrayList<VAccess>();
+        private int cellCount;
+        private int touchedCount;
+
+        /**
+         * Constructor.
+         */
+        Incremental() {
+            if (graph instanceof DirectedGraph) {
+                search = new CompactGraph<VAccess, E>(searchedGraph());
+                inverse = new CompactGraph<VAccess, E>(graph);
+            } else {
+                search = new CompactGraph<VAccess, E>(graph);
+                inverse = search;
+            }
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Searches from the new destination, only through the vertices it
+         * is strictly closer to than their closest destination, and makes
+         * it their closest destination.
+         *
+         * @param dest The new destination
+         */
+        void add(VAccess dest) {
+            final List<VAccess> vertices = search.vertices;
+            changed.clear();
+            final int s = search.indexOf(dest);
+            setDistance(s, 0.0);
+            while (!heap.isEmpty()) {
+                final int u = heap.poll();
+                final VAccess x = vertices.get(u);
+                x.setDistanceToClosestDestination(dist[u]);
+                x.setClosestDestinationId(dest.getID());
+                changed.add(x);
+                for (int a = search.first[u]; a < search.first[u + 1]; a++) {
+                    final int v = search.head[a];
+                    final double d = dist[u] + search.weight[a];
+                    if (d < dist[v] && d < vertices.get(v)
+                            .getDistanceToClosestDestination()) {
+                        setDistance(v, d);
+                    }
+                }
+            }
+            reset();
+        }
+
+        /**
+         * Finds the cell of the removed destination and sets the closest
+         * destination of its vertices by a search started from the
+         * vertices around it.
+         *
+         * @param dest The removed destination
+         */
+        void remove(VAccess dest) {
+            final List<VAccess> vertices = search.vertices;
+            changed.clear();
+            final int id = dest.getID();
+            // The shortest paths from the destination to its cell only go
+            // through vertices it is (one of) the closest destinations of.
+            setDistance(search.indexOf(dest), 0.0);
+            while (!heap.isEmpty()) {
+                final int u = heap.poll();
+                if (vertices.get(u).getClosestDestinationId() == id) {
+                    inCell[u] = true;
+                    cell[cellCount++] = u;
+                }
+                for (int a = search.first[u]; a < search.first[u + 1]; a++) {
+                    final int v = search.head[a];
+                    final double d = dist[u] + search.weight[a];
+                    if (d < dist[v] && d <= vertices.get(v)
+                            .getDistanceToClosestDestination() + TOLERANCE) {
+                        setDistance(v, d);
+                    }
+                }
+            }
+            resetDistances();
+
+            for (int i = 0; i < cellCount; i++) {
+                final VAccess x = vertices.get(cell[i]);
+                x.setDistanceToClosestDestination(Double.POSITIVE_INFINITY);
+                x.setClosestDestinationId(-1);
+                changed.add(x);
+            }
+            // Enter the cell from the closest destinations around it.
+            for (int i = 0; i < cellCount; i++) {
+                final int v = cell[i];
+                final int w = inverse.indexOf(vertices.get(v));
+                for (int a = inverse.first[w]; a < inverse.first[w + 1];
+                        a++) {
+                    final VAccess y = inverse.vertices.get(inverse.head[a]);
+                    final double d = y.getDistanceToClosestDestination()
+                            + inverse.weight[a];
+                    if (d < dist[v]) {
+                        setDistance(v, d);
+                        owner[v] = y.getClosestDestinationId();
+                    }
+                }
+            }
+            while (!heap.isEmpty()) {
+                final int u = heap.poll();
+                final VAccess x = vertices.get(u);
+                x.setDistanceToClosestDestination(dist[u]);
+                x.setClosestDestinationId(owner[u]);
+                for (int a = search.first[u]; a < search.first[u + 1]; a++) {
+                    final int v = search.head[a];
+                    final double d = dist[u] + search.weight[a];
+                    if (inCell[v] && d < dist[v]) {
+                        setDistance(v, d);
+                        owner[v] = owner[u];
+                    }
+                }
+            }
+            reset();
+        }
+
+        /**
+         * Sets the tentative distance of a vertex and queues it.
+         *
+         * @param v The vertex
+         * @param d Its distance
+         */
+        private void setDistance(int v, double d) {
+            if (dist[v] == Double.POSITIVE_INFINITY) {
+                touched[touchedCount++] = v;
+            }
+            dist[v] = d;
+            heap.update(v);
+        }
+
+        /**
+         * Clears the distances left by the previous search where it went.
+         */
+        private void resetDistances() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            heap.clear();
+            touchedCount = 0;
+        }
+
+        /**
+         * Clears the state left by the previous update.
+         */
+        private void reset() {
+            resetDistances();
+            for (int i = 0; i < cellCount; i++) {
+                inCell[cell[i]] = false;
+            }
+            cellCount = 0;
+        }
+    }
+
+    /**
+     * Binary heap of the labels (vertex, destination, distance) ordered by
+     * distance, stored in parallel arrays.
+     */
+    private static final class LabelQueue {
+
+        private int[] vertex = new int[16];
+        private int[] destination = new int[16];
+        private double[] distance = new double[16];
+        private int size;
+
+        /**
+         * Returns true if the queue is empty.
+         *
+         * @return True if the queue is empty
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Adds a label.
+         *
+         * @param v    Index of the vertex
+         * @param dest Id of the destination
+         * @param d    Distance
+         */
+        void add(int v, int dest, double d) {
+            if (size == vertex.length) {
+                vertex = Arrays.copyOf(vertex, 2 * size);
+                destination = Arrays.copyOf(destination, 2 * size);
+                distance = Arrays.copyOf(distance, 2 * size);
+            }
+            int i = size++;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (distance[parent] <= d) {
+                    break;
+                }
+                set(i, parent);
+                i = parent;
+            }
+            vertex[i] = v;
+            destination[i] = dest;
+            distance[i] = d;
+        }
+
+        /**
+         * Removes the label at the top, of smallest distance.
+         */
+        void poll() {
+            size--;
+            if (size == 0) {
+                return;
+            }
+            final int v = vertex[size];
+            final int dest = destination[size];
+            final double d = distance[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && distance[child + 1] < distance[child]) {
+                    child++;
+                }
+                if (d <= distance[child]) {
+                    break;
+                }
+                set(i, child);
+                i = child;
+            }
+            vertex[i] = v;
+            destination[i] = dest;
+            distance[i] = d;
+        }
+
+        /**
+         * Copies a label to another position.
+         *
+         * @param to   The position to copy to
+         * @param from The position of the label
+         */
+        private void set(int to, int from) {
+            vertex[to] = vertex[from];
+            destination[to] = destination[from];
+            distance[to] = distance[from];
+        }
+    }
 }
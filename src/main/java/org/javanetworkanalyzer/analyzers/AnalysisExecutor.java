@@ -0,0 +1,211 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.javanetworkanalyzer.data.PathLengthData;
+import org.javanetworkanalyzer.data.VAccess;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.EdgeSPT;
+import org.jgrapht.Graph;
+
+/**
+ * Runs analyses asynchronously on a fixed number of threads, so that at most
+ * that many analyses run at the same time and the others wait in line.
+ *
+ * <p> Each submission returns an {@link AnalysisJob} giving the progress of
+ * the analysis and allowing to cancel it. Analyses running at the same time
+ * must not share vertices or edges, as the analyzers store their results and
+ * working state in them: to run, say, centrality and accessibility on the
+ * same network, load one graph for each.
+ */
+public class AnalysisExecutor {
+
+    /**
+     * Runs the analyses.
+     */
+    private final ExecutorService executor;
+    /**
+     * The jobs not yet done.
+     */
+    private final List<AnalysisJob<?>> jobs =
+            new CopyOnWriteArrayList<AnalysisJob<?>>();
+
+    /**
+     * Creates an executor running as many analyses at the same time as there
+     * are available processors.
+     */
+    public AnalysisExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an executor running at most the given number of analyses at the
+     * same time.
+     *
+     * @param parallelism Maximum number of analyses running at the same time
+     */
+    public AnalysisExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive.");
+        }
+        final AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        final Thread t = new Thread(r,
+                                "analysis-" + threads.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+    }
+
+    /**
+     * Submits a centrality analysis ({@link GraphAnalyzer#computeAll()}).
+     * The job's result is the analyzed graph.
+     *
+     * @param analyzer The analyzer
+     * @param <V>      Vertex
+     * @param <E>      Edge
+     *
+     * @return The job
+     */
+    // V has the raw bound of GraphAnalyzer so that the raw vertex classes
+    // remain valid type arguments.
+    @SuppressWarnings("rawtypes")
+    public <V extends VCent, E extends EdgeCent>
+            AnalysisJob<Graph<V, E>> submit(
+            final GraphAnalyzer<V, E, ? extends PathLengthData<?>> analyzer) {
+        return submit(new AnalysisJob<Graph<V, E>>("Centrality", analyzer,
+                new Callable<Graph<V, E>>() {
+                    @Override
+                    public Graph<V, E> call() throws Exception {
+                        analyzer.computeAll();
+                        return analyzer.getGraph();
+                    }
+                }));
+    }
+
+    /**
+     * Submits an accessibility analysis ({@link AccessibilityAnalyzer#compute()}).
+     * The job's result is the analyzed graph.
+     *
+     * @param analyzer The analyzer
+     * @param <E>      Edge
+     *
+     * @return The job
+     */
+    // VAccess is used raw and E has the raw bound of AccessibilityAnalyzer.
+    @SuppressWarnings("rawtypes")
+    public <E extends EdgeSPT> AnalysisJob<Graph<VAccess, E>> submit(
+            final AccessibilityAnalyzer<E> analyzer) {
+        return submit(new AnalysisJob<Graph<VAccess, E>>("Accessibility",
+                analyzer, new Callable<Graph<VAccess, E>>() {
+                    @Override
+                    public Graph<VAccess, E> call() {
+                        analyzer.compute();
+                        return analyzer.getGraph();
+                    }
+                }));
+    }
+
+    /**
+     * Queues the given job.
+     *
+     * @param job The job
+     * @param <R> The result of the job
+     *
+     * @return The job
+     */
+    private <R> AnalysisJob<R> submit(AnalysisJob<R> job) {
+        for (AnalysisJob<?> j : jobs) {
+            if (j.isDone()) {
+                jobs.remove(j);
+            }
+        }
+        jobs.add(job);
+        executor.execute(job.getTask());
+        return job;
+    }
+
+    /**
+     * Stops accepting analyses; the submitted ones still run.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Stops accepting analyses and cancels the submitted ones.
+     */
+    public void shutdownNow() {
+        executor.shutdown();
+        for (AnalysisJob<?> job : jobs) {
+            job.cancel(false);
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Waits until all analyses have stopped after a shutdown.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit    The unit of the timeout
+     *
+     * @return {@code true} if all analyses have stopped
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
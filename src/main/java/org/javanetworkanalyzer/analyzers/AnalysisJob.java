@@ -0,0 +1,305 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.javanetworkanalyzer.progress.ProgressMonitor;
+
+/**
+ * Handle on an analysis submitted to an {@link AnalysisExecutor}.
+ *
+ * <p> Besides the {@link Future} methods, it gives the progress of the
+ * analysis and, once the analysis has stopped, its partial result: the
+ * analyzers only check for cancellation between two sources, so after
+ * {@link #cancel(boolean)} the analysis finishes its current source and
+ * leaves in the graph the results of the sources processed so far.
+ *
+ * @param <R> The result of the analysis
+ */
+public class AnalysisJob<R> implements Future<R> {
+
+    /**
+     * Name of the job.
+     */
+    private final String name;
+    /**
+     * Runs the analysis.
+     */
+    private final FutureTask<R> task;
+    /**
+     * Set when the analysis starts, or when it is cancelled before starting.
+     */
+    private final AtomicBoolean started = new AtomicBoolean();
+    /**
+     * Released when the analysis has stopped, or was cancelled before
+     * starting.
+     */
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    /**
+     * Whether cancellation was requested.
+     */
+    private volatile boolean cancelRequested;
+    /**
+     * The result left by the analysis, complete or not.
+     */
+    private volatile R partialResult;
+    /**
+     * Progress of the analysis.
+     */
+    private final Monitor monitor;
+
+    /**
+     * Creates a job running the given analysis. The analyzer reports to the
+     * job, which forwards to the analyzer's former monitor.
+     *
+     * @param name     Name of the job
+     * @param analyzer The analyzer
+     * @param analysis Runs the analysis and returns its result
+     */
+    AnalysisJob(String name, GeneralizedGraphAnalyzer<?, ?> analyzer,
+                final Callable<R> analysis) {
+        this.name = name;
+        this.monitor = new Monitor(analyzer.getProgressMonitor());
+        analyzer.setProgressMonitor(monitor);
+        this.task = new FutureTask<R>(new Callable<R>() {
+            @Override
+            public R call() throws Exception {
+                if (!started.compareAndSet(false, true)) {
+                    return null;
+                }
+                try {
+                    final R result = analysis.call();
+                    partialResult = result;
+                    return result;
+                } finally {
+                    stopped.countDown();
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the task to execute.
+     *
+     * @return The task
+     */
+    Runnable getTask() {
+        return task;
+    }
+
+    /**
+     * Returns the name of the job.
+     *
+     * @return The name of the job
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of sources processed.
+     *
+     * @return The number of sources processed
+     */
+    public long getProcessedCount() {
+        return monitor.count;
+    }
+
+    /**
+     * Returns the number of sources to process, or 0 before the analysis
+     * starts.
+     *
+     * @return The number of sources to process
+     */
+    public long getTotalCount() {
+        return monitor.end;
+    }
+
+    /**
+     * Returns the percentage of the sources processed.
+     *
+     * @return The percentage complete
+     */
+    public int getPercentageComplete() {
+        return monitor.getPercentageComplete();
+    }
+
+    /**
+     * Waits until the analysis has stopped, completed or cancelled, and
+     * returns its result. After a cancellation, the result only covers the
+     * sources processed before the analysis noticed it; it is {@code null}
+     * if the analysis was cancelled before starting or failed.
+     *
+     * @return The result, complete or partial
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public R getPartialResult() throws InterruptedException {
+        stopped.await();
+        return partialResult;
+    }
+
+    /**
+     * Asks the analysis to stop after its current source.
+     *
+     * @param mayInterruptIfRunning Whether to also interrupt the thread
+     *                              running the analysis
+     *
+     * @return {@code false} if the job had already completed
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        cancelRequested = true;
+        final boolean cancelled = task.cancel(mayInterruptIfRunning);
+        if (cancelled && started.compareAndSet(false, true)) {
+            // Never started: there is nothing to wait for.
+            stopped.countDown();
+        }
+        return cancelled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCancelled() {
+        return task.isCancelled();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isDone() {
+        return task.isDone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public R get() throws InterruptedException, ExecutionException {
+        return task.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public R get(long timeout, TimeUnit unit) throws InterruptedException,
+            ExecutionException, TimeoutException {
+        return task.get(timeout, unit);
+    }
+
+    /**
+     * Records the progress of the analysis, forwards it to the analyzer's
+     * former monitor and reports the cancellation of the job.
+     */
+    private class Monitor implements ProgressMonitor {
+
+        /**
+         * The analyzer's former monitor.
+         */
+        private final ProgressMonitor delegate;
+        /**
+         * Number of sources processed.
+         */
+        private volatile long count;
+        /**
+         * Number of sources to process.
+         */
+        private volatile long end;
+
+        /**
+         * Constructor.
+         *
+         * @param delegate The analyzer's former monitor
+         */
+        Monitor(ProgressMonitor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void startTask(String taskName, long end) {
+            this.end = end;
+            delegate.startTask(taskName, end);
+        }
+
+        @Override
+        public void endTask() {
+            delegate.endTask();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelRequested || delegate.isCancelled();
+        }
+
+        @Override
+        public void setProgress(long count) {
+            this.count = count;
+            delegate.setProgress(count);
+        }
+
+        @Override
+        public int getPercentageComplete() {
+            final long e = end;
+            return e <= 0 ? 0 : (int) (count * 100 / e);
+        }
+
+        @Override
+        public long getEnd() {
+            return end;
+        }
+
+        @Override
+        public void setProgress(long count, long startTime) {
+            this.count = count;
+            delegate.setProgress(count, startTime);
+        }
+    }
+}
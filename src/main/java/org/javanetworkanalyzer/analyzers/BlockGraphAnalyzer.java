@@ -0,0 +1,531 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.javanetworkanalyzer.alg.BlockCutTree;
+import org.javanetworkanalyzer.data.UnweightedPathLengthData;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.data.WeightedPathLengthData;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.javanetworkanalyzer.progress.NullProgressMonitor;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the same vertex and edge betweenness as
+ * {@link GraphAnalyzer#computeAll()} on an undirected graph block by block:
+ * the graph is decomposed into its biconnected components by a
+ * {@link BlockCutTree}, and the shortest paths are only searched inside each
+ * block, possibly in parallel, from and to its vertices weighted by the
+ * number of vertices they stand for outside the block. The pairs of
+ * vertices separated by an articulation point add to its betweenness
+ * directly.
+ *
+ * <p> The searches from a source thus stop at the articulation points
+ * instead of running over the whole graph again, which matters on tree-like
+ * networks; a bridge needs no search at all. Closeness is not computed. A
+ * graph with parallel edges is analyzed as a single block.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+// The vertex classes are used raw, as by the analyzers of the blocks.
+@SuppressWarnings("rawtypes")
+public abstract class BlockGraphAnalyzer<V extends VCent, E extends EdgeCent>
+        extends GeneralizedGraphAnalyzer<V, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(BlockGraphAnalyzer.class);
+    /**
+     * Number of blocks analyzed at the same time.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Constructor.
+     *
+     * @param graph The graph to be analyzed.
+     *
+     * @throws IllegalArgumentException If the graph is directed.
+     */
+    protected BlockGraphAnalyzer(Graph<V, E> graph) {
+        super(graph);
+        if (graph instanceof DirectedGraph) {
+            throw new IllegalArgumentException(
+                    "Only undirected graphs can be decomposed into blocks.");
+        }
+    }
+
+    /**
+     * Returns an analyzer computing the same betweenness as a
+     * {@link WeightedGraphAnalyzer} on the given undirected graph.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <E extends EdgeCent> BlockGraphAnalyzer<VWCent, E> weighted(
+            WeightedGraph<VWCent, E> graph) {
+        return new Weighted<E>(graph);
+    }
+
+    /**
+     * Returns an analyzer computing the same betweenness as an
+     * {@link UnweightedGraphAnalyzer} on the given undirected graph.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <E extends EdgeCent> BlockGraphAnalyzer<VUCent, E> unweighted(
+            Graph<VUCent, E> graph) {
+        return new Unweighted<E>(graph);
+    }
+
+    /**
+     * Sets the number of blocks analyzed at the same time (1 by default).
+     *
+     * @param parallelism Number of threads
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates the analyzer of the whole graph.
+     *
+     * @param weights The weights of the vertices, or null
+     *
+     * @return The analyzer.
+     */
+    protected abstract GraphAnalyzer<V, E, ?> createAnalyzer(
+            Map<V, Integer> weights)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException;
+
+    /**
+     * Creates the analyzer of the copy of a block.
+     *
+     * @param block   The copy of the block
+     * @param weights The weights of its vertices
+     *
+     * @return The analyzer.
+     */
+    protected abstract GraphAnalyzer<V, E, ?> createAnalyzer(
+            WeightedGraph<V, E> block, Map<V, Integer> weights)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException;
+
+    /**
+     * Creates an empty graph to which a block is copied. The copy keeps the
+     * weights of the edges, which an unweighted analyzer ignores.
+     *
+     * @param vertexCount The number of vertices of the block
+     *
+     * @return The graph.
+     */
+    protected abstract WeightedGraph<V, E> createGraph(int vertexCount);
+
+    /**
+     * Returns a new vertex with the same id as the given one.
+     *
+     * @param v Vertex
+     *
+     * @return The copy.
+     */
+    protected abstract V copy(V v);
+
+    /**
+     * Computes the vertex and edge betweenness block by block and normalizes
+     * them over the whole graph.
+     */
+    public void computeBetweenness() throws NoSuchMethodException,
+            InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+        if (hasParallelEdges()) {
+            LOGGER.warn("The graph has parallel edges: it is analyzed as a "
+                        + "single block.");
+            analyzeWhole();
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final BlockCutTree<V, E> tree = new BlockCutTree<V, E>(graph);
+        final List<BlockCutTree.Block<V, E>> blocks = tree.getBlocks();
+        LOGGER.info("({} ms) {} blocks.", System.currentTimeMillis() - start,
+                    blocks.size());
+        pm.startTask("Block graph analysis", blocks.size());
+        for (V v : nodeSet) {
+            v.setBetweenness(tree.getSeparatedPairCount(v));
+        }
+        for (E e : graph.edgeSet()) {
+            e.setBetweenness(0.0);
+        }
+
+        final ParallelTasks<BlockCopy<V, E>> tasks =
+                new ParallelTasks<BlockCopy<V, E>>(parallelism,
+                                                   "analyzing the blocks");
+        long count = 0;
+        try {
+            for (final BlockCutTree.Block<V, E> block : blocks) {
+                if (block.getEdges().size() == 1) {
+                    // A bridge is on the paths between the vertices on
+                    // either side.
+                    final E e = block.getEdges().get(0);
+                    e.setBetweenness(2.0
+                            * block.getWeight(graph.getEdgeSource(e))
+                            * block.getWeight(graph.getEdgeTarget(e)));
+                    count++;
+                    continue;
+                }
+                tasks.submit(new Callable<BlockCopy<V, E>>() {
+                    @Override
+                    public BlockCopy<V, E> call() throws Exception {
+                        return analyze(block);
+                    }
+                });
+            }
+            pm.setProgress(count, start);
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.take().addBetweenness();
+                pm.setProgress(++count, start);
+            }
+        } catch (ExecutionException ex) {
+            rethrowCause(ex);
+        } finally {
+            tasks.close();
+        }
+
+        final GraphAnalyzer<V, E, ?> whole = createAnalyzer(null);
+        whole.setResultSink(resultSink);
+        whole.normalizeBetweenness();
+        pm.endTask();
+    }
+
+    /**
+     * Computes the betweenness on the whole graph, as a single block.
+     */
+    private void analyzeWhole() throws NoSuchMethodException,
+            InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+        final Map<V, Integer> weights = new HashMap<V, Integer>();
+        for (V v : nodeSet) {
+            v.setBetweenness(0.0);
+            weights.put(v, 1);
+        }
+        for (E e : graph.edgeSet()) {
+            e.setBetweenness(0.0);
+        }
+        final GraphAnalyzer<V, E, ?> analyzer = createAnalyzer(weights);
+        analyzer.setProgressMonitor(pm);
+        analyzer.setMetrics(metrics);
+        pm.startTask("Block graph analysis", nodeCount);
+        analyzer.accumulateAllContributions();
+        pm.endTask();
+        analyzer.setResultSink(resultSink);
+        analyzer.normalizeBetweenness();
+    }
+
+    /**
+     * Accumulates the betweenness contributions of the paths between the
+     * vertices of the given block in a copy of the block: the vertices of
+     * several blocks are searched from at the same time, so they cannot be
+     * shared.
+     *
+     * @param block The block
+     *
+     * @return The analyzed copy.
+     */
+    private BlockCopy<V, E> analyze(BlockCutTree.Block<V, E> block)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException {
+        final BlockCopy<V, E> blockCopy = new BlockCopy<V, E>(
+                createGraph(block.getVertices().size()));
+        final Map<V, V> copies = new HashMap<V, V>();
+        final Map<V, Integer> weights = new HashMap<V, Integer>();
+        for (V v : block.getVertices()) {
+            final V c = copy(v);
+            blockCopy.graph.addVertex(c);
+            blockCopy.vertices.put(c, v);
+            copies.put(v, c);
+            weights.put(c, block.getWeight(v));
+        }
+        for (E e : block.getEdges()) {
+            final E c = blockCopy.graph.addEdge(
+                    copies.get(graph.getEdgeSource(e)),
+                    copies.get(graph.getEdgeTarget(e)));
+            blockCopy.graph.setEdgeWeight(c, graph.getEdgeWeight(e));
+            blockCopy.edges.put(c, e);
+        }
+        final GraphAnalyzer<V, E, ?> analyzer =
+                createAnalyzer(blockCopy.graph, weights);
+        analyzer.setProgressMonitor(new NullProgressMonitor() {
+            @Override
+            public boolean isCancelled() {
+                return pm.isCancelled();
+            }
+        });
+        analyzer.setMetrics(metrics);
+        analyzer.accumulateAllContributions();
+        return blockCopy;
+    }
+
+    /**
+     * The copy of a block, with the original of each vertex and edge.
+     *
+     * @param <V> Vertex
+     * @param <E> Edge
+     */
+    private static class BlockCopy<V extends VCent, E extends EdgeCent> {
+
+        /**
+         * The copy of the block.
+         */
+        private final WeightedGraph<V, E> graph;
+        /**
+         * The original of each vertex of the copy.
+         */
+        private final Map<V, V> vertices = new HashMap<V, V>();
+        /**
+         * The original of each edge of the copy.
+         */
+        private final Map<E, E> edges = new HashMap<E, E>();
+
+        /**
+         * Constructor.
+         *
+         * @param graph The (empty) copy of the block
+         */
+        BlockCopy(WeightedGraph<V, E> graph) {
+            this.graph = graph;
+        }
+
+        /**
+         * Adds the betweenness accumulated in the copy to the originals.
+         */
+        void addBetweenness() {
+            for (Map.Entry<V, V> entry : vertices.entrySet()) {
+                entry.getValue().accumulateBetweenness(
+                        entry.getKey().getBetweenness());
+            }
+            for (Map.Entry<E, E> entry : edges.entrySet()) {
+                entry.getValue().accumulateBetweenness(
+                        entry.getKey().getBetweenness());
+            }
+        }
+    }
+
+    /**
+     * Block analyzer of weighted graphs.
+     *
+     * @param <E> Edge
+     */
+    private static class Weighted<E extends EdgeCent>
+            extends BlockGraphAnalyzer<VWCent, E> {
+
+        /**
+         * The graph, with its weights.
+         */
+        private final WeightedGraph<VWCent, E> weightedGraph;
+
+        /**
+         * Constructor.
+         *
+         * @param graph The graph to be analyzed.
+         */
+        Weighted(WeightedGraph<VWCent, E> graph) {
+            super(graph);
+            this.weightedGraph = graph;
+        }
+
+        @Override
+        protected GraphAnalyzer<VWCent, E, ?> createAnalyzer(
+                Map<VWCent, Integer> weights) throws NoSuchMethodException,
+                InstantiationException, IllegalAccessException,
+                IllegalArgumentException, InvocationTargetException {
+            return analyzer(weightedGraph, weights);
+        }
+
+        @Override
+        protected GraphAnalyzer<VWCent, E, ?> createAnalyzer(
+                WeightedGraph<VWCent, E> block, Map<VWCent, Integer> weights)
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            return analyzer(block, weights);
+        }
+
+        /**
+         * Creates the analyzer of the given graph.
+         *
+         * @param g       The graph
+         * @param weights The weights of its vertices, or null
+         *
+         * @return The analyzer.
+         */
+        private GraphAnalyzer<VWCent, E, ?> analyzer(
+                WeightedGraph<VWCent, E> g,
+                final Map<VWCent, Integer> weights)
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            if (weights == null) {
+                return new WeightedGraphAnalyzer<E>(g);
+            }
+            return new WeightedGraphAnalyzer<E>(g) {
+                @Override
+                protected double getVertexWeight(VWCent v) {
+                    return weights.get(v);
+                }
+
+                @Override
+                protected void calculateClosenessForNode(
+                        VWCent node, WeightedPathLengthData paths) {
+                }
+            };
+        }
+
+        @Override
+        protected WeightedGraph<VWCent, E> createGraph(int vertexCount) {
+            return new WeightedPseudoG<VWCent, E>(VWCent.class,
+                    graph.getEdgeFactory(), vertexCount);
+        }
+
+        @Override
+        protected VWCent copy(VWCent v) {
+            return new VWCent(v.getID());
+        }
+    }
+
+    /**
+     * Block analyzer of unweighted graphs.
+     *
+     * @param <E> Edge
+     */
+    private static class Unweighted<E extends EdgeCent>
+            extends BlockGraphAnalyzer<VUCent, E> {
+
+        /**
+         * Constructor.
+         *
+         * @param graph The graph to be analyzed.
+         */
+        Unweighted(Graph<VUCent, E> graph) {
+            super(graph);
+        }
+
+        @Override
+        protected GraphAnalyzer<VUCent, E, ?> createAnalyzer(
+                Map<VUCent, Integer> weights) throws NoSuchMethodException,
+                InstantiationException, IllegalAccessException,
+                IllegalArgumentException, InvocationTargetException {
+            return analyzer(graph, weights);
+        }
+
+        @Override
+        protected GraphAnalyzer<VUCent, E, ?> createAnalyzer(
+                WeightedGraph<VUCent, E> block, Map<VUCent, Integer> weights)
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            return analyzer(block, weights);
+        }
+
+        /**
+         * Creates the analyzer of the given graph.
+         *
+         * @param g       The graph
+         * @param weights The weights of its vertices, or null
+         *
+         * @return The analyzer.
+         */
+        private GraphAnalyzer<VUCent, E, ?> analyzer(
+                Graph<VUCent, E> g, final Map<VUCent, Integer> weights)
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            if (weights == null) {
+                return new UnweightedGraphAnalyzer<E>(g);
+            }
+            return new UnweightedGraphAnalyzer<E>(g) {
+                @Override
+                protected double getVertexWeight(VUCent v) {
+                    return weights.get(v);
+                }
+
+                @Override
+                protected void calculateClosenessForNode(
+                        VUCent node, UnweightedPathLengthData paths) {
+                }
+            };
+        }
+
+        @Override
+        protected WeightedGraph<VUCent, E> createGraph(int vertexCount) {
+            return new WeightedPseudoG<VUCent, E>(VUCent.class,
+                    graph.getEdgeFactory(), vertexCount);
+        }
+
+        @Override
+        protected VUCent copy(VUCent v) {
+            return new VUCent(v.getID());
+        }
+    }
+}
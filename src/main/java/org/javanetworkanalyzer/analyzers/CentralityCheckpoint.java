@@ -0,0 +1,347 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary snapshot of the state of a {@link GraphAnalyzer} in the middle of
+ * {@link GraphAnalyzer#computeAll()}: the set of processed sources and the
+ * accumulated (not yet normalized) vertex betweenness, edge betweenness and
+ * closeness.
+ *
+ * <p> The same file holds the partial results written by
+ * {@link GraphAnalyzer#computePartial}, which are combined with
+ * {@link #merge()}.
+ *
+ * <p> Layout (big-endian): a header {@code MAGIC, VERSION, vertexCount,
+ * edgeCount}, then for each vertex {@code int id, byte processed, double
+ * betweenness, double closeness, double harmonicCloseness, double
+ * wassermanFaustCloseness}, then for each edge {@code int sourceId, int
+ * targetId, int ordinal, double betweenness}.
+ *
+ * <p> Edges are identified by the ids of their endpoints (in increasing order
+ * for undirected graphs) and by their ordinal among the parallel edges with
+ * the same endpoints, so a checkpoint can be restored into a graph rebuilt
+ * with its edges in a different order. Edge ids are not used since graphs
+ * built by hand need not set them.
+ *
+ * @param <V> vertex
+ * @param <E> edge
+ */
+// Same raw bound as GraphAnalyzer, so that the raw vertex classes remain
+// valid type arguments.
+@SuppressWarnings("rawtypes")
+public class CentralityCheckpoint<V extends VCent, E extends EdgeCent> {
+
+    /**
+     * File signature ("JNAC").
+     */
+    private static final int MAGIC = 0x4A4E4143;
+    /**
+     * Version of the file layout.
+     */
+    private static final int VERSION = 3;
+    /**
+     * The checkpoint file.
+     */
+    private final File file;
+    /**
+     * The vertices of the analyzed graph.
+     */
+    private final Set<V> nodeSet;
+    /**
+     * The analyzed graph.
+     */
+    private final Graph<V, E> graph;
+    /**
+     * The edges of the analyzed graph.
+     */
+    private final Set<E> edgeSet;
+
+    /**
+     * Constructor.
+     *
+     * @param file    The checkpoint file
+     * @param nodeSet The vertices of the analyzed graph
+     * @param graph   The analyzed graph
+     */
+    public CentralityCheckpoint(File file, Set<V> nodeSet, Graph<V, E> graph) {
+        this.file = file;
+        this.nodeSet = nodeSet;
+        this.graph = graph;
+        this.edgeSet = graph.edgeSet();
+    }
+
+    /**
+     * Returns the checkpoint file.
+     *
+     * @return The checkpoint file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Writes the current centrality values and the given processed sources to
+     * the checkpoint file. The file is first written next to the checkpoint
+     * and then moved over it, so an interrupted write never corrupts the last
+     * checkpoint.
+     *
+     * @param processed The sources whose contribution has been accumulated
+     *
+     * @throws IOException If the file could not be written.
+     */
+    public void save(Set<V> processed) throws IOException {
+        final File tmp = new File(file.getPath() + ".tmp");
+        final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(nodeSet.size());
+            out.writeInt(edgeSet.size());
+            for (V node : nodeSet) {
+                out.writeInt(node.getID());
+                out.writeBoolean(processed.contains(node));
+                out.writeDouble(node.getBetweenness());
+                out.writeDouble(node.getCloseness());
+                out.writeDouble(node.getHarmonicCloseness());
+                out.writeDouble(node.getWassermanFaustCloseness());
+            }
+            final Map<Long, Integer> ordinals =
+                    new HashMap<Long, Integer>(2 * edgeSet.size());
+            for (E edge : edgeSet) {
+                final long key = endpointKey(edge);
+                final Integer previous = ordinals.get(key);
+                final int ordinal = (previous == null) ? 0 : previous + 1;
+                ordinals.put(key, ordinal);
+                out.writeInt((int) (key >>> 32));
+                out.writeInt((int) key);
+                out.writeInt(ordinal);
+                out.writeDouble(edge.getBetweenness());
+            }
+        } finally {
+            out.close();
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp.toPath(), file.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Restores the centrality values stored in the checkpoint file onto the
+     * vertices and edges of the graph and returns the processed sources. If
+     * there is no checkpoint file, nothing is restored.
+     *
+     * @return The sources whose contribution was accumulated at the time of
+     *         the checkpoint.
+     *
+     * @throws IOException           If the file could not be read.
+     * @throws IllegalStateException If the checkpoint was not taken on this
+     *                               graph.
+     */
+    public Set<V> restore() throws IOException {
+        if (!file.exists()) {
+            return new HashSet<V>();
+        }
+        return read(false);
+    }
+
+    /**
+     * Adds the betweenness values stored in the checkpoint file to those of
+     * the vertices and edges of the graph, sets the closeness of the sources
+     * it records as processed and returns these sources.
+     *
+     * @return The sources whose contribution was accumulated in the file.
+     *
+     * @throws IOException           If the file could not be read.
+     * @throws IllegalStateException If the checkpoint was not taken on this
+     *                               graph.
+     */
+    public Set<V> merge() throws IOException {
+        return read(true);
+    }
+
+    /**
+     * Reads the checkpoint file onto the vertices and edges of the graph.
+     *
+     * @param accumulate {@code true} to add the stored betweenness values to
+     *                   the current ones and only set the closeness of
+     *                   processed sources; {@code false} to overwrite all
+     *                   values
+     *
+     * @return The processed sources recorded in the file.
+     *
+     * @throws IOException If the file could not be read.
+     */
+    private Set<V> read(boolean accumulate) throws IOException {
+        final Set<V> processed = new HashSet<V>();
+        final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalStateException(
+                        file + " is not a centrality checkpoint.");
+            }
+            if (in.readInt() != nodeSet.size()
+                    || in.readInt() != edgeSet.size()) {
+                throw new IllegalStateException("The checkpoint " + file
+                        + " was taken on a graph of a different size.");
+            }
+            final Map<Integer, V> nodesById =
+                    new HashMap<Integer, V>(2 * nodeSet.size());
+            for (V node : nodeSet) {
+                nodesById.put(node.getID(), node);
+            }
+            for (int i = 0; i < nodeSet.size(); i++) {
+                final V node = nodesById.get(in.readInt());
+                if (node == null) {
+                    throw new IllegalStateException("The checkpoint " + file
+                            + " contains an unknown vertex.");
+                }
+                final boolean isProcessed = in.readBoolean();
+                if (isProcessed) {
+                    processed.add(node);
+                }
+                final double betweenness = in.readDouble();
+                final double closeness = in.readDouble();
+                final double harmonic = in.readDouble();
+                final double wassermanFaust = in.readDouble();
+                if (accumulate) {
+                    node.accumulateBetweenness(betweenness);
+                } else {
+                    node.setBetweenness(betweenness);
+                }
+                if (!accumulate || isProcessed) {
+                    node.setCloseness(closeness);
+                    node.setHarmonicCloseness(harmonic);
+                    node.setWassermanFaustCloseness(wassermanFaust);
+                }
+            }
+            final Map<Long, List<E>> edgesByEndpoints =
+                    new HashMap<Long, List<E>>(2 * edgeSet.size());
+            for (E edge : edgeSet) {
+                final long key = endpointKey(edge);
+                List<E> parallel = edgesByEndpoints.get(key);
+                if (parallel == null) {
+                    parallel = new ArrayList<E>(1);
+                    edgesByEndpoints.put(key, parallel);
+                }
+                parallel.add(edge);
+            }
+            for (int i = 0; i < edgeSet.size(); i++) {
+                final long key = ((long) in.readInt() << 32)
+                        | (in.readInt() & 0xFFFFFFFFL);
+                final int ordinal = in.readInt();
+                final List<E> parallel = edgesByEndpoints.get(key);
+                if (parallel == null || ordinal >= parallel.size()) {
+                    throw new IllegalStateException("The edges of the "
+                            + "checkpoint " + file + " do not match the "
+                            + "graph.");
+                }
+                final E edge = parallel.get(ordinal);
+                if (accumulate) {
+                    edge.accumulateBetweenness(in.readDouble());
+                } else {
+                    edge.setBetweenness(in.readDouble());
+                }
+            }
+        } finally {
+            in.close();
+        }
+        return processed;
+    }
+
+    /**
+     * Packs the ids of the endpoints of the given edge into a long, the
+     * source id in the high bits. For undirected graphs the smaller id comes
+     * first.
+     *
+     * @param edge Edge
+     *
+     * @return The endpoint key of the edge
+     */
+    private long endpointKey(E edge) {
+        int source = graph.getEdgeSource(edge).getID();
+        int target = graph.getEdgeTarget(edge).getID();
+        if (!(graph instanceof DirectedGraph) && target < source) {
+            final int tmp = source;
+            source = target;
+            target = tmp;
+        }
+        return ((long) source << 32) | (target & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Deletes the checkpoint file, if any.
+     *
+     * @return {@code true} if there is no checkpoint file left.
+     */
+    public boolean delete() {
+        return !file.exists() || file.delete();
+    }
+}
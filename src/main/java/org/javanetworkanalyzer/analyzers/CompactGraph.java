@@ -0,0 +1,159 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.javanetworkanalyzer.alg.GraphSearchAlgorithm;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+
+/**
+ * The outgoing arcs of the vertices of a graph in arrays indexed by vertex,
+ * for the analyzers keeping their search state in arrays rather than in the
+ * vertices. The arcs of vertex i are those from {@code first[i]} to
+ * {@code first[i + 1]} excluded, in the order the other analyzers visit
+ * them; an undirected edge gives an arc from each of its ends.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+final class CompactGraph<V, E> {
+
+    /**
+     * The vertices, by index.
+     */
+    final List<V> vertices;
+    /**
+     * The edges, by index.
+     */
+    final List<E> edges;
+    /**
+     * Index of the first outgoing arc of each vertex.
+     */
+    final int[] first;
+    /**
+     * Index of the vertex each arc leads to.
+     */
+    final int[] head;
+    /**
+     * Weight of each arc.
+     */
+    final double[] weight;
+    /**
+     * Index of the edge of each arc.
+     */
+    final int[] edgeOf;
+    /**
+     * Index of each vertex.
+     */
+    private final Map<V, Integer> vertexIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param graph The graph
+     */
+    CompactGraph(Graph<V, E> graph) {
+        final int n = graph.vertexSet().size();
+        this.vertices = new ArrayList<V>(graph.vertexSet());
+        this.vertexIndex = new HashMap<V, Integer>(2 * n);
+        for (int i = 0; i < n; i++) {
+            vertexIndex.put(vertices.get(i), i);
+        }
+        this.edges = new ArrayList<E>(graph.edgeSet());
+        final Map<E, Integer> edgeIndex =
+                new HashMap<E, Integer>(2 * edges.size());
+        for (int i = 0; i < edges.size(); i++) {
+            edgeIndex.put(edges.get(i), i);
+        }
+
+        this.first = new int[n + 1];
+        final List<E> arcs = new ArrayList<E>();
+        final List<Integer> heads = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            first[i] = arcs.size();
+            final V v = vertices.get(i);
+            for (E e : GraphSearchAlgorithm.outgoingEdgesOf(graph, v)) {
+                arcs.add(e);
+                heads.add(vertexIndex.get(
+                        Graphs.getOppositeVertex(graph, e, v)));
+            }
+        }
+        first[n] = arcs.size();
+        this.head = new int[arcs.size()];
+        this.weight = new double[arcs.size()];
+        this.edgeOf = new int[arcs.size()];
+        for (int a = 0; a < arcs.size(); a++) {
+            head[a] = heads.get(a);
+            weight[a] = graph.getEdgeWeight(arcs.get(a));
+            edgeOf[a] = edgeIndex.get(arcs.get(a));
+        }
+    }
+
+    /**
+     * Returns the number of vertices.
+     *
+     * @return The number of vertices
+     */
+    int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns the index of the given vertex.
+     *
+     * @param v The vertex
+     *
+     * @return The index.
+     *
+     * @throws IllegalArgumentException If the vertex is not in the graph.
+     */
+    int indexOf(V v) {
+        final Integer i = vertexIndex.get(v);
+        if (i == null) {
+            throw new IllegalArgumentException(
+                    "The vertex " + v + " is not in the graph.");
+        }
+        return i;
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.javanetworkanalyzer.alg.ConnectedComponents;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.DirectedPseudoG;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.javanetworkanalyzer.progress.NullProgressMonitor;
+import org.javanetworkanalyzer.results.ResultSink;
+import org.javanetworkanalyzer.results.SynchronizedResultSink;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the same centrality values as {@link GraphAnalyzer#computeAll()}
+ * component by component: the connected components (weakly connected for
+ * digraphs) are labelled, each one is copied into a graph of its own and
+ * analyzed there, possibly in parallel, and the betweenness is normalized
+ * over the whole graph at the end.
+ *
+ * <p> As no shortest path leaves a component, the searches and their
+ * initialization only visit the vertices of the component of the source
+ * instead of the whole graph, which matters on networks made of many
+ * islands. The components share their vertices and edges with the graph, so
+ * the results are found there.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+// The vertex classes are used raw, as by the analyzers of the components.
+@SuppressWarnings("rawtypes")
+public abstract class ComponentGraphAnalyzer<V extends VCent, E extends EdgeCent>
+        extends GeneralizedGraphAnalyzer<V, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ComponentGraphAnalyzer.class);
+    /**
+     * Number of components analyzed at the same time.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Constructor.
+     *
+     * @param graph The graph to be analyzed.
+     */
+    protected ComponentGraphAnalyzer(Graph<V, E> graph) {
+        super(graph);
+    }
+
+    /**
+     * Returns an analyzer computing the same values as a
+     * {@link WeightedGraphAnalyzer} on the given graph.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <E extends EdgeCent> ComponentGraphAnalyzer<VWCent, E> weighted(
+            WeightedGraph<VWCent, E> graph) {
+        return new Weighted<E>(graph);
+    }
+
+    /**
+     * Returns an analyzer computing the same values as an
+     * {@link UnweightedGraphAnalyzer} on the given graph.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <E extends EdgeCent> ComponentGraphAnalyzer<VUCent, E> unweighted(
+            Graph<VUCent, E> graph) {
+        return new Unweighted<E>(graph);
+    }
+
+    /**
+     * Sets the number of components analyzed at the same time (1 by
+     * default).
+     *
+     * @param parallelism Number of threads
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Creates the analyzer of the whole graph.
+     *
+     * @return The analyzer.
+     */
+    protected abstract GraphAnalyzer<V, E, ?> createAnalyzer()
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException;
+
+    /**
+     * Creates the analyzer of a component, copied into a new graph sharing
+     * the vertex and edge objects.
+     *
+     * @param component The vertices of the component
+     *
+     * @return The analyzer.
+     */
+    protected abstract GraphAnalyzer<V, E, ?> createAnalyzer(Set<V> component)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException;
+
+    /**
+     * Performs graph analysis on each component and normalizes the
+     * betweenness over the whole graph.
+     */
+    public void computeAll() throws NoSuchMethodException,
+            InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+        pm.startTask("Component graph analysis", nodeCount);
+        final long start = System.currentTimeMillis();
+        final List<Set<V>> components =
+                new ConnectedComponents<V, E>(graph).getComponents();
+        LOGGER.info("{} connected components, the largest has {} vertices.",
+                    components.size(),
+                    components.isEmpty() ? 0 : components.get(0).size());
+        final ResultSink sink = (resultSink == null || parallelism == 1)
+                ? resultSink
+                : new SynchronizedResultSink(resultSink);
+
+        final ParallelTasks<Integer> tasks =
+                new ParallelTasks<Integer>(parallelism,
+                                           "analyzing the components");
+        long count = 0;
+        try {
+            for (final Set<V> component : components) {
+                if (component.size() == 1) {
+                    // An isolated vertex is on no shortest path and reaches
+                    // no other vertex.
+                    isolated(component.iterator().next(), sink);
+                    count++;
+                    continue;
+                }
+                tasks.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        analyze(component, sink);
+                        return component.size();
+                    }
+                });
+            }
+            pm.setProgress(count, start);
+            for (int i = 0; i < tasks.size(); i++) {
+                count += tasks.take();
+                pm.setProgress(count, start);
+            }
+        } catch (ExecutionException ex) {
+            rethrowCause(ex);
+        } finally {
+            tasks.close();
+        }
+
+        final GraphAnalyzer<V, E, ?> whole = createAnalyzer();
+        whole.setResultSink(resultSink);
+        whole.normalizeBetweenness();
+        pm.endTask();
+    }
+
+    /**
+     * Accumulates the centrality contributions of the sources of the given
+     * component.
+     *
+     * @param component The vertices of the component
+     * @param sink      Result sink, or null
+     */
+    private void analyze(Set<V> component, ResultSink sink)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException {
+        final GraphAnalyzer<V, E, ?> analyzer = createAnalyzer(component);
+        analyzer.setReferenceNodeCount(nodeCount);
+        analyzer.setProgressMonitor(new NullProgressMonitor() {
+            @Override
+            public boolean isCancelled() {
+                return pm.isCancelled();
+            }
+        });
+        analyzer.setMetrics(metrics);
+        analyzer.setResultSink(sink);
+        analyzer.accumulateAllContributions();
+    }
+
+    /**
+     * Sets the centrality values of an isolated vertex.
+     *
+     * @param v    The vertex
+     * @param sink Result sink, or null
+     */
+    private void isolated(V v, ResultSink sink) {
+        v.setCloseness(0.0);
+        v.setHarmonicCloseness(0.0);
+        v.setWassermanFaustCloseness(0.0);
+        if (sink != null) {
+            try {
+                GraphAnalyzer.writeCloseness(sink, v);
+            } catch (IOException ex) {
+                throw resultSinkFailure(ex);
+            }
+        }
+    }
+
+    /**
+     * Component analyzer of weighted graphs.
+     *
+     * @param <E> Edge
+     */
+    private static class Weighted<E extends EdgeCent>
+            extends ComponentGraphAnalyzer<VWCent, E> {
+
+        /**
+         * The graph, with its weights.
+         */
+        private final WeightedGraph<VWCent, E> weightedGraph;
+
+        /**
+         * Constructor.
+         *
+         * @param graph The graph to be analyzed.
+         */
+        Weighted(WeightedGraph<VWCent, E> graph) {
+            super(graph);
+            this.weightedGraph = graph;
+        }
+
+        @Override
+        protected GraphAnalyzer<VWCent, E, ?> createAnalyzer()
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            return new WeightedGraphAnalyzer<E>(weightedGraph);
+        }
+
+        @Override
+        protected GraphAnalyzer<VWCent, E, ?> createAnalyzer(
+                Set<VWCent> component) throws NoSuchMethodException,
+                InstantiationException, IllegalAccessException,
+                IllegalArgumentException, InvocationTargetException {
+            return new WeightedGraphAnalyzer<E>(induce(component));
+        }
+
+        /**
+         * Copies the subgraph induced by the given vertices into a new graph
+         * sharing the vertex and edge objects.
+         *
+         * @param component The vertices of a component
+         *
+         * @return The component graph.
+         */
+        private WeightedGraph<VWCent, E> induce(Set<VWCent> component) {
+            final WeightedGraph<VWCent, E> g = (graph instanceof DirectedGraph)
+                    ? new DirectedWeightedPseudoG<VWCent, E>(VWCent.class,
+                            graph.getEdgeFactory(), component.size())
+                    : new WeightedPseudoG<VWCent, E>(VWCent.class,
+                            graph.getEdgeFactory(), component.size());
+            for (VWCent v : component) {
+                g.addVertex(v);
+            }
+            for (VWCent v : component) {
+                for (E e : outgoing(v)) {
+                    g.addEdge(graph.getEdgeSource(e), graph.getEdgeTarget(e),
+                              e);
+                    g.setEdgeWeight(e, weightedGraph.getEdgeWeight(e));
+                }
+            }
+            return g;
+        }
+    }
+
+    /**
+     * Component analyzer of unweighted graphs.
+     *
+     * @param <E> Edge
+     */
+    private static class Unweighted<E extends EdgeCent>
+            extends ComponentGraphAnalyzer<VUCent, E> {
+
+        /**
+         * Constructor.
+         *
+         * @param graph The graph to be analyzed.
+         */
+        Unweighted(Graph<VUCent, E> graph) {
+            super(graph);
+        }
+
+        @Override
+        protected GraphAnalyzer<VUCent, E, ?> createAnalyzer()
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            return new UnweightedGraphAnalyzer<E>(graph);
+        }
+
+        @Override
+        protected GraphAnalyzer<VUCent, E, ?> createAnalyzer(
+                Set<VUCent> component) throws NoSuchMethodException,
+                InstantiationException, IllegalAccessException,
+                IllegalArgumentException, InvocationTargetException {
+            return new UnweightedGraphAnalyzer<E>(induce(component));
+        }
+
+        /**
+         * Copies the subgraph induced by the given vertices into a new graph
+         * sharing the vertex and edge objects.
+         *
+         * @param component The vertices of a component
+         *
+         * @return The component graph.
+         */
+        private Graph<VUCent, E> induce(Set<VUCent> component) {
+            final Graph<VUCent, E> g = (graph instanceof DirectedGraph)
+                    ? new DirectedPseudoG<VUCent, E>(VUCent.class,
+                            graph.getEdgeFactory(), component.size())
+                    : new PseudoG<VUCent, E>(VUCent.class,
+                            graph.getEdgeFactory(), component.size());
+            for (VUCent v : component) {
+                g.addVertex(v);
+            }
+            for (VUCent v : component) {
+                for (E e : outgoing(v)) {
+                    g.addEdge(graph.getEdgeSource(e), graph.getEdgeTarget(e),
+                              e);
+                }
+            }
+            return g;
+        }
+    }
+
+    /**
+     * Returns the edges to add once per component when going through its
+     * vertices: the outgoing edges in a digraph, the edges of which the
+     * vertex is the source otherwise.
+     *
+     * @param v Vertex
+     *
+     * @return The edges.
+     */
+    protected List<E> outgoing(V v) {
+        final List<E> edges = new ArrayList<E>();
+        for (E e : graph.edgesOf(v)) {
+            if (graph.getEdgeSource(e) == v) {
+                edges.add(e);
+            }
+        }
+        return edges;
+    }
+}
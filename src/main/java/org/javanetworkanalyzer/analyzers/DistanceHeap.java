@@ -0,0 +1,183 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of vertex indices ordered by their distances in a shared
+ * array, with the position of each vertex so that its distance can be
+ * decreased in place.
+ */
+final class DistanceHeap {
+
+    /**
+     * Distance of each vertex, owned by the search.
+     */
+    private final double[] dist;
+    /**
+     * The vertices in the heap.
+     */
+    private final int[] heap;
+    /**
+     * Position of each vertex in the heap, or -1.
+     */
+    private final int[] position;
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param dist Distance of each vertex
+     */
+    DistanceHeap(double[] dist) {
+        this.dist = dist;
+        this.heap = new int[dist.length];
+        this.position = new int[dist.length];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Returns true if the heap is empty.
+     *
+     * @return True if the heap is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the closest vertex without removing it.
+     *
+     * @return The closest vertex.
+     */
+    int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Adds a vertex, or moves it up after its distance was decreased.
+     *
+     * @param v The vertex
+     */
+    void update(int v) {
+        if (position[v] < 0) {
+            heap[size] = v;
+            position[v] = size;
+            siftUp(size++);
+        } else {
+            siftUp(position[v]);
+        }
+    }
+
+    /**
+     * Removes the closest vertex.
+     *
+     * @return The vertex.
+     */
+    int poll() {
+        final int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes all the vertices.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the vertex at the given position up the heap.
+     *
+     * @param i The position
+     */
+    private void siftUp(int i) {
+        final int v = heap[i];
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (dist[heap[parent]] <= dist[v]) {
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    /**
+     * Moves the vertex at the given position down the heap.
+     *
+     * @param i The position
+     */
+    private void siftDown(int i) {
+        final int v = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size
+                    && dist[heap[child + 1]] < dist[heap[child]]) {
+                child++;
+            }
+            if (dist[v] <= dist[heap[child]]) {
+                break;
+            }
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+}
@@ -0,0 +1,540 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.javanetworkanalyzer.alg.BFS;
+import org.javanetworkanalyzer.alg.ConnectedComponents;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.alg.GraphSearchAlgorithm;
+import org.javanetworkanalyzer.data.VBFS;
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.javanetworkanalyzer.data.VDist;
+import org.javanetworkanalyzer.data.VPred;
+import org.javanetworkanalyzer.model.EdgeSPT;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.WeightedGraph;
+import org.jgrapht.graph.WeightedPseudograph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the eccentricities, the diameter and the radius of an undirected
+ * graph from a few searches instead of a search from every vertex.
+ *
+ * <p> {@link #computeDiameter()} uses iFUB (Crescenzi et al.): starting from
+ * a central vertex found by a 4-sweep, the eccentricities of the vertices
+ * are computed from the farthest to the nearest, until the largest of them
+ * is at least twice the distance of the remaining vertices to the central
+ * vertex. {@link #computeEccentricities()} uses the bounding technique of
+ * Takes and Kosters: each search from a vertex v bounds the eccentricity of
+ * every vertex w between max(d(v, w), e(v) - d(v, w)) and e(v) + d(v, w),
+ * and the searches go on from the vertices of largest upper bound and
+ * smallest lower bound in turn, until all bounds meet.
+ *
+ * <p> The eccentricity of a vertex is measured within its connected
+ * component; the diameter is the largest eccentricity and the radius the
+ * smallest eccentricity in the largest component.
+ * Each component is copied into a graph of its own, so that the searches
+ * only initialize its vertices, and an isolated vertex needs no search.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+// Same bounds as the searches, so that the raw vertex and edge classes
+// remain valid type arguments.
+@SuppressWarnings("rawtypes")
+public class EccentricityAnalyzer<V extends VPred & VDist, E extends EdgeSPT>
+        extends GeneralizedGraphAnalyzer<V, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(EccentricityAnalyzer.class);
+    /**
+     * Tolerance for bounds considered equal.
+     */
+    private static final double TOLERANCE = 0.000000001;
+    /**
+     * Creates the search of each connected component.
+     */
+    private final SearchFactory<V, E> searchFactory;
+    /**
+     * Search giving the distances from a vertex in the current component.
+     */
+    private GraphSearchAlgorithm<V, E> search;
+    /**
+     * Degree of each vertex, to break ties between candidates.
+     */
+    private final Map<V, Integer> degrees;
+    /**
+     * The eccentricities computed by {@link #computeEccentricities()}.
+     */
+    private final Map<V, Double> eccentricities = new HashMap<V, Double>();
+    private double diameter = Double.NaN;
+    private double radius = Double.NaN;
+    private int searchCount;
+
+    /**
+     * Constructor.
+     *
+     * @param graph         The graph to be analyzed.
+     * @param searchFactory Creates the search giving the distances from a
+     *                      vertex in a connected component
+     *
+     * @throws IllegalArgumentException If the graph is directed.
+     */
+    private EccentricityAnalyzer(Graph<V, E> graph,
+                                 SearchFactory<V, E> searchFactory) {
+        super(graph);
+        if (graph instanceof DirectedGraph) {
+            throw new IllegalArgumentException(
+                    "Eccentricities are only bounded on undirected graphs.");
+        }
+        this.searchFactory = searchFactory;
+        this.degrees = new HashMap<V, Integer>(2 * nodeCount);
+        for (V v : nodeSet) {
+            degrees.put(v, graph.edgesOf(v).size());
+        }
+    }
+
+    /**
+     * Returns an analyzer of the given undirected graph searching it with
+     * BFS.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <V>   Vertex
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <V extends VBFS, E extends EdgeSPT> EccentricityAnalyzer<V, E>
+            unweighted(Graph<V, E> graph) {
+        return new EccentricityAnalyzer<V, E>(
+                graph, new SearchFactory<V, E>() {
+            @Override
+            public GraphSearchAlgorithm<V, E> create(Graph<V, E> component) {
+                return new BFS<V, E>(component);
+            }
+        });
+    }
+
+    /**
+     * Returns an analyzer of the given undirected graph searching it with
+     * Dijkstra's algorithm.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <V>   Vertex
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <V extends VDijkstra, E extends EdgeSPT>
+            EccentricityAnalyzer<V, E> weighted(WeightedGraph<V, E> graph) {
+        return new EccentricityAnalyzer<V, E>(
+                graph, new SearchFactory<V, E>() {
+            @Override
+            public GraphSearchAlgorithm<V, E> create(Graph<V, E> component) {
+                return new Dijkstra<V, E>(component);
+            }
+        });
+    }
+
+    /**
+     * Computes the diameter by iFUB in each connected component.
+     *
+     * @return The diameter.
+     */
+    public double computeDiameter() {
+        pm.startTask("Diameter", nodeCount);
+        final long start = System.currentTimeMillis();
+        searchCount = 0;
+        diameter = 0.0;
+        long count = 0;
+        for (Set<V> component
+                : new ConnectedComponents<V, E>(graph).getComponents()) {
+            if (pm.isCancelled()) {
+                break;
+            }
+            diameter = Math.max(diameter,
+                                diameter(new ArrayList<V>(component)));
+            count += component.size();
+            pm.setProgress(count, start);
+        }
+        LOGGER.info("({} ms) Diameter {} found with {} searches.",
+                    System.currentTimeMillis() - start, diameter,
+                    searchCount);
+        pm.endTask();
+        return diameter;
+    }
+
+    /**
+     * Computes the eccentricity of every vertex by the bounding technique in
+     * each connected component, and the diameter and the radius.
+     */
+    public void computeEccentricities() {
+        pm.startTask("Eccentricities", nodeCount);
+        final long start = System.currentTimeMillis();
+        searchCount = 0;
+        eccentricities.clear();
+        final List<Set<V>> components =
+                new ConnectedComponents<V, E>(graph).getComponents();
+        for (Set<V> component : components) {
+            if (pm.isCancelled()) {
+                break;
+            }
+            bound(new ArrayList<V>(component), start);
+        }
+        diameter = 0.0;
+        for (double eccentricity : eccentricities.values()) {
+            diameter = Math.max(diameter, eccentricity);
+        }
+        radius = components.isEmpty() ? 0.0 : Double.POSITIVE_INFINITY;
+        for (V v : components.isEmpty()
+                ? Collections.<V>emptySet() : components.get(0)) {
+            if (eccentricities.containsKey(v)) {
+                radius = Math.min(radius, eccentricities.get(v));
+            }
+        }
+        LOGGER.info("({} ms) {} eccentricities found with {} searches.",
+                    System.currentTimeMillis() - start,
+                    eccentricities.size(), searchCount);
+        pm.endTask();
+    }
+
+    /**
+     * Returns the eccentricities computed by
+     * {@link #computeEccentricities()}.
+     *
+     * @return The eccentricity of each vertex
+     */
+    public Map<V, Double> getEccentricities() {
+        return Collections.unmodifiableMap(eccentricities);
+    }
+
+    /**
+     * Returns the diameter found by the last computation.
+     *
+     * @return The diameter, or NaN before any computation.
+     */
+    public double getDiameter() {
+        return diameter;
+    }
+
+    /**
+     * Returns the radius found by {@link #computeEccentricities()}: the
+     * smallest eccentricity in the largest connected component.
+     *
+     * @return The radius, or NaN before the eccentricities are computed.
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Returns the number of searches made by the last computation.
+     *
+     * @return The number of searches
+     */
+    public int getSearchCount() {
+        return searchCount;
+    }
+
+    /**
+     * Computes the diameter of a connected component by iFUB.
+     *
+     * @param component The vertices of the component
+     *
+     * @return The diameter of the component.
+     */
+    private double diameter(List<V> component) {
+        if (component.size() == 1) {
+            return 0.0;
+        }
+        search = searchFactory.create(induce(component));
+        // A 4-sweep finds a central vertex and a lower bound.
+        V center = Collections.max(component, new Comparator<V>() {
+            @Override
+            public int compare(V v1, V v2) {
+                return degrees.get(v1).compareTo(degrees.get(v2));
+            }
+        });
+        double lowerBound = 0.0;
+        for (int sweep = 0; sweep < 2; sweep++) {
+            final V a = farthest(center, component);
+            lowerBound = Math.max(lowerBound, distance(a));
+            final V b = farthest(a, component);
+            lowerBound = Math.max(lowerBound, distance(b));
+            center = middle(b);
+        }
+
+        // The farthest vertices from the center come first.
+        searchFrom(center);
+        final List<V> order = new ArrayList<V>(component);
+        final Map<V, Double> fromCenter = new HashMap<V, Double>();
+        for (V v : order) {
+            fromCenter.put(v, distance(v));
+            lowerBound = Math.max(lowerBound, distance(v));
+        }
+        Collections.sort(order, new Comparator<V>() {
+            @Override
+            public int compare(V v1, V v2) {
+                return fromCenter.get(v2).compareTo(fromCenter.get(v1));
+            }
+        });
+        // Two vertices at most r from the center are at most 2r from each
+        // other.
+        for (V v : order) {
+            if (lowerBound >= 2 * fromCenter.get(v) || pm.isCancelled()) {
+                break;
+            }
+            lowerBound = Math.max(lowerBound, eccentricity(v, component));
+        }
+        return lowerBound;
+    }
+
+    /**
+     * Computes the eccentricities of a connected component by the bounding
+     * technique.
+     *
+     * @param component The vertices of the component
+     * @param start     The start time of the task
+     */
+    private void bound(List<V> component, long start) {
+        final int size = component.size();
+        if (size == 1) {
+            eccentricities.put(component.get(0), 0.0);
+            return;
+        }
+        search = searchFactory.create(induce(component));
+        final double[] lower = new double[size];
+        final double[] upper = new double[size];
+        final int[] candidates = new int[size];
+        for (int i = 0; i < size; i++) {
+            upper[i] = Double.POSITIVE_INFINITY;
+            candidates[i] = i;
+        }
+        int candidateCount = size;
+        boolean largestUpper = true;
+        while (candidateCount > 0 && !pm.isCancelled()) {
+            // Alternate between the candidates of largest upper bound and
+            // of smallest lower bound, preferring those of high degree.
+            int selected = -1;
+            for (int k = 0; k < candidateCount; k++) {
+                final int i = candidates[k];
+                if (selected < 0) {
+                    selected = i;
+                    continue;
+                }
+                final int order = largestUpper
+                        ? Double.compare(upper[i], upper[selected])
+                        : Double.compare(lower[selected], lower[i]);
+                if (order > 0 || (order == 0
+                        && degrees.get(component.get(i))
+                        > degrees.get(component.get(selected)))) {
+                    selected = i;
+                }
+            }
+            largestUpper = !largestUpper;
+
+            final double e = eccentricity(component.get(selected), component);
+            for (int k = 0; k < candidateCount; k++) {
+                final int i = candidates[k];
+                final double d = distance(component.get(i));
+                lower[i] = Math.max(lower[i], Math.max(d, e - d));
+                upper[i] = Math.min(upper[i], e + d);
+                if (upper[i] - lower[i] <= TOLERANCE) {
+                    eccentricities.put(component.get(i), upper[i]);
+                    candidates[k--] = candidates[--candidateCount];
+                }
+            }
+            pm.setProgress(eccentricities.size(), start);
+        }
+    }
+
+    /**
+     * Searches the current component from the given vertex and returns its
+     * eccentricity.
+     *
+     * @param v         The vertex
+     * @param component The vertices of its connected component
+     *
+     * @return The eccentricity.
+     */
+    private double eccentricity(V v, List<V> component) {
+        searchFrom(v);
+        double eccentricity = 0.0;
+        for (V w : component) {
+            eccentricity = Math.max(eccentricity, distance(w));
+        }
+        return eccentricity;
+    }
+
+    /**
+     * Searches the current component from the given vertex and returns the
+     * farthest
+     * vertex.
+     *
+     * @param v         The vertex
+     * @param component The vertices of its connected component
+     *
+     * @return The farthest vertex.
+     */
+    private V farthest(V v, List<V> component) {
+        searchFrom(v);
+        V farthest = v;
+        for (V w : component) {
+            if (distance(w) > distance(farthest)) {
+                farthest = w;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Returns the vertex halfway along a shortest path from the last search
+     * source to the given vertex.
+     *
+     * @param v The vertex
+     *
+     * @return The middle vertex.
+     */
+    private V middle(V v) {
+        final double half = distance(v) / 2;
+        V middle = v;
+        while (distance(middle) > half) {
+            middle = predecessor(middle);
+        }
+        return middle;
+    }
+
+    /**
+     * Returns a predecessor of the given vertex in the last search.
+     *
+     * @param v The vertex, other than the search source
+     *
+     * @return A neighbour of the vertex among its predecessors.
+     */
+    private V predecessor(V v) {
+        final Set predecessors = v.getPredecessors();
+        for (E e : graph.edgesOf(v)) {
+            final V w = Graphs.getOppositeVertex(graph, e, v);
+            if (predecessors.contains(w)) {
+                return w;
+            }
+        }
+        throw new IllegalStateException(
+                "Vertex " + v + " has no predecessor.");
+    }
+
+    /**
+     * Copies the subgraph induced by a connected component into a new graph
+     * sharing the vertex and edge objects, so that the searches only
+     * initialize the vertices of the component.
+     *
+     * @param component The vertices of the component
+     *
+     * @return The component graph.
+     */
+    private Graph<V, E> induce(List<V> component) {
+        final WeightedGraph<V, E> g =
+                new WeightedPseudograph<V, E>(graph.getEdgeFactory());
+        for (V v : component) {
+            g.addVertex(v);
+        }
+        for (V v : component) {
+            for (E e : graph.edgesOf(v)) {
+                if (!g.containsEdge(e)) {
+                    g.addEdge(graph.getEdgeSource(e), graph.getEdgeTarget(e),
+                              e);
+                    g.setEdgeWeight(e, graph.getEdgeWeight(e));
+                }
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Searches the current component from the given vertex.
+     *
+     * @param v The vertex
+     */
+    private void searchFrom(V v) {
+        search.calculate(v);
+        searchCount++;
+    }
+
+    /**
+     * Returns the distance of the given vertex from the last search source.
+     *
+     * @param v The vertex
+     *
+     * @return The distance, infinite if the vertex was not reached.
+     */
+    private double distance(V v) {
+        final double distance = v.getDistance().doubleValue();
+        return distance < 0.0 ? Double.POSITIVE_INFINITY : distance;
+    }
+
+    /**
+     * Creates the search of a connected component.
+     *
+     * @param <V> Vertex
+     * @param <E> Edge
+     */
+    private interface SearchFactory<V extends VPred & VDist,
+                                   E extends EdgeSPT> {
+
+        /**
+         * Creates a search of the given component graph.
+         *
+         * @param component The component graph
+         *
+         * @return The search.
+         */
+        GraphSearchAlgorithm<V, E> create(Graph<V, E> component);
+    }
+}
@@ -0,0 +1,595 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Stack;
+import org.javanetworkanalyzer.alg.ConnectedComponents;
+import org.javanetworkanalyzer.data.UnweightedPathLengthData;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VDist;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.data.WeightedPathLengthData;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.javanetworkanalyzer.progress.NullProgressMonitor;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.WeightedGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the same betweenness, closeness and Wasserman-Faust closeness as
+ * {@link GraphAnalyzer#computeAll()} on an undirected graph after folding
+ * away its trees: vertices of degree 1 are removed repeatedly, each one
+ * handing the vertices it stands for and their distances over to its
+ * neighbour.
+ *
+ * <p> The shortest paths are then only searched from the vertices of the
+ * remaining core, each weighted by the number of vertices it stands for.
+ * The values of the removed vertices and edges follow exactly from the sizes
+ * of the trees: a removed vertex lies on the paths between its branches, and
+ * its distance sum is that of its neighbour corrected by the size of the
+ * tree it hangs. Road networks have many dead ends, so the core is often
+ * much smaller than the graph.
+ *
+ * <p> The harmonic closeness cannot be recovered from distance sums and is
+ * not computed by this analyzer. A graph with parallel edges is analyzed
+ * without folding.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+// The vertex classes are used raw, as by the analyzers of the core.
+@SuppressWarnings("rawtypes")
+public abstract class FoldedGraphAnalyzer<V extends VCent, E extends EdgeCent>
+        extends GeneralizedGraphAnalyzer<V, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(FoldedGraphAnalyzer.class);
+    /**
+     * The trees hanging from every vertex of the graph.
+     */
+    private final Map<V, Tree<V, E>> trees;
+    /**
+     * Distance sums of the vertices.
+     */
+    private final Map<V, Double> distanceSums;
+
+    /**
+     * Constructor.
+     *
+     * @param graph The graph to be analyzed.
+     *
+     * @throws IllegalArgumentException If the graph is directed.
+     */
+    protected FoldedGraphAnalyzer(Graph<V, E> graph) {
+        super(graph);
+        if (graph instanceof DirectedGraph) {
+            throw new IllegalArgumentException(
+                    "Only undirected graphs can be folded.");
+        }
+        this.trees = new HashMap<V, Tree<V, E>>(nodeCount);
+        this.distanceSums = new HashMap<V, Double>(nodeCount);
+    }
+
+    /**
+     * Returns an analyzer computing the same values as a
+     * {@link WeightedGraphAnalyzer} on the given undirected graph.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <E extends EdgeCent> FoldedGraphAnalyzer<VWCent, E> weighted(
+            WeightedGraph<VWCent, E> graph) {
+        return new Weighted<E>(graph);
+    }
+
+    /**
+     * Returns an analyzer computing the same values as an
+     * {@link UnweightedGraphAnalyzer} on the given undirected graph.
+     *
+     * @param graph The graph to be analyzed.
+     * @param <E>   Edge
+     *
+     * @return The analyzer.
+     */
+    public static <E extends EdgeCent> FoldedGraphAnalyzer<VUCent, E> unweighted(
+            Graph<VUCent, E> graph) {
+        return new Unweighted<E>(graph);
+    }
+
+    /**
+     * Creates the analyzer of the whole graph.
+     *
+     * @return The analyzer.
+     */
+    protected abstract GraphAnalyzer<V, E, ?> createAnalyzer()
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException;
+
+    /**
+     * Creates the analyzer of the core, copied into a new graph sharing the
+     * vertex and edge objects. The analyzer weights its vertices by
+     * {@link #getVertexWeight} and computes closeness by
+     * {@link #coreCloseness}.
+     *
+     * @param core The vertices of the core
+     *
+     * @return The analyzer.
+     */
+    protected abstract GraphAnalyzer<V, E, ?> createAnalyzer(Set<V> core)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException;
+
+    /**
+     * Returns the length of the given edge.
+     *
+     * @param e Edge
+     *
+     * @return Its length.
+     */
+    protected abstract double length(E e);
+
+    /**
+     * Returns the number of vertices folded into the given vertex, itself
+     * included.
+     *
+     * @param v Vertex
+     *
+     * @return The weight of the vertex.
+     */
+    protected double getVertexWeight(V v) {
+        return trees.get(v).size;
+    }
+
+    /**
+     * Performs graph analysis on the core and recovers the values of the
+     * folded vertices and edges.
+     */
+    public void computeAll() throws NoSuchMethodException,
+            InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+        pm.startTask("Folded graph analysis", nodeCount);
+        final long start = System.currentTimeMillis();
+        trees.clear();
+        distanceSums.clear();
+        final List<V> removed = fold();
+        final Set<V> core = new HashSet<V>(nodeSet);
+        core.removeAll(removed);
+        LOGGER.info("({} ms) Folded {} vertices, {} remain in the core.",
+                    System.currentTimeMillis() - start, removed.size(),
+                    core.size());
+        for (V v : nodeSet) {
+            v.setBetweenness(0.0);
+        }
+        for (E e : graph.edgeSet()) {
+            e.setBetweenness(0.0);
+        }
+
+        // Weighted Brandes on the core.
+        final GraphAnalyzer<V, E, ?> analyzer = createAnalyzer(core);
+        analyzer.setProgressMonitor(new NullProgressMonitor() {
+            @Override
+            public boolean isCancelled() {
+                return pm.isCancelled();
+            }
+        });
+        analyzer.setMetrics(metrics);
+        analyzer.accumulateAllContributions();
+        pm.setProgress(core.size(), start);
+
+        // Paths through the vertices from their folded trees.
+        final ConnectedComponents<V, E> components =
+                new ConnectedComponents<V, E>(graph);
+        for (V v : core) {
+            v.accumulateBetweenness(treeBetweenness(
+                    trees.get(v), components.getComponentSize(v)));
+        }
+        for (V r : removed) {
+            final Tree<V, E> tree = trees.get(r);
+            final int n = components.getComponentSize(r);
+            r.setBetweenness(treeBetweenness(tree, n));
+            tree.edge.setBetweenness(2.0 * tree.size * (n - tree.size));
+        }
+        // Distance sums, from the parents down to the leaves.
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            final V r = removed.get(i);
+            final Tree<V, E> tree = trees.get(r);
+            distanceSums.put(r, distanceSums.get(tree.parent) + tree.length
+                    * (components.getComponentSize(r) - 2 * tree.size));
+        }
+        try {
+            for (V v : nodeSet) {
+                setCloseness(v, components.getComponentSize(v));
+            }
+        } catch (IOException ex) {
+            throw resultSinkFailure(ex);
+        }
+        pm.setProgress(nodeCount, start);
+
+        final GraphAnalyzer<V, E, ?> whole = createAnalyzer();
+        whole.setResultSink(resultSink);
+        whole.normalizeBetweenness();
+        pm.endTask();
+    }
+
+    /**
+     * Removes the vertices of degree 1 (loops aside) until none is left,
+     * never removing the last vertex of a component, and records the tree
+     * hanging from every vertex. Nothing is removed from a graph with
+     * parallel edges (see {@link #hasParallelEdges()}).
+     *
+     * @return The removed vertices, in order of removal.
+     */
+    private List<V> fold() {
+        final Map<V, Integer> degrees = new HashMap<V, Integer>(nodeCount);
+        final Deque<V> leaves = new ArrayDeque<V>();
+        for (V v : nodeSet) {
+            trees.put(v, new Tree<V, E>());
+            final int degree = degree(v);
+            degrees.put(v, degree);
+            if (degree == 1) {
+                leaves.add(v);
+            }
+        }
+        final List<V> removed = new ArrayList<V>();
+        if (hasParallelEdges()) {
+            LOGGER.warn("The graph has parallel edges: it is analyzed "
+                        + "without folding.");
+            return removed;
+        }
+        final Set<V> removedSet = new HashSet<V>();
+        while (!leaves.isEmpty()) {
+            final V r = leaves.poll();
+            // The neighbour of a pair of leaves keeps degree 0.
+            if (degrees.get(r) != 1) {
+                continue;
+            }
+            for (E e : graph.edgesOf(r)) {
+                final V p = Graphs.getOppositeVertex(graph, e, r);
+                if (p == r || removedSet.contains(p)) {
+                    continue;
+                }
+                final Tree<V, E> tree = trees.get(r);
+                tree.parent = p;
+                tree.edge = e;
+                tree.length = length(e);
+                final Tree<V, E> parent = trees.get(p);
+                parent.size += tree.size;
+                parent.squares += (long) tree.size * tree.size;
+                parent.distance += tree.distance + tree.size * tree.length;
+                removed.add(r);
+                removedSet.add(r);
+                degrees.put(r, 0);
+                final int degree = degrees.get(p) - 1;
+                degrees.put(p, degree);
+                if (degree == 1) {
+                    leaves.add(p);
+                }
+                break;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of edges of the given vertex which are not loops.
+     *
+     * @param v Vertex
+     *
+     * @return Its degree.
+     */
+    private int degree(V v) {
+        int degree = 0;
+        for (E e : graph.edgesOf(v)) {
+            if (graph.getEdgeSource(e) != graph.getEdgeTarget(e)) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Returns the number of ordered pairs of vertices of the component whose
+     * shortest paths go through a vertex because they lie in two different
+     * branches around it, one of them in a tree hanging from it.
+     *
+     * @param tree The tree hanging from the vertex
+     * @param n    Size of the component of the vertex
+     *
+     * @return The betweenness contribution.
+     */
+    private static double treeBetweenness(Tree<?, ?> tree, int n) {
+        final double others = n - 1;
+        final double outside = n - tree.size;
+        return others * others - tree.squares - outside * outside;
+    }
+
+    /**
+     * Records the distance sum of a vertex of the core, once the shortest
+     * paths from it are found: every reached vertex stands for its folded
+     * tree, at the distance of the vertex plus the depth in the tree.
+     *
+     * @param node    The vertex
+     * @param reached The reached vertices, with their distance from it
+     */
+    protected void coreCloseness(V node, Stack<V> reached) {
+        double sum = 0.0;
+        for (V d : reached) {
+            final Tree<V, E> tree = trees.get(d);
+            sum += tree.size * ((VDist<?>) d).getDistance().doubleValue()
+                    + tree.distance;
+        }
+        distanceSums.put(node, sum);
+    }
+
+    /**
+     * Sets the closeness and Wasserman-Faust closeness of the given vertex
+     * from its distance sum.
+     *
+     * @param v The vertex
+     * @param n Size of its component
+     */
+    private void setCloseness(V v, int n) throws IOException {
+        final double sum = distanceSums.get(v);
+        final int reachable = n - 1;
+        v.setCloseness((n == nodeCount && sum > 0.0)
+                ? reachable / sum
+                : 0.0);
+        v.setWassermanFaustCloseness((reachable > 0 && sum > 0.0)
+                ? ((double) reachable / (nodeCount - 1)) / (sum / reachable)
+                : 0.0);
+        if (resultSink != null) {
+            resultSink.closeness(v.getID(), v.getCloseness());
+            resultSink.wassermanFaustCloseness(
+                    v.getID(), v.getWassermanFaustCloseness());
+        }
+    }
+
+    /**
+     * The tree folded into a vertex.
+     *
+     * @param <V> Vertex
+     * @param <E> Edge
+     */
+    private static class Tree<V, E> {
+
+        /**
+         * The neighbour to which the vertex was folded, or null if it remains
+         * in the core.
+         */
+        private V parent;
+        /**
+         * The edge to the parent.
+         */
+        private E edge;
+        /**
+         * The length of the edge to the parent.
+         */
+        private double length;
+        /**
+         * The number of vertices of the tree, the vertex included.
+         */
+        private int size = 1;
+        /**
+         * The sum of the squared sizes of the subtrees of the children.
+         */
+        private long squares;
+        /**
+         * The sum of the distances from the vertex to the vertices of the
+         * tree.
+         */
+        private double distance;
+    }
+
+    /**
+     * Folded analyzer of weighted graphs.
+     *
+     * @param <E> Edge
+     */
+    private static class Weighted<E extends EdgeCent>
+            extends FoldedGraphAnalyzer<VWCent, E> {
+
+        /**
+         * The graph, with its weights.
+         */
+        private final WeightedGraph<VWCent, E> weightedGraph;
+
+        /**
+         * Constructor.
+         *
+         * @param graph The graph to be analyzed.
+         */
+        Weighted(WeightedGraph<VWCent, E> graph) {
+            super(graph);
+            this.weightedGraph = graph;
+        }
+
+        @Override
+        protected GraphAnalyzer<VWCent, E, ?> createAnalyzer()
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            return new WeightedGraphAnalyzer<E>(weightedGraph);
+        }
+
+        @Override
+        protected GraphAnalyzer<VWCent, E, ?> createAnalyzer(
+                Set<VWCent> core) throws NoSuchMethodException,
+                InstantiationException, IllegalAccessException,
+                IllegalArgumentException, InvocationTargetException {
+            return new WeightedGraphAnalyzer<E>(induce(core)) {
+                @Override
+                protected double getVertexWeight(VWCent v) {
+                    return Weighted.this.getVertexWeight(v);
+                }
+
+                @Override
+                protected void calculateClosenessForNode(
+                        VWCent node, WeightedPathLengthData paths) {
+                    coreCloseness(node, stack);
+                }
+            };
+        }
+
+        /**
+         * Copies the subgraph induced by the given vertices into a new graph
+         * sharing the vertex and edge objects.
+         *
+         * @param vertices The vertices
+         *
+         * @return The induced graph.
+         */
+        private WeightedGraph<VWCent, E> induce(Set<VWCent> vertices) {
+            final WeightedGraph<VWCent, E> g =
+                    new WeightedPseudoG<VWCent, E>(VWCent.class,
+                            graph.getEdgeFactory(), vertices.size());
+            for (VWCent v : vertices) {
+                g.addVertex(v);
+            }
+            for (E e : graph.edgeSet()) {
+                final VWCent source = graph.getEdgeSource(e);
+                final VWCent target = graph.getEdgeTarget(e);
+                if (vertices.contains(source) && vertices.contains(target)) {
+                    g.addEdge(source, target, e);
+                    g.setEdgeWeight(e, weightedGraph.getEdgeWeight(e));
+                }
+            }
+            return g;
+        }
+
+        @Override
+        protected double length(E e) {
+            return weightedGraph.getEdgeWeight(e);
+        }
+    }
+
+    /**
+     * Folded analyzer of unweighted graphs.
+     *
+     * @param <E> Edge
+     */
+    private static class Unweighted<E extends EdgeCent>
+            extends FoldedGraphAnalyzer<VUCent, E> {
+
+        /**
+         * Constructor.
+         *
+         * @param graph The graph to be analyzed.
+         */
+        Unweighted(Graph<VUCent, E> graph) {
+            super(graph);
+        }
+
+        @Override
+        protected GraphAnalyzer<VUCent, E, ?> createAnalyzer()
+                throws NoSuchMethodException, InstantiationException,
+                IllegalAccessException, IllegalArgumentException,
+                InvocationTargetException {
+            return new UnweightedGraphAnalyzer<E>(graph);
+        }
+
+        @Override
+        protected GraphAnalyzer<VUCent, E, ?> createAnalyzer(
+                Set<VUCent> core) throws NoSuchMethodException,
+                InstantiationException, IllegalAccessException,
+                IllegalArgumentException, InvocationTargetException {
+            return new UnweightedGraphAnalyzer<E>(induce(core)) {
+                @Override
+                protected double getVertexWeight(VUCent v) {
+                    return Unweighted.this.getVertexWeight(v);
+                }
+
+                @Override
+                protected void calculateClosenessForNode(
+                        VUCent node, UnweightedPathLengthData paths) {
+                    coreCloseness(node, stack);
+                }
+            };
+        }
+
+        /**
+         * Copies the subgraph induced by the given vertices into a new graph
+         * sharing the vertex and edge objects.
+         *
+         * @param vertices The vertices
+         *
+         * @return The induced graph.
+         */
+        private Graph<VUCent, E> induce(Set<VUCent> vertices) {
+            final Graph<VUCent, E> g = new PseudoG<VUCent, E>(VUCent.class,
+                    graph.getEdgeFactory(), vertices.size());
+            for (VUCent v : vertices) {
+                g.addVertex(v);
+            }
+            for (E e : graph.edgeSet()) {
+                final VUCent source = graph.getEdgeSource(e);
+                final VUCent target = graph.getEdgeTarget(e);
+                if (vertices.contains(source) && vertices.contains(target)) {
+                    g.addEdge(source, target, e);
+                }
+            }
+            return g;
+        }
+
+        @Override
+        protected double length(E e) {
+            return 1.0;
+        }
+    }
+}
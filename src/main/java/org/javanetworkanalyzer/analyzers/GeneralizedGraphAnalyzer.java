@@ -39,8 +39,14 @@
  */
 package org.javanetworkanalyzer.analyzers;
 
+import org.javanetworkanalyzer.metrics.AnalysisMetrics;
+import org.javanetworkanalyzer.progress.NullProgressMonitor;
 import org.javanetworkanalyzer.progress.ProgressMonitor;
+import org.javanetworkanalyzer.results.ResultSink;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import org.jgrapht.Graph;
 
 /**
@@ -65,6 +71,18 @@ public abstract class GeneralizedGraphAnalyzer<V, E> {
      * The number of nodes in this graph.
      */
     protected final int nodeCount;
+    /**
+     * Progress monitor.
+     */
+    protected ProgressMonitor pm = new NullProgressMonitor();
+    /**
+     * Where the per-source search measurements are recorded while enabled.
+     */
+    protected AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+    /**
+     * Receives the results as they become final, or null.
+     */
+    protected ResultSink resultSink;
 
     /**
      * Initializes a new instance of a graph analyzer with the given
@@ -89,4 +107,113 @@ public abstract class GeneralizedGraphAnalyzer<V, E> {
     public Graph<V, E> getGraph() {
         return graph;
     }
+
+    /**
+     * Returns the progress monitor.
+     *
+     * @return The progress monitor
+     */
+    public ProgressMonitor getProgressMonitor() {
+        return pm;
+    }
+
+    /**
+     * Sets the progress monitor, through which the analysis may also be
+     * cancelled.
+     *
+     * @param pm The progress monitor
+     */
+    public void setProgressMonitor(ProgressMonitor pm) {
+        this.pm = pm;
+    }
+
+    /**
+     * Sets the sink receiving the results as they become final, or null. The
+     * sink is not closed by the analyzer.
+     *
+     * @param resultSink The result sink
+     */
+    public void setResultSink(ResultSink resultSink) {
+        this.resultSink = resultSink;
+    }
+
+    /**
+     * Wraps an error of the result sink.
+     *
+     * @param ex The error
+     *
+     * @return The exception to throw
+     */
+    protected static IllegalStateException resultSinkFailure(IOException ex) {
+        return new IllegalStateException("Could not write the results.", ex);
+    }
+
+    /**
+     * Returns true if two vertices of the graph are joined by several edges.
+     * The vertex dependencies accumulated by {@link GraphAnalyzer} count the
+     * shortest paths through such edges once per predecessor, so analyzers
+     * which add up betweenness contributions found on parts of the graph
+     * cannot reproduce them.
+     *
+     * @return True if the graph has parallel edges.
+     */
+    protected boolean hasParallelEdges() {
+        for (E e : graph.edgeSet()) {
+            final V source = graph.getEdgeSource(e);
+            final V target = graph.getEdgeTarget(e);
+            if (source != target
+                && graph.getAllEdges(source, target).size() > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rethrows the cause of the failure of a task to which a part of the
+     * analysis was submitted.
+     *
+     * @param ex The failure
+     */
+    static void rethrowCause(ExecutionException ex)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, InvocationTargetException {
+        final Throwable cause = ex.getCause();
+        if (cause instanceof InstantiationException) {
+            throw (InstantiationException) cause;
+        } else if (cause instanceof IllegalAccessException) {
+            throw (IllegalAccessException) cause;
+        } else if (cause instanceof InvocationTargetException) {
+            throw (InvocationTargetException) cause;
+        } else if (cause instanceof NoSuchMethodException) {
+            throw (NoSuchMethodException) cause;
+        }
+        rethrowUnchecked(ex);
+    }
+
+    /**
+     * Rethrows the cause of the failure of a task that throws no checked
+     * exception: runtime exceptions and errors are rethrown as they are.
+     *
+     * @param ex The failure
+     */
+    static void rethrowUnchecked(ExecutionException ex) {
+        final Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    /**
+     * Sets where the per-source search measurements are recorded; the
+     * default is {@link AnalysisMetrics#getDefault()}.
+     *
+     * @param metrics Metrics
+     */
+    public void setMetrics(AnalysisMetrics metrics) {
+        this.metrics = metrics;
+    }
 }
@@ -43,15 +43,27 @@ import org.javanetworkanalyzer.alg.CentralityAlg;
 import org.javanetworkanalyzer.alg.GraphSearchAlgorithm;
 import org.javanetworkanalyzer.data.PathLengthData;
 import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.metrics.AnalysisMetrics;
 import org.javanetworkanalyzer.model.EdgeCent;
 import org.javanetworkanalyzer.model.TraversalGraph;
 import org.javanetworkanalyzer.progress.NullProgressMonitor;
 import org.javanetworkanalyzer.progress.ProgressMonitor;
+import org.javanetworkanalyzer.results.ResultSink;
 import org.jgrapht.Graph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.Stack;
 
@@ -71,10 +83,6 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
     private double minBetweenness;
     private double maxEdgeBetweenness;
     private double minEdgeBetweenness;
-    /**
-     * Progress monitor.
-     */
-    protected ProgressMonitor pm;
     /**
      * A logger.
      */
@@ -83,6 +91,20 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
     // When accumulating dependencies, this stack will return vertices
     // in order of non-increasing distance from startNode.
     protected final Stack<V> stack;
+    /**
+     * Checkpoint to which the progress of {@link #computeAll()} is saved, or
+     * null if checkpointing is disabled.
+     */
+    private CentralityCheckpoint<V, E> checkpoint;
+    /**
+     * Minimum time in milliseconds between two checkpoints.
+     */
+    private long checkpointInterval;
+    /**
+     * Number of vertices against which closeness is computed: the number of
+     * vertices of the graph, unless the graph is a part of a larger one.
+     */
+    private int referenceNodeCount;
 
     /**
      * Initializes a new instance of a graph analyzer with the given
@@ -100,6 +122,7 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
         super(graph);
         this.pm = pm;
         this.stack = new Stack<V>();
+        this.referenceNodeCount = nodeCount;
         this.maxBetweenness = Double.NEGATIVE_INFINITY;
         this.minBetweenness = Double.POSITIVE_INFINITY;
         this.maxEdgeBetweenness = Double.NEGATIVE_INFINITY;
@@ -120,6 +143,26 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
         this(graph, new NullProgressMonitor());
     }
 
+    /**
+     * Makes {@link #computeAll()} save its progress to the given file at most
+     * every {@code intervalMillis} milliseconds, as well as when the task is
+     * cancelled. If the file already exists when {@link #computeAll()} is
+     * called, the accumulated values are restored from it and the sources it
+     * records as processed are skipped. The file is deleted once all sources
+     * have been processed.
+     *
+     * @param file           The checkpoint file, or null to disable
+     *                       checkpointing
+     * @param intervalMillis Minimum time in milliseconds between two
+     *                       checkpoints
+     */
+    public void setCheckpoint(File file, long intervalMillis) {
+        this.checkpoint = (file == null)
+                ? null
+                : new CentralityCheckpoint<V, E>(file, nodeSet, graph);
+        this.checkpointInterval = intervalMillis;
+    }
+
     /**
      * Performs graph analysis and stores the results in a hash map, mapping
      * each node to a data structure holding the results of the analysis.
@@ -128,30 +171,295 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
             IllegalAccessException, IllegalArgumentException,
             InvocationTargetException {
 
+        // ***** CENTRALITY CONTRIBUTION FROM EACH NODE ********
+        accumulateContributions(SourcePartition.all());
+
+        // ***** NORMALIZATION **********************************
+        normalizeBetweenness();
+    }
+
+    /**
+     * Accumulates the centrality contributions of the sources in the given
+     * partition only and writes the resulting unnormalized vertex and edge
+     * betweenness, together with the closeness of these sources, to the given
+     * file. The files produced for disjoint partitions covering all sources
+     * (in as many processes, each with its own copy of the graph) are
+     * combined with {@link #mergePartials}.
+     *
+     * @param partition The sources to process
+     * @param output    The file to which the partial results are written
+     *
+     * @throws IOException If the partial results could not be written.
+     */
+    public void computePartial(SourcePartition partition, File output)
+            throws InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException,
+            IOException {
+        int partitionSize = 0;
+        int index = 0;
+        for (V node : nodeSet) {
+            if (partition.contains(index++, node.getID())) {
+                partitionSize++;
+            }
+        }
+        pm.startTask("Partial graph analysis", partitionSize);
+        final Set<V> processed = accumulateContributions(partition);
+        pm.endTask();
+        if (processed.size() < partitionSize) {
+            LOGGER.warn("Only {} of the {} sources of the partition were "
+                    + "processed.", processed.size(), partitionSize);
+        }
+        new CentralityCheckpoint<V, E>(output, nodeSet, graph)
+                .save(processed);
+    }
+
+    /**
+     * Combines the partial results produced by {@link #computePartial} on
+     * disjoint partitions of the sources and normalizes the betweenness, so
+     * that the graph holds the same values as after {@link #computeAll()}.
+     *
+     * @param partials The partial result files
+     *
+     * @throws IOException           If a file could not be read.
+     * @throws IllegalStateException If the partitions are not disjoint or a
+     *                               file was produced on another graph.
+     */
+    public void mergePartials(File... partials) throws IOException {
+        for (V node : nodeSet) {
+            node.setBetweenness(0.0);
+            node.setCloseness(0.0);
+            node.setHarmonicCloseness(0.0);
+            node.setWassermanFaustCloseness(0.0);
+        }
+        for (E edge : graph.edgeSet()) {
+            edge.setBetweenness(0.0);
+        }
+        final Set<V> processed = new HashSet<V>();
+        for (File partial : partials) {
+            for (V node : new CentralityCheckpoint<V, E>(
+                    partial, nodeSet, graph).merge()) {
+                if (!processed.add(node)) {
+                    throw new IllegalStateException("Source " + node.getID()
+                            + " was processed in more than one partition.");
+                }
+            }
+        }
+        if (processed.size() < nodeCount) {
+            LOGGER.warn("The partial results only cover {} of the {} sources.",
+                        processed.size(), nodeCount);
+        }
+        normalizeBetweenness();
+    }
+
+    /**
+     * Finds the k nodes of highest closeness without completing the searches
+     * from the other nodes, following Bergamini et al.: the sources are
+     * processed by non-increasing degree, and the search from a source is cut
+     * as soon as the sum of its distances to the other nodes is known to
+     * exceed that of the k-th best source so far. Only the nodes reaching all
+     * other nodes have a positive closeness, so fewer than k nodes are
+     * returned if fewer of them do.
+     *
+     * <p> The closeness is set on the nodes whose search was not cut, which
+     * include the returned nodes; betweenness is not computed.
+     *
+     * @param k The number of nodes
+     *
+     * @return The nodes of highest closeness, by non-increasing closeness.
+     *
+     * @throws IllegalArgumentException If k is not positive.
+     */
+    public List<V> computeTopKCloseness(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive.");
+        }
+        final long startTime = System.currentTimeMillis();
+        final Map<V, Integer> degrees = new HashMap<V, Integer>();
+        for (V node : nodeSet) {
+            degrees.put(node,
+                        GraphSearchAlgorithm.outgoingEdgesOf(graph, node).size());
+        }
+        final List<V> sources = new ArrayList<V>(nodeSet);
+        Collections.sort(sources, new Comparator<V>() {
+            @Override
+            public int compare(V v1, V v2) {
+                return degrees.get(v2).compareTo(degrees.get(v1));
+            }
+        });
+        // The best k sources so far, the farthest first.
+        final Map<V, Double> farness = new HashMap<V, Double>();
+        final PriorityQueue<V> top = new PriorityQueue<V>(k + 1,
+                new Comparator<V>() {
+            @Override
+            public int compare(V v1, V v2) {
+                return farness.get(v2).compareTo(farness.get(v1));
+            }
+        });
+
+        final CentralityAlg<V, E, S> alg = getCentralityAlg();
+        long count = 0;
+        int cutCount = 0;
+        try {
+            for (V source : sources) {
+                if (pm.isCancelled()) {
+                    break;
+                }
+                alg.setFarnessBound(top.size() < k
+                        ? Double.POSITIVE_INFINITY
+                        : farness.get(top.peek()));
+                calculateShortestPathsFromNode(source);
+                pm.setProgress(++count, startTime);
+                if (alg.isCut()) {
+                    cutCount++;
+                    continue;
+                }
+                final S paths = alg.getPaths();
+                calculateClosenessForNode(source, paths);
+                if (source.getCloseness() > 0.0) {
+                    farness.put(source,
+                                paths.getTotalLength().doubleValue());
+                    top.add(source);
+                    if (top.size() > k) {
+                        top.poll();
+                    }
+                }
+            }
+        } finally {
+            alg.setFarnessBound(Double.POSITIVE_INFINITY);
+        }
+
+        final List<V> result = new ArrayList<V>(top);
+        Collections.sort(result, Collections.reverseOrder(top.comparator()));
+        LOGGER.info("({} ms) Top {} closeness: {} of {} searches cut.",
+                    System.currentTimeMillis() - startTime, k, cutCount,
+                    count);
+        return result;
+    }
+
+    /**
+     * Sets the number of vertices against which closeness is computed, for a
+     * graph which is a connected part of a larger one: closeness is then the
+     * same as if computed on the larger graph.
+     *
+     * @param referenceNodeCount Number of vertices of the larger graph
+     */
+    void setReferenceNodeCount(int referenceNodeCount) {
+        this.referenceNodeCount = referenceNodeCount;
+    }
+
+    /**
+     * Accumulates the (unnormalized) centrality contributions of all sources,
+     * for analyzers combining the results of several parts of a graph before
+     * normalizing them.
+     */
+    void accumulateAllContributions() throws InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException {
+        accumulateContributions(SourcePartition.all());
+    }
+
+    /**
+     * Accumulates the centrality contributions of the sources in the given
+     * partition, resuming from and saving to the checkpoint if one is set.
+     *
+     * @param partition The sources to process
+     *
+     * @return The processed sources.
+     */
+    private Set<V> accumulateContributions(SourcePartition partition)
+            throws InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+
         long startTime = System.currentTimeMillis();
 
         // ***** GLOBAL INITIALIZATION *************************
         long count = 0;
+        final Set<V> processed = restoreCheckpoint();
+        count += processed.size();
+        long lastCheckpoint = startTime;
+        boolean cancelled = false;
+        int index = -1;
         pm.setProgress(count, startTime);
         // ***** CENTRALITY CONTRIBUTION FROM EACH NODE ********
         for (V node : nodeSet) {
+            index++;
+            // Skip the sources of other partitions and the sources restored
+            // from the checkpoint.
+            if (!partition.contains(index, node.getID())
+                    || processed.contains(node)) {
+                continue;
+            }
             // Update the count.
             count++;
 
             // See if the task has been cancelled.
             if (pm.isCancelled()) {
+                cancelled = true;
                 break;
             }
             // Calculate betweenness and closeness for each node.
             calculateCentralityContributionFromNode(node);
+            processed.add(node);
+
+            if (checkpoint != null) {
+                final long now = System.currentTimeMillis();
+                if (now - lastCheckpoint >= checkpointInterval) {
+                    saveCheckpoint(processed);
+                    lastCheckpoint = now;
+                }
+            }
 
             // Update and print the progress.
             pm.setProgress(count, startTime);
         }
         // ***** END CENTRALITY CONTRIBUTION FROM EACH NODE *****
 
-        // ***** NORMALIZATION **********************************
-        normalizeBetweenness();
+        if (checkpoint != null) {
+            if (cancelled) {
+                saveCheckpoint(processed);
+            } else if (!checkpoint.delete()) {
+                LOGGER.warn("Could not delete the checkpoint {}.",
+                            checkpoint.getFile());
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Restores the accumulated values from the checkpoint, if any.
+     *
+     * @return The sources already processed according to the checkpoint.
+     */
+    private Set<V> restoreCheckpoint() {
+        if (checkpoint == null) {
+            return new HashSet<V>();
+        }
+        try {
+            final Set<V> processed = checkpoint.restore();
+            if (!processed.isEmpty()) {
+                LOGGER.info("Resuming from {}: {} sources already processed.",
+                            checkpoint.getFile(), processed.size());
+            }
+            return processed;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read the checkpoint "
+                    + checkpoint.getFile() + ".", ex);
+        }
+    }
+
+    /**
+     * Saves the accumulated values to the checkpoint. A failure is logged but
+     * does not interrupt the analysis.
+     *
+     * @param processed The processed sources
+     */
+    private void saveCheckpoint(Set<V> processed) {
+        try {
+            checkpoint.save(processed);
+        } catch (IOException ex) {
+            LOGGER.error("Could not write the checkpoint "
+                    + checkpoint.getFile() + ".", ex);
+        }
     }
 
     /**
@@ -161,21 +469,53 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
      * @param startNode The given node.
      */
     // TODO: For now, we assume the graph is connected.
-    private void calculateCentralityContributionFromNode(V startNode) throws
+    protected void calculateCentralityContributionFromNode(V startNode) throws
             InstantiationException, IllegalAccessException,
             IllegalArgumentException, InvocationTargetException {
 
+        final boolean measure = metrics.isEnabled();
+        final long startNanos = measure ? System.nanoTime() : 0L;
+        final long allocated = measure
+                ? AnalysisMetrics.currentThreadAllocatedBytes() : -1L;
         // ***** CENTRALITY CONTRIBUTION CALCULATION **********
         // Calculate all the shortest paths from startNode.
+        getCentralityAlg().setOperationCounting(measure);
         CentralityAlg<V, E, S> alg = calculateShortestPathsFromNode(startNode);
         // At this point, we have all information required to calculate
         // closeness for startNode.
         calculateClosenessForNode(startNode, alg.getPaths());
+        if (resultSink != null) {
+            try {
+                writeCloseness(resultSink, startNode);
+            } catch (IOException ex) {
+                throw resultSinkFailure(ex);
+            }
+        }
         // Use the recursion formula to update the dependency
         // values and their contributions to betweenness values.
         TraversalGraph<V, E> sPT = alg.reconstructTraversalGraph();
         accumulateDependencies(startNode, sPT);
         // ***** END CENTRALITY CONTRIBUTION CALCULATION ******
+        if (measure) {
+            metrics.sourceProcessed("centrality", startNode.getID(),
+                                    startNanos, allocated, alg,
+                                    sPT.edgeSet().size());
+        }
+    }
+
+    /**
+     * Accumulates the contribution of the given node to the betweenness
+     * values of the other nodes only: unlike
+     * {@link #calculateCentralityContributionFromNode}, the closeness of the
+     * node is left untouched and nothing is reported to the result sink or
+     * the metrics.
+     *
+     * @param startNode The given node.
+     */
+    void accumulateBetweennessFromNode(V startNode) {
+        final CentralityAlg<V, E, S> alg =
+                calculateShortestPathsFromNode(startNode);
+        accumulateDependencies(startNode, alg.reconstructTraversalGraph());
     }
 
     /**
@@ -188,6 +528,14 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
      */
     protected abstract CentralityAlg<V, E, S> calculateShortestPathsFromNode(V startNode);
 
+    /**
+     * Returns the search algorithm used by
+     * {@link #calculateShortestPathsFromNode}.
+     *
+     * @return The search algorithm
+     */
+    protected abstract CentralityAlg<V, E, S> getCentralityAlg();
+
     /**
      * Given a node and its path length data calculated in
      * {@link #calculateCentralityMeasures(int)}, this method calculates its
@@ -197,23 +545,54 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
      * @param paths Its path length data.
      */
     protected void calculateClosenessForNode(V node, S paths) {
-        // Count the number of nodes reachable from the given node.
-        int reachableNodes = paths.getCount();
-        // If all other nodes are reachable, get the average path length
-        // for the node.
-        final double avgPathLength;
-        if (reachableNodes == nodeCount - 1) {
-            avgPathLength = paths.getAverageLength();
-        } else {
-            avgPathLength = -1;
+        setCloseness(node, paths.getCount(),
+                     (paths.getCount() > 0) ? paths.getAverageLength() : 0.0,
+                     paths.getHarmonicSum(), referenceNodeCount);
+    }
+
+    /**
+     * Sets the closeness, harmonic closeness and Wasserman-Faust closeness
+     * of a node from the shortest paths found from it.
+     *
+     * @param node               The node
+     * @param reachableNodes     The number of nodes reached from it
+     * @param avgPathLength      The average length of the paths to them
+     * @param harmonicSum        The sum of the inverses of these lengths
+     * @param referenceNodeCount The number of nodes of the graph
+     */
+    static void setCloseness(VCent<?, ?> node, int reachableNodes,
+                             double avgPathLength, double harmonicSum,
+                             int referenceNodeCount) {
+        // If all other nodes are reachable, the average path length gives
+        // the ("out") closeness.
+        node.setCloseness((reachableNodes == referenceNodeCount - 1
+                           && avgPathLength > 0.0) ? 1 / avgPathLength : 0.0);
+        // The harmonic and Wasserman–Faust closeness remain meaningful when
+        // some nodes are unreachable.
+        if (referenceNodeCount > 1) {
+            node.setHarmonicCloseness(harmonicSum / (referenceNodeCount - 1));
         }
-        // Once we have the average path length, we have the ("out") closeness.
+        node.setWassermanFaustCloseness((avgPathLength > 0.0)
+                ? ((double) reachableNodes / (referenceNodeCount - 1))
+                / avgPathLength
+                : 0.0);
+    }
 
-        final double closeness = (avgPathLength > 0.0)
-                ? 1 / avgPathLength
-                : 0.0;
-        // Store it.
-        node.setCloseness(closeness);
+    /**
+     * Sends the closeness, harmonic closeness and Wasserman-Faust closeness
+     * of a node to a result sink.
+     *
+     * @param sink The result sink
+     * @param node The node
+     *
+     * @throws IOException If the values could not be written.
+     */
+    static void writeCloseness(ResultSink sink, VCent<?, ?> node)
+            throws IOException {
+        sink.closeness(node.getID(), node.getCloseness());
+        sink.harmonicCloseness(node.getID(), node.getHarmonicCloseness());
+        sink.wassermanFaustCloseness(node.getID(),
+                                     node.getWassermanFaustCloseness());
     }
 
     /**
@@ -233,10 +612,12 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
         // *** (B) the corresponding contributions to the betweenness
         // ***     centrality scores of the other nodes.
 
+        final double sourceWeight = getVertexWeight(startNode);
         // For each node w returned in NON-INCREASING distance from
         // startNode, do:
         while (!stack.empty()) {
             final V w = stack.pop();
+            final double targetWeight = getVertexWeight(w);
 
             // For every predecessor v of w on shortest paths from
             // startNode, do:
@@ -247,11 +628,13 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
                 // on w to the dependency of startNode on v.
                 final double sigmaFactor = ((double) predecessor.getSPCount()
                         / w.getSPCount());
-                final double depContribution = sigmaFactor * (1 + w.getDependency());
+                final double depContribution =
+                        sigmaFactor * (targetWeight + w.getDependency());
                 predecessor.accumulateDependency(depContribution);
 
                 // EDGE BETWEENNESS
-                accumEdgeBetw(predecessor, w, sigmaFactor, shortestPathTree);
+                accumEdgeBetw(predecessor, w, sigmaFactor, targetWeight,
+                              sourceWeight, shortestPathTree);
             }
 
             // (The betweenness of w cannot receive contributions from
@@ -260,8 +643,7 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
                 // (B) At this point, the dependency of startNode on w
                 // has finished calculating, so we can add it to
                 // the betweenness centrality of w.
-                final double oldBetw = w.getBetweenness();
-                w.accumulateBetweenness(w.getDependency());
+                w.accumulateBetweenness(sourceWeight * w.getDependency());
             }
         } // ***** END STAGE 3, Stack iteration  **************
     }
@@ -272,52 +654,87 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
      * @param predecessor      Predecessor of vertex w
      * @param w                Vertex w
      * @param sigmaFactor      Sigma factor for weighting
+     * @param targetWeight     Weight of vertex w
+     * @param sourceWeight     Weight of the start node
      * @param shortestPathTree SP"T"
      */
     private void accumEdgeBetw(
             V predecessor,
             V w,
             double sigmaFactor,
+            double targetWeight,
+            double sourceWeight,
             TraversalGraph<V, E> shortestPathTree) {
         for (E sPTEdge : shortestPathTree.getAllEdges(predecessor, w)) {
             double depSumFromOutgoing = 0.0;
             for (E outEdge : shortestPathTree.outgoingEdgesOf(w)) {
                 depSumFromOutgoing += outEdge.getDependency();
             }
-            sPTEdge.accumulateDependency(sigmaFactor * (1 + depSumFromOutgoing));
+            sPTEdge.accumulateDependency(
+                    sigmaFactor * (targetWeight + depSumFromOutgoing));
             // It's okay to accumulate dependencies in the SPT, but the
             // betweenness values have to be accumulated to the base graph!
-            sPTEdge.getBaseGraphEdge().accumulateBetweenness(sPTEdge.getDependency());
+            sPTEdge.getBaseGraphEdge().accumulateBetweenness(
+                    sourceWeight * sPTEdge.getDependency());
         }
     }
 
+    /**
+     * Returns the number of vertices the given vertex stands for as a source
+     * or a target of shortest paths: 1, unless the graph is a reduction of a
+     * larger one in which vertices were merged into the given one.
+     *
+     * @param v The vertex
+     *
+     * @return The weight of the vertex.
+     */
+    protected double getVertexWeight(V v) {
+        return 1.0;
+    }
+
     /**
      * Normalizes betweenness to make all values lie in the range [0,1] with the
      * minimum betweenness value set to 0.0 and the maximum betweenness value
      * set to 1.0.
      */
-    private void normalizeBetweenness() {
+    protected void normalizeBetweenness() {
         long start = System.currentTimeMillis();
         findExtremeBetweennessValues();
         final double vertexBetwRange = maxBetweenness - minBetweenness;
         if (vertexBetwRange == 0.0) {
             LOGGER.warn("All vertex betweenness values are zero.");
-        } else {
-            for (V node : nodeSet) {
-                final double normalizedBetweenness =
-                        (node.getBetweenness() - minBetweenness) / vertexBetwRange;
-                node.setBetweenness(normalizedBetweenness);
-            }
         }
         final double edgeBetwRange = maxEdgeBetweenness - minEdgeBetweenness;
         if (edgeBetwRange == 0.0) {
             LOGGER.warn("All edge betweenness values are zero.");
-        } else {
-            for (E edge : graph.edgeSet()) {
-                final double normalizedBetweenness =
-                        (edge.getBetweenness() - minEdgeBetweenness) / edgeBetwRange;
-                edge.setBetweenness(normalizedBetweenness);
+        }
+        try {
+            if (vertexBetwRange != 0.0 || resultSink != null) {
+                for (V node : nodeSet) {
+                    if (vertexBetwRange != 0.0) {
+                        node.setBetweenness((node.getBetweenness()
+                                - minBetweenness) / vertexBetwRange);
+                    }
+                    if (resultSink != null) {
+                        resultSink.betweenness(node.getID(),
+                                               node.getBetweenness());
+                    }
+                }
+            }
+            if (edgeBetwRange != 0.0 || resultSink != null) {
+                for (E edge : graph.edgeSet()) {
+                    if (edgeBetwRange != 0.0) {
+                        edge.setBetweenness((edge.getBetweenness()
+                                - minEdgeBetweenness) / edgeBetwRange);
+                    }
+                    if (resultSink != null) {
+                        resultSink.edgeBetweenness(edge.getID(),
+                                                   edge.getBetweenness());
+                    }
+                }
             }
+        } catch (IOException ex) {
+            throw resultSinkFailure(ex);
         }
         long stop = System.currentTimeMillis();
         LOGGER.info("({} ms) Betweenness normalization.", (stop - start));
@@ -328,6 +745,10 @@ public abstract class GraphAnalyzer<V extends VCent, E extends EdgeCent, S exten
      */
     private void findExtremeBetweennessValues() {
         long start = System.currentTimeMillis();
+        maxBetweenness = Double.NEGATIVE_INFINITY;
+        minBetweenness = Double.POSITIVE_INFINITY;
+        maxEdgeBetweenness = Double.NEGATIVE_INFINITY;
+        minEdgeBetweenness = Double.POSITIVE_INFINITY;
         for (V node : nodeSet) {
             final double betweenness = node.getBetweenness();
             if (betweenness > maxBetweenness) {
@@ -0,0 +1,360 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.EdgeReversedGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Calculates, for each vertex, the accessibility of a set of weighted
+ * destinations: the sum over the destinations j of w_j f(d_j), where d_j is
+ * the distance to destination j and f a {@link DecayFunction}. With unit
+ * weights and a step function ({@link #cumulative(double)}), this is the
+ * number of destinations within a threshold (cumulative opportunities);
+ * with {@link #negativeExponential(double, double)}, a gravity measure.
+ *
+ * <p> Rather than computing the distances between all origins and
+ * destinations (with {@link org.javanetworkanalyzer.alg.Dijkstra#manyToMany}
+ * and maps of results), the analyzer searches backwards from each
+ * destination up to the range of the decay function and adds the
+ * contribution of the destination to every vertex it reaches. The
+ * destinations are processed in parallel, each thread adding to its own
+ * array of scores, and the arrays are summed at the end.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+public class GravityAccessibilityAnalyzer<V, E>
+        extends GeneralizedGraphAnalyzer<V, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(GravityAccessibilityAnalyzer.class);
+    /**
+     * Number of destinations handed to a thread at a time.
+     */
+    private static final int CHUNK = 64;
+    /**
+     * The arcs of the vertices, reversed on a directed graph so that the
+     * searches from the destinations follow the paths to them backwards.
+     */
+    private final CompactGraph<V, E> compact;
+    /**
+     * Index of each destination.
+     */
+    private final int[] destinations;
+    /**
+     * Weight of each destination.
+     */
+    private final double[] weights;
+    /**
+     * The decay function.
+     */
+    private final DecayFunction decay;
+    /**
+     * Number of threads searching from the destinations.
+     */
+    private int parallelism = 1;
+    /**
+     * Accessibility of each vertex, by index, once computed.
+     */
+    private double[] accessibility;
+
+    /**
+     * Constructor. The edge weights are the distances.
+     *
+     * @param graph        The graph to be analyzed.
+     * @param destinations The destinations and their weights
+     * @param decay        The decay function
+     *
+     * @throws IllegalArgumentException If a destination is not in the graph
+     *                                  or its weight is not finite.
+     */
+    public GravityAccessibilityAnalyzer(Graph<V, E> graph,
+                                        Map<V, Double> destinations,
+                                        DecayFunction decay) {
+        super(graph);
+        this.compact = new CompactGraph<V, E>(graph instanceof DirectedGraph
+                ? new EdgeReversedGraph<V, E>((DirectedGraph<V, E>) graph)
+                : graph);
+        this.decay = decay;
+        this.destinations = new int[destinations.size()];
+        this.weights = new double[destinations.size()];
+        int k = 0;
+        for (Map.Entry<V, Double> entry : destinations.entrySet()) {
+            final double weight = entry.getValue();
+            if (Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("The weight of "
+                        + entry.getKey() + " is not finite.");
+            }
+            this.destinations[k] = compact.indexOf(entry.getKey());
+            this.weights[k++] = weight;
+        }
+    }
+
+    /**
+     * Returns the decay function counting the destinations within the given
+     * distance (a factor of 1 up to the threshold, 0 beyond).
+     *
+     * @param threshold The threshold
+     *
+     * @return The decay function
+     */
+    public static DecayFunction cumulative(final double threshold) {
+        if (!(threshold >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The threshold must be non-negative.");
+        }
+        return new DecayFunction() {
+            @Override
+            public double decay(double distance) {
+                return distance <= threshold ? 1.0 : 0.0;
+            }
+
+            @Override
+            public double range() {
+                return threshold;
+            }
+        };
+    }
+
+    /**
+     * Returns the decay function exp(-beta d), cut off at the given range.
+     *
+     * @param beta  The decay rate
+     * @param range The distance beyond which the destinations are ignored,
+     *              possibly infinite
+     *
+     * @return The decay function
+     */
+    public static DecayFunction negativeExponential(final double beta,
+                                                    final double range) {
+        if (!(beta >= 0.0) || !(range >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The decay rate and range must be non-negative.");
+        }
+        return new DecayFunction() {
+            @Override
+            public double decay(double distance) {
+                return distance <= range ? Math.exp(-beta * distance) : 0.0;
+            }
+
+            @Override
+            public double range() {
+                return range;
+            }
+        };
+    }
+
+    /**
+     * Sets the number of threads searching from the destinations at the
+     * same time. Each thread holds arrays as large as the graph.
+     *
+     * @param parallelism Number of threads
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Computes the accessibility of every vertex.
+     */
+    public void compute() {
+        pm.startTask("Gravity accessibility", destinations.length);
+        final long start = System.currentTimeMillis();
+
+        // Each thread adds to its own scores, gathered here to be summed.
+        final List<Search> searches =
+                Collections.synchronizedList(new ArrayList<Search>());
+        final ThreadLocal<Search> local = new ThreadLocal<Search>() {
+            @Override
+            protected Search initialValue() {
+                final Search search = new Search();
+                searches.add(search);
+                return search;
+            }
+        };
+        final ParallelTasks<Integer> tasks =
+                new ParallelTasks<Integer>(parallelism,
+                                           "computing the accessibility");
+        long count = 0;
+        try {
+            for (int from = 0; from < destinations.length; from += CHUNK) {
+                final int lo = from;
+                final int hi = Math.min(destinations.length, from + CHUNK);
+                tasks.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        final Search search = local.get();
+                        for (int k = lo; k < hi && !pm.isCancelled(); k++) {
+                            search.from(destinations[k], weights[k]);
+                        }
+                        return hi - lo;
+                    }
+                });
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                count += tasks.take();
+                pm.setProgress(count, start);
+            }
+        } catch (ExecutionException ex) {
+            rethrowUnchecked(ex);
+        } finally {
+            tasks.close();
+        }
+
+        final double[] sum = new double[nodeCount];
+        for (Search search : searches) {
+            for (int i = 0; i < nodeCount; i++) {
+                sum[i] += search.score[i];
+            }
+        }
+        accessibility = sum;
+        LOGGER.info("({} ms) Accessibility of {} destinations.",
+                    System.currentTimeMillis() - start, count);
+        pm.endTask();
+    }
+
+    /**
+     * Returns the accessibility of the given vertex.
+     *
+     * @param v The vertex
+     *
+     * @return The accessibility of the vertex
+     *
+     * @throws IllegalStateException    If the accessibility was not
+     *                                  computed.
+     * @throws IllegalArgumentException If the vertex is not in the graph.
+     */
+    public double getAccessibility(V v) {
+        if (accessibility == null) {
+            throw new IllegalStateException(
+                    "The accessibility was not computed.");
+        }
+        return accessibility[compact.indexOf(v)];
+    }
+
+    /**
+     * The search state of a thread.
+     */
+    private final class Search {
+
+        /**
+         * Distance to the destination, infinite where the search did not go.
+         */
+        private final double[] dist = new double[nodeCount];
+        /**
+         * The vertices to settle, ordered by distance.
+         */
+        private final DistanceHeap heap = new DistanceHeap(dist);
+        /**
+         * The vertices the search went to.
+         */
+        private final int[] touched = new int[nodeCount];
+        /**
+         * The contributions of the destinations searched by this thread.
+         */
+        private final double[] score = new double[nodeCount];
+        private int touchedCount;
+
+        /**
+         * Constructor.
+         */
+        Search() {
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Searches backwards from the given destination up to the range of
+         * the decay function and adds its contribution to the vertices
+         * reached.
+         *
+         * @param s      The index of the destination
+         * @param weight The weight of the destination
+         */
+        void from(int s, double weight) {
+            reset();
+            touched[touchedCount++] = s;
+            dist[s] = 0.0;
+            heap.update(s);
+            final double range = decay.range();
+            final int[] first = compact.first;
+            while (!heap.isEmpty() && dist[heap.peek()] <= range) {
+                final int u = heap.poll();
+                score[u] += weight * decay.decay(dist[u]);
+                for (int a = first[u]; a < first[u + 1]; a++) {
+                    final int v = compact.head[a];
+                    final double d = dist[u] + compact.weight[a];
+                    if (dist[v] > d) {
+                        if (dist[v] == Double.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = v;
+                        }
+                        dist[v] = d;
+                        heap.update(v);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Clears the distances left by the previous search where it went.
+         */
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            heap.clear();
+            touchedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,538 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.javanetworkanalyzer.alg.GraphSearchAlgorithm;
+import org.javanetworkanalyzer.data.VCent;
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Approximates the closeness of every vertex of a large unweighted graph,
+ * together with the distance distribution and the effective diameter of the
+ * graph, by the HyperBall algorithm (Boldi and Vigna): each vertex holds a
+ * HyperLogLog counter of the vertices within t steps of it, obtained at
+ * iteration t as the union of its own counter and the counters of its
+ * successors at iteration t - 1. The iterations stop once no counter
+ * changes, after as many iterations as the diameter, each a single pass over
+ * the edges.
+ *
+ * <p> The memory taken is {@code 2^log2m} bytes per vertex, twice, and the
+ * relative standard deviation of the counts is about
+ * {@code 1.04 / sqrt(2^log2m)}. A vertex is considered to reach all the others
+ * when its counter holds all the vertices, which may very rarely be the case
+ * of a vertex missing a few of them.
+ *
+ * <p> The estimated closeness, harmonic closeness and Wasserman-Faust
+ * closeness are set on the vertices ("out" closeness on directed graphs);
+ * betweenness is not computed.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+// The bound is raw, as in GraphAnalyzer, so that the raw vertex classes
+// remain valid type arguments.
+@SuppressWarnings("rawtypes")
+public class HyperBallAnalyzer<V extends VCent, E>
+        extends GeneralizedGraphAnalyzer<V, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(HyperBallAnalyzer.class);
+    /**
+     * Number of vertices updated by a thread at a time.
+     */
+    private static final int CHUNK = 4096;
+    /**
+     * Fraction of the pairs of vertices within the effective diameter.
+     */
+    private static final double EFFECTIVE_FRACTION = 0.9;
+    /**
+     * Base 2 logarithm of the number of registers per counter.
+     */
+    private final int log2m;
+    /**
+     * Number of registers per counter.
+     */
+    private final int m;
+    /**
+     * Constant of the HyperLogLog estimate for m registers.
+     */
+    private final double alphaMM;
+    /**
+     * Seed of the hash of the vertices.
+     */
+    private long seed = 0x5DEECE66DL;
+    /**
+     * Number of threads updating the counters.
+     */
+    private int parallelism = 1;
+    /**
+     * The vertices, by index.
+     */
+    private final List<V> vertices;
+    /**
+     * Index of the first successor of each vertex in {@link #successors}.
+     */
+    private final int[] first;
+    /**
+     * Indices of the successors of the vertices.
+     */
+    private final int[] successors;
+    /**
+     * The counters at the previous iteration, m registers per vertex.
+     */
+    private byte[] previous;
+    /**
+     * The counters at the current iteration.
+     */
+    private byte[] current;
+    /**
+     * Whether the counter of each vertex changed at the previous iteration.
+     */
+    private boolean[] changedBefore;
+    /**
+     * Whether the counter of each vertex changed at the current iteration.
+     */
+    private boolean[] changedNow;
+    /**
+     * Estimated size of the ball around each vertex.
+     */
+    private double[] size;
+    /**
+     * Estimated number of vertices at a positive distance from each vertex.
+     */
+    private double[] distant;
+    /**
+     * Estimated sum of the distances from each vertex.
+     */
+    private double[] farness;
+    /**
+     * Estimated sum of the inverses of the distances from each vertex.
+     */
+    private double[] harmonic;
+    /**
+     * Estimated number of pairs of vertices within t steps, for each t.
+     */
+    private double[] neighbourhoodFunction = new double[0];
+
+    /**
+     * Constructor.
+     *
+     * @param graph The graph to be analyzed.
+     * @param log2m Base 2 logarithm of the number of registers per counter,
+     *              from 4 to 16
+     *
+     * @throws IllegalArgumentException If log2m is out of range or the
+     *                                  counters would not fit in an array.
+     */
+    public HyperBallAnalyzer(Graph<V, E> graph, int log2m) {
+        super(graph);
+        if (log2m < 4 || log2m > 16) {
+            throw new IllegalArgumentException(
+                    "The number of registers must be from 2^4 to 2^16.");
+        }
+        if ((long) nodeCount << log2m > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many registers for "
+                    + nodeCount + " vertices; use fewer per counter.");
+        }
+        this.log2m = log2m;
+        this.m = 1 << log2m;
+        final double alpha;
+        if (m == 16) {
+            alpha = 0.673;
+        } else if (m == 32) {
+            alpha = 0.697;
+        } else if (m == 64) {
+            alpha = 0.709;
+        } else {
+            alpha = 0.7213 / (1 + 1.079 / m);
+        }
+        this.alphaMM = alpha * m * m;
+
+        this.vertices = new ArrayList<V>(nodeSet);
+        final Map<V, Integer> index = new HashMap<V, Integer>(2 * nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            index.put(vertices.get(i), i);
+        }
+        this.first = new int[nodeCount + 1];
+        final List<Integer> heads = new ArrayList<Integer>();
+        for (int i = 0; i < nodeCount; i++) {
+            first[i] = heads.size();
+            final V v = vertices.get(i);
+            for (E e : GraphSearchAlgorithm.outgoingEdgesOf(graph, v)) {
+                final int w = index.get(Graphs.getOppositeVertex(graph, e, v));
+                if (w != i) {
+                    heads.add(w);
+                }
+            }
+        }
+        first[nodeCount] = heads.size();
+        this.successors = new int[heads.size()];
+        for (int a = 0; a < successors.length; a++) {
+            successors[a] = heads.get(a);
+        }
+    }
+
+    /**
+     * Sets the seed of the hash of the vertices; the estimates of two runs
+     * with different seeds are independent.
+     *
+     * @param seed The seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the number of threads updating the counters at the same time.
+     *
+     * @param parallelism Number of threads
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Estimates the closeness of every vertex and the neighbourhood function
+     * of the graph.
+     */
+    public void computeAll() {
+        pm.startTask("HyperBall", nodeCount);
+        final long start = System.currentTimeMillis();
+        init();
+        final List<Double> function = new ArrayList<Double>();
+        double pairs = 0.0;
+        for (int i = 0; i < nodeCount; i++) {
+            pairs += size[i];
+        }
+        function.add(pairs);
+
+        final ExecutorService executor = (parallelism == 1)
+                ? null : Executors.newFixedThreadPool(parallelism);
+        long stable = 0;
+        try {
+            for (int t = 1; !pm.isCancelled(); t++) {
+                final double added = iterate(t, executor);
+                int changed = 0;
+                for (int i = 0; i < nodeCount; i++) {
+                    if (changedNow[i]) {
+                        changed++;
+                        System.arraycopy(current, i << log2m,
+                                         previous, i << log2m, m);
+                    }
+                }
+                final boolean[] swap = changedBefore;
+                changedBefore = changedNow;
+                changedNow = swap;
+                if (changed == 0) {
+                    break;
+                }
+                pairs += added;
+                function.add(pairs);
+                stable = Math.max(stable, nodeCount - changed);
+                pm.setProgress(stable, start);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        neighbourhoodFunction = new double[function.size()];
+        for (int t = 0; t < neighbourhoodFunction.length; t++) {
+            neighbourhoodFunction[t] = function.get(t);
+        }
+        setCloseness();
+        current = null;
+        LOGGER.info("({} ms) HyperBall: {} iterations, effective diameter "
+                    + "{}.", System.currentTimeMillis() - start,
+                    neighbourhoodFunction.length - 1, getEffectiveDiameter());
+        pm.endTask();
+    }
+
+    /**
+     * Returns the estimated number of ordered pairs of vertices (v, w) such
+     * that w is within t steps of v, for t from 0 to the number of
+     * iterations; its last value estimates the number of pairs of vertices
+     * connected by a path, counting the pairs (v, v).
+     *
+     * @return The neighbourhood function
+     */
+    public double[] getNeighbourhoodFunction() {
+        return neighbourhoodFunction.clone();
+    }
+
+    /**
+     * Returns the estimated number of ordered pairs of vertices at distance t
+     * from each other, for t from 0 to the number of iterations.
+     *
+     * @return The distance distribution
+     */
+    public double[] getDistanceDistribution() {
+        final double[] distribution = new double[neighbourhoodFunction.length];
+        for (int t = 0; t < distribution.length; t++) {
+            distribution[t] = neighbourhoodFunction[t]
+                    - (t > 0 ? neighbourhoodFunction[t - 1] : 0.0);
+        }
+        return distribution;
+    }
+
+    /**
+     * Returns the estimated effective diameter: the smallest distance, linearly
+     * interpolated, within which 90% of the pairs of vertices connected by a
+     * path lie.
+     *
+     * @return The effective diameter, or 0 before {@link #computeAll()}.
+     */
+    public double getEffectiveDiameter() {
+        if (neighbourhoodFunction.length == 0) {
+            return 0.0;
+        }
+        final double target = EFFECTIVE_FRACTION
+                * neighbourhoodFunction[neighbourhoodFunction.length - 1];
+        int t = 0;
+        while (neighbourhoodFunction[t] < target) {
+            t++;
+        }
+        if (t == 0) {
+            return 0.0;
+        }
+        return t - 1 + (target - neighbourhoodFunction[t - 1])
+                / (neighbourhoodFunction[t] - neighbourhoodFunction[t - 1]);
+    }
+
+    /**
+     * Initializes the counter of each vertex with the vertex itself.
+     */
+    private void init() {
+        previous = new byte[nodeCount << log2m];
+        for (int i = 0; i < nodeCount; i++) {
+            final long hash = mix(i + seed);
+            final int register = (int) (hash >>> (64 - log2m));
+            final long rest = (hash << log2m) | (1L << (log2m - 1));
+            previous[(i << log2m) + register] =
+                    (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        }
+        current = previous.clone();
+        changedBefore = new boolean[nodeCount];
+        Arrays.fill(changedBefore, true);
+        changedNow = new boolean[nodeCount];
+        size = new double[nodeCount];
+        distant = new double[nodeCount];
+        farness = new double[nodeCount];
+        harmonic = new double[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            size[i] = estimate(previous, i);
+        }
+    }
+
+    /**
+     * Computes the counters of iteration t from those of iteration t - 1.
+     *
+     * @param t        The iteration
+     * @param executor The threads, or null to update the counters in this
+     *                 thread
+     *
+     * @return The estimated number of pairs of vertices at distance t.
+     */
+    private double iterate(final int t, ExecutorService executor) {
+        if (executor == null) {
+            return update(0, nodeCount, t);
+        }
+        final ParallelTasks<Double> tasks =
+                new ParallelTasks<Double>(executor, "updating the counters");
+        double added = 0.0;
+        try {
+            for (int from = 0; from < nodeCount; from += CHUNK) {
+                final int lo = from;
+                final int hi = Math.min(nodeCount, from + CHUNK);
+                tasks.submit(new Callable<Double>() {
+                    @Override
+                    public Double call() {
+                        return update(lo, hi, t);
+                    }
+                });
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                added += tasks.take();
+            }
+        } catch (ExecutionException ex) {
+            rethrowUnchecked(ex);
+        } finally {
+            tasks.close();
+        }
+        return added;
+    }
+
+    /**
+     * Computes the counters of the given vertices at iteration t: only the
+     * successors whose counter changed at the previous iteration can add to
+     * the counter of a vertex.
+     *
+     * @param from The first vertex
+     * @param to   The vertex after the last one
+     * @param t    The iteration
+     *
+     * @return The estimated number of vertices at distance t from these
+     *         vertices.
+     */
+    private double update(int from, int to, int t) {
+        double added = 0.0;
+        for (int i = from; i < to; i++) {
+            final int offset = i << log2m;
+            boolean changed = false;
+            for (int a = first[i]; a < first[i + 1]; a++) {
+                final int w = successors[a];
+                if (!changedBefore[w]) {
+                    continue;
+                }
+                final int other = w << log2m;
+                for (int j = 0; j < m; j++) {
+                    if (previous[other + j] > current[offset + j]) {
+                        current[offset + j] = previous[other + j];
+                        changed = true;
+                    }
+                }
+            }
+            changedNow[i] = changed;
+            if (changed) {
+                final double estimate = estimate(current, i);
+                final double delta = estimate - size[i];
+                size[i] = estimate;
+                distant[i] += delta;
+                farness[i] += t * delta;
+                harmonic[i] += delta / t;
+                added += delta;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Sets the closeness of the vertices from the estimated distances.
+     */
+    private void setCloseness() {
+        // A vertex reaches all the others if its counter is the union of all
+        // the counters.
+        final byte[] all = new byte[m];
+        for (int i = 0; i < nodeCount; i++) {
+            for (int j = 0; j < m; j++) {
+                all[j] = (byte) Math.max(all[j], previous[(i << log2m) + j]);
+            }
+        }
+        try {
+            for (int i = 0; i < nodeCount; i++) {
+                final V v = vertices.get(i);
+                boolean reachesAll = true;
+                for (int j = 0; j < m && reachesAll; j++) {
+                    reachesAll = previous[(i << log2m) + j] == all[j];
+                }
+                final double reached = distant[i];
+                final int count = reachesAll
+                        ? nodeCount - 1
+                        : (int) Math.min(nodeCount - 2,
+                                         Math.max(0L, Math.round(reached)));
+                GraphAnalyzer.setCloseness(
+                        v, count, reached > 0.0 ? farness[i] / reached : 0.0,
+                        harmonic[i], nodeCount);
+                if (resultSink != null) {
+                    GraphAnalyzer.writeCloseness(resultSink, v);
+                }
+            }
+        } catch (IOException ex) {
+            throw resultSinkFailure(ex);
+        }
+    }
+
+    /**
+     * Returns the HyperLogLog estimate of the number of elements of a
+     * counter, with the linear counting correction of small counts.
+     *
+     * @param counters The counters
+     * @param i        The index of the vertex
+     *
+     * @return The estimated number of elements.
+     */
+    private double estimate(byte[] counters, int i) {
+        final int offset = i << log2m;
+        double sum = 0.0;
+        int zeros = 0;
+        for (int j = 0; j < m; j++) {
+            final int register = counters[offset + j];
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        final double estimate = alphaMM / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            return m * Math.log((double) m / zeros);
+        }
+        return estimate;
+    }
+
+    /**
+     * Hashes a long (the finalizer of MurmurHash3).
+     *
+     * @param x The long
+     *
+     * @return The hash.
+     */
+    private static long mix(long x) {
+        x = (x ^ (x >>> 33)) * 0xFF51AFD7ED558CCDL;
+        x = (x ^ (x >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return x ^ (x >>> 33);
+    }
+}
@@ -0,0 +1,525 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.progress.NullProgressMonitor;
+import org.javanetworkanalyzer.progress.ProgressMonitor;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
+import org.jgrapht.graph.EdgeReversedGraph;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link WeightedGraphAnalyzer} which, once {@link #computeAll()} has been
+ * called, keeps the betweenness and closeness values up to date after batches
+ * of edge weight changes, insertions and deletions without redoing the whole
+ * analysis.
+ *
+ * <p> A change to arc (u,v) leaves the shortest path DAG of a source s
+ * untouched unless d(s,u) + w(u,v) does not exceed d(s,v), with the old
+ * weight for an increase or a deletion (the arc was on the DAG) and the new
+ * weight for a decrease or an insertion (the arc may give new shortest
+ * paths). The distances d(., u) and d(., v) from all sources are found by
+ * Dijkstra searches from u and v on the reversed graph, so
+ * {@link #update()} costs two searches per changed edge to find the affected
+ * sources, then subtracts their contributions on the old graph, applies the
+ * changes and adds their contributions on the new graph. Sources which do
+ * not reach a changed edge are never affected.
+ *
+ * <p> Nothing is stored per source: between updates, the analyzer only keeps
+ * the unnormalized betweenness values. During {@link #update()}, the
+ * distances to the endpoints of the changed edges take {@code 8 * n} bytes
+ * per distinct endpoint for {@code n} vertices. The vertex set may not
+ * change.
+ *
+ * @param <E> edge
+ */
+// VWCent is used raw, as by WeightedGraphAnalyzer.
+@SuppressWarnings("rawtypes")
+public class IncrementalWeightedGraphAnalyzer<E extends EdgeCent>
+        extends WeightedGraphAnalyzer<E> {
+
+    /**
+     * Tolerance used to compare distances, as in the Dijkstra algorithm.
+     */
+    private static final double TOLERANCE = 0.000000001;
+    /**
+     * The graph, as a weighted graph.
+     */
+    private final WeightedGraph<VWCent, E> weightedGraph;
+    /**
+     * Whether the graph is directed.
+     */
+    private final boolean directed;
+    /**
+     * Dijkstra search on the reversed graph, giving the distances from all
+     * sources to a vertex.
+     */
+    private final Dijkstra<VWCent, E> reverseDijkstra;
+    /**
+     * Index of each vertex in the iteration order of the vertex set.
+     */
+    private final Map<VWCent, Integer> index;
+    /**
+     * Unnormalized betweenness of each vertex (by index).
+     */
+    private final double[] rawBetweenness;
+    /**
+     * Unnormalized betweenness of each edge.
+     */
+    private final Map<E, Double> rawEdgeBetweenness;
+    /**
+     * Pending weight changes; a weight of {@link Double#POSITIVE_INFINITY}
+     * stands for a deletion.
+     */
+    private final Map<E, Double> weightChanges;
+    /**
+     * Pending edge insertions.
+     */
+    private final List<EdgeInsertion> insertions;
+    /**
+     * Id given to the next inserted edge.
+     */
+    private int nextEdgeID;
+    /**
+     * Whether the unnormalized betweenness values are known.
+     */
+    private boolean computed;
+
+    /**
+     * Initializes a new instance of an incremental weighted graph analyzer
+     * with the given {@link ProgressMonitor}.
+     *
+     * @param graph The graph to be analyzed.
+     * @param pm    The {@link ProgressMonitor} to be used.
+     */
+    public IncrementalWeightedGraphAnalyzer(
+            WeightedGraph<VWCent, E> graph,
+            ProgressMonitor pm)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException {
+        super(graph, pm);
+        this.weightedGraph = graph;
+        this.directed = graph instanceof DirectedGraph;
+        final Graph<VWCent, E> reversed = directed
+                ? new EdgeReversedGraph<VWCent, E>(
+                (DirectedGraph<VWCent, E>) graph)
+                : graph;
+        this.reverseDijkstra = new Dijkstra<VWCent, E>(reversed);
+        this.index = new HashMap<VWCent, Integer>(2 * nodeCount);
+        for (VWCent node : nodeSet) {
+            index.put(node, index.size());
+        }
+        this.rawBetweenness = new double[nodeCount];
+        this.rawEdgeBetweenness = new HashMap<E, Double>();
+        this.weightChanges = new LinkedHashMap<E, Double>();
+        this.insertions = new ArrayList<EdgeInsertion>();
+        int maxEdgeID = 0;
+        for (E edge : graph.edgeSet()) {
+            maxEdgeID = Math.max(maxEdgeID, edge.getID());
+        }
+        this.nextEdgeID = maxEdgeID + 1;
+    }
+
+    /**
+     * Initializes a new instance of an incremental weighted graph analyzer
+     * that doesn't keep track of progress.
+     *
+     * @param graph The graph to be analyzed.
+     */
+    public IncrementalWeightedGraphAnalyzer(
+            WeightedGraph<VWCent, E> graph)
+            throws NoSuchMethodException, InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException {
+        this(graph, new NullProgressMonitor());
+    }
+
+    /**
+     * Schedules a change of the weight of the given edge for the next
+     * {@link #update()}.
+     *
+     * @param edge   The edge
+     * @param weight Its new weight
+     */
+    public void setEdgeWeight(E edge, double weight) {
+        checkEdge(edge);
+        if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException(
+                    "Invalid weight " + weight + ".");
+        }
+        weightChanges.put(edge, weight);
+    }
+
+    /**
+     * Schedules the deletion of the given edge for the next
+     * {@link #update()}.
+     *
+     * @param edge The edge
+     */
+    public void removeEdge(E edge) {
+        checkEdge(edge);
+        weightChanges.put(edge, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Schedules the insertion of an edge for the next {@link #update()}. The
+     * new edge gets the id following the largest edge id of the graph.
+     *
+     * @param source Source vertex
+     * @param target Target vertex
+     * @param weight Weight of the new edge
+     */
+    public void addEdge(VWCent source, VWCent target, double weight) {
+        if (!index.containsKey(source) || !index.containsKey(target)) {
+            throw new IllegalArgumentException(
+                    "The graph does not contain both end vertices.");
+        }
+        if (!(weight >= 0.0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException(
+                    "Invalid weight " + weight + ".");
+        }
+        insertions.add(new EdgeInsertion(source, target, weight));
+    }
+
+    /**
+     * Applies the scheduled changes to the graph and updates the betweenness
+     * and closeness values accordingly.
+     *
+     * @return The number of sources whose contributions were recomputed.
+     *
+     * @throws IllegalStateException If {@link #computeAll()} was not called
+     *                               first.
+     */
+    public int update() throws InstantiationException,
+            IllegalAccessException, IllegalArgumentException,
+            InvocationTargetException {
+        if (!computed) {
+            throw new IllegalStateException(
+                    "The centrality must be computed before it is updated.");
+        }
+        if (weightChanges.isEmpty() && insertions.isEmpty()) {
+            return 0;
+        }
+        final List<VWCent> affected = findAffectedSources();
+        final long startTime = System.currentTimeMillis();
+        pm.startTask("Incremental graph analysis", 2L * affected.size());
+        // Remove the contributions on the old graph ...
+        subtractContributions(affected, startTime);
+        applyChanges();
+        // ... and add those on the new graph.
+        addContributions(affected, startTime);
+        pm.endTask();
+        int i = 0;
+        for (VWCent node : nodeSet) {
+            node.setBetweenness(rawBetweenness[i++]);
+        }
+        for (E edge : graph.edgeSet()) {
+            edge.setBetweenness(rawEdgeBetweenness.get(edge));
+        }
+        super.normalizeBetweenness();
+        return affected.size();
+    }
+
+    /**
+     * Records the unnormalized betweenness values before normalizing them.
+     */
+    @Override
+    protected void normalizeBetweenness() {
+        int i = 0;
+        for (VWCent node : nodeSet) {
+            rawBetweenness[i++] = node.getBetweenness();
+        }
+        rawEdgeBetweenness.clear();
+        for (E edge : graph.edgeSet()) {
+            rawEdgeBetweenness.put(edge, edge.getBetweenness());
+        }
+        computed = true;
+        super.normalizeBetweenness();
+    }
+
+    /**
+     * Checks that the given edge belongs to the graph.
+     *
+     * @param edge The edge
+     */
+    private void checkEdge(E edge) {
+        if (!graph.containsEdge(edge)) {
+            throw new IllegalArgumentException(
+                    "The graph does not contain the edge " + edge + ".");
+        }
+    }
+
+    /**
+     * Returns the sources whose shortest path DAG may be modified by the
+     * scheduled changes.
+     *
+     * @return The sources whose shortest path DAG may be modified by the
+     *         scheduled changes.
+     */
+    private List<VWCent> findAffectedSources() {
+        final boolean[] isAffected = new boolean[nodeCount];
+        final Map<VWCent, double[]> distancesTo =
+                new HashMap<VWCent, double[]>();
+        for (Map.Entry<E, Double> change : weightChanges.entrySet()) {
+            final E edge = change.getKey();
+            markAffected(graph.getEdgeSource(edge), graph.getEdgeTarget(edge),
+                         graph.getEdgeWeight(edge), change.getValue(),
+                         distancesTo, isAffected);
+        }
+        for (EdgeInsertion insertion : insertions) {
+            markAffected(insertion.source, insertion.target,
+                         Double.POSITIVE_INFINITY, insertion.weight,
+                         distancesTo, isAffected);
+        }
+        final List<VWCent> affected = new ArrayList<VWCent>();
+        int i = 0;
+        for (VWCent node : nodeSet) {
+            if (isAffected[i++]) {
+                affected.add(node);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Marks the sources whose shortest path DAG may be modified by changing
+     * the weight of edge (u,v), in both directions if the graph is
+     * undirected.
+     *
+     * @param u           Source of the edge
+     * @param v           Target of the edge
+     * @param oldWeight   Old weight, infinite for an insertion
+     * @param newWeight   New weight, infinite for a deletion
+     * @param distancesTo Distances from all sources to the vertices searched
+     *                    so far
+     * @param isAffected  Whether each source (by index) is affected
+     */
+    private void markAffected(VWCent u, VWCent v,
+                              double oldWeight, double newWeight,
+                              Map<VWCent, double[]> distancesTo,
+                              boolean[] isAffected) {
+        if (u == v || oldWeight == newWeight) {
+            return;
+        }
+        // The old weight if the arc may have been on a shortest path, the
+        // new one if it may now provide a shortest path.
+        final double weight = Math.min(oldWeight, newWeight);
+        final double[] du = distancesTo(u, distancesTo);
+        final double[] dv = distancesTo(v, distancesTo);
+        for (int s = 0; s < nodeCount; s++) {
+            isAffected[s] |= affects(du[s], dv[s], weight)
+                    || (!directed && affects(dv[s], du[s], weight));
+        }
+    }
+
+    /**
+     * Returns {@code true} if arc (u,v) of the given weight lies on, or
+     * provides, a shortest path from a source at the given distances of u
+     * and v.
+     *
+     * @param du     Distance from the source to u
+     * @param dv     Distance from the source to v
+     * @param weight Weight of the arc
+     *
+     * @return {@code true} if the arc is tight for the source.
+     */
+    private static boolean affects(double du, double dv, double weight) {
+        return du != Double.POSITIVE_INFINITY && du + weight <= dv + TOLERANCE;
+    }
+
+    /**
+     * Returns the distances from all sources (by index) to the given vertex
+     * on the current graph, searching the reversed graph the first time.
+     *
+     * @param target      The vertex
+     * @param distancesTo Distances already found, by vertex
+     *
+     * @return The distances from all sources to the given vertex.
+     */
+    private double[] distancesTo(VWCent target,
+                                 Map<VWCent, double[]> distancesTo) {
+        double[] d = distancesTo.get(target);
+        if (d == null) {
+            reverseDijkstra.calculate(target);
+            d = new double[nodeCount];
+            int i = 0;
+            for (VWCent node : nodeSet) {
+                d[i++] = node.getDistance();
+            }
+            distancesTo.put(target, d);
+        }
+        return d;
+    }
+
+    /**
+     * Subtracts the betweenness contributions of the given sources from the
+     * unnormalized betweenness values. The closeness of the sources is left
+     * as it is and nothing is reported to the result sink or the metrics,
+     * since these contributions are those of the old graph.
+     *
+     * @param sources   The sources
+     * @param startTime Start time of the update
+     */
+    private void subtractContributions(List<VWCent> sources, long startTime) {
+        clearBetweenness();
+        long count = 0;
+        for (VWCent source : sources) {
+            accumulateBetweennessFromNode(source);
+            pm.setProgress(++count, startTime);
+        }
+        collectBetweenness(-1.0);
+    }
+
+    /**
+     * Adds the centrality contributions of the given sources on the new graph
+     * to the unnormalized betweenness values and sets their closeness.
+     *
+     * @param sources   The sources
+     * @param startTime Start time of the update
+     */
+    private void addContributions(List<VWCent> sources, long startTime)
+            throws InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+        clearBetweenness();
+        long count = sources.size();
+        for (VWCent source : sources) {
+            calculateCentralityContributionFromNode(source);
+            pm.setProgress(++count, startTime);
+        }
+        collectBetweenness(1.0);
+    }
+
+    /**
+     * Resets the betweenness held by the vertices and edges before
+     * accumulating contributions.
+     */
+    private void clearBetweenness() {
+        for (VWCent node : nodeSet) {
+            node.setBetweenness(0.0);
+        }
+        for (E edge : graph.edgeSet()) {
+            edge.setBetweenness(0.0);
+        }
+    }
+
+    /**
+     * Adds the betweenness held by the vertices and edges, multiplied by the
+     * given sign, to the unnormalized betweenness values.
+     *
+     * @param sign 1 to add the contributions, -1 to subtract them
+     */
+    private void collectBetweenness(double sign) {
+        int i = 0;
+        for (VWCent node : nodeSet) {
+            rawBetweenness[i++] += sign * node.getBetweenness();
+        }
+        for (E edge : graph.edgeSet()) {
+            final Double raw = rawEdgeBetweenness.get(edge);
+            rawEdgeBetweenness.put(edge, (raw == null ? 0.0 : raw)
+                    + sign * edge.getBetweenness());
+        }
+    }
+
+    /**
+     * Applies the scheduled changes to the graph.
+     */
+    private void applyChanges() {
+        for (Map.Entry<E, Double> change : weightChanges.entrySet()) {
+            final E edge = change.getKey();
+            if (change.getValue() == Double.POSITIVE_INFINITY) {
+                graph.removeEdge(edge);
+                rawEdgeBetweenness.remove(edge);
+            } else {
+                weightedGraph.setEdgeWeight(edge, change.getValue());
+            }
+        }
+        for (EdgeInsertion insertion : insertions) {
+            final E edge = graph.addEdge(insertion.source, insertion.target);
+            edge.setID(nextEdgeID++);
+            weightedGraph.setEdgeWeight(edge, insertion.weight);
+        }
+        weightChanges.clear();
+        insertions.clear();
+    }
+
+    /**
+     * A scheduled edge insertion.
+     */
+    private static class EdgeInsertion {
+
+        /**
+         * Source vertex.
+         */
+        private final VWCent source;
+        /**
+         * Target vertex.
+         */
+        private final VWCent target;
+        /**
+         * Weight.
+         */
+        private final double weight;
+
+        /**
+         * Constructor.
+         *
+         * @param source Source vertex
+         * @param target Target vertex
+         * @param weight Weight
+         */
+        private EdgeInsertion(VWCent source, VWCent target, double weight) {
+            this.source = source;
+            this.target = target;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.javanetworkanalyzer.data.VId;
+import org.javanetworkanalyzer.model.EdgeID;
+import org.javanetworkanalyzer.results.IsochroneSink;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the catchment areas of a batch of sources for several
+ * thresholds at once (the vertices and edges within 5, 10 and 15 minutes of
+ * each source, for instance), without going through
+ * {@link org.javanetworkanalyzer.alg.Dijkstra#calculate(
+ * org.javanetworkanalyzer.data.VDijkstra, double)} and a traversal graph
+ * for each source.
+ *
+ * <p> The search from each source stops at the largest threshold. Its state
+ * lives in arrays indexed by vertex, allocated once per thread and reset
+ * only where the previous search went, so that the cost of a source depends
+ * on the size of its catchment area and the sources can be processed in
+ * parallel. The vertices and edges reached are passed to an
+ * {@link IsochroneSink} with their band: the index of the smallest threshold
+ * within which they are reached. An edge is reached when all its points
+ * are, that is when the farthest of them is within the threshold:
+ * (d(u) + w + d(v)) / 2 away for an undirected edge {u, v} of weight w, and
+ * d(u) + w away for a directed edge (u, v).
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+public class IsochroneAnalyzer<V extends VId, E extends EdgeID>
+        extends GeneralizedGraphAnalyzer<V, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(IsochroneAnalyzer.class);
+    /**
+     * Tolerance for distances considered within a threshold.
+     */
+    private static final double TOLERANCE = 0.000000001;
+    /**
+     * Number of sources handed to a thread at a time.
+     */
+    private static final int CHUNK = 64;
+    /**
+     * The thresholds, in increasing order.
+     */
+    private final double[] thresholds;
+    /**
+     * Number of threads searching from the sources.
+     */
+    private int parallelism = 1;
+    /**
+     * The outgoing arcs of the vertices.
+     */
+    private final CompactGraph<V, E> compact;
+    /**
+     * Id of each vertex, by index.
+     */
+    private final int[] vertexIds;
+    /**
+     * Id of each edge, by index.
+     */
+    private final int[] edgeIds;
+    /**
+     * Whether the graph is directed.
+     */
+    private final boolean directed;
+
+    /**
+     * Constructor. The edge weights are the distances.
+     *
+     * @param graph      The graph to be analyzed.
+     * @param thresholds The thresholds, in increasing order
+     *
+     * @throws IllegalArgumentException If there is no threshold or the
+     *                                  thresholds are not non-negative and
+     *                                  increasing.
+     */
+    public IsochroneAnalyzer(Graph<V, E> graph, double... thresholds) {
+        super(graph);
+        if (thresholds.length == 0) {
+            throw new IllegalArgumentException("No threshold given.");
+        }
+        for (int b = 0; b < thresholds.length; b++) {
+            if (!(thresholds[b] >= 0.0)
+                    || (b > 0 && thresholds[b] <= thresholds[b - 1])) {
+                throw new IllegalArgumentException("The thresholds must be "
+                        + "non-negative and increasing.");
+            }
+        }
+        this.thresholds = thresholds.clone();
+        this.compact = new CompactGraph<V, E>(graph);
+        this.directed = graph instanceof DirectedGraph;
+        this.vertexIds = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            vertexIds[i] = compact.vertices.get(i).getID();
+        }
+        this.edgeIds = new int[compact.edges.size()];
+        for (int i = 0; i < edgeIds.length; i++) {
+            edgeIds[i] = compact.edges.get(i).getID();
+        }
+    }
+
+    /**
+     * Sets the number of threads searching from the sources at the same
+     * time. Each thread holds arrays as large as the graph.
+     *
+     * @param parallelism Number of threads
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Computes the catchment area of each source and passes it to the sink.
+     *
+     * @param sources The sources
+     * @param sink    The sink receiving the catchment areas
+     *
+     * @throws IllegalArgumentException If a source is not in the graph.
+     */
+    public void compute(List<V> sources, final IsochroneSink sink) {
+        pm.startTask("Isochrones", sources.size());
+        final long start = System.currentTimeMillis();
+        final int[] indices = new int[sources.size()];
+        for (int k = 0; k < indices.length; k++) {
+            indices[k] = compact.indexOf(sources.get(k));
+        }
+
+        // Each thread reuses its own search state from one chunk to the
+        // next.
+        final ThreadLocal<Search> local = new ThreadLocal<Search>() {
+            @Override
+            protected Search initialValue() {
+                return new Search();
+            }
+        };
+        final ParallelTasks<Integer> tasks =
+                new ParallelTasks<Integer>(parallelism,
+                                           "computing the isochrones");
+        long count = 0;
+        try {
+            for (int from = 0; from < indices.length; from += CHUNK) {
+                final int lo = from;
+                final int hi = Math.min(indices.length, from + CHUNK);
+                tasks.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        final Search search = local.get();
+                        for (int k = lo; k < hi && !pm.isCancelled(); k++) {
+                            search.from(indices[k], sink);
+                        }
+                        return hi - lo;
+                    }
+                });
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                count += tasks.take();
+                pm.setProgress(count, start);
+            }
+        } catch (ExecutionException ex) {
+            rethrowUnchecked(ex);
+        } finally {
+            tasks.close();
+        }
+        LOGGER.info("({} ms) Isochrones of {} sources.",
+                    System.currentTimeMillis() - start, count);
+        pm.endTask();
+    }
+
+    /**
+     * Returns the band of the given distance.
+     *
+     * @param distance The distance
+     *
+     * @return The index of the smallest threshold within which the distance
+     *         lies, or -1.
+     */
+    private int band(double distance) {
+        for (int b = 0; b < thresholds.length; b++) {
+            if (distance <= thresholds[b] + TOLERANCE) {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The search state of a thread.
+     */
+    private final class Search {
+
+        /**
+         * Distance from the source, infinite where the search did not go.
+         */
+        private final double[] dist = new double[nodeCount];
+        /**
+         * Whether each vertex is settled.
+         */
+        private final boolean[] settled = new boolean[nodeCount];
+        /**
+         * The vertices to settle, ordered by distance.
+         */
+        private final DistanceHeap heap = new DistanceHeap(dist);
+        /**
+         * The vertices in the order they were settled.
+         */
+        private final int[] order = new int[nodeCount];
+        /**
+         * The vertices the search went to.
+         */
+        private final int[] touched = new int[nodeCount];
+        /**
+         * The reached edges and their bands.
+         */
+        private int[] edges = new int[16];
+        private int[] edgeBands = new int[16];
+        private int settledCount;
+        private int touchedCount;
+
+        /**
+         * Constructor.
+         */
+        Search() {
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Searches from the given source up to the largest threshold and
+         * passes the catchment area to the sink.
+         *
+         * @param s    The index of the source
+         * @param sink The sink
+         */
+        void from(int s, IsochroneSink sink) {
+            reset();
+            touched[touchedCount++] = s;
+            dist[s] = 0.0;
+            heap.update(s);
+            final double limit = thresholds[thresholds.length - 1] + TOLERANCE;
+            final int[] first = compact.first;
+            while (!heap.isEmpty() && dist[heap.peek()] <= limit) {
+                final int u = heap.poll();
+                settled[u] = true;
+                order[settledCount++] = u;
+                for (int a = first[u]; a < first[u + 1]; a++) {
+                    final int v = compact.head[a];
+                    final double d = dist[u] + compact.weight[a];
+                    if (dist[v] > d) {
+                        if (dist[v] == Double.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = v;
+                        }
+                        dist[v] = d;
+                        heap.update(v);
+                    }
+                }
+            }
+
+            final int[] vertices = new int[settledCount];
+            final int[] vertexBands = new int[settledCount];
+            int edgeCount = 0;
+            for (int k = 0; k < settledCount; k++) {
+                final int u = order[k];
+                vertices[k] = vertexIds[u];
+                vertexBands[k] = band(dist[u]);
+                for (int a = first[u]; a < first[u + 1]; a++) {
+                    final int v = compact.head[a];
+                    final double farthest;
+                    if (directed) {
+                        farthest = dist[u] + compact.weight[a];
+                    } else if (settled[v] && u <= v) {
+                        // Each undirected edge is seen from both ends.
+                        farthest = (dist[u] + compact.weight[a] + dist[v]) / 2;
+                    } else {
+                        continue;
+                    }
+                    final int b = band(farthest);
+                    if (b >= 0) {
+                        if (edgeCount == edges.length) {
+                            edges = Arrays.copyOf(edges, 2 * edgeCount);
+                            edgeBands = Arrays.copyOf(edgeBands, 2 * edgeCount);
+                        }
+                        edges[edgeCount] = edgeIds[compact.edgeOf[a]];
+                        edgeBands[edgeCount++] = b;
+                    }
+                }
+            }
+            try {
+                synchronized (sink) {
+                    sink.isochrone(vertexIds[s], vertices, vertexBands,
+                                   Arrays.copyOf(edges, edgeCount),
+                                   Arrays.copyOf(edgeBands, edgeCount));
+                }
+            } catch (IOException ex) {
+                throw resultSinkFailure(ex);
+            }
+        }
+
+        /**
+         * Clears the state left by the previous search where it went.
+         */
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                final int v = touched[i];
+                dist[v] = Double.POSITIVE_INFINITY;
+                settled[v] = false;
+            }
+            heap.clear();
+            touchedCount = 0;
+            settledCount = 0;
+        }
+    }
+}
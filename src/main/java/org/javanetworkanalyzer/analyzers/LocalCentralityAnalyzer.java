@@ -0,0 +1,423 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.results.ResultSink;
+import org.javanetworkanalyzer.results.SynchronizedResultSink;
+import org.jgrapht.WeightedGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the closeness and betweenness of a weighted graph restricted to
+ * the shortest paths no longer than a given radius, as the local measures of
+ * space syntax: the search from each source stops at the radius, so that its
+ * cost depends on the size of the neighbourhood rather than on the size of
+ * the graph.
+ *
+ * <p> The search state lives in arrays indexed by vertex, allocated once per
+ * thread and reset only where the previous search went, instead of in the
+ * vertices themselves; the sources can thus be processed in parallel. With
+ * an infinite radius, the results are those of
+ * {@link WeightedGraphAnalyzer#computeAll()}.
+ *
+ * <p> The closeness only counts the vertices within the radius: the harmonic
+ * and Wasserman-Faust closeness give the local closeness, while the classic
+ * closeness stays 0 unless the whole graph is within the radius.
+ *
+ * @param <E> Edge
+ */
+// VWCent is used raw, as by WeightedGraphAnalyzer.
+@SuppressWarnings("rawtypes")
+public class LocalCentralityAnalyzer<E extends EdgeCent>
+        extends GeneralizedGraphAnalyzer<VWCent, E> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(LocalCentralityAnalyzer.class);
+    /**
+     * Same tolerance as {@link org.javanetworkanalyzer.alg.Dijkstra} for
+     * distances considered equal.
+     */
+    private static final double TOLERANCE = 0.000000001;
+    /**
+     * Number of sources handed to a thread at a time.
+     */
+    private static final int CHUNK = 64;
+    /**
+     * Largest length of the paths taken into account.
+     */
+    private final double radius;
+    /**
+     * Number of threads searching from the sources.
+     */
+    private int parallelism = 1;
+    /**
+     * The outgoing arcs of the vertices.
+     */
+    private final CompactGraph<VWCent, E> compact;
+
+    /**
+     * Constructor.
+     *
+     * @param graph  The graph to be analyzed.
+     * @param radius The largest length of the paths taken into account,
+     *               possibly infinite
+     *
+     * @throws IllegalArgumentException If the radius is negative or NaN.
+     */
+    public LocalCentralityAnalyzer(WeightedGraph<VWCent, E> graph,
+                                   double radius) {
+        super(graph);
+        if (!(radius >= 0.0)) {
+            throw new IllegalArgumentException(
+                    "The radius must be non-negative.");
+        }
+        this.radius = radius;
+        this.compact = new CompactGraph<VWCent, E>(graph);
+    }
+
+    /**
+     * Returns the largest length of the paths taken into account.
+     *
+     * @return The radius
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Sets the number of threads searching from the sources at the same
+     * time. Each thread holds arrays as large as the graph.
+     *
+     * @param parallelism Number of threads
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "The parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Computes the local closeness and betweenness of every vertex and the
+     * local betweenness of every edge, and normalizes the betweenness.
+     */
+    public void computeAll() throws NoSuchMethodException,
+            InstantiationException, IllegalAccessException,
+            IllegalArgumentException, InvocationTargetException {
+        pm.startTask("Local centrality", nodeCount);
+        final long start = System.currentTimeMillis();
+        final ResultSink sink = (resultSink == null || parallelism == 1)
+                ? resultSink
+                : new SynchronizedResultSink(resultSink);
+
+        // Each thread reuses its own search state from one chunk to the
+        // next.
+        final List<Search> searches =
+                Collections.synchronizedList(new ArrayList<Search>());
+        final ThreadLocal<Search> local = new ThreadLocal<Search>() {
+            @Override
+            protected Search initialValue() {
+                final Search search = new Search();
+                searches.add(search);
+                return search;
+            }
+        };
+        final ParallelTasks<Integer> tasks =
+                new ParallelTasks<Integer>(parallelism,
+                                           "computing the local centrality");
+        long count = 0;
+        try {
+            for (int from = 0; from < nodeCount; from += CHUNK) {
+                final int lo = from;
+                final int hi = Math.min(nodeCount, from + CHUNK);
+                tasks.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        final Search search = local.get();
+                        for (int s = lo; s < hi && !pm.isCancelled(); s++) {
+                            search.from(s, sink);
+                        }
+                        return hi - lo;
+                    }
+                });
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                count += tasks.take();
+                pm.setProgress(count, start);
+            }
+        } catch (ExecutionException ex) {
+            rethrowCause(ex);
+        } finally {
+            tasks.close();
+        }
+
+        for (int i = 0; i < nodeCount; i++) {
+            double betweenness = 0.0;
+            for (Search search : searches) {
+                betweenness += search.betweenness[i];
+            }
+            compact.vertices.get(i).setBetweenness(betweenness);
+        }
+        for (int i = 0; i < compact.edges.size(); i++) {
+            double betweenness = 0.0;
+            for (Search search : searches) {
+                betweenness += search.edgeBetweenness[i];
+            }
+            compact.edges.get(i).setBetweenness(betweenness);
+        }
+        final WeightedGraphAnalyzer<E> whole = new WeightedGraphAnalyzer<E>(
+                (WeightedGraph<VWCent, E>) graph);
+        whole.setResultSink(resultSink);
+        whole.normalizeBetweenness();
+        LOGGER.info("({} ms) Local centrality within radius {}.",
+                    System.currentTimeMillis() - start, radius);
+        pm.endTask();
+    }
+
+    /**
+     * The state of the searches of a thread and the betweenness accumulated
+     * from their sources.
+     */
+    private final class Search {
+
+        /**
+         * Distance from the source, infinite where the search did not go.
+         */
+        private final double[] dist = new double[nodeCount];
+        /**
+         * Number of shortest paths from the source.
+         */
+        private final long[] sigma = new long[nodeCount];
+        /**
+         * Dependency of the source on each vertex.
+         */
+        private final double[] delta = new double[nodeCount];
+        /**
+         * Sum of the dependencies on the outgoing shortest path edges of
+         * each vertex.
+         */
+        private final double[] edgeDelta = new double[nodeCount];
+        /**
+         * Head of the predecessor list of each vertex, or -1.
+         */
+        private final int[] predHead = new int[nodeCount];
+        /**
+         * The vertices to settle, ordered by distance.
+         */
+        private final DistanceHeap heap = new DistanceHeap(dist);
+        /**
+         * The vertices in the order they were settled.
+         */
+        private final int[] settled = new int[nodeCount];
+        /**
+         * The vertices the search went to.
+         */
+        private final int[] touched = new int[nodeCount];
+        /**
+         * Last predecessor visit of each vertex, counting each predecessor
+         * once in the vertex dependency as {@link GraphAnalyzer} does.
+         */
+        private final long[] mark = new long[nodeCount];
+        /**
+         * Predecessor vertex, edge and next entry of the predecessor lists.
+         */
+        private int[] predVertex = new int[16];
+        private int[] predEdge = new int[16];
+        private int[] predNext = new int[16];
+        /**
+         * Accumulated vertex betweenness.
+         */
+        private final double[] betweenness = new double[nodeCount];
+        /**
+         * Accumulated edge betweenness.
+         */
+        private final double[] edgeBetweenness =
+                new double[compact.edges.size()];
+        private int settledCount;
+        private int touchedCount;
+        private int predCount;
+        private long visit;
+
+        /**
+         * Constructor.
+         */
+        Search() {
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(predHead, -1);
+        }
+
+        /**
+         * Searches the shortest paths within the radius from the given source
+         * and accumulates their contributions.
+         *
+         * @param s    The index of the source
+         * @param sink Result sink, or null
+         */
+        void from(int s, ResultSink sink) {
+            reset();
+            touch(s);
+            dist[s] = 0.0;
+            sigma[s] = 1;
+            heap.update(s);
+            int reached = 0;
+            double lengthSum = 0.0;
+            double harmonicSum = 0.0;
+            final int[] first = compact.first;
+            while (!heap.isEmpty() && dist[heap.peek()] <= radius) {
+                final int u = heap.poll();
+                settled[settledCount++] = u;
+                if (u != s) {
+                    reached++;
+                    lengthSum += dist[u];
+                    harmonicSum += 1 / dist[u];
+                }
+                for (int a = first[u]; a < first[u + 1]; a++) {
+                    final int v = compact.head[a];
+                    final double d = dist[u] + compact.weight[a];
+                    if (dist[v] > d) {
+                        if (dist[v] == Double.POSITIVE_INFINITY) {
+                            touch(v);
+                        }
+                        dist[v] = d;
+                        sigma[v] = sigma[u];
+                        predHead[v] = addPredecessor(u, compact.edgeOf[a], -1);
+                        heap.update(v);
+                    } else if (Math.abs(dist[v] - d) < TOLERANCE) {
+                        sigma[v] += sigma[u];
+                        predHead[v] = addPredecessor(u, compact.edgeOf[a],
+                                                     predHead[v]);
+                    }
+                }
+            }
+
+            final VWCent source = compact.vertices.get(s);
+            GraphAnalyzer.setCloseness(source, reached,
+                                       reached > 0 ? lengthSum / reached : 0.0,
+                                       harmonicSum, nodeCount);
+            if (sink != null) {
+                try {
+                    GraphAnalyzer.writeCloseness(sink, source);
+                } catch (IOException ex) {
+                    throw resultSinkFailure(ex);
+                }
+            }
+
+            // Only the settled vertices are within the radius; the paths
+            // leading beyond it are left out.
+            for (int k = settledCount - 1; k > 0; k--) {
+                final int w = settled[k];
+                visit++;
+                for (int p = predHead[w]; p >= 0; p = predNext[p]) {
+                    final int u = predVertex[p];
+                    final double factor = (double) sigma[u] / sigma[w];
+                    final double edgeDependency = factor * (1 + edgeDelta[w]);
+                    edgeBetweenness[predEdge[p]] += edgeDependency;
+                    edgeDelta[u] += edgeDependency;
+                    if (mark[u] != visit) {
+                        mark[u] = visit;
+                        delta[u] += factor * (1 + delta[w]);
+                    }
+                }
+                betweenness[w] += delta[w];
+            }
+        }
+
+        /**
+         * Clears the state left by the previous search where it went.
+         */
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                final int v = touched[i];
+                dist[v] = Double.POSITIVE_INFINITY;
+                sigma[v] = 0;
+                delta[v] = 0.0;
+                edgeDelta[v] = 0.0;
+                predHead[v] = -1;
+            }
+            heap.clear();
+            touchedCount = 0;
+            settledCount = 0;
+            predCount = 0;
+        }
+
+        /**
+         * Records that the search went to a vertex.
+         *
+         * @param v The vertex
+         */
+        private void touch(int v) {
+            touched[touchedCount++] = v;
+        }
+
+        /**
+         * Adds an entry to the predecessor lists.
+         *
+         * @param u    The predecessor
+         * @param e    The edge from the predecessor
+         * @param next The next entry of the list, or -1
+         *
+         * @return The index of the entry.
+         */
+        private int addPredecessor(int u, int e, int next) {
+            if (predCount == predVertex.length) {
+                final int length = 2 * predCount;
+                predVertex = Arrays.copyOf(predVertex, length);
+                predEdge = Arrays.copyOf(predEdge, length);
+                predNext = Arrays.copyOf(predNext, length);
+            }
+            predVertex[predCount] = u;
+            predEdge[predCount] = e;
+            predNext[predCount] = next;
+            return predCount++;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The tasks into which an analyzer splits its work, whose results are taken
+ * as they complete. Closing cancels the tasks still running, so that a
+ * failed or interrupted analysis does not leave threads behind.
+ *
+ * @param <T> Result of a task
+ */
+final class ParallelTasks<T> {
+
+    private final ExecutorService executor;
+    /**
+     * Whether the executor belongs to these tasks and is shut down on
+     * closing.
+     */
+    private final boolean owned;
+    private final CompletionService<T> completion;
+    private final List<Future<T>> futures = new ArrayList<Future<T>>();
+    /**
+     * What the tasks do, for the interruption message.
+     */
+    private final String activity;
+
+    /**
+     * Runs the tasks on a new pool of the given number of threads.
+     *
+     * @param parallelism Number of threads
+     * @param activity    What the tasks do, e.g. "analyzing the blocks"
+     */
+    ParallelTasks(int parallelism, String activity) {
+        this(Executors.newFixedThreadPool(parallelism), true, activity);
+    }
+
+    /**
+     * Runs the tasks on the given executor, which is left running on
+     * closing.
+     *
+     * @param executor Executor
+     * @param activity What the tasks do, e.g. "analyzing the blocks"
+     */
+    ParallelTasks(ExecutorService executor, String activity) {
+        this(executor, false, activity);
+    }
+
+    private ParallelTasks(ExecutorService executor, boolean owned,
+                          String activity) {
+        this.executor = executor;
+        this.owned = owned;
+        this.completion = new ExecutorCompletionService<T>(executor);
+        this.activity = activity;
+    }
+
+    /**
+     * Submits a task.
+     *
+     * @param task The task
+     */
+    void submit(Callable<T> task) {
+        futures.add(completion.submit(task));
+    }
+
+    /**
+     * Returns the number of tasks submitted.
+     *
+     * @return The number of tasks submitted
+     */
+    int size() {
+        return futures.size();
+    }
+
+    /**
+     * Waits for the next task to complete and returns its result.
+     *
+     * @return The result of the task
+     *
+     * @throws ExecutionException If the task failed.
+     * @throws IllegalStateException If this thread was interrupted.
+     */
+    T take() throws ExecutionException {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while " + activity + ".", ex);
+        }
+    }
+
+    /**
+     * Cancels the tasks still running and shuts down the executor if it
+     * belongs to these tasks.
+     */
+    void close() {
+        for (Future<T> future : futures) {
+            future.cancel(true);
+        }
+        if (owned) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+/**
+ * A subset of the sources of a {@link GraphAnalyzer}, used to split a single
+ * centrality computation between several processes or machines with
+ * {@link GraphAnalyzer#computePartial}.
+ *
+ * <p> Sources are identified both by their index in the iteration order of the
+ * graph's vertex set and by their id, so partitions by index are only
+ * consistent between processes which load the graph in the same way.
+ */
+public abstract class SourcePartition {
+
+    /**
+     * Returns {@code true} if the given source belongs to this partition.
+     *
+     * @param index Index of the source in the vertex set
+     * @param id    Id of the source
+     *
+     * @return {@code true} if the given source belongs to this partition.
+     */
+    public abstract boolean contains(int index, int id);
+
+    /**
+     * Returns the partition containing every source.
+     *
+     * @return The partition containing every source.
+     */
+    public static SourcePartition all() {
+        return new SourcePartition() {
+            @Override
+            public boolean contains(int index, int id) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the partition of the sources whose index lies in
+     * {@code [from, to)}.
+     *
+     * @param from First index (inclusive)
+     * @param to   Last index (exclusive)
+     *
+     * @return The partition of the sources whose index lies in
+     *         {@code [from, to)}.
+     */
+    public static SourcePartition range(final int from, final int to) {
+        if (from > to) {
+            throw new IllegalArgumentException(
+                    "Invalid source range [" + from + ", " + to + ").");
+        }
+        return new SourcePartition() {
+            @Override
+            public boolean contains(int index, int id) {
+                return from <= index && index < to;
+            }
+        };
+    }
+
+    /**
+     * Returns part {@code part} of the partition of the sources into
+     * {@code parts} parts according to a hash of their id.
+     *
+     * @param parts Number of parts
+     * @param part  Part, in {@code [0, parts)}
+     *
+     * @return The sources whose id hashes to the given part.
+     */
+    public static SourcePartition modulo(final int parts, final int part) {
+        if (parts <= 0 || part < 0 || part >= parts) {
+            throw new IllegalArgumentException(
+                    "Invalid part " + part + " of " + parts + ".");
+        }
+        return new SourcePartition() {
+            @Override
+            public boolean contains(int index, int id) {
+                final int h = id * 0x9E3779B9;
+                return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % parts == part;
+            }
+        };
+    }
+}
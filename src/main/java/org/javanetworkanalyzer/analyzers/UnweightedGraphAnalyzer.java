@@ -107,6 +107,11 @@ public class UnweightedGraphAnalyzer<E extends EdgeCent>
         return bfs;
     }
 
+    @Override
+    protected BFSForCentrality<E> getCentralityAlg() {
+        return bfs;
+    }
+
     @Override
     public void computeAll() throws InstantiationException,
             IllegalAccessException, IllegalArgumentException,
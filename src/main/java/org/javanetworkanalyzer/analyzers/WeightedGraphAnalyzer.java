@@ -115,6 +115,11 @@ public class WeightedGraphAnalyzer<E extends EdgeCent>
         return dijkstra;
     }
 
+    @Override
+    protected DijkstraForCentrality<E> getCentralityAlg() {
+        return dijkstra;
+    }
+
     @Override
     public void computeAll() throws InstantiationException,
             IllegalAccessException, IllegalArgumentException,
@@ -52,6 +52,11 @@ public abstract class PathLengthData<T extends Number> {
      * Number of shortest path lengths accumulated in this instance.
      */
     protected int count;
+    /**
+     * Sum of the inverses of the (positive) shortest path lengths accumulated
+     * in this instance.
+     */
+    protected double harmonicSum;
     /**
      * Error message to be given when no shortest path lengths have been
      * accumulated.
@@ -64,6 +69,7 @@ public abstract class PathLengthData<T extends Number> {
      */
     public PathLengthData() {
         count = 0;
+        harmonicSum = 0.0;
     }
 
     /**
@@ -71,6 +77,7 @@ public abstract class PathLengthData<T extends Number> {
      */
     public void clear() {
         count = 0;
+        harmonicSum = 0.0;
     }
 
     /**
@@ -117,4 +124,15 @@ public abstract class PathLengthData<T extends Number> {
     //            return Double.POSITIVE_INFINITY;
     //        }
     public abstract double getAverageLength();
+
+    /**
+     * Gets the sum of the inverses of the shortest path lengths, which gives
+     * the harmonic closeness without requiring every node to be reachable.
+     *
+     * @return Sum of the inverses of the shortest path lengths accumulated in
+     *         this instance.
+     */
+    public double getHarmonicSum() {
+        return harmonicSum;
+    }
 }
@@ -76,6 +76,9 @@ public class UnweightedPathLengthData extends PathLengthData<Integer> {
     public void addSPLength(Integer length) {
         count++;
         totalLength += length;
+        if (length > 0) {
+            harmonicSum += 1.0 / length;
+        }
         if (maxLength < length) {
             maxLength = length;
         }
@@ -54,6 +54,18 @@ public class VAccess<E> extends VDijkstra<VAccess, E> {
      * Distance to the closest destination.
      */
     private double distanceToClosestDestination = Double.POSITIVE_INFINITY;
+    /**
+     * Ids of the nearest destinations, by increasing distance.
+     */
+    private int[] nearestDestinationIds = new int[0];
+    /**
+     * Distances to the nearest destinations.
+     */
+    private double[] nearestDestinationDistances = new double[0];
+    /**
+     * Number of nearest destinations found.
+     */
+    private int nearestDestinationCount;
 
     /**
      * Constructor: sets the id.
@@ -99,4 +111,82 @@ public class VAccess<E> extends VDijkstra<VAccess, E> {
     public void setDistanceToClosestDestination(double newDistance) {
         this.distanceToClosestDestination = newDistance;
     }
+
+    /**
+     * Makes room for the given number of nearest destinations and forgets
+     * those found before.
+     *
+     * @param k Number of nearest destinations
+     */
+    public void resetNearestDestinations(int k) {
+        if (nearestDestinationIds.length != k) {
+            nearestDestinationIds = new int[k];
+            nearestDestinationDistances = new double[k];
+        }
+        nearestDestinationCount = 0;
+    }
+
+    /**
+     * Adds the next nearest destination, no nearer than the previous ones.
+     *
+     * @param id       Id of the destination
+     * @param distance Distance to the destination
+     *
+     * @throws IllegalStateException If there is no room left.
+     */
+    public void addNearestDestination(int id, double distance) {
+        if (nearestDestinationCount == nearestDestinationIds.length) {
+            throw new IllegalStateException("Vertex " + getID()
+                    + " already has " + nearestDestinationCount
+                    + " nearest destinations.");
+        }
+        nearestDestinationIds[nearestDestinationCount] = id;
+        nearestDestinationDistances[nearestDestinationCount++] = distance;
+    }
+
+    /**
+     * Returns the number of nearest destinations found, at most the number
+     * requested.
+     *
+     * @return The number of nearest destinations
+     */
+    public int getNearestDestinationCount() {
+        return nearestDestinationCount;
+    }
+
+    /**
+     * Returns the id of the nearest destination of the given rank.
+     *
+     * @param rank Rank, 0 for the nearest
+     *
+     * @return The id of the destination.
+     */
+    public int getNearestDestinationId(int rank) {
+        checkRank(rank);
+        return nearestDestinationIds[rank];
+    }
+
+    /**
+     * Returns the distance to the nearest destination of the given rank.
+     *
+     * @param rank Rank, 0 for the nearest
+     *
+     * @return The distance to the destination.
+     */
+    public double getNearestDestinationDistance(int rank) {
+        checkRank(rank);
+        return nearestDestinationDistances[rank];
+    }
+
+    /**
+     * Makes sure a nearest destination of the given rank was found.
+     *
+     * @param rank Rank
+     */
+    private void checkRank(int rank) {
+        if (rank < 0 || rank >= nearestDestinationCount) {
+            throw new IndexOutOfBoundsException("Vertex " + getID() + " has "
+                    + nearestDestinationCount + " nearest destinations.");
+        }
+    }
 }
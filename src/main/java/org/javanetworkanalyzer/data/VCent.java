@@ -146,4 +146,35 @@ public interface VCent<V extends VCent, E> extends VPred<V, E> {
      * @param closeness The closeness to set.
      */
     void setCloseness(double closeness);
+
+    /**
+     * Returns the harmonic closeness: the mean of the inverse distances to
+     * the other nodes, unreachable nodes counting as zero.
+     *
+     * @return The harmonic closeness.
+     */
+    double getHarmonicCloseness();
+
+    /**
+     * Sets the harmonic closeness.
+     *
+     * @param harmonicCloseness The harmonic closeness to set.
+     */
+    void setHarmonicCloseness(double harmonicCloseness);
+
+    /**
+     * Returns the Wasserman–Faust closeness: the closeness within the
+     * reachable nodes, weighted by the fraction of the other nodes which are
+     * reachable.
+     *
+     * @return The Wasserman–Faust closeness.
+     */
+    double getWassermanFaustCloseness();
+
+    /**
+     * Sets the Wasserman–Faust closeness.
+     *
+     * @param wassermanFaustCloseness The Wasserman–Faust closeness to set.
+     */
+    void setWassermanFaustCloseness(double wassermanFaustCloseness);
 }
@@ -63,6 +63,14 @@ public class VCentImpl extends VPredImpl implements VCent {
      * Closeness value of this node.
      */
     private double closeness = 0.0;
+    /**
+     * Harmonic closeness value of this node.
+     */
+    private double harmonicCloseness = 0.0;
+    /**
+     * Wasserman–Faust closeness value of this node.
+     */
+    private double wassermanFaustCloseness = 0.0;
 
     /**
      * Constructor: sets the id; sets the shortest paths count, dependency,
@@ -135,4 +143,24 @@ public class VCentImpl extends VPredImpl implements VCent {
     public void setCloseness(double closeness) {
         this.closeness = closeness;
     }
+
+    @Override
+    public double getHarmonicCloseness() {
+        return harmonicCloseness;
+    }
+
+    @Override
+    public void setHarmonicCloseness(double harmonicCloseness) {
+        this.harmonicCloseness = harmonicCloseness;
+    }
+
+    @Override
+    public double getWassermanFaustCloseness() {
+        return wassermanFaustCloseness;
+    }
+
+    @Override
+    public void setWassermanFaustCloseness(double wassermanFaustCloseness) {
+        this.wassermanFaustCloseness = wassermanFaustCloseness;
+    }
 }
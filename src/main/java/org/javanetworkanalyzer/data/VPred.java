@@ -79,6 +79,20 @@ public interface VPred<V extends VPred, E> {
      */
     void addPredecessorEdge(E pred);
 
+    /**
+     * Removes a predecessor from the predecessor list of this node
+     *
+     * @param pred Node which is no longer a predecessor of this node
+     */
+    void removePredecessor(V pred);
+
+    /**
+     * Removes a predecessor edge from the predecessor list of this node
+     *
+     * @param pred Edge which is no longer a predecessor edge of this node
+     */
+    void removePredecessorEdge(E pred);
+
     /**
      * Clears the edge and vertex predecessors of this node.
      */
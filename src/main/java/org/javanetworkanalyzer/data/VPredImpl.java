@@ -86,6 +86,16 @@ public class VPredImpl<V extends VPred, E> extends VId implements VPred<V, E> {
         predecessorEdges.add(pred);
     }
 
+    @Override
+    public void removePredecessor(V pred) {
+        predecessors.remove(pred);
+    }
+
+    @Override
+    public void removePredecessorEdge(E pred) {
+        predecessorEdges.remove(pred);
+    }
+
     @Override
     public void clear() {
         predecessors.clear();
@@ -135,4 +135,24 @@ public class VUCent<E> extends VBFS<VUCent, E> implements VCent<VUCent, E> {
     public void setCloseness(double closeness) {
         vCent.setCloseness(closeness);
     }
+
+    @Override
+    public double getHarmonicCloseness() {
+        return vCent.getHarmonicCloseness();
+    }
+
+    @Override
+    public void setHarmonicCloseness(double harmonicCloseness) {
+        vCent.setHarmonicCloseness(harmonicCloseness);
+    }
+
+    @Override
+    public double getWassermanFaustCloseness() {
+        return vCent.getWassermanFaustCloseness();
+    }
+
+    @Override
+    public void setWassermanFaustCloseness(double wassermanFaustCloseness) {
+        vCent.setWassermanFaustCloseness(wassermanFaustCloseness);
+    }
 }
@@ -75,6 +75,9 @@ public class WeightedPathLengthData extends PathLengthData<Double> {
     public void addSPLength(Double length) {
         count++;
         totalLength += length;
+        if (length > 0.0) {
+            harmonicSum += 1.0 / length;
+        }
         if (maxLength < length) {
             maxLength = length;
         }
@@ -0,0 +1,129 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.IOException;
+
+/**
+ * Generates scale-free graphs following the Barabási–Albert preferential
+ * attachment model: vertices are added one at a time, each linked to
+ * {@code m} earlier vertices chosen with probability proportional to their
+ * degree. Edges are weighted uniformly in [1, 10).
+ *
+ * <p> As in the linear algorithm of Batagelj and Brandes, an endpoint is
+ * chosen proportionally to degree by picking a uniformly random endpoint of
+ * an earlier edge. Since the random numbers of each edge only depend on its
+ * index, that endpoint is recomputed when needed instead of being stored,
+ * so the generation takes constant memory. Multiple edges may occur.
+ */
+public class BarabasiAlbertGenerator extends GraphGenerator {
+
+    /**
+     * Number of vertices.
+     */
+    private final int vertexCount;
+    /**
+     * Number of edges added with each vertex.
+     */
+    private final int m;
+
+    /**
+     * Constructor.
+     *
+     * @param vertexCount Number of vertices
+     * @param m           Number of edges added with each vertex
+     * @param seed        Seed
+     */
+    public BarabasiAlbertGenerator(int vertexCount, int m, long seed) {
+        super(seed);
+        if (vertexCount < 2 || m < 1
+                || (long) m * (vertexCount - 1) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid parameters n = "
+                    + vertexCount + ", m = " + m + ".");
+        }
+        this.vertexCount = vertexCount;
+        this.m = m;
+    }
+
+    @Override
+    public void generate(EdgeSink sink) throws IOException {
+        final long edgeCount = (long) m * (vertexCount - 1);
+        for (long e = 0; e < edgeCount; e++) {
+            sink.addEdge((int) e + 1, source(e) + 1, target(e) + 1,
+                         1.0 + 9.0 * uniform(~e));
+        }
+    }
+
+    /**
+     * Returns the index of the source of the given edge, i.e. of the vertex
+     * it was added with.
+     *
+     * @param e Edge index
+     *
+     * @return The index of the source of the given edge.
+     */
+    private int source(long e) {
+        return 1 + (int) (e / m);
+    }
+
+    /**
+     * Returns the index of the target of the given edge.
+     *
+     * @param e Edge index
+     *
+     * @return The index of the target of the given edge.
+     */
+    private int target(long e) {
+        while (true) {
+            final int v = source(e);
+            if (v == 1) {
+                // Vertex 1 can only be linked to vertex 0.
+                return 0;
+            }
+            // A uniformly random endpoint of the edges of vertices 1..v-1.
+            final long endpoint =
+                    (long) (uniform(e) * 2.0 * m * (v - 1));
+            if ((endpoint & 1) == 0) {
+                return source(endpoint >>> 1);
+            }
+            e = endpoint >>> 1;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Streams the edges of a file written by {@link BinaryEdgeSink} to an
+ * {@link EdgeSink}, for instance a {@link GraphEdgeSink} to load the graph.
+ */
+public final class BinaryEdgeReader {
+
+    /**
+     * Utility class.
+     */
+    private BinaryEdgeReader() {
+    }
+
+    /**
+     * Streams the edges of the given file to the given sink, which is not
+     * closed.
+     *
+     * @param file File
+     * @param sink Sink
+     *
+     * @return The number of edges read.
+     *
+     * @throws IOException If the file could not be read or is not an edge
+     *                     file.
+     */
+    public static long read(File file, EdgeSink sink) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file), 1 << 16));
+        try {
+            if (in.readInt() != BinaryEdgeSink.MAGIC) {
+                throw new IOException(file + " is not an edge file.");
+            }
+            final int version = in.readInt();
+            if (version != BinaryEdgeSink.VERSION) {
+                throw new IOException("Unsupported edge file version "
+                        + version + ".");
+            }
+            long count = 0;
+            while (true) {
+                final int id;
+                try {
+                    id = in.readInt();
+                } catch (EOFException ex) {
+                    return count;
+                }
+                sink.addEdge(id, in.readInt(), in.readInt(), in.readDouble());
+                count++;
+            }
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the edges it receives to a compact binary file, read back by
+ * {@link BinaryEdgeReader}.
+ *
+ * <p> The file is big-endian: a magic number and a format version followed by
+ * one record per edge made of the edge id, the source id, the target id (all
+ * ints) and the weight (a double), until the end of the file.
+ */
+public class BinaryEdgeSink implements EdgeSink {
+
+    /**
+     * Magic number identifying edge files ("JNAE").
+     */
+    static final int MAGIC = 0x4A4E4145;
+    /**
+     * Format version.
+     */
+    static final int VERSION = 1;
+    /**
+     * Output stream.
+     */
+    private final DataOutputStream out;
+
+    /**
+     * Opens the given file and writes the header.
+     *
+     * @param file File
+     *
+     * @throws IOException If the file could not be opened.
+     */
+    public BinaryEdgeSink(File file) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    @Override
+    public void addEdge(int id, int source, int target, double weight)
+            throws IOException {
+        out.writeInt(id);
+        out.writeInt(source);
+        out.writeInt(target);
+        out.writeDouble(weight);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
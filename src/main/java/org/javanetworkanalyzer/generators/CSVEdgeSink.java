@@ -0,0 +1,102 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the edges it receives to a CSV file in the format read by the graph
+ * creators: semicolon-separated, quoted values, the weights in the
+ * {@code length} column and, when coordinates are given, the geometry as a
+ * WKT {@code LINESTRING} in the {@code the_geom} column.
+ */
+public class CSVEdgeSink implements EdgeSink {
+
+    /**
+     * Writer.
+     */
+    private final Writer writer;
+    /**
+     * Coordinates of the vertices, or {@code null}.
+     */
+    private final VertexCoordinates coordinates;
+
+    /**
+     * Opens the given file and writes the header.
+     *
+     * @param file        File
+     * @param coordinates Coordinates of the vertices, or {@code null} to
+     *                    leave out the geometry
+     *
+     * @throws IOException If the file could not be opened.
+     */
+    public CSVEdgeSink(File file, VertexCoordinates coordinates)
+            throws IOException {
+        this.writer = new BufferedWriter(new FileWriter(file), 1 << 16);
+        this.coordinates = coordinates;
+        if (coordinates != null) {
+            writer.write("\"the_geom\";");
+        }
+        writer.write("\"id\";\"length\";\"start_node\";\"end_node\"\n");
+    }
+
+    @Override
+    public void addEdge(int id, int source, int target, double weight)
+            throws IOException {
+        if (coordinates != null) {
+            writer.write("\"LINESTRING (");
+            writer.write(coordinates.getX(source) + " "
+                    + coordinates.getY(source) + ", ");
+            writer.write(coordinates.getX(target) + " "
+                    + coordinates.getY(target) + ")\";");
+        }
+        writer.write("\"" + id + "\";\"" + weight + "\";\"" + source
+                + "\";\"" + target + "\"\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generates Erdős–Rényi graphs G(n, p), in which each pair of distinct
+ * vertices is linked with probability p. Edges are weighted uniformly in
+ * [1, 10).
+ *
+ * <p> Pairs are enumerated with geometrically distributed skips (Batagelj and
+ * Brandes), so the time is proportional to the number of edges and the
+ * memory is constant.
+ */
+public class ErdosRenyiGenerator extends GraphGenerator {
+
+    /**
+     * Number of vertices.
+     */
+    private final int vertexCount;
+    /**
+     * Probability of each pair of vertices to be linked.
+     */
+    private final double p;
+
+    /**
+     * Constructor.
+     *
+     * @param vertexCount Number of vertices
+     * @param p           Probability of each pair of vertices to be linked
+     * @param seed        Seed
+     */
+    public ErdosRenyiGenerator(int vertexCount, double p, long seed) {
+        super(seed);
+        if (vertexCount < 1 || !(p > 0.0) || p >= 1.0) {
+            throw new IllegalArgumentException("Invalid parameters n = "
+                    + vertexCount + ", p = " + p + ".");
+        }
+        this.vertexCount = vertexCount;
+        this.p = p;
+    }
+
+    /**
+     * Returns a generator of graphs with the given expected average degree.
+     *
+     * @param vertexCount   Number of vertices
+     * @param averageDegree Expected average degree
+     * @param seed          Seed
+     *
+     * @return A generator of graphs with the given expected average degree.
+     */
+    public static ErdosRenyiGenerator withAverageDegree(int vertexCount,
+                                                        double averageDegree,
+                                                        long seed) {
+        return new ErdosRenyiGenerator(
+                vertexCount, averageDegree / (vertexCount - 1), seed);
+    }
+
+    @Override
+    public void generate(EdgeSink sink) throws IOException {
+        final Random random = new Random(seed);
+        final double logQ = Math.log(1.0 - p);
+        int edgeID = 0;
+        long v = 1;
+        long w = -1;
+        while (v < vertexCount) {
+            w += 1 + (long) (Math.log(1.0 - random.nextDouble()) / logQ);
+            while (w >= v && v < vertexCount) {
+                w -= v;
+                v++;
+            }
+            if (v < vertexCount) {
+                sink.addEdge(++edgeID, (int) v + 1, (int) w + 1,
+                             1.0 + 9.0 * random.nextDouble());
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import org.javanetworkanalyzer.model.BulkKeyedGraph;
+import org.javanetworkanalyzer.model.EdgeID;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.WeightedBulkKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+
+/**
+ * Adds the edges it receives to a {@link KeyedGraph} in batches, setting their
+ * weights if the graph is a {@link WeightedKeyedGraph}.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+public class GraphEdgeSink<V, E extends EdgeID> implements EdgeSink {
+
+    /**
+     * Number of edges added at once.
+     */
+    private static final int BATCH_SIZE = 1 << 16;
+    /**
+     * Graph.
+     */
+    private final KeyedGraph<V, E> graph;
+    /**
+     * Ids of the pending edges.
+     */
+    private final int[] ids;
+    /**
+     * Sources of the pending edges.
+     */
+    private final int[] sources;
+    /**
+     * Targets of the pending edges.
+     */
+    private final int[] targets;
+    /**
+     * Weights of the pending edges.
+     */
+    private final double[] weights;
+    /**
+     * Number of pending edges.
+     */
+    private int count;
+
+    /**
+     * Constructor.
+     *
+     * @param graph Graph
+     */
+    public GraphEdgeSink(KeyedGraph<V, E> graph) {
+        this.graph = graph;
+        this.ids = new int[BATCH_SIZE];
+        this.sources = new int[BATCH_SIZE];
+        this.targets = new int[BATCH_SIZE];
+        this.weights = new double[BATCH_SIZE];
+    }
+
+    @Override
+    public void addEdge(int id, int source, int target, double weight) {
+        ids[count] = id;
+        sources[count] = source;
+        targets[count] = target;
+        weights[count] = weight;
+        if (++count == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Adds the pending edges to the graph, in one call if it is a
+     * {@link BulkKeyedGraph}.
+     */
+    private void flush() {
+        if (count == 0) {
+            return;
+        }
+        if (graph instanceof WeightedBulkKeyedGraph) {
+            final double[] w = new double[count];
+            System.arraycopy(weights, 0, w, 0, count);
+            ((WeightedBulkKeyedGraph<V, E>) graph).addEdges(
+                    trim(sources), trim(targets), trim(ids), w);
+        } else if (graph instanceof BulkKeyedGraph) {
+            ((BulkKeyedGraph<V, E>) graph).addEdges(
+                    trim(sources), trim(targets), trim(ids));
+        } else {
+            final WeightedKeyedGraph<V, E> weighted =
+                    (graph instanceof WeightedKeyedGraph)
+                    ? (WeightedKeyedGraph<V, E>) graph : null;
+            for (int i = 0; i < count; i++) {
+                final E e = graph.addEdge(sources[i], targets[i], ids[i]);
+                if (weighted != null) {
+                    weighted.setEdgeWeight(e, weights[i]);
+                }
+            }
+        }
+        count = 0;
+    }
+
+    /**
+     * Returns the pending part of the given array.
+     *
+     * @param array Array
+     *
+     * @return The pending part of the given array.
+     */
+    private int[] trim(int[] array) {
+        if (count == array.length) {
+            return array;
+        }
+        final int[] trimmed = new int[count];
+        System.arraycopy(array, 0, trimmed, 0, count);
+        return trimmed;
+    }
+}
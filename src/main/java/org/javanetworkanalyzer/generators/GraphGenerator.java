@@ -0,0 +1,169 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.File;
+import java.io.IOException;
+import org.javanetworkanalyzer.model.EdgeID;
+import org.javanetworkanalyzer.model.KeyedGraph;
+
+/**
+ * Seeded, deterministic generator of synthetic graphs for scale testing.
+ *
+ * <p> Edges are streamed to an {@link EdgeSink} as they are generated, so that
+ * the memory needed to write a graph to a file does not depend on its number
+ * of edges. Vertex and edge ids are numbered from 1.
+ */
+public abstract class GraphGenerator {
+
+    /**
+     * Seed of the generator.
+     */
+    protected final long seed;
+
+    /**
+     * Constructor.
+     *
+     * @param seed Seed
+     */
+    protected GraphGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Streams the edges of the graph to the given sink. The sink is not
+     * closed.
+     *
+     * @param sink Sink
+     *
+     * @throws IOException If the sink could not write an edge.
+     */
+    public abstract void generate(EdgeSink sink) throws IOException;
+
+    /**
+     * Returns the coordinates of the vertices, or {@code null} if the
+     * generated graph has no geometry.
+     *
+     * @return The coordinates of the vertices, or {@code null}.
+     */
+    public VertexCoordinates getCoordinates() {
+        return null;
+    }
+
+    /**
+     * Adds the edges of the graph to the given graph, setting their weights
+     * if the graph is weighted.
+     *
+     * @param graph Graph
+     * @param <V>   Vertex
+     * @param <E>   Edge
+     */
+    public <V, E extends EdgeID> void generate(KeyedGraph<V, E> graph) {
+        try {
+            final GraphEdgeSink<V, E> sink = new GraphEdgeSink<V, E>(graph);
+            generate(sink);
+            sink.close();
+        } catch (IOException ex) {
+            // A graph sink does not do any I/O.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Writes the graph to a CSV file readable by the graph creators, with
+     * the weights in the {@code length} column and the geometry, if any, in
+     * the {@code the_geom} column.
+     *
+     * @param file File
+     *
+     * @throws IOException If the file could not be written.
+     */
+    public void writeCSV(File file) throws IOException {
+        final CSVEdgeSink sink = new CSVEdgeSink(file, getCoordinates());
+        try {
+            generate(sink);
+        } finally {
+            sink.close();
+        }
+    }
+
+    /**
+     * Writes the graph to a binary file readable by
+     * {@link BinaryEdgeReader}.
+     *
+     * @param file File
+     *
+     * @throws IOException If the file could not be written.
+     */
+    public void writeBinary(File file) throws IOException {
+        final BinaryEdgeSink sink = new BinaryEdgeSink(file);
+        try {
+            generate(sink);
+        } finally {
+            sink.close();
+        }
+    }
+
+    /**
+     * Returns a pseudo-random double in [0, 1) depending only on the seed
+     * and the given index, so that generators can draw the random numbers
+     * attached to an edge or vertex in any order.
+     *
+     * @param index Index
+     *
+     * @return A pseudo-random double in [0, 1).
+     */
+    protected double uniform(long index) {
+        return (mix(seed * 0x9E3779B97F4A7C15L + index) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     *
+     * @param z Value
+     *
+     * @return The mixed value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
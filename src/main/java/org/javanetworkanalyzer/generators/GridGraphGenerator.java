@@ -0,0 +1,176 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.IOException;
+
+/**
+ * Generates road-like planar graphs: a grid whose vertices are slightly
+ * displaced from their nominal positions and from which some links may be
+ * missing. Edges are weighted by their Euclidean length.
+ *
+ * <p> Vertex {@code id} lies in row {@code (id - 1) / columns} and column
+ * {@code (id - 1) % columns}. Each vertex is linked to its right and lower
+ * neighbours. The displacement is small enough for the graph to remain
+ * planar. Vertices all of whose links are missing are not generated.
+ */
+public class GridGraphGenerator extends GraphGenerator
+        implements VertexCoordinates {
+
+    /**
+     * Default distance between neighbouring grid positions.
+     */
+    public static final double DEFAULT_SPACING = 100.0;
+    /**
+     * Maximal displacement of a vertex along each axis, as a fraction of the
+     * spacing.
+     */
+    private static final double JITTER = 0.2;
+    /**
+     * Number of rows.
+     */
+    private final int rows;
+    /**
+     * Number of columns.
+     */
+    private final int columns;
+    /**
+     * Distance between neighbouring grid positions.
+     */
+    private final double spacing;
+    /**
+     * Probability of each link to be present.
+     */
+    private final double linkProbability;
+
+    /**
+     * Generator of complete grids with the default spacing.
+     *
+     * @param rows    Number of rows
+     * @param columns Number of columns
+     * @param seed    Seed
+     */
+    public GridGraphGenerator(int rows, int columns, long seed) {
+        this(rows, columns, DEFAULT_SPACING, 1.0, seed);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rows            Number of rows
+     * @param columns         Number of columns
+     * @param spacing         Distance between neighbouring grid positions
+     * @param linkProbability Probability of each link to be present
+     * @param seed            Seed
+     */
+    public GridGraphGenerator(int rows, int columns, double spacing,
+                              double linkProbability, long seed) {
+        super(seed);
+        if (rows <= 0 || columns <= 0
+                || (long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Invalid grid size " + rows + " x " + columns + ".");
+        }
+        if (linkProbability < 0.0 || linkProbability > 1.0) {
+            throw new IllegalArgumentException(
+                    "Invalid link probability " + linkProbability + ".");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.spacing = spacing;
+        this.linkProbability = linkProbability;
+    }
+
+    @Override
+    public void generate(EdgeSink sink) throws IOException {
+        int edgeID = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                final int id = row * columns + col + 1;
+                if (col + 1 < columns) {
+                    edgeID = link(sink, edgeID, id, id + 1);
+                }
+                if (row + 1 < rows) {
+                    edgeID = link(sink, edgeID, id, id + columns);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the link between the given vertices to the sink if it is present.
+     *
+     * @param sink   Sink
+     * @param edgeID Id of the last edge sent
+     * @param source Source vertex id
+     * @param target Target vertex id
+     *
+     * @return The id of the last edge sent.
+     */
+    private int link(EdgeSink sink, int edgeID, int source, int target)
+            throws IOException {
+        // Links are identified by their source and direction.
+        final long link = 2L * source + (target == source + 1 ? 0 : 1);
+        if (linkProbability < 1.0 && uniform(~link) >= linkProbability) {
+            return edgeID;
+        }
+        final double dx = getX(target) - getX(source);
+        final double dy = getY(target) - getY(source);
+        sink.addEdge(++edgeID, source, target, Math.sqrt(dx * dx + dy * dy));
+        return edgeID;
+    }
+
+    @Override
+    public VertexCoordinates getCoordinates() {
+        return this;
+    }
+
+    @Override
+    public double getX(int id) {
+        return ((id - 1) % columns
+                + JITTER * (2.0 * uniform(2L * id) - 1.0)) * spacing;
+    }
+
+    @Override
+    public double getY(int id) {
+        return ((id - 1) / columns
+                + JITTER * (2.0 * uniform(2L * id + 1) - 1.0)) * spacing;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.IOException;
+import org.javanetworkanalyzer.model.StrahlerTree;
+
+/**
+ * Generates random binary river trees rooted at vertex 1 (the outlet) for
+ * Strahler numbering. Edges go from each vertex to its children and are
+ * weighted uniformly in [1, 10).
+ *
+ * <p> Vertices are numbered in breadth-first order, so the vertices still to
+ * be expanded are always those between the current one and the last one
+ * created, and the generation takes constant memory. Each vertex branches
+ * with the given probability and is a source otherwise; the last open vertex
+ * always branches so that the tree reaches the requested size.
+ */
+public class RiverTreeGenerator extends GraphGenerator {
+
+    /**
+     * Default branching probability, for which the shape of the tree is that
+     * of a critical branching process.
+     */
+    public static final double DEFAULT_BRANCHING = 0.5;
+    /**
+     * Number of vertices.
+     */
+    private final int vertexCount;
+    /**
+     * Probability of a vertex to branch.
+     */
+    private final double branching;
+
+    /**
+     * Generator with the default branching probability.
+     *
+     * @param vertexCount Number of vertices
+     * @param seed        Seed
+     */
+    public RiverTreeGenerator(int vertexCount, long seed) {
+        this(vertexCount, DEFAULT_BRANCHING, seed);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param vertexCount Number of vertices
+     * @param branching   Probability of a vertex to branch
+     * @param seed        Seed
+     */
+    public RiverTreeGenerator(int vertexCount, double branching, long seed) {
+        super(seed);
+        if (vertexCount < 2 || branching < 0.0 || branching > 1.0) {
+            throw new IllegalArgumentException("Invalid parameters n = "
+                    + vertexCount + ", branching = " + branching + ".");
+        }
+        this.vertexCount = vertexCount;
+        this.branching = branching;
+    }
+
+    @Override
+    public void generate(EdgeSink sink) throws IOException {
+        int next = 2;
+        for (int v = 1; next <= vertexCount; v++) {
+            if (v == next - 1 || uniform(v) < branching) {
+                for (int child = 0; child < 2 && next <= vertexCount;
+                     child++) {
+                    sink.addEdge(next - 1, v, next, 1.0 + 9.0 * uniform(~next));
+                    next++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the tree as a {@link StrahlerTree}.
+     *
+     * @param edgeClass Edge class
+     * @param <E>       Edge
+     *
+     * @return The tree.
+     */
+    public <E> StrahlerTree<E> generateTree(Class<? extends E> edgeClass) {
+        final StrahlerTree<E> tree = new StrahlerTree<E>(edgeClass);
+        try {
+            generate(new EdgeSink() {
+                @Override
+                public void addEdge(int id, int source, int target,
+                                    double weight) {
+                    tree.addEdge(source, target);
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        } catch (IOException ex) {
+            // The tree sink does not do any I/O.
+            throw new IllegalStateException(ex);
+        }
+        tree.setRootVertex(1);
+        return tree;
+    }
+}
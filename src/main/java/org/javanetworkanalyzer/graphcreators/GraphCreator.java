@@ -40,6 +40,7 @@
 package org.javanetworkanalyzer.graphcreators;
 
 import org.javanetworkanalyzer.data.VId;
+import org.javanetworkanalyzer.metrics.AnalysisMetrics;
 import org.javanetworkanalyzer.model.*;
 
 import java.io.BufferedReader;
@@ -53,6 +54,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Creates JGraphT graphs from a csv file produced by OrbisGIS.
  *
+ * <p> Each edge is given the number of its row in the file (starting from 1
+ * after the header) as id, so that results keyed by edge id can be joined
+ * back to the file.
+ *
  * @param <V> Vertex
  * @param <E> Edge
  *
@@ -73,9 +78,18 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
      */
     protected final int orientation;
     /**
-     * Vertex class used for initializing the graph.
+     * Vertex class used for initializing the graph, or {@code null} if the
+     * vertices are created by a {@link VertexFactory} which is not a
+     * {@link ClassBasedVertexFactory}.
+     *
+     * @deprecated Use {@link #vertexFactory} instead.
      */
+    @Deprecated
     protected final Class<? extends V> vertexClass;
+    /**
+     * Vertex factory used for initializing the graph.
+     */
+    protected final VertexFactory<? extends V> vertexFactory;
     /**
      * Edge class used for initializing the graph.
      */
@@ -92,6 +106,10 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
      * End node index.
      */
     protected static int endNodeIndex = -1;
+    /**
+     * Number of the row of the last edge loaded, used as its id.
+     */
+    private int rowNumber;
     /**
      * Specifies a directed graph.
      */
@@ -124,14 +142,35 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
      * @param vertexClass The vertex class
      * @param edgeClass   The edge class
      */
-    // TODO: Make sure the orientation is valid!
     public GraphCreator(String csvFile,
                         int orientation,
                         Class<? extends V> vertexClass,
                         Class<? extends E> edgeClass) {
+        this(csvFile, orientation,
+             new ClassBasedVertexFactory<V>(vertexClass), edgeClass);
+    }
+
+    /**
+     * Initializes a new {@link GraphCreator} which creates the vertices
+     * through the given factory rather than by reflection.
+     *
+     * @param csvFile       CSV file containing the edge information.
+     * @param orientation   The desired graph orientation.
+     * @param vertexFactory The vertex factory
+     * @param edgeClass     The edge class
+     */
+    // TODO: Make sure the orientation is valid!
+    public GraphCreator(String csvFile,
+                        int orientation,
+                        VertexFactory<? extends V> vertexFactory,
+                        Class<? extends E> edgeClass) {
         this.csvFile = csvFile;
         this.orientation = orientation;
-        this.vertexClass = vertexClass;
+        this.vertexFactory = vertexFactory;
+        this.vertexClass = vertexFactory instanceof ClassBasedVertexFactory
+                ? ((ClassBasedVertexFactory<? extends V>) vertexFactory)
+                .getVertexClass()
+                : null;
         this.edgeClass = edgeClass;
     }
 
@@ -148,6 +187,7 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
             throws FileNotFoundException, NoSuchMethodException {
 
         long start = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
 
         // Get a scanner on the csv file.
         Scanner scanner = getScannerOnCSVFile(csvFile);
@@ -163,6 +203,12 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
 
         long stop = System.currentTimeMillis();
         LOGGER.info("({} ms) Created graph from CSV.", (stop - start));
+        final AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+        if (metrics.isEnabled()) {
+            metrics.graphLoaded(graph.vertexSet().size(),
+                                graph.edgeSet().size(),
+                                System.nanoTime() - startNanos);
+        }
 
         // Close the scanner.
         scanner.close();
@@ -239,10 +285,10 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
         KeyedGraph<V, E> graph;
         if (orientation != UNDIRECTED) {
             // Unweighted Directed or Reversed
-            graph = new DirectedPseudoG<V, E>(vertexClass, edgeClass);
+            graph = new DirectedPseudoG<V, E>(vertexFactory, edgeClass);
         } else {
             // Unweighted Undirected
-            graph = new PseudoG<V, E>(vertexClass, edgeClass);
+            graph = new PseudoG<V, E>(vertexFactory, edgeClass);
         }
         return graph;
     }
@@ -260,6 +306,7 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
         // Should we reverse the edge orientation?
         boolean reverse = (orientation == REVERSED) ? true : false;
         // Go through the file and add each edge.
+        rowNumber = 0;
         while (scanner.hasNextLine()) {
             // Split the line.
             String[] row = scanner.nextLine().split(SEPARATOR);
@@ -285,12 +332,13 @@ public class GraphCreator<V extends VId, E extends EdgeID> {
                 deleteDoubleQuotes(row[startNodeIndex]));
         int endNode = Integer.parseInt(
                 deleteDoubleQuotes(row[endNodeIndex]));
-        // Add the edge to the graph.
+        // Add the edge to the graph, numbered by its row.
+        rowNumber++;
         E edge;
         if (reverse) {
-            edge = graph.addEdge(endNode, startNode);
+            edge = graph.addEdge(endNode, startNode, rowNumber);
         } else {
-            edge = graph.addEdge(startNode, endNode);
+            edge = graph.addEdge(startNode, endNode, rowNumber);
         }
         // And return it.
         return edge;
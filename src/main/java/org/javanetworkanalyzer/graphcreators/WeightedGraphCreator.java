@@ -80,6 +80,25 @@ public class WeightedGraphCreator<V extends VId, E extends Edge>
         this.weightField = weightField;
     }
 
+    /**
+     * Initializes a new {@link WeightedGraphCreator} which creates the
+     * vertices through the given factory rather than by reflection.
+     *
+     * @param csvFile       CSV file containing the edge information.
+     * @param orientation   The desired graph orientation.
+     * @param vertexFactory The vertex factory
+     * @param edgeClass     The edge class
+     * @param weightField   The weight column name.
+     */
+    public WeightedGraphCreator(String csvFile,
+                                int orientation,
+                                VertexFactory<? extends V> vertexFactory,
+                                Class<? extends E> edgeClass,
+                                String weightField) {
+        super(csvFile, orientation, vertexFactory, edgeClass);
+        this.weightField = weightField;
+    }
+
     @Override
     public WeightedKeyedGraph<V, E> loadGraph()
             throws FileNotFoundException, NoSuchMethodException {
@@ -116,10 +135,11 @@ public class WeightedGraphCreator<V extends VId, E extends Edge>
         KeyedGraph<V, E> graph;
         if (orientation != UNDIRECTED) {
             // Weighted Directed or Reversed
-            graph = new DirectedWeightedPseudoG<V, E>(vertexClass, edgeClass);
+            graph = new DirectedWeightedPseudoG<V, E>(vertexFactory,
+                                                      edgeClass);
         } else {
             // Weighted Undirected
-            graph = new WeightedPseudoG<V, E>(vertexClass, edgeClass);
+            graph = new WeightedPseudoG<V, E>(vertexFactory, edgeClass);
         }
         return graph;
     }
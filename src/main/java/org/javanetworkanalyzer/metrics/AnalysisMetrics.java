@@ -0,0 +1,473 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.javanetworkanalyzer.alg.TraversalAlg;
+
+/**
+ * Records per-source search measurements of the analyzers and graph loading
+ * times, exposes their aggregates through JMX and forwards them to
+ * {@link MetricsListener}s.
+ *
+ * <p> Recording is disabled by default and may be switched on and off at
+ * any time, including through JMX. While disabled, the analyzers only read
+ * {@link #isEnabled()} once per source, and the algorithms do not maintain
+ * their search counters.
+ *
+ * <p> Allocations are measured through
+ * {@code com.sun.management.ThreadMXBean} where the JVM provides it. The
+ * class is looked up by reflection on first use, so this class neither
+ * links nor requires it.
+ */
+public class AnalysisMetrics implements AnalysisMetricsMBean {
+
+    /**
+     * Name under which {@link #registerMBean()} registers the default
+     * instance.
+     */
+    public static final String OBJECT_NAME =
+            "org.javanetworkanalyzer:type=AnalysisMetrics";
+    /**
+     * Number of buckets of the search time histogram.
+     */
+    private static final int BUCKETS = 40;
+    /**
+     * Instance used by the analyzers unless they are given another one.
+     */
+    private static final AnalysisMetrics DEFAULT = new AnalysisMetrics();
+    /**
+     * Whether measurements are recorded.
+     */
+    private volatile boolean enabled;
+    /**
+     * Listeners.
+     */
+    private final List<MetricsListener> listeners =
+            new CopyOnWriteArrayList<MetricsListener>();
+    /**
+     * Number of sources processed.
+     */
+    private final AtomicLong sourceCount = new AtomicLong();
+    /**
+     * Total search time in nanoseconds.
+     */
+    private final AtomicLong totalNanos = new AtomicLong();
+    /**
+     * Longest search time in nanoseconds.
+     */
+    private final AtomicLong maxNanos = new AtomicLong();
+    /**
+     * Id of the source of the longest search.
+     */
+    private volatile int slowestSourceId = -1;
+    /**
+     * Search time histogram.
+     */
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    /**
+     * Total number of vertices settled.
+     */
+    private final AtomicLong settledCount = new AtomicLong();
+    /**
+     * Total number of edges relaxed.
+     */
+    private final AtomicLong relaxedCount = new AtomicLong();
+    /**
+     * Total number of queue operations.
+     */
+    private final AtomicLong queueOperationCount = new AtomicLong();
+    /**
+     * Total number of edges of the shortest path trees.
+     */
+    private final AtomicLong sptSize = new AtomicLong();
+    /**
+     * Number of sources whose shortest path tree size is known.
+     */
+    private final AtomicLong sptCount = new AtomicLong();
+    /**
+     * Total number of bytes allocated.
+     */
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    /**
+     * Number of graphs loaded.
+     */
+    private final AtomicLong graphLoadCount = new AtomicLong();
+    /**
+     * Duration of the last graph load in nanoseconds.
+     */
+    private volatile long lastGraphLoadNanos;
+
+    /**
+     * Returns the instance used by the analyzers and graph creators unless
+     * they are given another one.
+     *
+     * @return The default instance.
+     */
+    public static AnalysisMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Registers the default instance with the platform MBean server under
+     * {@link #OBJECT_NAME}, unless it is already registered.
+     *
+     * @return The name of the MBean.
+     */
+    public static ObjectName registerMBean() {
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            final MBeanServer server =
+                    ManagementFactory.getPlatformMBeanServer();
+            synchronized (DEFAULT) {
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(DEFAULT, name);
+                }
+            }
+            return name;
+        } catch (JMException ex) {
+            throw new IllegalStateException(
+                    "Could not register the metrics MBean.", ex);
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread, or
+     * -1 if the JVM does not measure allocations.
+     *
+     * @return The number of bytes allocated by the current thread, or -1.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return Allocations.allocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Adds a listener.
+     *
+     * @param listener Listener
+     */
+    public void addListener(MetricsListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener Listener
+     */
+    public void removeListener(MetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Records the search from a source. Call only while enabled.
+     *
+     * @param analysis        Name of the analysis
+     * @param sourceId        Id of the source
+     * @param startNanos      {@link System#nanoTime()} before the search
+     * @param allocatedBefore {@link #currentThreadAllocatedBytes()} before
+     *                        the search
+     * @param alg             The algorithm which did the search
+     * @param sptSize         Number of edges of the shortest path tree, or -1
+     */
+    public void sourceProcessed(String analysis, int sourceId,
+                                long startNanos, long allocatedBefore,
+                                TraversalAlg<?, ?> alg, long sptSize) {
+        final long nanos = System.nanoTime() - startNanos;
+        final long allocated = allocatedBefore < 0
+                ? -1
+                : currentThreadAllocatedBytes() - allocatedBefore;
+        final SourceMetrics metrics = new SourceMetrics(
+                analysis, sourceId, nanos, alg.getSettledCount(),
+                alg.getRelaxedCount(), alg.getQueueOperationCount(), sptSize,
+                allocated);
+        record(metrics);
+        for (MetricsListener listener : listeners) {
+            listener.sourceProcessed(metrics);
+        }
+    }
+
+    /**
+     * Records a graph load. Call only while enabled.
+     *
+     * @param vertexCount Number of vertices
+     * @param edgeCount   Number of edges
+     * @param nanos       Duration in nanoseconds
+     */
+    public void graphLoaded(int vertexCount, int edgeCount, long nanos) {
+        graphLoadCount.incrementAndGet();
+        lastGraphLoadNanos = nanos;
+        for (MetricsListener listener : listeners) {
+            listener.graphLoaded(vertexCount, edgeCount, nanos);
+        }
+    }
+
+    /**
+     * Adds the given measurements to the aggregates.
+     *
+     * @param metrics Measurements
+     */
+    private void record(SourceMetrics metrics) {
+        final long nanos = metrics.getNanos();
+        sourceCount.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        final long micros = nanos / 1000;
+        final int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        histogram.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+        long max = maxNanos.get();
+        while (nanos > max) {
+            if (maxNanos.compareAndSet(max, nanos)) {
+                slowestSourceId = metrics.getSourceId();
+                break;
+            }
+            max = maxNanos.get();
+        }
+        settledCount.addAndGet(metrics.getSettledCount());
+        relaxedCount.addAndGet(metrics.getRelaxedCount());
+        queueOperationCount.addAndGet(metrics.getQueueOperationCount());
+        if (metrics.getSPTSize() >= 0) {
+            sptSize.addAndGet(metrics.getSPTSize());
+            sptCount.incrementAndGet();
+        }
+        if (metrics.getAllocatedBytes() >= 0) {
+            allocatedBytes.addAndGet(metrics.getAllocatedBytes());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            Allocations.enable();
+        }
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        sourceCount.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+        slowestSourceId = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+        settledCount.set(0);
+        relaxedCount.set(0);
+        queueOperationCount.set(0);
+        sptSize.set(0);
+        sptCount.set(0);
+        allocatedBytes.set(0);
+        graphLoadCount.set(0);
+        lastGraphLoadNanos = 0;
+    }
+
+    @Override
+    public long getSourceCount() {
+        return sourceCount.get();
+    }
+
+    @Override
+    public double getMeanSearchMicros() {
+        final long count = sourceCount.get();
+        return count == 0 ? 0.0 : totalNanos.get() / 1000.0 / count;
+    }
+
+    @Override
+    public long getMaxSearchMicros() {
+        return maxNanos.get() / 1000;
+    }
+
+    @Override
+    public int getSlowestSourceId() {
+        return slowestSourceId;
+    }
+
+    @Override
+    public long[] getSearchTimeHistogram() {
+        final long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public long getSettledCount() {
+        return settledCount.get();
+    }
+
+    @Override
+    public long getRelaxedCount() {
+        return relaxedCount.get();
+    }
+
+    @Override
+    public long getQueueOperationCount() {
+        return queueOperationCount.get();
+    }
+
+    @Override
+    public double getMeanSPTSize() {
+        final long count = sptCount.get();
+        return count == 0 ? 0.0 : (double) sptSize.get() / count;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return Allocations.isSupported() ? allocatedBytes.get() : -1;
+    }
+
+    @Override
+    public long getGraphLoadCount() {
+        return graphLoadCount.get();
+    }
+
+    @Override
+    public long getLastGraphLoadMillis() {
+        return lastGraphLoadNanos / 1000000;
+    }
+
+    /**
+     * Measures the allocations of the threads through the methods of
+     * {@code com.sun.management.ThreadMXBean}, looked up when the class is
+     * first used.
+     */
+    private static final class Allocations {
+
+        /**
+         * The thread bean.
+         */
+        private static final ThreadMXBean BEAN =
+                ManagementFactory.getThreadMXBean();
+        /**
+         * {@code getThreadAllocatedBytes(long)}, or {@code null} if the JVM
+         * does not measure allocations.
+         */
+        private static final Method ALLOCATED_BYTES;
+        /**
+         * {@code setThreadAllocatedMemoryEnabled(boolean)}, or {@code null}
+         * if the JVM does not measure allocations.
+         */
+        private static final Method SET_ENABLED;
+
+        static {
+            Method allocatedBytes = null;
+            Method setEnabled = null;
+            try {
+                final Class<?> type =
+                        Class.forName("com.sun.management.ThreadMXBean");
+                if (type.isInstance(BEAN) && (Boolean) type.getMethod(
+                        "isThreadAllocatedMemorySupported").invoke(BEAN)) {
+                    allocatedBytes = type.getMethod("getThreadAllocatedBytes",
+                                                    long.class);
+                    setEnabled = type.getMethod(
+                            "setThreadAllocatedMemoryEnabled", boolean.class);
+                }
+            } catch (ReflectiveOperationException ex) {
+                // Not a HotSpot-like JVM: allocations are not measured.
+                allocatedBytes = null;
+            } catch (LinkageError ex) {
+                allocatedBytes = null;
+            } catch (SecurityException ex) {
+                allocatedBytes = null;
+            }
+            ALLOCATED_BYTES = allocatedBytes;
+            SET_ENABLED = allocatedBytes == null ? null : setEnabled;
+        }
+
+        private Allocations() {
+        }
+
+        /**
+         * Returns true if the JVM measures allocations.
+         *
+         * @return True if the JVM measures allocations
+         */
+        static boolean isSupported() {
+            return ALLOCATED_BYTES != null;
+        }
+
+        /**
+         * Returns the number of bytes allocated so far by the given thread.
+         *
+         * @param threadId Id of the thread
+         *
+         * @return The number of bytes, or -1 if they are not measured.
+         */
+        static long allocatedBytes(long threadId) {
+            if (ALLOCATED_BYTES == null) {
+                return -1;
+            }
+            try {
+                return (Long) ALLOCATED_BYTES.invoke(BEAN, threadId);
+            } catch (ReflectiveOperationException ex) {
+                return -1;
+            }
+        }
+
+        /**
+         * Switches on the measurement of allocations, if supported.
+         */
+        static void enable() {
+            if (SET_ENABLED == null) {
+                return;
+            }
+            try {
+                SET_ENABLED.invoke(BEAN, true);
+            } catch (ReflectiveOperationException ex) {
+                // The allocations of the threads are then not counted.
+            }
+        }
+    }
+}
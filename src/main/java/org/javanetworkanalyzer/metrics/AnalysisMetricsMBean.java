@@ -0,0 +1,152 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.metrics;
+
+/**
+ * JMX view of an {@link AnalysisMetrics}.
+ */
+public interface AnalysisMetricsMBean {
+
+    /**
+     * Returns {@code true} if measurements are being recorded.
+     *
+     * @return {@code true} if measurements are being recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Starts or stops recording measurements.
+     *
+     * @param enabled {@code true} to record measurements
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Clears all the measurements.
+     */
+    void reset();
+
+    /**
+     * Returns the number of sources processed.
+     *
+     * @return The number of sources processed.
+     */
+    long getSourceCount();
+
+    /**
+     * Returns the mean search time per source in microseconds.
+     *
+     * @return The mean search time per source in microseconds.
+     */
+    double getMeanSearchMicros();
+
+    /**
+     * Returns the longest search time in microseconds.
+     *
+     * @return The longest search time in microseconds.
+     */
+    long getMaxSearchMicros();
+
+    /**
+     * Returns the id of the source of the longest search.
+     *
+     * @return The id of the source of the longest search.
+     */
+    int getSlowestSourceId();
+
+    /**
+     * Returns the histogram of the search times: element i counts the
+     * searches which took less than 2^i microseconds (and at least 2^(i-1)
+     * for i &gt; 0).
+     *
+     * @return The histogram of the search times.
+     */
+    long[] getSearchTimeHistogram();
+
+    /**
+     * Returns the total number of vertices settled.
+     *
+     * @return The total number of vertices settled.
+     */
+    long getSettledCount();
+
+    /**
+     * Returns the total number of edges relaxed.
+     *
+     * @return The total number of edges relaxed.
+     */
+    long getRelaxedCount();
+
+    /**
+     * Returns the total number of queue operations.
+     *
+     * @return The total number of queue operations.
+     */
+    long getQueueOperationCount();
+
+    /**
+     * Returns the mean number of edges of the shortest path trees.
+     *
+     * @return The mean number of edges of the shortest path trees.
+     */
+    double getMeanSPTSize();
+
+    /**
+     * Returns the total number of bytes allocated by the searches, or -1 if
+     * the JVM does not measure allocations.
+     *
+     * @return The total number of bytes allocated, or -1.
+     */
+    long getAllocatedBytes();
+
+    /**
+     * Returns the number of graphs loaded.
+     *
+     * @return The number of graphs loaded.
+     */
+    long getGraphLoadCount();
+
+    /**
+     * Returns the duration of the last graph load in milliseconds.
+     *
+     * @return The duration of the last graph load in milliseconds.
+     */
+    long getLastGraphLoadMillis();
+}
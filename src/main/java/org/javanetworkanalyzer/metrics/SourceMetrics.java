@@ -0,0 +1,190 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.metrics;
+
+/**
+ * Measurements of the search from a single source, passed to the
+ * {@link MetricsListener}s of an {@link AnalysisMetrics}.
+ */
+public class SourceMetrics {
+
+    /**
+     * Name of the analysis.
+     */
+    private final String analysis;
+    /**
+     * Id of the source.
+     */
+    private final int sourceId;
+    /**
+     * Duration of the search and of the work attached to it, in nanoseconds.
+     */
+    private final long nanos;
+    /**
+     * Number of vertices settled.
+     */
+    private final long settledCount;
+    /**
+     * Number of edges relaxed.
+     */
+    private final long relaxedCount;
+    /**
+     * Number of queue operations.
+     */
+    private final long queueOperationCount;
+    /**
+     * Number of edges of the shortest path tree (DAG), or -1 if unknown.
+     */
+    private final long sptSize;
+    /**
+     * Bytes allocated by the analysing thread, or -1 if unknown.
+     */
+    private final long allocatedBytes;
+
+    /**
+     * Constructor.
+     *
+     * @param analysis            Name of the analysis
+     * @param sourceId            Id of the source
+     * @param nanos               Duration in nanoseconds
+     * @param settledCount        Number of vertices settled
+     * @param relaxedCount        Number of edges relaxed
+     * @param queueOperationCount Number of queue operations
+     * @param sptSize             Number of edges of the shortest path tree,
+     *                            or -1
+     * @param allocatedBytes      Bytes allocated, or -1
+     */
+    public SourceMetrics(String analysis, int sourceId, long nanos,
+                         long settledCount, long relaxedCount,
+                         long queueOperationCount, long sptSize,
+                         long allocatedBytes) {
+        this.analysis = analysis;
+        this.sourceId = sourceId;
+        this.nanos = nanos;
+        this.settledCount = settledCount;
+        this.relaxedCount = relaxedCount;
+        this.queueOperationCount = queueOperationCount;
+        this.sptSize = sptSize;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the name of the analysis.
+     *
+     * @return The name of the analysis.
+     */
+    public String getAnalysis() {
+        return analysis;
+    }
+
+    /**
+     * Returns the id of the source.
+     *
+     * @return The id of the source.
+     */
+    public int getSourceId() {
+        return sourceId;
+    }
+
+    /**
+     * Returns the duration in nanoseconds.
+     *
+     * @return The duration in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Returns the number of vertices settled.
+     *
+     * @return The number of vertices settled.
+     */
+    public long getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Returns the number of edges relaxed.
+     *
+     * @return The number of edges relaxed.
+     */
+    public long getRelaxedCount() {
+        return relaxedCount;
+    }
+
+    /**
+     * Returns the number of queue operations.
+     *
+     * @return The number of queue operations.
+     */
+    public long getQueueOperationCount() {
+        return queueOperationCount;
+    }
+
+    /**
+     * Returns the number of edges of the shortest path tree, or -1 if
+     * unknown.
+     *
+     * @return The number of edges of the shortest path tree, or -1.
+     */
+    public long getSPTSize() {
+        return sptSize;
+    }
+
+    /**
+     * Returns the number of bytes allocated, or -1 if the JVM does not
+     * measure allocations.
+     *
+     * @return The number of bytes allocated, or -1.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return analysis + " from " + sourceId + ": " + (nanos / 1000)
+                + " us, " + settledCount + " settled, " + relaxedCount
+                + " relaxed, " + queueOperationCount + " queue operations, "
+                + sptSize + " SPT edges, " + allocatedBytes
+                + " bytes allocated";
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graphs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Contracts the maximal paths of degree-2 vertices of an undirected weighted
+ * graph into single edges, keeping track of the vertices and edges they
+ * replace.
+ *
+ * <p> The contracted graph shares its remaining vertices, and the edges
+ * between them, with the original graph. Every other edge of the contracted
+ * graph stands for a {@link Chain} and its weight is the length of the chain.
+ * As the shortest paths between the remaining vertices are the same in both
+ * graphs, searches started from a remaining vertex can be run on the
+ * contracted graph, and the distances of the vertices inside the chains
+ * recovered by {@link #expandDistances()}. Vertices which must remain, such as
+ * the sources of the searches or the destinations of an accessibility
+ * analysis, are given to the constructor.
+ *
+ * <p> Centrality cannot be computed on the contracted graph: the vertices
+ * inside the chains are sources and targets of shortest paths in their own
+ * right.
+ *
+ * @param <V> Vertex
+ * @param <E> Edge
+ */
+// Same bounds as Dijkstra, so that the raw vertex and edge classes remain
+// valid type arguments.
+@SuppressWarnings("rawtypes")
+public class ChainContraction<V extends VDijkstra, E extends Edge> {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ChainContraction.class);
+    /**
+     * The original graph.
+     */
+    private final WeightedKeyedGraph<V, E> graph;
+    /**
+     * The contracted graph.
+     */
+    private final WeightedKeyedGraph<V, E> contracted;
+    /**
+     * The chains, by the edge standing for them in the contracted graph.
+     */
+    private final Map<E, Chain<V, E>> chains;
+    /**
+     * The chains, by the vertices inside them.
+     */
+    private final Map<V, Chain<V, E>> chainOfVertex;
+
+    /**
+     * Contracts the given graph.
+     *
+     * @param graph  The graph
+     * @param pinned Vertices which must not be contracted
+     *
+     * @throws IllegalArgumentException If the graph is directed.
+     */
+    public ChainContraction(final WeightedKeyedGraph<V, E> graph,
+                            Set<V> pinned) {
+        if (graph instanceof DirectedGraph) {
+            throw new IllegalArgumentException(
+                    "Only undirected graphs can be contracted.");
+        }
+        final long start = System.currentTimeMillis();
+        this.graph = graph;
+        this.chains = new HashMap<E, Chain<V, E>>();
+        this.chainOfVertex = new HashMap<V, Chain<V, E>>();
+
+        this.contracted = new WeightedPseudoG<V, E>(new VertexFactory<V>() {
+            @Override
+            public V createVertex(int id) {
+                return graph.getVertex(id);
+            }
+        }, graph.getEdgeFactory(), 0);
+        final Set<V> kept = new HashSet<V>();
+        for (V v : graph.vertexSet()) {
+            if (pinned.contains(v) || !isInner(v)) {
+                kept.add(v);
+                contracted.addVertex(v.getID());
+            }
+        }
+        final Set<E> visited = new HashSet<E>();
+        for (V v : kept) {
+            contract(v, kept, visited);
+        }
+        // Each remaining cycle of degree-2 vertices keeps one of them.
+        for (V v : graph.vertexSet()) {
+            if (!kept.contains(v) && !chainOfVertex.containsKey(v)) {
+                kept.add(v);
+                contracted.addVertex(v.getID());
+                contract(v, kept, visited);
+            }
+        }
+        LOGGER.info("({} ms) Contracted {} chains: {} of {} vertices remain.",
+                    System.currentTimeMillis() - start, chains.size(),
+                    kept.size(), graph.vertexSet().size());
+    }
+
+    /**
+     * Returns true if the given vertex has exactly two edges, neither of
+     * which is a loop.
+     *
+     * @param v Vertex
+     *
+     * @return True if the vertex may lie inside a chain.
+     */
+    private boolean isInner(V v) {
+        final Set<E> edges = graph.edgesOf(v);
+        if (edges.size() != 2) {
+            return false;
+        }
+        for (E e : edges) {
+            if (graph.getEdgeSource(e) == graph.getEdgeTarget(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the edges of the given kept vertex to the contracted graph, each
+     * one either as it is or as the first edge of a chain.
+     *
+     * @param v       A kept vertex
+     * @param kept    The kept vertices
+     * @param visited The edges already added to the contracted graph
+     */
+    private void contract(V v, Set<V> kept, Set<E> visited) {
+        for (E e : graph.edgesOf(v)) {
+            if (!visited.add(e)) {
+                continue;
+            }
+            final V next = Graphs.getOppositeVertex(graph, e, v);
+            if (kept.contains(next)) {
+                contracted.addEdge(v, next, e);
+                contracted.setEdgeWeight(e, graph.getEdgeWeight(e));
+            } else {
+                final Chain<V, E> chain = walk(v, e, kept, visited);
+                final E superEdge = contracted.addEdge(v, chain.target);
+                superEdge.setID(-1);
+                contracted.setEdgeWeight(superEdge, chain.length);
+                chains.put(superEdge, chain);
+            }
+        }
+    }
+
+    /**
+     * Follows the chain starting from the given kept vertex along the given
+     * edge until a kept vertex is reached.
+     *
+     * @param from    The start of the chain
+     * @param first   The first edge of the chain
+     * @param kept    The kept vertices
+     * @param visited The edges already added to the contracted graph
+     *
+     * @return The chain.
+     */
+    private Chain<V, E> walk(V from, E first, Set<V> kept, Set<E> visited) {
+        final Chain<V, E> chain = new Chain<V, E>(from);
+        V current = from;
+        E e = first;
+        while (true) {
+            visited.add(e);
+            final V next = Graphs.getOppositeVertex(graph, e, current);
+            chain.add(e, next, graph.getEdgeWeight(e));
+            if (kept.contains(next)) {
+                chain.close(next);
+                return chain;
+            }
+            chainOfVertex.put(next, chain);
+            current = next;
+            for (E other : graph.edgesOf(current)) {
+                if (other != e) {
+                    e = other;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the original graph.
+     *
+     * @return The original graph.
+     */
+    public WeightedKeyedGraph<V, E> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the contracted graph.
+     *
+     * @return The contracted graph.
+     */
+    public WeightedKeyedGraph<V, E> getContractedGraph() {
+        return contracted;
+    }
+
+    /**
+     * Returns the chains.
+     *
+     * @return The chains.
+     */
+    public Collection<Chain<V, E>> getChains() {
+        return Collections.unmodifiableCollection(chains.values());
+    }
+
+    /**
+     * Returns the chain for which the given edge of the contracted graph
+     * stands.
+     *
+     * @param e Edge of the contracted graph
+     *
+     * @return The chain, or null if the edge belongs to the original graph.
+     */
+    public Chain<V, E> getChain(E e) {
+        return chains.get(e);
+    }
+
+    /**
+     * Returns the chain inside which the given vertex was contracted.
+     *
+     * @param v Vertex of the original graph
+     *
+     * @return The chain, or null if the vertex remains in the contracted
+     *         graph.
+     */
+    public Chain<V, E> getChainOf(V v) {
+        return chainOfVertex.get(v);
+    }
+
+    /**
+     * Returns the chains of which the given vertex of the contracted graph
+     * is an end.
+     *
+     * @param v A vertex of the contracted graph
+     *
+     * @return The chains ending at the vertex.
+     */
+    public List<Chain<V, E>> getChainsAt(V v) {
+        final List<Chain<V, E>> at = new ArrayList<Chain<V, E>>();
+        for (E e : contracted.edgesOf(v)) {
+            final Chain<V, E> chain = chains.get(e);
+            if (chain != null) {
+                at.add(chain);
+            }
+        }
+        return at;
+    }
+
+    /**
+     * Returns the ids of the original edges for which the given edge of the
+     * contracted graph stands.
+     *
+     * @param e Edge of the contracted graph
+     *
+     * @return The ids of the edges, in order along the chain.
+     */
+    public int[] getEdgeIDs(E e) {
+        final Chain<V, E> chain = chains.get(e);
+        if (chain == null) {
+            return new int[]{e.getID()};
+        }
+        final int[] ids = new int[chain.edges.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = chain.edges.get(i).getID();
+        }
+        return ids;
+    }
+
+    /**
+     * Sets the distance of the vertices inside the chains after a search on
+     * the contracted graph: a shortest path to a vertex inside a chain enters
+     * it through one of its ends.
+     */
+    public void expandDistances() {
+        for (Chain<V, E> chain : chains.values()) {
+            final double sourceDistance = chain.source.getDistance();
+            final double targetDistance = chain.target.getDistance();
+            for (int i = 0; i < chain.vertices.size(); i++) {
+                chain.vertices.get(i).setDistance(Math.min(
+                        sourceDistance + chain.offsets[i],
+                        targetDistance + chain.length - chain.offsets[i]));
+            }
+        }
+    }
+
+    /**
+     * A maximal path of degree-2 vertices between two kept vertices (or from
+     * a kept vertex back to itself).
+     *
+     * @param <V> Vertex
+     * @param <E> Edge
+     */
+    public static class Chain<V, E> {
+
+        /**
+         * The start of the chain.
+         */
+        private final V source;
+        /**
+         * The end of the chain.
+         */
+        private V target;
+        /**
+         * The vertices inside the chain, from the source to the target.
+         */
+        private final List<V> vertices;
+        /**
+         * The edges of the chain, from the source to the target.
+         */
+        private final List<E> edges;
+        /**
+         * The distances from the source to the vertices inside the chain.
+         */
+        private double[] offsets;
+        /**
+         * The length of the chain.
+         */
+        private double length;
+
+        /**
+         * Constructor.
+         *
+         * @param source The start of the chain
+         */
+        private Chain(V source) {
+            this.source = source;
+            this.vertices = new ArrayList<V>();
+            this.edges = new ArrayList<E>();
+            this.offsets = new double[4];
+        }
+
+        /**
+         * Extends the chain by the given edge.
+         *
+         * @param e      Edge
+         * @param next   The vertex at the end of the edge
+         * @param weight The weight of the edge
+         */
+        private void add(E e, V next, double weight) {
+            edges.add(e);
+            length += weight;
+            if (vertices.size() == offsets.length) {
+                final double[] larger = new double[2 * offsets.length];
+                System.arraycopy(offsets, 0, larger, 0, offsets.length);
+                offsets = larger;
+            }
+            offsets[vertices.size()] = length;
+            vertices.add(next);
+        }
+
+        /**
+         * Ends the chain at the given vertex, added last.
+         *
+         * @param end The end of the chain
+         */
+        private void close(V end) {
+            vertices.remove(vertices.size() - 1);
+            target = end;
+        }
+
+        /**
+         * Returns the start of the chain.
+         *
+         * @return The start of the chain.
+         */
+        public V getSource() {
+            return source;
+        }
+
+        /**
+         * Returns the end of the chain.
+         *
+         * @return The end of the chain.
+         */
+        public V getTarget() {
+            return target;
+        }
+
+        /**
+         * Returns the vertices inside the chain, from the source to the
+         * target.
+         *
+         * @return The vertices.
+         */
+        public List<V> getVertices() {
+            return Collections.unmodifiableList(vertices);
+        }
+
+        /**
+         * Returns the edges of the chain, from the source to the target.
+         *
+         * @return The edges.
+         */
+        public List<E> getEdges() {
+            return Collections.unmodifiableList(edges);
+        }
+
+        /**
+         * Returns the distance along the chain from its source to the vertex
+         * of the given index.
+         *
+         * @param i Index in {@link #getVertices()}
+         *
+         * @return The distance from the source.
+         */
+        public double getOffset(int i) {
+            if (i < 0 || i >= vertices.size()) {
+                throw new IndexOutOfBoundsException("No vertex " + i
+                        + " inside a chain of " + vertices.size() + ".");
+            }
+            return offsets[i];
+        }
+
+        /**
+         * Returns the length of the chain.
+         *
+         * @return The length of the chain.
+         */
+        public double getLength() {
+            return length;
+        }
+    }
+}
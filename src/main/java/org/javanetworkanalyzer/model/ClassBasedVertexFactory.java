@@ -0,0 +1,103 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.model;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A {@link VertexFactory} which creates vertices by calling the
+ * {@code V(Integer)} constructor of a given class through reflection.
+ *
+ * <p> Prefer a dedicated {@link VertexFactory} when loading large graphs.
+ *
+ * @param <V> Vertex
+ */
+public class ClassBasedVertexFactory<V> implements VertexFactory<V> {
+
+    /**
+     * Constructor for {@link V} objects.
+     */
+    private final Constructor<? extends V> vConstructor;
+    /**
+     * Vertex class.
+     */
+    private final Class<? extends V> vertexClass;
+
+    /**
+     * Creates a factory for the given vertex class.
+     *
+     * @param vertexClass Vertex class
+     *
+     * @throws IllegalArgumentException If the vertex class does not have a
+     *                                  public V(Integer) constructor.
+     */
+    public ClassBasedVertexFactory(Class<? extends V> vertexClass) {
+        this.vertexClass = vertexClass;
+        try {
+            this.vConstructor = vertexClass.getConstructor(Integer.class);
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalArgumentException(
+                    "The vertex must have a V(Integer) constructor.", ex);
+        }
+    }
+
+    /**
+     * Returns the class of the vertices created by this factory.
+     *
+     * @return The vertex class
+     */
+    public Class<? extends V> getVertexClass() {
+        return vertexClass;
+    }
+
+    @Override
+    public V createVertex(int id) {
+        try {
+            return vConstructor.newInstance(id);
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException(
+                    "Could not create vertex " + id + ".", ex.getCause());
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(
+                    "Could not create vertex " + id + ".", ex);
+        }
+    }
+}
@@ -50,7 +50,7 @@ import org.jgrapht.graph.ClassBasedEdgeFactory;
  */
 public class DirectedWeightedPseudoG<V extends VId, E extends Edge>
         extends DirectedPseudoG<V, E>
-        implements WeightedKeyedGraph<V, E> {
+        implements WeightedBulkKeyedGraph<V, E> {
 
     /**
      * Creates a new directed weighted pseudograph.
@@ -73,9 +73,67 @@ public class DirectedWeightedPseudoG<V extends VId, E extends Edge>
         super(vertexClass, ef);
     }
 
+    /**
+     * Creates a new directed weighted pseudograph with the specified edge factory and a vertex
+     * index pre-sized for the given number of vertices.
+     *
+     * @param ef                  the edge factory of the new graph.
+     * @param expectedVertexCount the expected number of vertices.
+     */
+    public DirectedWeightedPseudoG(Class<? extends V> vertexClass,
+                                   EdgeFactory<V, E> ef,
+                                   int expectedVertexCount) {
+        super(vertexClass, ef, expectedVertexCount);
+    }
+
+    /**
+     * Creates a new directed weighted pseudograph whose vertices are created by the given
+     * vertex factory.
+     *
+     * @param vf        the vertex factory of the new graph.
+     * @param edgeClass class on which to base factory for edges
+     */
+    public DirectedWeightedPseudoG(VertexFactory<? extends V> vf,
+                                   Class<? extends E> edgeClass) {
+        this(vf, new ClassBasedEdgeFactory<V, E>(edgeClass), 0);
+    }
+
+    /**
+     * Creates a new directed weighted pseudograph with the specified vertex and edge factories
+     * and a vertex index pre-sized for the given number of vertices.
+     *
+     * @param vf                  the vertex factory of the new graph.
+     * @param ef                  the edge factory of the new graph.
+     * @param expectedVertexCount the expected number of vertices.
+     */
+    public DirectedWeightedPseudoG(VertexFactory<? extends V> vf,
+                                   EdgeFactory<V, E> ef,
+                                   int expectedVertexCount) {
+        super(vf, ef, expectedVertexCount);
+    }
+
     @Override
     public void setEdgeWeight(E e, double weight) {
         super.setEdgeWeight(e, weight);
         e.setWeight(weight);
     }
+
+    @Override
+    public void addEdges(int[] source, int[] target, int[] edgeIDs,
+                         double[] weights) {
+        if (weights.length != source.length) {
+            throw new IllegalArgumentException(
+                    "There must be exactly one weight per edge.");
+        }
+        if (source.length != target.length
+                || (edgeIDs != null && edgeIDs.length != source.length)) {
+            throw new IllegalArgumentException(
+                    "The source, target and edge id arrays must have the same "
+                    + "length.");
+        }
+        for (int i = 0; i < source.length; i++) {
+            addEdge(source[i], target[i], (edgeIDs == null) ? -1 : edgeIDs[i])
+                    .setWeight(weights[i]);
+        }
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.model;
+
+import java.util.Arrays;
+
+/**
+ * Index of vertices keyed by primitive int ids, used by keyed graphs instead
+ * of a {@code HashMap<Integer, V>} to avoid boxing the id on every lookup.
+ *
+ * <p> Ids are stored in a dense array as long as they are compact (non-negative
+ * and filling at least half of the array), which is the usual case for graphs
+ * produced by {@code ST_Graph}. Any other id is stored in an open-addressing
+ * hash table with linear probing.
+ *
+ * @param <V> Vertex
+ */
+public class IntVertexMap<V> {
+
+    /**
+     * Minimum length of the dense array.
+     */
+    private static final int MIN_DENSE_LENGTH = 16;
+    /**
+     * Minimum capacity of the hash table (always a power of two).
+     */
+    private static final int MIN_HASH_CAPACITY = 16;
+    /**
+     * Vertices whose id is a valid index of this array.
+     */
+    private Object[] dense;
+    /**
+     * Keys of the hash table.
+     */
+    private int[] keys;
+    /**
+     * Values of the hash table; a {@code null} value marks a free slot.
+     */
+    private Object[] values;
+    /**
+     * Number of vertices stored in the hash table.
+     */
+    private int hashSize;
+    /**
+     * Total number of vertices.
+     */
+    private int size;
+
+    /**
+     * Creates an empty index.
+     */
+    public IntVertexMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an index pre-sized for the given number of vertices. If the ids
+     * are taken from {@code [0, expectedSize]}, no resizing will occur.
+     *
+     * @param expectedSize Expected number of vertices
+     */
+    public IntVertexMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "The expected number of vertices cannot be negative.");
+        }
+        this.dense = new Object[Math.max(MIN_DENSE_LENGTH, expectedSize + 1)];
+        this.keys = new int[MIN_HASH_CAPACITY];
+        this.values = new Object[MIN_HASH_CAPACITY];
+    }
+
+    /**
+     * Returns the vertex with the given id.
+     *
+     * @param id Id
+     *
+     * @return The vertex with the given id, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int id) {
+        if (id >= 0 && id < dense.length) {
+            return (V) dense[id];
+        }
+        if (hashSize == 0) {
+            return null;
+        }
+        final int mask = keys.length - 1;
+        int i = mix(id) & mask;
+        while (values[i] != null) {
+            if (keys[i] == id) {
+                return (V) values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if a vertex is stored under the given id.
+     *
+     * @param id Id
+     *
+     * @return {@code true} if a vertex is stored under the given id.
+     */
+    public boolean containsKey(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Stores the given vertex under the given id, replacing any vertex
+     * previously stored under this id.
+     *
+     * @param id     Id
+     * @param vertex Vertex
+     */
+    public void put(int id, V vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Cannot index a null vertex.");
+        }
+        if (id >= 0 && id >= dense.length && id < 2 * (size + 1)) {
+            // The ids are still compact, so extend the dense array.
+            growDense(id);
+        }
+        if (id >= 0 && id < dense.length) {
+            if (dense[id] == null) {
+                size++;
+            }
+            dense[id] = vertex;
+        } else if (hashPut(id, vertex)) {
+            size++;
+        }
+    }
+
+    /**
+     * Returns the number of vertices in this index.
+     *
+     * @return The number of vertices in this index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Grows the dense array so that it contains the given id and moves any
+     * hashed vertex whose id now fits in the dense array.
+     *
+     * @param id Id
+     */
+    private void growDense(int id) {
+        final int newLength = (int) Math.min(Integer.MAX_VALUE - 8,
+                Math.max(2L * dense.length, id + 1L));
+        dense = Arrays.copyOf(dense, newLength);
+        if (hashSize > 0) {
+            final int[] oldKeys = keys;
+            final Object[] oldValues = values;
+            keys = new int[oldKeys.length];
+            values = new Object[oldValues.length];
+            hashSize = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    final int k = oldKeys[i];
+                    if (k >= 0 && k < newLength) {
+                        dense[k] = oldValues[i];
+                    } else {
+                        hashPut(k, oldValues[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the given value in the hash table.
+     *
+     * @param id    Id
+     * @param value Value
+     *
+     * @return {@code true} if the id was not in the hash table yet.
+     */
+    private boolean hashPut(int id, Object value) {
+        if (2 * (hashSize + 1) > keys.length) {
+            rehash(2 * keys.length);
+        }
+        final int mask = keys.length - 1;
+        int i = mix(id) & mask;
+        while (values[i] != null) {
+            if (keys[i] == id) {
+                values[i] = value;
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        values[i] = value;
+        hashSize++;
+        return true;
+    }
+
+    /**
+     * Rehashes the hash table into a table of the given capacity.
+     *
+     * @param capacity New capacity (a power of two)
+     */
+    private void rehash(int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = mix(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Scrambles the bits of the given id so that consecutive ids do not end up
+     * in consecutive slots.
+     *
+     * @param id Id
+     *
+     * @return The scrambled id.
+     */
+    private static int mix(int id) {
+        final int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
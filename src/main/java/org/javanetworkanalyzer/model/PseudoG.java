@@ -40,14 +40,9 @@
 package org.javanetworkanalyzer.model;
 
 import org.javanetworkanalyzer.data.VId;
-import java.lang.reflect.Constructor;
-import java.util.HashMap;
-import java.util.Map;
 import org.jgrapht.EdgeFactory;
 import org.jgrapht.graph.ClassBasedEdgeFactory;
 import org.jgrapht.graph.Pseudograph;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * A keyed pseudograph.
@@ -55,21 +50,16 @@ import org.slf4j.LoggerFactory;
  * @author Adam Gouge
  */
 public class PseudoG<V extends VId, E extends EdgeID> extends Pseudograph<V, E>
-        implements UndirectedG<V, E> {
+        implements UndirectedG<V, E>, BulkKeyedGraph<V, E> {
 
     /**
      * Map of ids to vertices.
      */
-    private final Map<Integer, V> nodeMap;
+    private final IntVertexMap<V> nodeMap;
     /**
-     * Constructor for {@link V} objects.
+     * Factory for {@link V} objects.
      */
-    private Constructor<? extends V> vConstructor;
-    /**
-     * A logger.
-     */
-    private static final Logger LOGGER =
-            LoggerFactory.getLogger(PseudoG.class);
+    private final VertexFactory<? extends V> vertexFactory;
 
     /**
      * Creates a new pseudograph.
@@ -88,27 +78,69 @@ public class PseudoG<V extends VId, E extends EdgeID> extends Pseudograph<V, E>
      */
     public PseudoG(Class<? extends V> vertexClass,
                    EdgeFactory<V, E> ef) {
+        this(vertexClass, ef, 0);
+    }
+
+    /**
+     * Creates a new pseudograph with the specified edge factory and a vertex
+     * index pre-sized for the given number of vertices.
+     *
+     * @param ef                  the edge factory of the new graph.
+     * @param expectedVertexCount the expected number of vertices.
+     */
+    public PseudoG(Class<? extends V> vertexClass,
+                   EdgeFactory<V, E> ef,
+                   int expectedVertexCount) {
+        this(new ClassBasedVertexFactory<V>(vertexClass), ef,
+             expectedVertexCount);
+    }
+
+    /**
+     * Creates a new pseudograph whose vertices are created by the given
+     * vertex factory.
+     *
+     * @param vf        the vertex factory of the new graph.
+     * @param edgeClass class on which to base factory for edges
+     */
+    public PseudoG(VertexFactory<? extends V> vf,
+                   Class<? extends E> edgeClass) {
+        this(vf, new ClassBasedEdgeFactory<V, E>(edgeClass), 0);
+    }
+
+    /**
+     * Creates a new pseudograph with the specified vertex and edge factories
+     * and a vertex index pre-sized for the given number of vertices.
+     *
+     * @param vf                  the vertex factory of the new graph.
+     * @param ef                  the edge factory of the new graph.
+     * @param expectedVertexCount the expected number of vertices.
+     */
+    public PseudoG(VertexFactory<? extends V> vf,
+                   EdgeFactory<V, E> ef,
+                   int expectedVertexCount) {
         super(ef);
-        this.nodeMap = new HashMap<Integer, V>();
-        try {
-            this.vConstructor = vertexClass.getConstructor(Integer.class);
-        } catch (NoSuchMethodException ex) {
-            LOGGER.error("The vertex must have a V(Integer) constructor.", ex);
-        } catch (SecurityException ex) {
-            LOGGER.trace(ex.toString());
-        }
+        this.nodeMap = new IntVertexMap<V>(expectedVertexCount);
+        this.vertexFactory = vf;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException If a vertex with this id has already been
+     *                               added or the vertex factory could not
+     *                               create the vertex.
+     */
     @Override
     public boolean addVertex(int id) {
-        if (!nodeMap.containsKey(id)) {
-            try {
-                V node = vConstructor.newInstance(id);
-                nodeMap.put(id, node);
-                return addVertex(node);
-            } catch (Exception ex) {
-                return false;
+        if (nodeMap.get(id) == null) {
+            final V node = vertexFactory.createVertex(id);
+            if (node == null) {
+                throw new IllegalStateException(
+                        "The vertex factory returned no vertex for id "
+                        + id + ".");
             }
+            nodeMap.put(id, node);
+            return addVertex(node);
         } else {
             throw new IllegalStateException(
                     "This vertex has already been added!");
@@ -127,14 +159,38 @@ public class PseudoG<V extends VId, E extends EdgeID> extends Pseudograph<V, E>
 
     @Override
     public E addEdge(int source, int target, int edgeID) {
-        if (!containsVertex(getVertex(source))) {
-            addVertex(source);
-        }
-        if (!containsVertex(getVertex(target))) {
-            addVertex(target);
-        }
-        final E e = addEdge(getVertex(source), getVertex(target));
+        final E e = addEdge(vertexOf(source), vertexOf(target));
         e.setID(edgeID);
         return e;
     }
+
+    @Override
+    public void addEdges(int[] source, int[] target, int[] edgeIDs) {
+        if (source.length != target.length
+                || (edgeIDs != null && edgeIDs.length != source.length)) {
+            throw new IllegalArgumentException(
+                    "The source, target and edge id arrays must have the same "
+                    + "length.");
+        }
+        for (int i = 0; i < source.length; i++) {
+            addEdge(source[i], target[i],
+                    (edgeIDs == null) ? -1 : edgeIDs[i]);
+        }
+    }
+
+    /**
+     * Returns the vertex with the given id, adding it if necessary.
+     *
+     * @param id Id
+     *
+     * @return The vertex with the given id.
+     */
+    private V vertexOf(int id) {
+        V v = nodeMap.get(id);
+        if (v == null) {
+            addVertex(id);
+            v = nodeMap.get(id);
+        }
+        return v;
+    }
 }
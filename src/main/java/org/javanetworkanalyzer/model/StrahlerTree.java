@@ -40,8 +40,6 @@
 package org.javanetworkanalyzer.model;
 
 import org.javanetworkanalyzer.data.VStrahler;
-import java.util.HashMap;
-import java.util.Map;
 import org.jgrapht.EdgeFactory;
 import org.jgrapht.graph.SimpleGraph;
 
@@ -61,14 +59,14 @@ public class StrahlerTree<E> extends SimpleGraph<VStrahler, E> {
     /**
      * Map of ids to vertices.
      */
-    private final Map<Integer, VStrahler> nodeMap;
+    private final IntVertexMap<VStrahler> nodeMap;
 
     /**
      * @see AbstractBaseGraph
      */
     public StrahlerTree(Class<? extends E> edgeClass) {
         super(edgeClass);
-        this.nodeMap = new HashMap<Integer, VStrahler>();
+        this.nodeMap = new IntVertexMap<VStrahler>();
     }
 
     /**
@@ -76,7 +74,7 @@ public class StrahlerTree<E> extends SimpleGraph<VStrahler, E> {
      */
     public StrahlerTree(EdgeFactory<VStrahler, E> ef) {
         super(ef);
-        this.nodeMap = new HashMap<Integer, VStrahler>();
+        this.nodeMap = new IntVertexMap<VStrahler>();
     }
 
     /**
@@ -87,7 +85,7 @@ public class StrahlerTree<E> extends SimpleGraph<VStrahler, E> {
      * @return True if the vertex was added.
      */
     private boolean addVertex(int id) {
-        if (!nodeMap.containsKey(id)) {
+        if (nodeMap.get(id) == null) {
             VStrahler node = new VStrahler(id);
             nodeMap.put(id, node);
             return addVertex(node);
@@ -0,0 +1,382 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.progress;
+
+import java.io.PrintStream;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ProgressMonitor} which may be shared by many analysis threads.
+ *
+ * <p> {@link #setProgress(long)} only adds to a {@link StripedCounter}: each
+ * thread passes its own loop counter and the monitor adds what the thread
+ * did since its previous call. The progress is read and reported at a fixed
+ * rate on a scheduler thread, which is the only one building strings. The
+ * remaining time is estimated from the rate over the last reports rather
+ * than since the start, so it follows changes of pace.
+ *
+ * <p> Tasks may be nested, e.g. one per partition of the sources in as many
+ * threads: a task started while another is running adds its end to the
+ * current one, and the progress is reported until the last task ends.
+ */
+public class ConcurrentProgressMonitor implements ProgressMonitor {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ConcurrentProgressMonitor.class);
+    /**
+     * The progress.
+     */
+    private final StripedCounter progress = new StripedCounter();
+    /**
+     * Last counter value passed by each thread, with the generation of the
+     * task it belongs to.
+     */
+    private final ThreadLocal<long[]> lastCount = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[]{-1L, 0L};
+        }
+    };
+    /**
+     * Incremented each time a task is started while none is running.
+     */
+    private volatile long generation;
+    /**
+     * The end value of the running tasks.
+     */
+    private volatile long end;
+    /**
+     * Number of running tasks.
+     */
+    private int activeTasks;
+    /**
+     * Whether the computation should be cancelled.
+     */
+    private volatile boolean cancelled;
+    /**
+     * Where the progress bar is printed.
+     */
+    private final PrintStream out;
+    /**
+     * Time in milliseconds between two reports.
+     */
+    private final long periodMillis;
+    /**
+     * Times in milliseconds of the last reports.
+     */
+    private final long[] sampleTimes;
+    /**
+     * Counts at the last reports.
+     */
+    private final long[] sampleCounts;
+    /**
+     * Number of reports of the current task.
+     */
+    private long samples;
+    /**
+     * Start time in milliseconds of the current task.
+     */
+    private long startMillis;
+    /**
+     * The last estimate of the remaining time in milliseconds, or -1.
+     */
+    private volatile long remainingMillis = -1L;
+    /**
+     * Formats the progress bar.
+     */
+    private final ConsoleProgressBar bar;
+    /**
+     * Runs the reports.
+     */
+    private ScheduledExecutorService scheduler;
+    /**
+     * The scheduled reports.
+     */
+    private ScheduledFuture<?> reports;
+
+    /**
+     * Creates a monitor printing to the console every second, estimating the
+     * remaining time over the last ten seconds.
+     */
+    public ConcurrentProgressMonitor() {
+        this(System.out, 1000L, 10);
+    }
+
+    /**
+     * Creates a monitor printing to the given stream at the given period,
+     * estimating the remaining time over the given number of periods.
+     *
+     * @param out          Where the progress bar is printed
+     * @param periodMillis Time in milliseconds between two reports
+     * @param window       Number of reports over which the rate is measured
+     */
+    public ConcurrentProgressMonitor(PrintStream out, long periodMillis,
+                                     int window) {
+        if (periodMillis <= 0 || window < 1) {
+            throw new IllegalArgumentException(
+                    "The period and the window must be positive.");
+        }
+        this.out = out;
+        this.periodMillis = periodMillis;
+        this.sampleTimes = new long[window + 1];
+        this.sampleCounts = new long[window + 1];
+        this.bar = new ConsoleProgressBar(this, 40, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void startTask(final String taskName, long end) {
+        if (activeTasks++ > 0) {
+            this.end += end;
+            return;
+        }
+        LOGGER.info("STARTING TASK \"{}\"", taskName);
+        generation++;
+        progress.reset();
+        this.end = end;
+        cancelled = false;
+        samples = 0;
+        remainingMillis = -1L;
+        startMillis = System.currentTimeMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        final Thread t = new Thread(r, "progress-" + taskName);
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+        reports = scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                report(false);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endTask() {
+        // A task started right after the lock is released replaces the
+        // scheduler, so await the one shut down here.
+        final ScheduledExecutorService finished;
+        synchronized (this) {
+            if (activeTasks == 0 || --activeTasks > 0) {
+                return;
+            }
+            reports.cancel(false);
+            finished = scheduler;
+            finished.shutdown();
+        }
+        try {
+            finished.awaitTermination(periodMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        report(true);
+        LOGGER.info("TASK FINISHED");
+    }
+
+    /**
+     * Asks the computation to stop as soon as possible.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sets the progress of the calling thread: the difference with the
+     * previous value it passed during the current task is added to the
+     * progress. A value smaller than the previous one starts a new loop.
+     *
+     * @param count The counter of the calling thread
+     */
+    @Override
+    public void setProgress(long count) {
+        final long[] last = lastCount.get();
+        final long gen = generation;
+        if (last[0] != gen) {
+            last[0] = gen;
+            last[1] = 0L;
+        }
+        final long delta = count >= last[1] ? count - last[1] : count;
+        if (delta != 0) {
+            last[1] = count;
+            progress.add(delta);
+        }
+    }
+
+    /**
+     * Same as {@link #setProgress(long)}; the start time is tracked by the
+     * monitor.
+     *
+     * @param count     The counter of the calling thread
+     * @param startTime Ignored
+     */
+    @Override
+    public void setProgress(long count, long startTime) {
+        setProgress(count);
+    }
+
+    /**
+     * Adds the given amount of work to the progress, regardless of the
+     * values passed to {@link #setProgress(long)}.
+     *
+     * @param delta The amount of work done
+     */
+    public void worked(long delta) {
+        progress.add(delta);
+    }
+
+    /**
+     * Returns the amount of work done in the current task.
+     *
+     * @return The amount of work done.
+     */
+    public long getCount() {
+        return progress.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPercentageComplete() {
+        final long e = end;
+        if (e <= 0) {
+            return 0;
+        }
+        return (int) Math.min(100L, progress.sum() * 100 / e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the remaining time estimated at the last report, in
+     * milliseconds, or -1 before the rate can be measured.
+     *
+     * @return The estimated remaining time, or -1.
+     */
+    public long getRemainingMillis() {
+        return remainingMillis;
+    }
+
+    /**
+     * Takes a sample of the progress, updates the estimate of the remaining
+     * time and prints the progress bar.
+     *
+     * @param done Whether the task has ended
+     */
+    private synchronized void report(boolean done) {
+        final long now = System.currentTimeMillis();
+        final long count = progress.sum();
+        final int window = sampleTimes.length;
+        final int slot = (int) (samples % window);
+        sampleTimes[slot] = now;
+        sampleCounts[slot] = count;
+        samples++;
+        // Oldest sample still in the window, or the start of the task.
+        final long oldestTime;
+        final long oldestCount;
+        if (samples > window) {
+            final int oldest = (int) (samples % window);
+            oldestTime = sampleTimes[oldest];
+            oldestCount = sampleCounts[oldest];
+        } else {
+            oldestTime = startMillis;
+            oldestCount = 0L;
+        }
+        final long e = end;
+        if (done || count >= e) {
+            remainingMillis = 0L;
+        } else if (count > oldestCount && now > oldestTime) {
+            final double rate =
+                    (double) (count - oldestCount) / (now - oldestTime);
+            remainingMillis = (long) ((e - count) / rate);
+        }
+        report(getPercentageComplete(), count, now - startMillis,
+               remainingMillis, done);
+    }
+
+    /**
+     * Prints the progress. Called on the scheduler thread at each period, and
+     * once on the thread ending the last task. Override to send the progress
+     * elsewhere.
+     *
+     * @param percentageComplete The percentage complete
+     * @param count              The amount of work done
+     * @param elapsedMillis      Time since the start of the task
+     * @param remainingMillis    Estimated remaining time, or -1 if unknown
+     * @param done               Whether the task has ended
+     */
+    protected void report(int percentageComplete, long count,
+                          long elapsedMillis, long remainingMillis,
+                          boolean done) {
+        out.print(bar.progressBar(percentageComplete, elapsedMillis,
+                                  Math.max(0L, remainingMillis))
+                + (done ? "\n" : "\r"));
+        out.flush();
+    }
+}
@@ -134,6 +134,24 @@ public class ConsoleProgressBar {
         return progressBar.toString();
     }
 
+    /**
+     * Returns a formatted String representing a progress bar with the given
+     * percentage and times, without any trailing carriage return or new line.
+     * Used by monitors which estimate the remaining time themselves.
+     *
+     * @param percentageComplete The percentage complete.
+     * @param elapsed            The amount of time elapsed in milliseconds.
+     * @param remaining          The estimated remaining time in milliseconds.
+     *
+     * @return The formatted progress bar String.
+     */
+    public String progressBar(int percentageComplete, long elapsed,
+                              long remaining) {
+        return bar(percentageComplete, width)
+                + percentage(percentageComplete)
+                + elapsedAndRemaining(elapsed, remaining);
+    }
+
     /**
      * Returns a formatted String representing just the bar part of the progress
      * bar.
@@ -205,6 +223,22 @@ public class ConsoleProgressBar {
      * @return The formatted time String.
      */
     private String time(long count, long elapsed) {
+        // The remaining time is the average time per count multiplied by
+        // the number of counts remaining.
+        long remaining = (elapsed / count) * (pm.getEnd() - count);
+        return elapsedAndRemaining(elapsed, remaining);
+    }
+
+    /**
+     * Returns a formatted String representing the given elapsed and remaining
+     * times.
+     *
+     * @param elapsed   The amount of time elapsed in milliseconds.
+     * @param remaining The estimated remaining time in milliseconds.
+     *
+     * @return The formatted time String.
+     */
+    private String elapsedAndRemaining(long elapsed, long remaining) {
 
         StringBuilder time = new StringBuilder();
 
@@ -213,9 +247,6 @@ public class ConsoleProgressBar {
                                     elapsedHMS[1],
                                     elapsedHMS[2]));
 
-        // The remaining time is the average time per count multiplied by
-        // the number of counts remaining.
-        long remaining = (elapsed / count) * (pm.getEnd() - count);
         long[] remainingHMS = millisecondsToHoursMinutesSeconds(remaining);
         time.append(" (").append(formatHMSString(remainingHMS[0],
                                                  remainingHMS[1],
@@ -44,7 +44,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation of a progress monitor that prints a progress bar to
- * the console.
+ * the console. It is not thread-safe; use a
+ * {@link ConcurrentProgressMonitor} to share a monitor between threads.
  *
  * @author Adam Gouge
  */
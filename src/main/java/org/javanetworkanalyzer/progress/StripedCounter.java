@@ -0,0 +1,158 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.progress;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter for frequent concurrent increments and rare reads, in the manner
+ * of {@code java.util.concurrent.atomic.LongAdder} (which requires Java 8).
+ *
+ * <p> The count is spread over several cells, each on its own cache line.
+ * A thread adds to the cell picked by its probe and moves to another cell
+ * when it loses a race, so that threads end up on distinct cells. Reading
+ * the count sums the cells; the sum is exact once the writers are done.
+ */
+public class StripedCounter {
+
+    /**
+     * Number of longs between two cells, so that they do not share a cache
+     * line (nor the adjacent line some processors prefetch).
+     */
+    private static final int PAD = 16;
+    /**
+     * Per-thread probe selecting the cell.
+     */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            // Spread the thread ids; the probe must never be zero.
+            final int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+            return new int[]{h == 0 ? 1 : h};
+        }
+    };
+    /**
+     * The padded cells.
+     */
+    private final AtomicLongArray cells;
+    /**
+     * Number of cells minus one.
+     */
+    private final int mask;
+
+    /**
+     * Creates a counter with enough cells for the available processors.
+     */
+    public StripedCounter() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a counter with at least the given number of cells (rounded up
+     * to a power of two, at most 64).
+     *
+     * @param stripes The number of cells
+     */
+    public StripedCounter(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException(
+                    "There must be at least one stripe.");
+        }
+        int n = 1;
+        while (n < stripes && n < 64) {
+            n <<= 1;
+        }
+        this.mask = n - 1;
+        this.cells = new AtomicLongArray(n * PAD);
+    }
+
+    /**
+     * Adds the given value.
+     *
+     * @param x The value to add
+     */
+    public void add(long x) {
+        final int[] probe = PROBE.get();
+        int h = probe[0];
+        while (true) {
+            final int i = (h & mask) * PAD;
+            final long v = cells.get(i);
+            if (cells.compareAndSet(i, v, v + x)) {
+                return;
+            }
+            // Contended: move to another cell (xorshift).
+            h ^= h << 13;
+            h ^= h >>> 17;
+            h ^= h << 5;
+            probe[0] = h;
+        }
+    }
+
+    /**
+     * Adds one.
+     */
+    public void increment() {
+        add(1L);
+    }
+
+    /**
+     * Returns the sum of the cells. Concurrent additions may or may not be
+     * included.
+     *
+     * @return The current count.
+     */
+    public long sum() {
+        long sum = 0L;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.get(i * PAD);
+        }
+        return sum;
+    }
+
+    /**
+     * Sets the count to zero. Only exact when there are no concurrent
+     * additions.
+     */
+    public void reset() {
+        for (int i = 0; i <= mask; i++) {
+            cells.set(i * PAD, 0L);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.results;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * Reads back the results written by a {@link BinaryResultSink}.
+ */
+public final class BinaryResultReader {
+
+    /**
+     * Utility class.
+     */
+    private BinaryResultReader() {
+    }
+
+    /**
+     * Streams the results of the given file to the given sink, in the order
+     * of the blocks. The sink is not closed.
+     *
+     * @param file File written by a {@link BinaryResultSink}
+     * @param sink Sink
+     *
+     * @return The number of values read.
+     *
+     * @throws IOException If the file could not be read or is not a result
+     *                     file.
+     */
+    public static long read(File file, ResultSink sink) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file), 1 << 16));
+        try {
+            if (in.readInt() != BinaryResultSink.MAGIC) {
+                throw new IOException(file + " is not a result file.");
+            }
+            final int version = in.readInt();
+            // Version 1 files are the same without the harmonic and
+            // Wasserman-Faust closeness blocks.
+            if (version < 1 || version > BinaryResultSink.VERSION) {
+                throw new IOException("Unsupported result file version "
+                        + version + ".");
+            }
+            int[] ids = new int[0];
+            double[] values = new double[0];
+            int[] destinations = new int[0];
+            long count = 0;
+            int kind;
+            while ((kind = in.read()) >= 0) {
+                final int size = in.readInt();
+                if (ids.length < size) {
+                    ids = new int[size];
+                    values = new double[size];
+                    destinations = new int[size];
+                }
+                for (int i = 0; i < size; i++) {
+                    ids[i] = in.readInt();
+                }
+                for (int i = 0; i < size; i++) {
+                    values[i] = in.readDouble();
+                }
+                if (kind == BinaryResultSink.NEAREST_DESTINATION) {
+                    for (int i = 0; i < size; i++) {
+                        destinations[i] = in.readInt();
+                    }
+                }
+                for (int i = 0; i < size; i++) {
+                    switch (kind) {
+                        case BinaryResultSink.CLOSENESS:
+                            sink.closeness(ids[i], values[i]);
+                            break;
+                        case BinaryResultSink.HARMONIC_CLOSENESS:
+                            sink.harmonicCloseness(ids[i], values[i]);
+                            break;
+                        case BinaryResultSink.WASSERMAN_FAUST_CLOSENESS:
+                            sink.wassermanFaustCloseness(ids[i], values[i]);
+                            break;
+                        case BinaryResultSink.BETWEENNESS:
+                            sink.betweenness(ids[i], values[i]);
+                            break;
+                        case BinaryResultSink.EDGE_BETWEENNESS:
+                            sink.edgeBetweenness(ids[i], values[i]);
+                            break;
+                        case BinaryResultSink.NEAREST_DESTINATION:
+                            sink.nearestDestination(ids[i], destinations[i],
+                                                    values[i]);
+                            break;
+                        default:
+                            throw new IOException("Unknown result kind "
+                                    + kind + ".");
+                    }
+                }
+                count += size;
+            }
+            return count;
+        } catch (EOFException ex) {
+            throw new IOException(file + " is truncated.", ex);
+        } finally {
+            in.close();
+        }
+    }
+}
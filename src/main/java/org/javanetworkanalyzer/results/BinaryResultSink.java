@@ -0,0 +1,251 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.results;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Writes the results it receives to a compact binary file, read back by
+ * {@link BinaryResultReader}.
+ *
+ * <p> The results of each kind are buffered in primitive arrays and written
+ * in blocks of columns, so that a block can be loaded into arrays at once.
+ * The file is big-endian: a magic number and a format version followed by
+ * blocks until the end of the file. A block is the kind of result (a byte),
+ * the number n of values (an int), then the column of the n ids (ints), the
+ * column of the n values (doubles) and, for nearest destinations only, the
+ * column of the n destination ids (ints).
+ */
+public class BinaryResultSink implements ResultSink {
+
+    /**
+     * Magic number identifying result files ("JNAR").
+     */
+    static final int MAGIC = 0x4A4E4152;
+    /**
+     * Format version.
+     */
+    static final int VERSION = 2;
+    /**
+     * Kind of the closeness blocks.
+     */
+    static final byte CLOSENESS = 0;
+    /**
+     * Kind of the vertex betweenness blocks.
+     */
+    static final byte BETWEENNESS = 1;
+    /**
+     * Kind of the edge betweenness blocks.
+     */
+    static final byte EDGE_BETWEENNESS = 2;
+    /**
+     * Kind of the nearest destination blocks.
+     */
+    static final byte NEAREST_DESTINATION = 3;
+    /**
+     * Kind of the harmonic closeness blocks (since version 2).
+     */
+    static final byte HARMONIC_CLOSENESS = 4;
+    /**
+     * Kind of the Wasserman-Faust closeness blocks (since version 2).
+     */
+    static final byte WASSERMAN_FAUST_CLOSENESS = 5;
+    /**
+     * Number of kinds.
+     */
+    private static final int KINDS = 6;
+    /**
+     * Default number of values per block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 8192;
+    /**
+     * Output stream.
+     */
+    private final DataOutputStream out;
+    /**
+     * Buffered ids, per kind.
+     */
+    private final int[][] ids;
+    /**
+     * Buffered values, per kind.
+     */
+    private final double[][] values;
+    /**
+     * Buffered destination ids.
+     */
+    private final int[] destinations;
+    /**
+     * Number of buffered values, per kind.
+     */
+    private final int[] sizes = new int[KINDS];
+
+    /**
+     * Opens the given file and writes the header, with blocks of
+     * {@link #DEFAULT_BLOCK_SIZE} values.
+     *
+     * @param file File
+     *
+     * @throws IOException If the file could not be opened.
+     */
+    public BinaryResultSink(File file) throws IOException {
+        this(file, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Opens the given file and writes the header.
+     *
+     * @param file      File
+     * @param blockSize Maximum number of values per block
+     *
+     * @throws IOException If the file could not be opened.
+     */
+    public BinaryResultSink(File file, int blockSize) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException(
+                    "The block size must be positive.");
+        }
+        this.ids = new int[KINDS][blockSize];
+        this.values = new double[KINDS][blockSize];
+        this.destinations = new int[blockSize];
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    @Override
+    public void closeness(int vertexId, double closeness) throws IOException {
+        add(CLOSENESS, vertexId, closeness);
+    }
+
+    @Override
+    public void harmonicCloseness(int vertexId, double harmonicCloseness)
+            throws IOException {
+        add(HARMONIC_CLOSENESS, vertexId, harmonicCloseness);
+    }
+
+    @Override
+    public void wassermanFaustCloseness(int vertexId,
+                                        double wassermanFaustCloseness)
+            throws IOException {
+        add(WASSERMAN_FAUST_CLOSENESS, vertexId, wassermanFaustCloseness);
+    }
+
+    @Override
+    public void betweenness(int vertexId, double betweenness)
+            throws IOException {
+        add(BETWEENNESS, vertexId, betweenness);
+    }
+
+    @Override
+    public void edgeBetweenness(int edgeId, double betweenness)
+            throws IOException {
+        add(EDGE_BETWEENNESS, edgeId, betweenness);
+    }
+
+    @Override
+    public void nearestDestination(int vertexId, int destinationId,
+                                   double distance) throws IOException {
+        destinations[sizes[NEAREST_DESTINATION]] = destinationId;
+        add(NEAREST_DESTINATION, vertexId, distance);
+    }
+
+    /**
+     * Buffers a value, writing the block of its kind when full.
+     *
+     * @param kind  Kind
+     * @param id    Vertex or edge id
+     * @param value Value
+     *
+     * @throws IOException If the block could not be written.
+     */
+    private void add(byte kind, int id, double value) throws IOException {
+        final int size = sizes[kind];
+        ids[kind][size] = id;
+        values[kind][size] = value;
+        sizes[kind] = size + 1;
+        if (size + 1 == ids[kind].length) {
+            flush(kind);
+        }
+    }
+
+    /**
+     * Writes the buffered values of the given kind as a block.
+     *
+     * @param kind Kind
+     *
+     * @throws IOException If the block could not be written.
+     */
+    private void flush(byte kind) throws IOException {
+        final int size = sizes[kind];
+        if (size == 0) {
+            return;
+        }
+        out.writeByte(kind);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(ids[kind][i]);
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeDouble(values[kind][i]);
+        }
+        if (kind == NEAREST_DESTINATION) {
+            for (int i = 0; i < size; i++) {
+                out.writeInt(destinations[i]);
+            }
+        }
+        sizes[kind] = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (byte kind = 0; kind < KINDS; kind++) {
+                flush(kind);
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.results;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the results it receives to a semicolon-separated CSV file with one
+ * line per value: the kind of result ({@code closeness},
+ * {@code harmonic_closeness}, {@code wasserman_faust_closeness},
+ * {@code betweenness}, {@code edge_betweenness} or
+ * {@code nearest_destination}), the vertex or edge id, the value and, for
+ * nearest destinations, the destination id.
+ */
+public class CSVResultSink implements ResultSink {
+
+    /**
+     * Writer.
+     */
+    private final Writer writer;
+
+    /**
+     * Opens the given file and writes the header.
+     *
+     * @param file File
+     *
+     * @throws IOException If the file could not be opened.
+     */
+    public CSVResultSink(File file) throws IOException {
+        this.writer = new BufferedWriter(new FileWriter(file), 1 << 16);
+        writer.write("\"result\";\"id\";\"value\";\"destination\"\n");
+    }
+
+    @Override
+    public void closeness(int vertexId, double closeness) throws IOException {
+        write("\"closeness\";\"", vertexId, closeness);
+        writer.write("\"\"\n");
+    }
+
+    @Override
+    public void harmonicCloseness(int vertexId, double harmonicCloseness)
+            throws IOException {
+        write("\"harmonic_closeness\";\"", vertexId, harmonicCloseness);
+        writer.write("\"\"\n");
+    }
+
+    @Override
+    public void wassermanFaustCloseness(int vertexId,
+                                        double wassermanFaustCloseness)
+            throws IOException {
+        write("\"wasserman_faust_closeness\";\"", vertexId,
+              wassermanFaustCloseness);
+        writer.write("\"\"\n");
+    }
+
+    @Override
+    public void betweenness(int vertexId, double betweenness)
+            throws IOException {
+        write("\"betweenness\";\"", vertexId, betweenness);
+        writer.write("\"\"\n");
+    }
+
+    @Override
+    public void edgeBetweenness(int edgeId, double betweenness)
+            throws IOException {
+        write("\"edge_betweenness\";\"", edgeId, betweenness);
+        writer.write("\"\"\n");
+    }
+
+    @Override
+    public void nearestDestination(int vertexId, int destinationId,
+                                   double distance) throws IOException {
+        write("\"nearest_destination\";\"", vertexId, distance);
+        writer.write('"');
+        writer.write(Integer.toString(destinationId));
+        writer.write("\"\n");
+    }
+
+    /**
+     * Writes the kind, the id and the value, up to the destination column.
+     *
+     * @param kind  The quoted kind and the opening quote of the id
+     * @param id    The id
+     * @param value The value
+     *
+     * @throws IOException If the line could not be written.
+     */
+    private void write(String kind, int id, double value) throws IOException {
+        writer.write(kind);
+        writer.write(Integer.toString(id));
+        writer.write("\";\"");
+        writer.write(Double.toString(value));
+        writer.write("\";");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
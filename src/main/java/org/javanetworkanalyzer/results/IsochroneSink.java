@@ -0,0 +1,70 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.results;
+
+import java.io.IOException;
+
+/**
+ * Receives the catchment area of each source of an isochrone computation as
+ * soon as its search is done. The calls are serialized by the analyzer, and
+ * the arrays passed belong to the sink.
+ */
+public interface IsochroneSink {
+
+    /**
+     * Receives the vertices and the edges reached from a source within the
+     * largest threshold, each with the index of the smallest threshold
+     * within which it is reached (its band). The vertices come by
+     * non-decreasing distance from the source, so that their bands do not
+     * decrease. The edges of a graph loaded by
+     * {@link org.javanetworkanalyzer.graphcreators.GraphCreator} are
+     * identified by their row in the file.
+     *
+     * @param sourceId    Source id
+     * @param vertexIds   Ids of the reached vertices
+     * @param vertexBands Band of each reached vertex
+     * @param edgeIds     Ids of the reached edges
+     * @param edgeBands   Band of each reached edge
+     *
+     * @throws IOException If the isochrone could not be written.
+     */
+    void isochrone(int sourceId, int[] vertexIds, int[] vertexBands,
+                   int[] edgeIds, int[] edgeBands) throws IOException;
+}
@@ -0,0 +1,130 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.results;
+
+import java.io.IOException;
+
+/**
+ * Receives the results of an analysis as soon as they are final, so that they
+ * can be written out without going through the graph again: the closeness,
+ * harmonic closeness and Wasserman-Faust closeness of each source right after
+ * its search, the betweenness once normalized and the
+ * nearest destination of each vertex once all destinations are processed.
+ *
+ * <p> The analyzers do not close the sink, so that several analyses may write
+ * to the same one.
+ */
+public interface ResultSink {
+
+    /**
+     * Receives the closeness of a vertex.
+     *
+     * @param vertexId  Vertex id
+     * @param closeness Closeness
+     *
+     * @throws IOException If the value could not be written.
+     */
+    void closeness(int vertexId, double closeness) throws IOException;
+
+    /**
+     * Receives the harmonic closeness of a vertex.
+     *
+     * @param vertexId          Vertex id
+     * @param harmonicCloseness Harmonic closeness
+     *
+     * @throws IOException If the value could not be written.
+     */
+    void harmonicCloseness(int vertexId, double harmonicCloseness)
+            throws IOException;
+
+    /**
+     * Receives the Wasserman-Faust closeness of a vertex.
+     *
+     * @param vertexId                Vertex id
+     * @param wassermanFaustCloseness Wasserman-Faust closeness
+     *
+     * @throws IOException If the value could not be written.
+     */
+    void wassermanFaustCloseness(int vertexId, double wassermanFaustCloseness)
+            throws IOException;
+
+    /**
+     * Receives the normalized betweenness of a vertex.
+     *
+     * @param vertexId    Vertex id
+     * @param betweenness Betweenness
+     *
+     * @throws IOException If the value could not be written.
+     */
+    void betweenness(int vertexId, double betweenness) throws IOException;
+
+    /**
+     * Receives the normalized betweenness of an edge. The edges of a graph
+     * loaded by {@link org.javanetworkanalyzer.graphcreators.GraphCreator}
+     * are identified by their row in the file.
+     *
+     * @param edgeId      Edge id
+     * @param betweenness Betweenness
+     *
+     * @throws IOException If the value could not be written.
+     */
+    void edgeBetweenness(int edgeId, double betweenness) throws IOException;
+
+    /**
+     * Receives the nearest destination of a vertex, or one of its k nearest
+     * destinations, by increasing distance, in the k nearest destinations
+     * mode of the accessibility analysis.
+     *
+     * @param vertexId      Vertex id
+     * @param destinationId Id of the nearest destination
+     * @param distance      Distance to the nearest destination
+     *
+     * @throws IOException If the value could not be written.
+     */
+    void nearestDestination(int vertexId, int destinationId, double distance)
+            throws IOException;
+
+    /**
+     * Writes out anything buffered and releases the resources.
+     *
+     * @throws IOException If the sink could not be closed.
+     */
+    void close() throws IOException;
+}
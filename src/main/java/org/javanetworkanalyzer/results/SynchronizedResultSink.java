@@ -0,0 +1,107 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.results;
+
+import java.io.IOException;
+
+/**
+ * Serializes the calls to another {@link ResultSink}, so that analyses
+ * running in several threads may write to it.
+ */
+public class SynchronizedResultSink implements ResultSink {
+
+    /**
+     * The sink receiving the results.
+     */
+    private final ResultSink sink;
+
+    /**
+     * Constructor.
+     *
+     * @param sink The sink receiving the results
+     */
+    public SynchronizedResultSink(ResultSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public synchronized void closeness(int vertexId, double closeness)
+            throws IOException {
+        sink.closeness(vertexId, closeness);
+    }
+
+    @Override
+    public synchronized void harmonicCloseness(int vertexId,
+                                               double harmonicCloseness)
+            throws IOException {
+        sink.harmonicCloseness(vertexId, harmonicCloseness);
+    }
+
+    @Override
+    public synchronized void wassermanFaustCloseness(
+            int vertexId, double wassermanFaustCloseness) throws IOException {
+        sink.wassermanFaustCloseness(vertexId, wassermanFaustCloseness);
+    }
+
+    @Override
+    public synchronized void betweenness(int vertexId, double betweenness)
+            throws IOException {
+        sink.betweenness(vertexId, betweenness);
+    }
+
+    @Override
+    public synchronized void edgeBetweenness(int edgeId, double betweenness)
+            throws IOException {
+        sink.edgeBetweenness(edgeId, betweenness);
+    }
+
+    @Override
+    public synchronized void nearestDestination(int vertexId,
+                                                int destinationId,
+                                                double distance)
+            throws IOException {
+        sink.nearestDestination(vertexId, destinationId, distance);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sink.close();
+    }
+}
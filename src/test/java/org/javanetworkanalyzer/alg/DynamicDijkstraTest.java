@@ -0,0 +1,175 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.alg;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.Edge;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link DynamicDijkstra#update} repairs the shortest path tree to
+ * the one a new {@link Dijkstra} search would find.
+ */
+public class DynamicDijkstraTest {
+
+    private static final int SIZE = 8;
+    private static final double TOLERANCE = 1E-10;
+
+    @Test
+    public void testUndirected() throws Exception {
+        for (int seed = 0; seed < 20; seed++) {
+            check(false, seed);
+        }
+    }
+
+    @Test
+    public void testDirected() throws Exception {
+        for (int seed = 0; seed < 20; seed++) {
+            check(true, seed);
+        }
+    }
+
+    @Test
+    public void testUnchangedTree() throws Exception {
+        WeightedKeyedGraph<VDijkstra, Edge> g = grid(false, 1);
+        DynamicDijkstra<VDijkstra, Edge> dijkstra =
+                new DynamicDijkstra<VDijkstra, Edge>(g);
+        dijkstra.calculate(g.getVertex(1));
+        // An edge which becomes longer but was on no shortest path.
+        Edge edge = g.addEdge(1, SIZE * SIZE);
+        edge.setWeight(1000.0);
+        List<Edge> changes = new ArrayList<Edge>();
+        changes.add(edge);
+        assertTrue(dijkstra.update(changes).isEmpty());
+        edge.setWeight(2000.0);
+        assertTrue(dijkstra.update(changes).isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUpdateBeforeCalculate() throws Exception {
+        WeightedKeyedGraph<VDijkstra, Edge> g = grid(false, 1);
+        new DynamicDijkstra<VDijkstra, Edge>(g)
+                .update(new ArrayList<Edge>(g.edgeSet()));
+    }
+
+    private void check(boolean directed, int seed) throws Exception {
+        WeightedKeyedGraph<VDijkstra, Edge> g = grid(directed, seed);
+        DynamicDijkstra<VDijkstra, Edge> dijkstra =
+                new DynamicDijkstra<VDijkstra, Edge>(g);
+        dijkstra.calculate(g.getVertex(1));
+        int n = g.vertexSet().size();
+        double[] oldDistances = new double[n + 1];
+        List<Set<Integer>> oldPredecessors = new ArrayList<Set<Integer>>();
+        oldPredecessors.add(null);
+        for (int i = 1; i <= n; i++) {
+            oldDistances[i] = g.getVertex(i).getDistance();
+            oldPredecessors.add(predecessorIDs(g.getVertex(i)));
+        }
+
+        // Change a few weights: some increase, some decrease, one closure.
+        Random random = new Random(seed);
+        List<Edge> edges = new ArrayList<Edge>(g.edgeSet());
+        List<Edge> changes = new ArrayList<Edge>();
+        for (int i = 0; i < 6; i++) {
+            Edge e = edges.get(random.nextInt(edges.size()));
+            e.setWeight(i == 0
+                    ? Double.POSITIVE_INFINITY
+                    : 1 + random.nextInt(6));
+            changes.add(e);
+        }
+        Set<VDijkstra> changed = dijkstra.update(changes);
+
+        // Compare with a new search on a copy of the modified graph.
+        WeightedKeyedGraph<VDijkstra, Edge> copy = grid(directed, seed);
+        for (Edge e : changes) {
+            copy.setEdgeWeight(copy.getEdge(
+                    copy.getVertex(g.getEdgeSource(e).getID()),
+                    copy.getVertex(g.getEdgeTarget(e).getID())),
+                               g.getEdgeWeight(e));
+        }
+        new Dijkstra<VDijkstra, Edge>(copy).calculate(copy.getVertex(1));
+        for (int i = 1; i <= n; i++) {
+            VDijkstra v = g.getVertex(i);
+            assertEquals(copy.getVertex(i).getDistance(), v.getDistance(),
+                         TOLERANCE);
+            assertEquals(predecessorIDs(copy.getVertex(i)),
+                         predecessorIDs(v));
+            if (oldDistances[i] != v.getDistance()
+                    || !oldPredecessors.get(i).equals(predecessorIDs(v))) {
+                assertTrue(changed.contains(v));
+            }
+        }
+    }
+
+    private static Set<Integer> predecessorIDs(VDijkstra v) {
+        Set<Integer> ids = new HashSet<Integer>();
+        for (Edge e : (Set<Edge>) v.getPredecessorEdges()) {
+            ids.add(e.getID());
+        }
+        return ids;
+    }
+
+    /**
+     * Builds a {@link #SIZE} by {@link #SIZE} grid with small random integer
+     * weights, so that there are many multiple shortest paths, and numbered
+     * edges.
+     */
+    private WeightedKeyedGraph<VDijkstra, Edge> grid(boolean directed,
+                                                     int seed)
+            throws Exception {
+        WeightedKeyedGraph<VDijkstra, Edge> graph = GridPrep.grid(directed
+                ? new DirectedWeightedPseudoG<VDijkstra, Edge>(
+                VDijkstra.class, Edge.class)
+                : new WeightedPseudoG<VDijkstra, Edge>(
+                VDijkstra.class, Edge.class), SIZE, directed);
+        GridPrep.integerWeights(graph, 3, seed);
+        return graph;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import org.javanetworkanalyzer.data.VAccess;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.generators.GridGraphGenerator;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.jgrapht.Graph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests running analyses asynchronously with an {@link AnalysisExecutor}.
+ */
+public class AnalysisExecutorTest {
+
+    private static final double TOLERANCE = 1E-10;
+
+    @Test
+    public void testConcurrentAnalyses() throws Exception {
+        AnalysisExecutor executor = new AnalysisExecutor(2);
+        WeightedKeyedGraph<VWCent, EdgeCent> centrality = centralityGraph(15);
+        WeightedKeyedGraph<VAccess, EdgeCent> access = accessGraph(15);
+        AnalysisJob<Graph<VWCent, EdgeCent>> centralityJob = executor.submit(
+                new WeightedGraphAnalyzer<EdgeCent>(centrality));
+        AnalysisJob<Graph<VAccess, EdgeCent>> accessJob = executor.submit(
+                new AccessibilityAnalyzer<EdgeCent>(
+                access, destinations(access)));
+        assertSame(centrality, centralityJob.get());
+        assertSame(access, accessJob.get());
+        assertEquals(100, centralityJob.getPercentageComplete());
+        assertEquals(3, accessJob.getTotalCount());
+        executor.shutdown();
+
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = centralityGraph(15);
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        for (VWCent v : expected.vertexSet()) {
+            VWCent w = centrality.getVertex(v.getID());
+            assertEquals(v.getBetweenness(), w.getBetweenness(), TOLERANCE);
+            assertEquals(v.getCloseness(), w.getCloseness(), TOLERANCE);
+        }
+        WeightedKeyedGraph<VAccess, EdgeCent> expectedAccess = accessGraph(15);
+        new AccessibilityAnalyzer<EdgeCent>(expectedAccess,
+                destinations(expectedAccess)).compute();
+        for (VAccess v : expectedAccess.vertexSet()) {
+            VAccess w = access.getVertex(v.getID());
+            assertEquals(v.getClosestDestinationId(),
+                         w.getClosestDestinationId());
+            assertEquals(v.getDistanceToClosestDestination(),
+                         w.getDistanceToClosestDestination(), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        AnalysisExecutor executor = new AnalysisExecutor(1);
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = centralityGraph(60);
+        AnalysisJob<Graph<VWCent, EdgeCent>> running = executor.submit(
+                new WeightedGraphAnalyzer<EdgeCent>(graph));
+        AnalysisJob<Graph<VWCent, EdgeCent>> queued = executor.submit(
+                new WeightedGraphAnalyzer<EdgeCent>(centralityGraph(5)));
+        while (running.getProcessedCount() == 0) {
+            Thread.sleep(1);
+        }
+        assertTrue(queued.cancel(false));
+        assertNull(queued.getPartialResult());
+        assertTrue(running.cancel(false));
+        assertTrue(running.isCancelled());
+        try {
+            running.get();
+            fail();
+        } catch (CancellationException e) {
+            // Expected.
+        }
+        assertSame(graph, running.getPartialResult());
+        assertTrue(running.getProcessedCount() < graph.vertexSet().size());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> centralityGraph(int size) {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph =
+                new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class);
+        new GridGraphGenerator(size, size, 1L).generate(graph);
+        return graph;
+    }
+
+    private WeightedKeyedGraph<VAccess, EdgeCent> accessGraph(int size) {
+        WeightedKeyedGraph<VAccess, EdgeCent> graph =
+                new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class);
+        new GridGraphGenerator(size, size, 1L).generate(graph);
+        return graph;
+    }
+
+    private Set<VAccess> destinations(WeightedKeyedGraph<VAccess, EdgeCent> g) {
+        Set<VAccess> destinations = new HashSet<VAccess>();
+        destinations.add(g.getVertex(1));
+        destinations.add(g.getVertex(50));
+        destinations.add(g.getVertex(100));
+        return destinations;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.Iterator;
+import java.util.Random;
+import org.javanetworkanalyzer.alg.BlockCutTree;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.DirectedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the {@link BlockGraphAnalyzer} gives the same betweenness as
+ * {@link GraphAnalyzer#computeAll()} on a graph made of blocks joined at
+ * articulation points.
+ */
+public class BlockGraphAnalyzerTest {
+
+    private static final double TOLERANCE = 1E-10;
+
+    @Test
+    public void testBlocks() {
+        KeyedGraph<VUCent, EdgeCent> graph = unweightedGraph();
+        BlockCutTree<VUCent, EdgeCent> tree =
+                new BlockCutTree<VUCent, EdgeCent>(graph);
+        assertEquals(11, tree.getBlocks().size());
+        int articulationPoints = 0;
+        for (VUCent v : graph.vertexSet()) {
+            if (tree.isArticulationPoint(v)) {
+                articulationPoints++;
+            }
+        }
+        assertEquals(8, articulationPoints);
+        assertTrue(tree.isArticulationPoint(graph.getVertex(6)));
+        assertFalse(tree.isArticulationPoint(graph.getVertex(12)));
+        // Vertex 40 separates 41, 42 and the 20 other vertices of its
+        // component.
+        assertEquals(22 * 22 - 1 - 1 - 20 * 20,
+                     tree.getSeparatedPairCount(graph.getVertex(40)), 0.0);
+        for (BlockCutTree.Block<VUCent, EdgeCent> block : tree.getBlocks()) {
+            if (block.getVertices().contains(graph.getVertex(10))
+                && block.getVertices().contains(graph.getVertex(3))) {
+                // The bridge from the ring to the grid.
+                assertEquals(1, block.getEdges().size());
+                assertEquals(11, block.getWeight(graph.getVertex(3)));
+                assertEquals(12, block.getWeight(graph.getVertex(10)));
+            }
+        }
+    }
+
+    @Test
+    public void testWeighted() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = weightedGraph();
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        for (int parallelism = 1; parallelism <= 3; parallelism += 2) {
+            WeightedKeyedGraph<VWCent, EdgeCent> graph = weightedGraph();
+            BlockGraphAnalyzer<VWCent, EdgeCent> analyzer =
+                    BlockGraphAnalyzer.weighted(graph);
+            analyzer.setParallelism(parallelism);
+            analyzer.computeBetweenness();
+            check(expected, graph);
+        }
+    }
+
+    @Test
+    public void testUnweighted() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected = unweightedGraph();
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph = unweightedGraph();
+        BlockGraphAnalyzer<VUCent, EdgeCent> analyzer =
+                BlockGraphAnalyzer.unweighted(graph);
+        analyzer.setParallelism(2);
+        analyzer.computeBetweenness();
+        check(expected, graph);
+    }
+
+    @Test
+    public void testParallelEdges() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected = unweightedGraph();
+        expected.addEdge(30, 21, 100);
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph = unweightedGraph();
+        graph.addEdge(30, 21, 100);
+        BlockGraphAnalyzer.unweighted(graph).computeBetweenness();
+        check(expected, graph);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected() {
+        BlockGraphAnalyzer.unweighted(new DirectedPseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class));
+    }
+
+    private <V extends VCent> void check(KeyedGraph<V, EdgeCent> expected,
+                                         KeyedGraph<V, EdgeCent> actual) {
+        for (V v : expected.vertexSet()) {
+            assertEquals(v.getBetweenness(),
+                         actual.getVertex(v.getID()).getBetweenness(),
+                         TOLERANCE);
+        }
+        Iterator<EdgeCent> it = actual.edgeSet().iterator();
+        for (EdgeCent e : expected.edgeSet()) {
+            assertEquals(e.getBetweenness(), it.next().getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> weightedGraph() {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph =
+                new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class);
+        addEdges(graph);
+        Random random = new Random(17L);
+        for (EdgeCent e : graph.edgeSet()) {
+            graph.setEdgeWeight(e, 1.0 + random.nextInt(3));
+        }
+        return graph;
+    }
+
+    private KeyedGraph<VUCent, EdgeCent> unweightedGraph() {
+        KeyedGraph<VUCent, EdgeCent> graph =
+                new PseudoG<VUCent, EdgeCent>(VUCent.class, EdgeCent.class);
+        addEdges(graph);
+        return graph;
+    }
+
+    /**
+     * Adds a ring of six vertices with a bridge to a 3x3 grid (with a loop
+     * and a hanging tree) and another ring through vertex 6 leading to a
+     * path; then a triangle with a pendant vertex, and an isolated vertex.
+     */
+    private void addEdges(KeyedGraph<?, EdgeCent> graph) {
+        int id = 1;
+        for (int i = 1; i <= 6; i++) {
+            graph.addEdge(i, i % 6 + 1, id++);
+        }
+        graph.addEdge(3, 10, id++);
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                final int v = 10 + 3 * r + c;
+                if (c < 2) {
+                    graph.addEdge(v, v + 1, id++);
+                }
+                if (r < 2) {
+                    graph.addEdge(v + 3, v, id++);
+                }
+            }
+        }
+        graph.addEdge(12, 12, id++);
+        graph.addEdge(14, 40, id++);
+        graph.addEdge(40, 41, id++);
+        graph.addEdge(42, 40, id++);
+        graph.addEdge(6, 20, id++);
+        graph.addEdge(20, 21, id++);
+        graph.addEdge(21, 22, id++);
+        graph.addEdge(22, 6, id++);
+        graph.addEdge(21, 30, id++);
+        graph.addEdge(30, 31, id++);
+        graph.addEdge(50, 51, id++);
+        graph.addEdge(51, 52, id++);
+        graph.addEdge(52, 50, id++);
+        graph.addEdge(52, 53, id++);
+        graph.addVertex(60);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GraphCreator;
+import org.javanetworkanalyzer.graphcreators.WeightedGraphCreator;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.javanetworkanalyzer.progress.NullProgressMonitor;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a {@link GraphAnalyzer} cancelled with checkpointing enabled
+ * resumes to the same results as an uninterrupted analysis.
+ */
+public class CentralityCheckpointTest {
+
+    private static final String FILENAME = "./files/graph2D.edges.csv";
+    private static final double TOLERANCE = 1E-10;
+
+    @Test
+    public void testResumeAfterCancellation() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = load();
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+
+        File file = File.createTempFile("centrality", ".chk");
+        assertTrue(file.delete());
+
+        // Cancel after a few sources.
+        WeightedKeyedGraph<VWCent, EdgeCent> interrupted = load();
+        WeightedGraphAnalyzer<EdgeCent> analyzer =
+                new WeightedGraphAnalyzer<EdgeCent>(interrupted,
+                                                    cancelAfter(3));
+        analyzer.setCheckpoint(file, 0);
+        analyzer.computeAll();
+        assertTrue(file.exists());
+
+        // Resume on a freshly loaded graph.
+        WeightedKeyedGraph<VWCent, EdgeCent> resumed = load();
+        analyzer = new WeightedGraphAnalyzer<EdgeCent>(resumed);
+        analyzer.setCheckpoint(file, Long.MAX_VALUE);
+        analyzer.computeAll();
+        assertFalse(file.exists());
+
+        for (VWCent v : expected.vertexSet()) {
+            VWCent w = resumed.getVertex(v.getID());
+            assertEquals(v.getBetweenness(), w.getBetweenness(), TOLERANCE);
+            assertEquals(v.getCloseness(), w.getCloseness(), TOLERANCE);
+        }
+        Iterator<EdgeCent> it = resumed.edgeSet().iterator();
+        for (EdgeCent e : expected.edgeSet()) {
+            assertEquals(e.getBetweenness(), it.next().getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCheckpointOfAnotherGraph() throws Exception {
+        File file = File.createTempFile("centrality", ".chk");
+        file.deleteOnExit();
+        WeightedKeyedGraph<VWCent, EdgeCent> g = load();
+        new CentralityCheckpoint<VWCent, EdgeCent>(
+                file, g.vertexSet(), g)
+                .save(new HashSet<VWCent>());
+        g.addEdge(1, 2);
+        new CentralityCheckpoint<VWCent, EdgeCent>(
+                file, g.vertexSet(), g).restore();
+    }
+
+    @Test
+    public void testRestoreIntoReorderedGraph() throws Exception {
+        File file = File.createTempFile("centrality", ".chk");
+        file.deleteOnExit();
+        final WeightedKeyedGraph<VWCent, EdgeCent> g = load();
+        // Values of the edges between each pair of endpoints, in order.
+        Map<String, List<Double>> expected =
+                new HashMap<String, List<Double>>();
+        List<EdgeCent> edges = new ArrayList<EdgeCent>(g.edgeSet());
+        for (int i = 0; i < edges.size(); i++) {
+            EdgeCent e = edges.get(i);
+            e.setBetweenness(i + 1);
+            String key = key(g, e);
+            if (!expected.containsKey(key)) {
+                expected.put(key, new ArrayList<Double>());
+            }
+            expected.get(key).add(i + 1.0);
+        }
+        new CentralityCheckpoint<VWCent, EdgeCent>(
+                file, g.vertexSet(), g).save(new HashSet<VWCent>());
+
+        // Rebuild the graph with its edges sorted by decreasing target id,
+        // keeping parallel edges in the same relative order.
+        WeightedKeyedGraph<VWCent, EdgeCent> reordered =
+                new WeightedPseudoG<VWCent, EdgeCent>(VWCent.class,
+                                                      EdgeCent.class);
+        Collections.sort(edges, new Comparator<EdgeCent>() {
+            @Override
+            public int compare(EdgeCent e1, EdgeCent e2) {
+                return g.getEdgeTarget(e2).getID()
+                        - g.getEdgeTarget(e1).getID();
+            }
+        });
+        for (EdgeCent e : edges) {
+            reordered.addEdge(g.getEdgeSource(e).getID(),
+                              g.getEdgeTarget(e).getID());
+        }
+        new CentralityCheckpoint<VWCent, EdgeCent>(
+                file, reordered.vertexSet(), reordered).restore();
+        for (EdgeCent e : reordered.edgeSet()) {
+            assertEquals(expected.get(key(reordered, e)).remove(0),
+                         e.getBetweenness(), TOLERANCE);
+        }
+    }
+
+    private static String key(WeightedKeyedGraph<VWCent, EdgeCent> g,
+                              EdgeCent e) {
+        return g.getEdgeSource(e).getID() + "-" + g.getEdgeTarget(e).getID();
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> load() throws Exception {
+        return new WeightedGraphCreator<VWCent, EdgeCent>(
+                FILENAME, GraphCreator.UNDIRECTED, VWCent.class,
+                EdgeCent.class, "length").loadGraph();
+    }
+
+    private static NullProgressMonitor cancelAfter(final int sources) {
+        return new NullProgressMonitor() {
+            private int calls = 0;
+
+            @Override
+            public boolean isCancelled() {
+                return calls++ >= sources;
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import org.javanetworkanalyzer.alg.ConnectedComponents;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.DirectedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the {@link ComponentGraphAnalyzer} gives the same results as
+ * {@link GraphAnalyzer#computeAll()} on a graph made of several islands.
+ */
+public class ComponentGraphAnalyzerTest {
+
+    private static final double TOLERANCE = 1E-10;
+    private static final int ISLANDS = 5;
+
+    @Test
+    public void testComponents() {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = weightedGraph();
+        ConnectedComponents<VWCent, EdgeCent> components =
+                new ConnectedComponents<VWCent, EdgeCent>(graph);
+        // The islands and two isolated vertices.
+        assertEquals(ISLANDS + 2, components.getComponentCount());
+        assertEquals(36, components.getComponents().get(0).size());
+        assertTrue(components.areConnected(graph.getVertex(1),
+                                           graph.getVertex(36)));
+        assertFalse(components.areConnected(graph.getVertex(1),
+                                            graph.getVertex(101)));
+        assertEquals(1, components.getComponentSize(graph.getVertex(1000)));
+    }
+
+    @Test
+    public void testWeighted() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = weightedGraph();
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        for (int parallelism = 1; parallelism <= 3; parallelism += 2) {
+            WeightedKeyedGraph<VWCent, EdgeCent> graph = weightedGraph();
+            ComponentGraphAnalyzer<VWCent, EdgeCent> analyzer =
+                    ComponentGraphAnalyzer.weighted(graph);
+            analyzer.setParallelism(parallelism);
+            analyzer.computeAll();
+            check(expected, graph);
+        }
+    }
+
+    @Test
+    public void testUnweightedDirected() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected = directedGraph();
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph = directedGraph();
+        ComponentGraphAnalyzer<VUCent, EdgeCent> analyzer =
+                ComponentGraphAnalyzer.unweighted(graph);
+        analyzer.setParallelism(2);
+        analyzer.computeAll();
+        check(expected, graph);
+    }
+
+    @Test(expected = OutOfMemoryError.class)
+    public void testWorkerErrorIsRethrown() throws Exception {
+        GeneralizedGraphAnalyzer.rethrowCause(
+                new ExecutionException(new OutOfMemoryError()));
+    }
+
+    private <V extends VCent> void check(KeyedGraph<V, EdgeCent> expected,
+                                         KeyedGraph<V, EdgeCent> actual) {
+        for (V v : expected.vertexSet()) {
+            V w = actual.getVertex(v.getID());
+            assertEquals(v.getBetweenness(), w.getBetweenness(), TOLERANCE);
+            assertEquals(v.getCloseness(), w.getCloseness(), TOLERANCE);
+            assertEquals(v.getHarmonicCloseness(), w.getHarmonicCloseness(),
+                         TOLERANCE);
+            assertEquals(v.getWassermanFaustCloseness(),
+                         w.getWassermanFaustCloseness(), TOLERANCE);
+        }
+        Iterator<EdgeCent> it = actual.edgeSet().iterator();
+        for (EdgeCent e : expected.edgeSet()) {
+            assertEquals(e.getBetweenness(), it.next().getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> weightedGraph() {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph =
+                new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class);
+        Random random = new Random(7L);
+        addIslands(graph, random);
+        for (EdgeCent e : graph.edgeSet()) {
+            graph.setEdgeWeight(e, 1.0 + random.nextInt(5));
+        }
+        return graph;
+    }
+
+    private KeyedGraph<VUCent, EdgeCent> directedGraph() {
+        KeyedGraph<VUCent, EdgeCent> graph =
+                new DirectedPseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class);
+        addIslands(graph, new Random(11L));
+        return graph;
+    }
+
+    /**
+     * Adds square grids of decreasing sizes with a few random extra edges
+     * (island k has the ids 100k + 1, ...) and two isolated vertices.
+     */
+    private void addIslands(KeyedGraph<?, EdgeCent> graph, Random random) {
+        int id = 1;
+        for (int k = 0; k < ISLANDS; k++) {
+            final int size = 6 - k;
+            final int offset = 100 * k + 1;
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    final int v = offset + r * size + c;
+                    if (c + 1 < size) {
+                        graph.addEdge(v, v + 1, id++);
+                    }
+                    if (r + 1 < size) {
+                        graph.addEdge(v + size, v, id++);
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                graph.addEdge(offset + random.nextInt(size * size),
+                              offset + random.nextInt(size * size), id++);
+            }
+        }
+        graph.addVertex(1000);
+        graph.addVertex(1001);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the harmonic and Wasserman–Faust closeness on a disconnected graph
+ * made of the path 1-2-3 and the edge 4-5, where the classic closeness is
+ * zero everywhere.
+ */
+public class DisconnectedClosenessTest {
+
+    private static final double TOLERANCE = 1E-12;
+
+    @Test
+    public void testUnweighted() throws Exception {
+        PseudoG<VUCent, EdgeCent> graph =
+                new PseudoG<VUCent, EdgeCent>(VUCent.class, EdgeCent.class);
+        addEdges(graph);
+        new UnweightedGraphAnalyzer<EdgeCent>(graph).computeAll();
+        check(graph, 1.0);
+    }
+
+    @Test
+    public void testWeighted() throws Exception {
+        WeightedPseudoG<VWCent, EdgeCent> graph =
+                new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class);
+        addEdges(graph);
+        for (EdgeCent e : graph.edgeSet()) {
+            graph.setEdgeWeight(e, 2.0);
+        }
+        new WeightedGraphAnalyzer<EdgeCent>(graph).computeAll();
+        check(graph, 2.0);
+    }
+
+    private void addEdges(KeyedGraph<? extends VCent, EdgeCent> graph) {
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(4, 5);
+    }
+
+    private void check(KeyedGraph<? extends VCent, EdgeCent> graph,
+                       double weight) {
+        for (VCent v : graph.vertexSet()) {
+            assertEquals(0.0, v.getCloseness(), TOLERANCE);
+        }
+        // Distances 1 and 2 (times the weight) to the 4 other vertices.
+        assertEquals((1.0 + 0.5) / 4 / weight,
+                     graph.getVertex(1).getHarmonicCloseness(), TOLERANCE);
+        assertEquals((2.0 / 4) / (1.5 * weight),
+                     graph.getVertex(1).getWassermanFaustCloseness(),
+                     TOLERANCE);
+        assertEquals(2.0 / 4 / weight,
+                     graph.getVertex(2).getHarmonicCloseness(), TOLERANCE);
+        assertEquals((2.0 / 4) / weight,
+                     graph.getVertex(2).getWassermanFaustCloseness(),
+                     TOLERANCE);
+        assertEquals(1.0 / 4 / weight,
+                     graph.getVertex(5).getHarmonicCloseness(), TOLERANCE);
+        assertEquals((1.0 / 4) / weight,
+                     graph.getVertex(5).getWassermanFaustCloseness(),
+                     TOLERANCE);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.Map;
+import java.util.Random;
+import org.javanetworkanalyzer.alg.BFS;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.alg.GraphSearchAlgorithm;
+import org.javanetworkanalyzer.data.VBFS;
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.javanetworkanalyzer.data.VDist;
+import org.javanetworkanalyzer.data.VId;
+import org.javanetworkanalyzer.data.VPred;
+import org.javanetworkanalyzer.model.DirectedPseudoG;
+import org.javanetworkanalyzer.model.Edge;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the eccentricities, diameter and radius found by the
+ * {@link EccentricityAnalyzer} against a search from every vertex.
+ */
+public class EccentricityAnalyzerTest {
+
+    private static final double TOLERANCE = 1E-9;
+    private static final int SIZE = 12;
+
+    @Test
+    public void testUnweighted() {
+        KeyedGraph<VBFS, Edge> graph =
+                new PseudoG<VBFS, Edge>(VBFS.class, Edge.class);
+        addEdges(graph);
+        check(graph, EccentricityAnalyzer.unweighted(graph),
+              new BFS<VBFS, Edge>(graph));
+    }
+
+    @Test
+    public void testWeighted() {
+        WeightedKeyedGraph<VDijkstra, Edge> graph =
+                new WeightedPseudoG<VDijkstra, Edge>(
+                VDijkstra.class, Edge.class);
+        addEdges(graph);
+        Random random = new Random(11L);
+        for (Edge e : graph.edgeSet()) {
+            graph.setEdgeWeight(e, 0.5 + random.nextDouble());
+        }
+        check(graph, EccentricityAnalyzer.weighted(graph),
+              new Dijkstra<VDijkstra, Edge>(graph));
+    }
+
+    @Test
+    public void testIsolatedVertices() {
+        KeyedGraph<VBFS, Edge> graph =
+                new PseudoG<VBFS, Edge>(VBFS.class, Edge.class);
+        for (int id = 1; id <= SIZE; id++) {
+            graph.addVertex(id);
+        }
+        EccentricityAnalyzer<VBFS, Edge> analyzer =
+                EccentricityAnalyzer.unweighted(graph);
+        analyzer.computeEccentricities();
+        assertEquals(0, analyzer.getSearchCount());
+        for (double eccentricity : analyzer.getEccentricities().values()) {
+            assertEquals(0.0, eccentricity, TOLERANCE);
+        }
+        assertEquals(0.0, analyzer.computeDiameter(), TOLERANCE);
+        assertEquals(0, analyzer.getSearchCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected() {
+        EccentricityAnalyzer.unweighted(
+                new DirectedPseudoG<VBFS, Edge>(VBFS.class, Edge.class));
+    }
+
+    private <V extends VId & VPred & VDist> void check(
+            KeyedGraph<V, Edge> graph, EccentricityAnalyzer<V, Edge> analyzer,
+            GraphSearchAlgorithm<V, Edge> search) {
+        analyzer.computeEccentricities();
+        final int eccentricitySearches = analyzer.getSearchCount();
+        final Map<V, Double> eccentricities = analyzer.getEccentricities();
+        assertEquals(graph.vertexSet().size(), eccentricities.size());
+        final double diameter = analyzer.computeDiameter();
+        assertTrue(analyzer.getSearchCount() < SIZE * SIZE / 2);
+        assertTrue(eccentricitySearches < SIZE * SIZE / 2);
+
+        double expectedDiameter = 0.0;
+        double expectedRadius = Double.POSITIVE_INFINITY;
+        for (V v : graph.vertexSet()) {
+            search.calculate(v);
+            double eccentricity = 0.0;
+            for (V w : graph.vertexSet()) {
+                final double d = w.getDistance().doubleValue();
+                if (d >= 0.0 && d < Double.POSITIVE_INFINITY) {
+                    eccentricity = Math.max(eccentricity, d);
+                }
+            }
+            assertEquals(eccentricity, eccentricities.get(v), TOLERANCE);
+            expectedDiameter = Math.max(expectedDiameter, eccentricity);
+            if (v.getID() <= SIZE * SIZE) {
+                expectedRadius = Math.min(expectedRadius, eccentricity);
+            }
+        }
+        assertEquals(expectedDiameter, diameter, TOLERANCE);
+        assertEquals(expectedDiameter, analyzer.getDiameter(), TOLERANCE);
+        assertEquals(expectedRadius, analyzer.getRadius(), TOLERANCE);
+    }
+
+    /**
+     * Adds a grid with a path hanging from a corner, a separate triangle and
+     * an isolated vertex.
+     */
+    private void addEdges(KeyedGraph<?, Edge> graph) {
+        int id = 1;
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                final int v = 1 + SIZE * r + c;
+                if (c < SIZE - 1) {
+                    graph.addEdge(v, v + 1, id++);
+                }
+                if (r < SIZE - 1) {
+                    graph.addEdge(v, v + SIZE, id++);
+                }
+            }
+        }
+        graph.addEdge(1, 1000, id++);
+        graph.addEdge(1000, 1001, id++);
+        graph.addEdge(1001, 1002, id++);
+        graph.addEdge(2000, 2001, id++);
+        graph.addEdge(2001, 2002, id++);
+        graph.addEdge(2002, 2000, id++);
+        graph.addVertex(3000);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.Iterator;
+import java.util.Random;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.model.DirectedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the {@link FoldedGraphAnalyzer} gives the same results as
+ * {@link GraphAnalyzer#computeAll()} on graphs with trees hanging from a
+ * grid.
+ */
+public class FoldedGraphAnalyzerTest {
+
+    private static final double TOLERANCE = 1E-10;
+    private static final int SIZE = 5;
+
+    @Test
+    public void testWeighted() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = weightedGraph();
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = weightedGraph();
+        FoldedGraphAnalyzer.weighted(graph).computeAll();
+        check(expected, graph);
+    }
+
+    @Test
+    public void testUnweighted() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected = unweightedGraph();
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph = unweightedGraph();
+        FoldedGraphAnalyzer.unweighted(graph).computeAll();
+        check(expected, graph);
+    }
+
+    @Test
+    public void testParallelEdges() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected = unweightedGraph();
+        expected.addEdge(2, 1, 1000);
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph = unweightedGraph();
+        graph.addEdge(2, 1, 1000);
+        FoldedGraphAnalyzer.unweighted(graph).computeAll();
+        check(expected, graph);
+    }
+
+    @Test
+    public void testTree() throws Exception {
+        // A tree is folded into a single vertex.
+        KeyedGraph<VUCent, EdgeCent> expected =
+                new PseudoG<VUCent, EdgeCent>(VUCent.class, EdgeCent.class);
+        addTrees(expected, new Random(3L), 1, 1, 30, 1);
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph =
+                new PseudoG<VUCent, EdgeCent>(VUCent.class, EdgeCent.class);
+        addTrees(graph, new Random(3L), 1, 1, 30, 1);
+        FoldedGraphAnalyzer.unweighted(graph).computeAll();
+        check(expected, graph);
+        assertTrue(graph.getVertex(1).getCloseness() > 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected() {
+        FoldedGraphAnalyzer.unweighted(new DirectedPseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class));
+    }
+
+    private <V extends VCent> void check(KeyedGraph<V, EdgeCent> expected,
+                                         KeyedGraph<V, EdgeCent> actual) {
+        for (V v : expected.vertexSet()) {
+            V w = actual.getVertex(v.getID());
+            assertEquals(v.getBetweenness(), w.getBetweenness(), TOLERANCE);
+            assertEquals(v.getCloseness(), w.getCloseness(), TOLERANCE);
+            assertEquals(v.getWassermanFaustCloseness(),
+                         w.getWassermanFaustCloseness(), TOLERANCE);
+        }
+        Iterator<EdgeCent> it = actual.edgeSet().iterator();
+        for (EdgeCent e : expected.edgeSet()) {
+            assertEquals(e.getBetweenness(), it.next().getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> weightedGraph() {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph =
+                new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class);
+        Random random = new Random(5L);
+        addGraph(graph, random);
+        for (EdgeCent e : graph.edgeSet()) {
+            graph.setEdgeWeight(e, 1.0 + random.nextInt(5));
+        }
+        return graph;
+    }
+
+    private KeyedGraph<VUCent, EdgeCent> unweightedGraph() {
+        KeyedGraph<VUCent, EdgeCent> graph =
+                new PseudoG<VUCent, EdgeCent>(VUCent.class, EdgeCent.class);
+        addGraph(graph, new Random(9L));
+        return graph;
+    }
+
+    /**
+     * Adds a square grid with a loop and random trees hanging from it, a
+     * separate tree, a pair of vertices and an isolated vertex.
+     */
+    private void addGraph(KeyedGraph<?, EdgeCent> graph, Random random) {
+        int id = 1;
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                final int v = 1 + r * SIZE + c;
+                if (c + 1 < SIZE) {
+                    graph.addEdge(v, v + 1, id++);
+                }
+                if (r + 1 < SIZE) {
+                    graph.addEdge(v + SIZE, v, id++);
+                }
+            }
+        }
+        graph.addEdge(7, 7, id++);
+        id = addTrees(graph, random, 1, SIZE * SIZE, 40, id);
+        id = addTrees(graph, random, 200, 200, 10, id);
+        graph.addEdge(300, 301, id++);
+        graph.addVertex(400);
+    }
+
+    /**
+     * Adds the given number of vertices after {@code first}, each one linked
+     * to a random vertex between {@code low} and the previous one.
+     *
+     * @return The next edge id.
+     */
+    private int addTrees(KeyedGraph<?, EdgeCent> graph, Random random,
+                         int low, int first, int count, int id) {
+        for (int v = first + 1; v <= first + count; v++) {
+            graph.addEdge(low + random.nextInt(v - low), v, id++);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.data.VAccess;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link GravityAccessibilityAnalyzer} against a search from every
+ * vertex.
+ */
+public class GravityAccessibilityAnalyzerTest {
+
+    private static final double TOLERANCE = 1E-10;
+    private static final int SIZE = 8;
+
+    @Test
+    public void testUndirectedCumulative() {
+        check(GridPrep.grid(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), SIZE, 31L),
+              GravityAccessibilityAnalyzer.cumulative(3.5), 1);
+    }
+
+    @Test
+    public void testUndirectedGravity() {
+        check(GridPrep.grid(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), SIZE, 31L),
+              GravityAccessibilityAnalyzer.negativeExponential(
+                0.3, Double.POSITIVE_INFINITY), 3);
+    }
+
+    @Test
+    public void testDirectedGravity() {
+        check(GridPrep.grid(new DirectedWeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), SIZE, 31L),
+              GravityAccessibilityAnalyzer.negativeExponential(0.5, 4.0), 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotComputed() {
+        WeightedKeyedGraph<VAccess, EdgeCent> graph =
+                GridPrep.grid(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), SIZE, 31L);
+        new GravityAccessibilityAnalyzer<VAccess, EdgeCent>(
+                graph, destinations(graph),
+                GravityAccessibilityAnalyzer.cumulative(1.0))
+                .getAccessibility(graph.getVertex(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeThreshold() {
+        GravityAccessibilityAnalyzer.cumulative(-1.0);
+    }
+
+    private void check(WeightedKeyedGraph<VAccess, EdgeCent> graph,
+                       DecayFunction decay, int parallelism) {
+        final Map<VAccess, Double> destinations = destinations(graph);
+        GravityAccessibilityAnalyzer<VAccess, EdgeCent> analyzer =
+                new GravityAccessibilityAnalyzer<VAccess, EdgeCent>(
+                graph, destinations, decay);
+        analyzer.setParallelism(parallelism);
+        analyzer.compute();
+        Dijkstra<VAccess, EdgeCent> dijkstra =
+                new Dijkstra<VAccess, EdgeCent>(graph);
+        for (VAccess v : graph.vertexSet()) {
+            dijkstra.calculate(v);
+            double expected = 0.0;
+            for (Map.Entry<VAccess, Double> dest : destinations.entrySet()) {
+                final double d = dest.getKey().getDistance();
+                if (d < Double.POSITIVE_INFINITY) {
+                    expected += dest.getValue() * decay.decay(d);
+                }
+            }
+            assertEquals(expected, analyzer.getAccessibility(v), TOLERANCE);
+        }
+    }
+
+    private Map<VAccess, Double> destinations(
+            WeightedKeyedGraph<VAccess, ?> graph) {
+        Map<VAccess, Double> destinations = new HashMap<VAccess, Double>();
+        for (int id = 3; id <= SIZE * SIZE; id += 5) {
+            destinations.put(graph.getVertex(id), 1.0 + id % 4);
+        }
+        return destinations;
+    }
+}
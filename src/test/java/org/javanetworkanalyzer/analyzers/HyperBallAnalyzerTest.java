@@ -0,0 +1,154 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the closeness and the distance distribution estimated by the
+ * {@link HyperBallAnalyzer} against the exact values.
+ */
+public class HyperBallAnalyzerTest {
+
+    private static final int SIZE = 20;
+    private static final double RELATIVE_ERROR = 0.1;
+
+    @Test
+    public void testGrid() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected = grid();
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph = grid();
+        HyperBallAnalyzer<VUCent, EdgeCent> analyzer =
+                new HyperBallAnalyzer<VUCent, EdgeCent>(graph, 10);
+        analyzer.computeAll();
+        for (VUCent v : expected.vertexSet()) {
+            VUCent w = graph.getVertex(v.getID());
+            assertEquals(v.getCloseness(), w.getCloseness(),
+                         RELATIVE_ERROR * v.getCloseness());
+            assertEquals(v.getHarmonicCloseness(), w.getHarmonicCloseness(),
+                         RELATIVE_ERROR * v.getHarmonicCloseness());
+            assertEquals(v.getWassermanFaustCloseness(),
+                         w.getWassermanFaustCloseness(),
+                         RELATIVE_ERROR * v.getWassermanFaustCloseness());
+        }
+
+        // On a grid, the number of ordered pairs at distance d > 0 is
+        // 2 * sum over dx + dy = d of (SIZE - dx) * (SIZE - dy), halved for
+        // the pairs in a row or a column.
+        final int n = SIZE * SIZE;
+        final double[] exact = new double[2 * SIZE - 1];
+        exact[0] = n;
+        for (int dx = 0; dx < SIZE; dx++) {
+            for (int dy = 0; dy < SIZE; dy++) {
+                if (dx + dy > 0) {
+                    exact[dx + dy] += (dx == 0 || dy == 0 ? 2 : 4)
+                            * (SIZE - dx) * (SIZE - dy);
+                }
+            }
+        }
+        final double[] function = analyzer.getNeighbourhoodFunction();
+        assertTrue(function.length <= exact.length);
+        assertEquals((double) n * n, function[function.length - 1],
+                     RELATIVE_ERROR * n * n);
+        double pairs = 0.0;
+        int t = 0;
+        while (pairs + exact[t] < 0.9 * n * n) {
+            pairs += exact[t++];
+        }
+        final double effectiveDiameter =
+                t - 1 + (0.9 * n * n - pairs) / exact[t];
+        assertEquals(effectiveDiameter, analyzer.getEffectiveDiameter(),
+                     RELATIVE_ERROR * effectiveDiameter);
+        final double[] distribution = analyzer.getDistanceDistribution();
+        assertEquals(function.length, distribution.length);
+        assertEquals(function[0], distribution[0], 0.0);
+        assertEquals(function[3], distribution[0] + distribution[1]
+                + distribution[2] + distribution[3], 1E-6);
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected = grid();
+        new HyperBallAnalyzer<VUCent, EdgeCent>(expected, 6).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph = grid();
+        HyperBallAnalyzer<VUCent, EdgeCent> analyzer =
+                new HyperBallAnalyzer<VUCent, EdgeCent>(graph, 6);
+        analyzer.setParallelism(3);
+        analyzer.computeAll();
+        for (VUCent v : expected.vertexSet()) {
+            assertEquals(v.getCloseness(),
+                         graph.getVertex(v.getID()).getCloseness(), 0.0);
+        }
+    }
+
+    @Test
+    public void testDirected() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> graph =
+                new DirectedPseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 3, 2);
+        graph.addEdge(1, 3, 3);
+        graph.addEdge(3, 3, 4);
+        new HyperBallAnalyzer<VUCent, EdgeCent>(graph, 8).computeAll();
+        // Only vertex 1 reaches the others, at an average distance of 1.
+        assertEquals(1.0, graph.getVertex(1).getCloseness(), 0.05);
+        assertEquals(0.0, graph.getVertex(2).getCloseness(), 0.0);
+        assertEquals(0.0, graph.getVertex(3).getCloseness(), 0.0);
+        assertEquals(0.5, graph.getVertex(2).getHarmonicCloseness(), 0.05);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisters() {
+        new HyperBallAnalyzer<VUCent, EdgeCent>(grid(), 3);
+    }
+
+    private KeyedGraph<VUCent, EdgeCent> grid() {
+        return GridPrep.grid(new PseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class), SIZE, false);
+    }
+}
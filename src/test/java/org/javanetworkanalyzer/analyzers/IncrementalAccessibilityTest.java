@@ -0,0 +1,180 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.javanetworkanalyzer.data.VAccess;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the addition and removal of destinations of an
+ * {@link AccessibilityAnalyzer} against a full analysis with the resulting
+ * destinations.
+ */
+public class IncrementalAccessibilityTest {
+
+    private static final double TOLERANCE = 1E-12;
+    private static final int SIZE = 8;
+
+    @Test
+    public void testUndirected() {
+        check(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class),
+              new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class));
+    }
+
+    @Test
+    public void testDirected() {
+        check(new DirectedWeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class),
+              new DirectedWeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotComputed() {
+        WeightedKeyedGraph<VAccess, EdgeCent> graph =
+                grid(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class));
+        new AccessibilityAnalyzer<EdgeCent>(graph, new HashSet<VAccess>())
+                .addDestination(graph.getVertex(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotADestination() {
+        WeightedKeyedGraph<VAccess, EdgeCent> graph =
+                grid(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class));
+        AccessibilityAnalyzer<EdgeCent> analyzer =
+                new AccessibilityAnalyzer<EdgeCent>(graph,
+                                                    destinations(graph, 3));
+        analyzer.compute();
+        analyzer.removeDestination(graph.getVertex(1));
+    }
+
+    /**
+     * Adds and removes destinations one at a time, comparing the closest
+     * destinations with those of a full analysis on the other graph.
+     */
+    private void check(WeightedKeyedGraph<VAccess, EdgeCent> graph,
+                       WeightedKeyedGraph<VAccess, EdgeCent> other) {
+        grid(graph);
+        final Set<VAccess> destinations = destinations(graph, 3);
+        final AccessibilityAnalyzer<EdgeCent> analyzer =
+                new AccessibilityAnalyzer<EdgeCent>(graph, destinations);
+        analyzer.compute();
+        final Random random = new Random(5L);
+        for (int step = 0; step < 30; step++) {
+            final VAccess v = graph.getVertex(1 + random.nextInt(SIZE * SIZE));
+            if (destinations.remove(v)) {
+                analyzer.removeDestination(v);
+            } else {
+                destinations.add(v);
+                analyzer.addDestination(v);
+            }
+            compare(graph, fullAnalysis(grid(other), destinations));
+        }
+        // Down to no destination at all.
+        for (VAccess v : destinations) {
+            analyzer.removeDestination(v);
+        }
+        for (VAccess v : graph.vertexSet()) {
+            assertEquals(-1, v.getClosestDestinationId());
+            assertEquals(Double.POSITIVE_INFINITY,
+                         v.getDistanceToClosestDestination(), 0.0);
+        }
+    }
+
+    private WeightedKeyedGraph<VAccess, EdgeCent> fullAnalysis(
+            WeightedKeyedGraph<VAccess, EdgeCent> graph,
+            Set<VAccess> destinations) {
+        final Set<VAccess> same = new HashSet<VAccess>();
+        for (VAccess v : destinations) {
+            same.add(graph.getVertex(v.getID()));
+        }
+        new AccessibilityAnalyzer<EdgeCent>(graph, same).compute();
+        return graph;
+    }
+
+    private void compare(WeightedKeyedGraph<VAccess, EdgeCent> graph,
+                         WeightedKeyedGraph<VAccess, EdgeCent> expected) {
+        for (VAccess v : expected.vertexSet()) {
+            final VAccess w = graph.getVertex(v.getID());
+            assertEquals(v.getClosestDestinationId(),
+                         w.getClosestDestinationId());
+            assertEquals(v.getDistanceToClosestDestination(),
+                         w.getDistanceToClosestDestination(), TOLERANCE);
+        }
+    }
+
+    private Set<VAccess> destinations(WeightedKeyedGraph<VAccess, ?> graph,
+                                      int step) {
+        Set<VAccess> destinations = new HashSet<VAccess>();
+        for (int id = 3; id <= SIZE * SIZE; id += 11 * step) {
+            destinations.add(graph.getVertex(id));
+        }
+        return destinations;
+    }
+
+    /**
+     * Adds a grid with random weights to the given graph, or clears the
+     * closest destinations of the grid already there.
+     */
+    private WeightedKeyedGraph<VAccess, EdgeCent> grid(
+            WeightedKeyedGraph<VAccess, EdgeCent> graph) {
+        if (graph.vertexSet().isEmpty()) {
+            return GridPrep.grid(graph, SIZE, 17L);
+        }
+        for (VAccess v : graph.vertexSet()) {
+            v.setClosestDestinationId(-1);
+            v.setDistanceToClosestDestination(Double.POSITIVE_INFINITY);
+        }
+        return graph;
+    }
+}
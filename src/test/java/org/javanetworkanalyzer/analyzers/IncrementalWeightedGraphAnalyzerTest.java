@@ -0,0 +1,224 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.javanetworkanalyzer.results.ResultSink;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link IncrementalWeightedGraphAnalyzer#update()} gives the same
+ * results as a new analysis of the modified graph.
+ */
+public class IncrementalWeightedGraphAnalyzerTest {
+
+    private static final int SIZE = 6;
+    private static final double TOLERANCE = 1E-10;
+
+    @Test
+    public void testUndirectedUpdate() throws Exception {
+        checkUpdate(false);
+    }
+
+    @Test
+    public void testDirectedUpdate() throws Exception {
+        checkUpdate(true);
+    }
+
+    @Test
+    public void testUnaffectedSources() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(false);
+        IncrementalWeightedGraphAnalyzer<EdgeCent> analyzer =
+                new IncrementalWeightedGraphAnalyzer<EdgeCent>(graph);
+        analyzer.computeAll();
+        double betweenness = graph.getVertex(8).getBetweenness();
+
+        // A very long edge is on no shortest path.
+        analyzer.addEdge(graph.getVertex(1), graph.getVertex(36), 1000.0);
+        assertEquals(0, analyzer.update());
+        EdgeCent edge = graph.getEdge(graph.getVertex(1), graph.getVertex(36));
+        assertNotNull(edge);
+        analyzer.removeEdge(edge);
+        assertEquals(0, analyzer.update());
+        assertEquals(betweenness, graph.getVertex(8).getBetweenness(),
+                     TOLERANCE);
+    }
+
+    @Test
+    public void testInsertedEdgeIDs() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(false);
+        IncrementalWeightedGraphAnalyzer<EdgeCent> analyzer =
+                new IncrementalWeightedGraphAnalyzer<EdgeCent>(graph);
+        analyzer.computeAll();
+        // The grid edges are numbered from 1.
+        final int last = graph.edgeSet().size();
+        analyzer.addEdge(graph.getVertex(1), graph.getVertex(8), 1.0);
+        analyzer.addEdge(graph.getVertex(2), graph.getVertex(9), 1.0);
+        analyzer.update();
+        assertEquals(last + 1, graph.getEdge(graph.getVertex(1),
+                                             graph.getVertex(8)).getID());
+        assertEquals(last + 2, graph.getEdge(graph.getVertex(2),
+                                             graph.getVertex(9)).getID());
+    }
+
+    @Test
+    public void testResultSinkOnlyReceivesNewCloseness() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(false);
+        IncrementalWeightedGraphAnalyzer<EdgeCent> analyzer =
+                new IncrementalWeightedGraphAnalyzer<EdgeCent>(graph);
+        analyzer.computeAll();
+        final Map<Integer, List<Double>> closeness =
+                new HashMap<Integer, List<Double>>();
+        analyzer.setResultSink(new ResultSink() {
+            @Override
+            public void closeness(int vertexId, double value) {
+                if (!closeness.containsKey(vertexId)) {
+                    closeness.put(vertexId, new ArrayList<Double>());
+                }
+                closeness.get(vertexId).add(value);
+            }
+
+            @Override
+            public void harmonicCloseness(int vertexId, double value) {
+            }
+
+            @Override
+            public void wassermanFaustCloseness(int vertexId, double value) {
+            }
+
+            @Override
+            public void betweenness(int vertexId, double betweenness) {
+            }
+
+            @Override
+            public void edgeBetweenness(int edgeId, double betweenness) {
+            }
+
+            @Override
+            public void nearestDestination(int vertexId, int destinationId,
+                                           double distance) {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        analyzer.setEdgeWeight(graph.edgeSet().iterator().next(), 0.5);
+        assertEquals(analyzer.update(), closeness.size());
+        for (Map.Entry<Integer, List<Double>> e : closeness.entrySet()) {
+            assertEquals(1, e.getValue().size());
+            assertEquals(graph.getVertex(e.getKey()).getCloseness(),
+                         e.getValue().get(0), TOLERANCE);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUpdateBeforeComputeAll() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(false);
+        IncrementalWeightedGraphAnalyzer<EdgeCent> analyzer =
+                new IncrementalWeightedGraphAnalyzer<EdgeCent>(graph);
+        analyzer.setEdgeWeight(graph.edgeSet().iterator().next(), 1.0);
+        analyzer.update();
+    }
+
+    private void checkUpdate(boolean directed) throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(directed);
+        IncrementalWeightedGraphAnalyzer<EdgeCent> analyzer =
+                new IncrementalWeightedGraphAnalyzer<EdgeCent>(graph);
+        analyzer.computeAll();
+
+        List<EdgeCent> edges = new ArrayList<EdgeCent>(graph.edgeSet());
+        analyzer.setEdgeWeight(edges.get(3), 0.5);
+        analyzer.setEdgeWeight(edges.get(17), 9.0);
+        analyzer.removeEdge(edges.get(25));
+        analyzer.addEdge(graph.getVertex(2), graph.getVertex(29), 3.0);
+        int updated = analyzer.update();
+        assertTrue(updated > 0);
+        assertTrue(updated <= graph.vertexSet().size());
+
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = grid(directed);
+        edges = new ArrayList<EdgeCent>(expected.edgeSet());
+        expected.setEdgeWeight(edges.get(3), 0.5);
+        expected.setEdgeWeight(edges.get(17), 9.0);
+        expected.removeEdge(edges.get(25));
+        expected.setEdgeWeight(expected.addEdge(
+                expected.getVertex(2), expected.getVertex(29)), 3.0);
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+
+        for (VWCent v : expected.vertexSet()) {
+            VWCent w = graph.getVertex(v.getID());
+            assertEquals(v.getBetweenness(), w.getBetweenness(), TOLERANCE);
+            assertEquals(v.getCloseness(), w.getCloseness(), TOLERANCE);
+        }
+        assertEquals(expected.edgeSet().size(), graph.edgeSet().size());
+        Iterator<EdgeCent> it = graph.edgeSet().iterator();
+        for (EdgeCent e : expected.edgeSet()) {
+            assertEquals(e.getBetweenness(), it.next().getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    /**
+     * Builds a {@link #SIZE} by {@link #SIZE} grid with random integer
+     * weights. In the directed case, each pair of neighbours is linked in
+     * both directions with different weights.
+     */
+    private WeightedKeyedGraph<VWCent, EdgeCent> grid(boolean directed)
+            throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = GridPrep.grid(directed
+                ? new DirectedWeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class)
+                : new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class), SIZE, directed);
+        GridPrep.integerWeights(graph, 4, 42L);
+        return graph;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.Edge;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.javanetworkanalyzer.results.IsochroneSink;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the catchment areas found by the {@link IsochroneAnalyzer} against
+ * the distances found by {@link Dijkstra}.
+ */
+public class IsochroneAnalyzerTest {
+
+    private static final int SIZE = 10;
+    private static final double[] THRESHOLDS = {6.0, 12.0, 18.0};
+
+    @Test
+    public void testUndirected() {
+        WeightedKeyedGraph<VDijkstra, Edge> graph =
+                grid(new WeightedPseudoG<VDijkstra, Edge>(
+                VDijkstra.class, Edge.class));
+        for (int parallelism = 1; parallelism <= 3; parallelism += 2) {
+            check(graph, parallelism);
+        }
+    }
+
+    @Test
+    public void testDirected() {
+        check(grid(new DirectedWeightedPseudoG<VDijkstra, Edge>(
+                VDijkstra.class, Edge.class)), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholds() {
+        new IsochroneAnalyzer<VDijkstra, Edge>(
+                grid(new WeightedPseudoG<VDijkstra, Edge>(
+                VDijkstra.class, Edge.class)), 2.0, 1.0);
+    }
+
+    @Test(expected = StackOverflowError.class)
+    public void testSinkError() {
+        WeightedKeyedGraph<VDijkstra, Edge> graph =
+                grid(new WeightedPseudoG<VDijkstra, Edge>(
+                VDijkstra.class, Edge.class));
+        IsochroneAnalyzer<VDijkstra, Edge> analyzer =
+                new IsochroneAnalyzer<VDijkstra, Edge>(graph, THRESHOLDS);
+        analyzer.setParallelism(2);
+        // An error of a worker thread reaches the caller as it is.
+        analyzer.compute(new ArrayList<VDijkstra>(graph.vertexSet()),
+                         new IsochroneSink() {
+            @Override
+            public void isochrone(int sourceId, int[] vertexIds,
+                                  int[] vertexBands, int[] edgeIds,
+                                  int[] edgeBands) {
+                throw new StackOverflowError();
+            }
+        });
+    }
+
+    private void check(WeightedKeyedGraph<VDijkstra, Edge> graph,
+                       int parallelism) {
+        final boolean directed = graph instanceof DirectedWeightedPseudoG;
+        final List<VDijkstra> sources = new ArrayList<VDijkstra>();
+        for (int id = 1; id <= SIZE * SIZE; id += 7) {
+            sources.add(graph.getVertex(id));
+        }
+        final Map<Integer, Map<Integer, Integer>> vertexBands =
+                new HashMap<Integer, Map<Integer, Integer>>();
+        final Map<Integer, Map<Integer, Integer>> edgeBands =
+                new HashMap<Integer, Map<Integer, Integer>>();
+        IsochroneAnalyzer<VDijkstra, Edge> analyzer =
+                new IsochroneAnalyzer<VDijkstra, Edge>(graph, THRESHOLDS);
+        analyzer.setParallelism(parallelism);
+        analyzer.compute(sources, new IsochroneSink() {
+            @Override
+            public void isochrone(int sourceId, int[] vertexIds,
+                                  int[] vertexBandArray, int[] edgeIds,
+                                  int[] edgeBandArray) {
+                assertFalse(vertexBands.containsKey(sourceId));
+                vertexBands.put(sourceId, toMap(vertexIds, vertexBandArray));
+                edgeBands.put(sourceId, toMap(edgeIds, edgeBandArray));
+                for (int i = 1; i < vertexBandArray.length; i++) {
+                    assertTrue(vertexBandArray[i - 1] <= vertexBandArray[i]);
+                }
+            }
+        });
+        assertEquals(sources.size(), vertexBands.size());
+
+        Dijkstra<VDijkstra, Edge> dijkstra =
+                new Dijkstra<VDijkstra, Edge>(graph);
+        for (VDijkstra source : sources) {
+            dijkstra.calculate(source);
+            final Map<Integer, Integer> expectedVertices =
+                    new HashMap<Integer, Integer>();
+            for (VDijkstra v : graph.vertexSet()) {
+                final int band = band(v.getDistance());
+                if (band >= 0) {
+                    expectedVertices.put(v.getID(), band);
+                }
+            }
+            assertEquals(expectedVertices, vertexBands.get(source.getID()));
+            final Map<Integer, Integer> expectedEdges =
+                    new HashMap<Integer, Integer>();
+            for (Edge e : graph.edgeSet()) {
+                final double u = graph.getEdgeSource(e).getDistance();
+                final double v = graph.getEdgeTarget(e).getDistance();
+                final double w = graph.getEdgeWeight(e);
+                final int band = band(directed ? u + w : (u + w + v) / 2);
+                if (band >= 0) {
+                    expectedEdges.put(e.getID(), band);
+                }
+            }
+            assertEquals(expectedEdges, edgeBands.get(source.getID()));
+        }
+    }
+
+    private Map<Integer, Integer> toMap(int[] ids, int[] bands) {
+        assertEquals(ids.length, bands.length);
+        final Map<Integer, Integer> map = new HashMap<Integer, Integer>();
+        for (int i = 0; i < ids.length; i++) {
+            assertNull(map.put(ids[i], bands[i]));
+        }
+        return map;
+    }
+
+    private int band(double distance) {
+        for (int b = 0; b < THRESHOLDS.length; b++) {
+            if (distance <= THRESHOLDS[b]) {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a two-way grid with integer weights, a loop and a
+     * parallel edge to the given graph.
+     */
+    private WeightedKeyedGraph<VDijkstra, Edge> grid(
+            WeightedKeyedGraph<VDijkstra, Edge> graph) {
+        GridPrep.grid(graph, SIZE, true);
+        final int id = graph.edgeSet().size() + 1;
+        graph.addEdge(12, 12, id);
+        graph.addEdge(12, 13, id + 1);
+        GridPrep.integerWeights(graph, 4, 7L);
+        return graph;
+    }
+}
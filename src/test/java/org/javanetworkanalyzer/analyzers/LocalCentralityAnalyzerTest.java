@@ -0,0 +1,247 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.Iterator;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link LocalCentralityAnalyzer} against
+ * {@link WeightedGraphAnalyzer#computeAll()} with an infinite radius and
+ * against an exhaustive count of the shortest paths with a finite one.
+ */
+public class LocalCentralityAnalyzerTest {
+
+    private static final double TOLERANCE = 1E-10;
+    private static final int SIZE = 5;
+
+    @Test
+    public void testInfiniteRadius() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = grid(false);
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        for (int parallelism = 1; parallelism <= 3; parallelism += 2) {
+            WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(false);
+            LocalCentralityAnalyzer<EdgeCent> analyzer =
+                    new LocalCentralityAnalyzer<EdgeCent>(
+                    graph, Double.POSITIVE_INFINITY);
+            analyzer.setParallelism(parallelism);
+            analyzer.computeAll();
+            check(expected, graph);
+        }
+    }
+
+    @Test
+    public void testDirectedInfiniteRadius() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = grid(true);
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(true);
+        new LocalCentralityAnalyzer<EdgeCent>(graph, Double.POSITIVE_INFINITY)
+                .computeAll();
+        check(expected, graph);
+    }
+
+    @Test
+    public void testRadius() throws Exception {
+        final double radius = 4.0;
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = grid(false);
+        // Remove the parallel edge and the loop so that the paths can be
+        // counted between vertices.
+        graph.removeEdge(graph.getEdge(graph.getVertex(1),
+                                       graph.getVertex(1)));
+        graph.removeEdge(graph.getEdge(graph.getVertex(7),
+                                       graph.getVertex(8)));
+        LocalCentralityAnalyzer<EdgeCent> analyzer =
+                new LocalCentralityAnalyzer<EdgeCent>(graph, radius);
+        analyzer.setParallelism(2);
+        analyzer.computeAll();
+
+        final int n = SIZE * SIZE;
+        final double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                dist[i][j] = (i == j) ? 0.0 : Double.POSITIVE_INFINITY;
+            }
+        }
+        for (EdgeCent e : graph.edgeSet()) {
+            final int a = graph.getEdgeSource(e).getID() - 1;
+            final int b = graph.getEdgeTarget(e).getID() - 1;
+            dist[a][b] = Math.min(dist[a][b], graph.getEdgeWeight(e));
+            dist[b][a] = dist[a][b];
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    dist[i][j] = Math.min(dist[i][j],
+                                          dist[i][k] + dist[k][j]);
+                }
+            }
+        }
+        // Number of shortest paths, counted by increasing distance.
+        final double[][] sigma = new double[n][n];
+        for (int s = 0; s < n; s++) {
+            sigma[s][s] = 1;
+            for (double d = 1; d <= radius * SIZE; d++) {
+                for (EdgeCent e : graph.edgeSet()) {
+                    final int a = graph.getEdgeSource(e).getID() - 1;
+                    final int b = graph.getEdgeTarget(e).getID() - 1;
+                    final double w = graph.getEdgeWeight(e);
+                    if (dist[s][b] == d && dist[s][a] + w == d) {
+                        sigma[s][b] += sigma[s][a];
+                    }
+                    if (dist[s][a] == d && dist[s][b] + w == d) {
+                        sigma[s][a] += sigma[s][b];
+                    }
+                }
+            }
+        }
+
+        final double[] betweenness = new double[n];
+        final double[] harmonic = new double[n];
+        for (int s = 0; s < n; s++) {
+            for (int t = 0; t < n; t++) {
+                if (s == t || dist[s][t] > radius) {
+                    continue;
+                }
+                harmonic[s] += 1 / dist[s][t] / (n - 1);
+                for (int v = 0; v < n; v++) {
+                    if (v != s && v != t
+                        && dist[s][v] + dist[v][t] == dist[s][t]) {
+                        betweenness[v] +=
+                                sigma[s][v] * sigma[v][t] / sigma[s][t];
+                    }
+                }
+            }
+        }
+        normalize(betweenness);
+        for (VWCent v : graph.vertexSet()) {
+            assertEquals(betweenness[v.getID() - 1], v.getBetweenness(),
+                         TOLERANCE);
+            assertEquals(harmonic[v.getID() - 1], v.getHarmonicCloseness(),
+                         TOLERANCE);
+            assertEquals(0.0, v.getCloseness(), 0.0);
+        }
+
+        final EdgeCent[] edges = graph.edgeSet().toArray(new EdgeCent[0]);
+        final double[] edgeBetweenness = new double[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            final int a = graph.getEdgeSource(edges[i]).getID() - 1;
+            final int b = graph.getEdgeTarget(edges[i]).getID() - 1;
+            final double w = graph.getEdgeWeight(edges[i]);
+            for (int s = 0; s < n; s++) {
+                for (int t = 0; t < n; t++) {
+                    if (dist[s][t] > radius) {
+                        continue;
+                    }
+                    if (dist[s][a] + w + dist[b][t] == dist[s][t]) {
+                        edgeBetweenness[i] +=
+                                sigma[s][a] * sigma[b][t] / sigma[s][t];
+                    }
+                    if (dist[s][b] + w + dist[a][t] == dist[s][t]) {
+                        edgeBetweenness[i] +=
+                                sigma[s][b] * sigma[a][t] / sigma[s][t];
+                    }
+                }
+            }
+        }
+        normalize(edgeBetweenness);
+        for (int i = 0; i < edges.length; i++) {
+            assertEquals(edgeBetweenness[i], edges[i].getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeRadius() {
+        new LocalCentralityAnalyzer<EdgeCent>(grid(false), -1.0);
+    }
+
+    private void normalize(double[] values) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (values[i] - min) / (max - min);
+        }
+    }
+
+    private void check(WeightedKeyedGraph<VWCent, EdgeCent> expected,
+                       WeightedKeyedGraph<VWCent, EdgeCent> actual) {
+        for (VWCent v : expected.vertexSet()) {
+            VWCent w = actual.getVertex(v.getID());
+            assertEquals(v.getBetweenness(), w.getBetweenness(), TOLERANCE);
+            assertEquals(v.getCloseness(), w.getCloseness(), TOLERANCE);
+            assertEquals(v.getHarmonicCloseness(), w.getHarmonicCloseness(),
+                         TOLERANCE);
+            assertEquals(v.getWassermanFaustCloseness(),
+                         w.getWassermanFaustCloseness(), TOLERANCE);
+        }
+        Iterator<EdgeCent> it = actual.edgeSet().iterator();
+        for (EdgeCent e : expected.edgeSet()) {
+            assertEquals(e.getBetweenness(), it.next().getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    /**
+     * Returns a grid with integer weights, a loop and a parallel edge.
+     */
+    private WeightedKeyedGraph<VWCent, EdgeCent> grid(boolean directed) {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = GridPrep.grid(directed
+                ? new DirectedWeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class)
+                : new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class), SIZE, false);
+        final int id = graph.edgeSet().size() + 1;
+        graph.addEdge(1, 1, id);
+        graph.addEdge(7, 8, id + 1);
+        GridPrep.integerWeights(graph, 3, 5L);
+        return graph;
+    }
+}
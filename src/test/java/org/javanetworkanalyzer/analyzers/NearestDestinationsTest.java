@@ -0,0 +1,129 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.data.VAccess;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedWeightedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the k nearest destinations found by
+ * {@link AccessibilityAnalyzer#computeNearest(int)} against a search from
+ * every vertex.
+ */
+public class NearestDestinationsTest {
+
+    private static final double TOLERANCE = 1E-12;
+    private static final int SIZE = 8;
+    private static final int K = 3;
+
+    @Test
+    public void testUndirected() {
+        check(GridPrep.grid(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), SIZE, 23L));
+    }
+
+    @Test
+    public void testDirected() {
+        check(GridPrep.grid(new DirectedWeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), SIZE, 23L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveK() {
+        WeightedKeyedGraph<VAccess, EdgeCent> graph =
+                GridPrep.grid(new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), SIZE, 23L);
+        new AccessibilityAnalyzer<EdgeCent>(graph, destinations(graph))
+                .computeNearest(0);
+    }
+
+    private void check(WeightedKeyedGraph<VAccess, EdgeCent> graph) {
+        final Set<VAccess> destinations = destinations(graph);
+        new AccessibilityAnalyzer<EdgeCent>(graph, destinations)
+                .computeNearest(K);
+        Dijkstra<VAccess, EdgeCent> dijkstra =
+                new Dijkstra<VAccess, EdgeCent>(graph);
+        for (VAccess v : graph.vertexSet()) {
+            dijkstra.calculate(v);
+            final List<Double> distances = new ArrayList<Double>();
+            for (VAccess dest : destinations) {
+                if (dest.getDistance() < Double.POSITIVE_INFINITY) {
+                    distances.add(dest.getDistance());
+                }
+            }
+            Collections.sort(distances);
+            final int count = Math.min(K, distances.size());
+            assertEquals(count, v.getNearestDestinationCount());
+            for (int i = 0; i < count; i++) {
+                assertEquals(distances.get(i),
+                             v.getNearestDestinationDistance(i), TOLERANCE);
+                assertEquals(distances.get(i), graph.getVertex(
+                        v.getNearestDestinationId(i)).getDistance(),
+                             TOLERANCE);
+            }
+            if (count > 0) {
+                assertEquals(v.getNearestDestinationId(0),
+                             v.getClosestDestinationId());
+                assertEquals(distances.get(0),
+                             v.getDistanceToClosestDestination(), TOLERANCE);
+            }
+        }
+    }
+
+    private Set<VAccess> destinations(WeightedKeyedGraph<VAccess, ?> graph) {
+        Set<VAccess> destinations = new HashSet<VAccess>();
+        for (int id = 3; id <= SIZE * SIZE; id += 9) {
+            destinations.add(graph.getVertex(id));
+        }
+        return destinations;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GraphCreator;
+import org.javanetworkanalyzer.graphcreators.WeightedGraphCreator;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that centrality computed on partitions of the sources in concurrent
+ * threads and then merged matches a single {@link GraphAnalyzer#computeAll()}.
+ */
+public class PartitionedCentralityTest {
+
+    private static final String FILENAME = "./files/graph2D.edges.csv";
+    private static final double TOLERANCE = 1E-10;
+    private static final int PARTS = 3;
+
+    @Test
+    public void testModuloPartitions() throws Exception {
+        List<SourcePartition> partitions = new ArrayList<SourcePartition>();
+        for (int i = 0; i < PARTS; i++) {
+            partitions.add(SourcePartition.modulo(PARTS, i));
+        }
+        check(partitions);
+    }
+
+    @Test
+    public void testRangePartitions() throws Exception {
+        int n = load().vertexSet().size();
+        List<SourcePartition> partitions = new ArrayList<SourcePartition>();
+        partitions.add(SourcePartition.range(0, n / 3));
+        partitions.add(SourcePartition.range(n / 3, n / 2));
+        partitions.add(SourcePartition.range(n / 2, n));
+        check(partitions);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOverlappingPartitions() throws Exception {
+        File first = partial(SourcePartition.range(0, 5));
+        File second = partial(SourcePartition.range(4, 8));
+        new WeightedGraphAnalyzer<EdgeCent>(load())
+                .mergePartials(first, second);
+    }
+
+    private void check(List<SourcePartition> partitions) throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = load();
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+
+        final File[] files = new File[partitions.size()];
+        final Exception[] errors = new Exception[partitions.size()];
+        Thread[] threads = new Thread[partitions.size()];
+        for (int i = 0; i < threads.length; i++) {
+            final int part = i;
+            final SourcePartition partition = partitions.get(i);
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        files[part] = partial(partition);
+                    } catch (Exception e) {
+                        errors[part] = e;
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+            if (errors[i] != null) {
+                throw errors[i];
+            }
+        }
+
+        WeightedKeyedGraph<VWCent, EdgeCent> merged = load();
+        new WeightedGraphAnalyzer<EdgeCent>(merged).mergePartials(files);
+
+        for (VWCent v : expected.vertexSet()) {
+            VWCent w = merged.getVertex(v.getID());
+            assertEquals(v.getBetweenness(), w.getBetweenness(), TOLERANCE);
+            assertEquals(v.getCloseness(), w.getCloseness(), TOLERANCE);
+        }
+        Iterator<EdgeCent> it = merged.edgeSet().iterator();
+        for (EdgeCent e : expected.edgeSet()) {
+            assertEquals(e.getBetweenness(), it.next().getBetweenness(),
+                         TOLERANCE);
+        }
+    }
+
+    private File partial(SourcePartition partition) throws Exception {
+        File file = File.createTempFile("centrality", ".part");
+        file.deleteOnExit();
+        new WeightedGraphAnalyzer<EdgeCent>(load())
+                .computePartial(partition, file);
+        return file;
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> load() throws Exception {
+        return new WeightedGraphCreator<VWCent, EdgeCent>(
+                FILENAME, GraphCreator.UNDIRECTED, VWCent.class,
+                EdgeCent.class, "length").loadGraph();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.analyzers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.javanetworkanalyzer.data.VCent;
+import org.javanetworkanalyzer.data.VUCent;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GridPrep;
+import org.javanetworkanalyzer.model.DirectedPseudoG;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.PseudoG;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link GraphAnalyzer#computeTopKCloseness(int)} finds the same
+ * closeness values as {@link GraphAnalyzer#computeAll()} while cutting some
+ * of the searches.
+ */
+public class TopKClosenessTest {
+
+    private static final double TOLERANCE = 1E-12;
+    private static final int SIZE = 8;
+
+    @Test
+    public void testWeighted() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> expected = weightedGrid();
+        new WeightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = weightedGrid();
+        for (int k = 1; k <= 5; k += 2) {
+            check(expected, graph, new WeightedGraphAnalyzer<EdgeCent>(graph)
+                    .computeTopKCloseness(k), k);
+        }
+    }
+
+    @Test
+    public void testUnweighted() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected =
+                GridPrep.grid(new PseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class), SIZE, false);
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph =
+                GridPrep.grid(new PseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class), SIZE, false);
+        for (int k = 1; k <= 5; k += 2) {
+            check(expected, graph, new UnweightedGraphAnalyzer<EdgeCent>(graph)
+                    .computeTopKCloseness(k), k);
+        }
+    }
+
+    @Test
+    public void testDirected() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> expected =
+                GridPrep.grid(new DirectedPseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class), SIZE, false);
+        expected.addEdge(1, SIZE * SIZE, 0);
+        new UnweightedGraphAnalyzer<EdgeCent>(expected).computeAll();
+        KeyedGraph<VUCent, EdgeCent> graph =
+                GridPrep.grid(new DirectedPseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class), SIZE, false);
+        graph.addEdge(1, SIZE * SIZE, 0);
+        List<VUCent> top = new UnweightedGraphAnalyzer<EdgeCent>(graph)
+                .computeTopKCloseness(3);
+        // Only vertex 1 reaches all the others.
+        assertEquals(1, top.size());
+        assertEquals(1, top.get(0).getID());
+        assertEquals(expected.getVertex(1).getCloseness(),
+                     top.get(0).getCloseness(), TOLERANCE);
+    }
+
+    @Test
+    public void testDisconnected() throws Exception {
+        KeyedGraph<VUCent, EdgeCent> graph =
+                GridPrep.grid(new PseudoG<VUCent, EdgeCent>(
+                VUCent.class, EdgeCent.class), SIZE, false);
+        graph.addVertex(0);
+        assertTrue(new UnweightedGraphAnalyzer<EdgeCent>(graph)
+                .computeTopKCloseness(2).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveK() throws Exception {
+        new WeightedGraphAnalyzer<EdgeCent>(weightedGrid())
+                .computeTopKCloseness(0);
+    }
+
+    private <V extends VCent> void check(KeyedGraph<V, EdgeCent> expected,
+                                         KeyedGraph<V, EdgeCent> graph,
+                                         List<V> top, int k) {
+        List<Double> closeness = new ArrayList<Double>();
+        for (V v : expected.vertexSet()) {
+            closeness.add(v.getCloseness());
+        }
+        Collections.sort(closeness, Collections.reverseOrder());
+        assertEquals(k, top.size());
+        for (int i = 0; i < k; i++) {
+            assertEquals(closeness.get(i), top.get(i).getCloseness(),
+                         TOLERANCE);
+            assertEquals(expected.getVertex(top.get(i).getID()).getCloseness(),
+                         top.get(i).getCloseness(), TOLERANCE);
+        }
+        // The searches from the vertices on the border of the grid are cut,
+        // leaving their closeness unset.
+        int searched = 0;
+        for (V v : graph.vertexSet()) {
+            if (v.getCloseness() > 0.0) {
+                searched++;
+            }
+        }
+        assertTrue(searched < graph.vertexSet().size());
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> weightedGrid() {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph =
+                GridPrep.grid(new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class), SIZE, false);
+        GridPrep.randomWeights(graph, 3L);
+        return graph;
+    }
+}
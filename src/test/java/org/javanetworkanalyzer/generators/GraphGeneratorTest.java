@@ -0,0 +1,201 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.generators;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.javanetworkanalyzer.alg.DFSForStrahler;
+import org.javanetworkanalyzer.data.VStrahler;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GraphCreator;
+import org.javanetworkanalyzer.graphcreators.WeightedGraphCreator;
+import org.javanetworkanalyzer.model.Edge;
+import org.javanetworkanalyzer.model.StrahlerTree;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the synthetic graph generators.
+ */
+public class GraphGeneratorTest {
+
+    private static final double TOLERANCE = 1E-9;
+
+    @Test
+    public void testGrid() throws Exception {
+        GridGraphGenerator generator = new GridGraphGenerator(5, 7, 1L);
+        List<double[]> edges = collect(generator);
+        assertEquals(5 * 6 + 4 * 7, edges.size());
+        assertEquals(edges.size(), collect(new GridGraphGenerator(5, 7, 1L))
+                .size());
+        assertSameEdges(edges, collect(new GridGraphGenerator(5, 7, 1L)));
+        for (double[] e : edges) {
+            // Displaced by at most 20% of the spacing along each axis.
+            assertTrue(e[3] > 60.0 - TOLERANCE);
+            assertTrue(e[3] < Math.sqrt(140.0 * 140.0 + 40.0 * 40.0));
+        }
+        assertFalse(generator.getX(9) == new GridGraphGenerator(5, 7, 2L)
+                .getX(9));
+
+        List<double[]> sparse = collect(
+                new GridGraphGenerator(20, 20, 100.0, 0.5, 1L));
+        assertTrue(sparse.size() > 300 && sparse.size() < 460);
+    }
+
+    @Test
+    public void testGridCSV() throws Exception {
+        GridGraphGenerator generator = new GridGraphGenerator(4, 6, 3L);
+        File file = File.createTempFile("grid", ".edges.csv");
+        file.deleteOnExit();
+        generator.writeCSV(file);
+        WeightedKeyedGraph<VWCent, Edge> loaded =
+                new WeightedGraphCreator<VWCent, Edge>(
+                file.getPath(), GraphCreator.UNDIRECTED, VWCent.class,
+                Edge.class, "length").loadGraph();
+
+        WeightedKeyedGraph<VWCent, Edge> generated =
+                new WeightedPseudoG<VWCent, Edge>(VWCent.class, Edge.class);
+        generator.generate(generated);
+        assertEquals(24, loaded.vertexSet().size());
+        assertEquals(generated.vertexSet().size(), loaded.vertexSet().size());
+        assertEquals(generated.edgeSet().size(), loaded.edgeSet().size());
+        for (Edge e : generated.edgeSet()) {
+            Edge f = loaded.getEdge(
+                    loaded.getVertex(generated.getEdgeSource(e).getID()),
+                    loaded.getVertex(generated.getEdgeTarget(e).getID()));
+            assertEquals(generated.getEdgeWeight(e), loaded.getEdgeWeight(f),
+                         TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testBarabasiAlbert() throws Exception {
+        List<double[]> edges = collect(new BarabasiAlbertGenerator(2000, 2, 5L));
+        assertEquals(2 * 1999, edges.size());
+        assertSameEdges(edges, collect(new BarabasiAlbertGenerator(2000, 2, 5L)));
+        int[] degree = new int[2001];
+        for (double[] e : edges) {
+            // Each edge links a new vertex to an earlier one.
+            assertTrue(e[2] < e[1]);
+            degree[(int) e[1]]++;
+            degree[(int) e[2]]++;
+        }
+        int max = 0;
+        for (int d : degree) {
+            max = Math.max(max, d);
+        }
+        // Preferential attachment produces hubs far above the mean degree 4.
+        assertTrue(max > 40);
+    }
+
+    @Test
+    public void testErdosRenyi() throws Exception {
+        List<double[]> edges = collect(
+                ErdosRenyiGenerator.withAverageDegree(2000, 4.0, 7L));
+        // 4000 edges are expected, with a standard deviation of about 63.
+        assertTrue(edges.size() > 3600 && edges.size() < 4400);
+        Set<Long> pairs = new HashSet<Long>();
+        for (double[] e : edges) {
+            assertTrue(e[2] < e[1]);
+            assertTrue(e[1] <= 2000 && e[2] >= 1);
+            assertTrue(pairs.add((long) e[1] * 4096 + (long) e[2]));
+        }
+    }
+
+    @Test
+    public void testBinary() throws Exception {
+        GraphGenerator generator = new BarabasiAlbertGenerator(500, 3, 11L);
+        File file = File.createTempFile("barabasi", ".edges");
+        file.deleteOnExit();
+        generator.writeBinary(file);
+        final List<double[]> read = new ArrayList<double[]>();
+        assertEquals(3 * 499, BinaryEdgeReader.read(file, collector(read)));
+        assertSameEdges(collect(generator), read);
+    }
+
+    @Test
+    public void testRiverTree() throws Exception {
+        StrahlerTree<Edge> tree =
+                new RiverTreeGenerator(1001, 13L).generateTree(Edge.class);
+        assertEquals(1001, tree.vertexSet().size());
+        assertEquals(1000, tree.edgeSet().size());
+        // At most two children, plus the parent except for the root.
+        for (VStrahler v : tree.vertexSet()) {
+            assertTrue(tree.degreeOf(v)
+                    <= (v == tree.getRootVertex() ? 2 : 3));
+        }
+        new DFSForStrahler<Edge>(tree).calculate(tree.getRootVertex());
+        assertTrue(tree.getRootVertex().getStrahlerNumber() >= 3);
+    }
+
+    private static List<double[]> collect(GraphGenerator generator)
+            throws Exception {
+        List<double[]> edges = new ArrayList<double[]>();
+        generator.generate(collector(edges));
+        return edges;
+    }
+
+    private static EdgeSink collector(final List<double[]> edges) {
+        return new EdgeSink() {
+            @Override
+            public void addEdge(int id, int source, int target, double weight) {
+                assertEquals(edges.size() + 1, id);
+                edges.add(new double[]{id, source, target, weight});
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static void assertSameEdges(List<double[]> expected,
+                                        List<double[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i), 0.0);
+        }
+    }
+}
@@ -45,8 +45,14 @@ import org.javanetworkanalyzer.data.VWCent;
 import org.javanetworkanalyzer.model.Edge;
 import org.javanetworkanalyzer.model.KeyedGraph;
 import org.javanetworkanalyzer.model.UndirectedG;
+import org.javanetworkanalyzer.model.VertexFactory;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
 import java.io.FileNotFoundException;
+import java.util.HashSet;
+import java.util.Set;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -105,6 +111,54 @@ public class Graph2DGraphCreatorTest {
                 load2DGraph(true, GraphCreator.UNDIRECTED);
     }
 
+    @Test
+    public void weightedUndirectedWithVertexFactory()
+            throws FileNotFoundException, NoSuchMethodException {
+        WeightedKeyedGraph<VWCent, Edge> graph =
+                new WeightedGraphCreator<VWCent, Edge>(
+                FILENAME,
+                GraphCreator.UNDIRECTED,
+                new VertexFactory<VWCent>() {
+                    @Override
+                    public VWCent createVertex(int id) {
+                        return new VWCent(id);
+                    }
+                },
+                Edge.class,
+                WEIGHT).loadGraph();
+        KeyedGraph<? extends VCent, Edge> reference =
+                load2DGraph(true, GraphCreator.UNDIRECTED);
+        assertEquals(reference.vertexSet().size(), graph.vertexSet().size());
+        assertEquals(reference.edgeSet().size(), graph.edgeSet().size());
+    }
+
+    @Test
+    public void edgesAreNumberedByRow() throws FileNotFoundException,
+            NoSuchMethodException {
+        KeyedGraph<? extends VCent, Edge> graph =
+                load2DGraph(true, GraphCreator.UNDIRECTED);
+        Set<Integer> ids = new HashSet<Integer>();
+        for (Edge e : graph.edgeSet()) {
+            assertTrue(e.getID() >= 1 && e.getID() <= graph.edgeSet().size());
+            assertTrue(ids.add(e.getID()));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void vertexFactoryFailureIsReported()
+            throws FileNotFoundException, NoSuchMethodException {
+        new GraphCreator<VUCent, Edge>(
+                FILENAME,
+                GraphCreator.DIRECTED,
+                new VertexFactory<VUCent>() {
+                    @Override
+                    public VUCent createVertex(int id) {
+                        return null;
+                    }
+                },
+                Edge.class).loadGraph();
+    }
+
     /**
      * Loads the 2D graph according to whether it is to be considered weighted
      * and according to the given orientation.
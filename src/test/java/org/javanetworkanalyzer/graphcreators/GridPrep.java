@@ -0,0 +1,148 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.graphcreators;
+
+import java.util.Random;
+import org.javanetworkanalyzer.model.EdgeID;
+import org.javanetworkanalyzer.model.KeyedGraph;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+
+/**
+ * Square grids shared by the tests of the analyzers and of the dynamic
+ * algorithms.
+ *
+ * The vertices of a grid are numbered from 1 row by row and its edges from 1
+ * in the order they are added: each vertex links to its right neighbour,
+ * then to its neighbour below.
+ */
+public final class GridPrep {
+
+    private GridPrep() {
+    }
+
+    /**
+     * Adds a {@code size} by {@code size} grid to the given graph.
+     *
+     * @param graph  Graph
+     * @param size   Number of rows and columns
+     * @param twoWay Whether each link is also added backwards, which on a
+     *               directed graph makes every neighbour reachable
+     * @param <G>    Graph type
+     * @return The given graph
+     */
+    public static <G extends KeyedGraph<?, ?>> G grid(G graph, int size,
+                                                       boolean twoWay) {
+        int id = 1;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                final int v = 1 + size * r + c;
+                if (c < size - 1) {
+                    graph.addEdge(v, v + 1, id++);
+                    if (twoWay) {
+                        graph.addEdge(v + 1, v, id++);
+                    }
+                }
+                if (r < size - 1) {
+                    graph.addEdge(v, v + size, id++);
+                    if (twoWay) {
+                        graph.addEdge(v + size, v, id++);
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Adds a two-way {@code size} by {@code size} grid to the given graph and
+     * gives its edges random weights between 0.5 and 1.5.
+     *
+     * @param graph Graph
+     * @param size  Number of rows and columns
+     * @param seed  Seed of the weights
+     * @param <G>   Graph type
+     * @return The given graph
+     */
+    public static <G extends WeightedKeyedGraph<?, ?>> G grid(G graph,
+                                                               int size,
+                                                               long seed) {
+        grid(graph, size, true);
+        randomWeights(graph, seed);
+        return graph;
+    }
+
+    /**
+     * Gives the edges of the given graph random weights between 0.5 and 1.5.
+     *
+     * @param graph Graph
+     * @param seed  Seed of the weights
+     */
+    public static void randomWeights(WeightedKeyedGraph<?, ?> graph,
+                                     long seed) {
+        weigh(graph, 0, seed);
+    }
+
+    /**
+     * Gives the edges of the given graph random integer weights from 1 to
+     * {@code max}, so that there are many multiple shortest paths.
+     *
+     * @param graph Graph
+     * @param max   Largest weight
+     * @param seed  Seed of the weights
+     */
+    public static void integerWeights(WeightedKeyedGraph<?, ?> graph,
+                                      int max, long seed) {
+        weigh(graph, max, seed);
+    }
+
+    /**
+     * Gives random integer weights from 1 to {@code max}, or real ones
+     * between 0.5 and 1.5 if {@code max} is 0.
+     */
+    private static <E extends EdgeID> void weigh(
+            WeightedKeyedGraph<?, E> graph, int max, long seed) {
+        final Random random = new Random(seed);
+        for (E e : graph.edgeSet()) {
+            graph.setEdgeWeight(e, max == 0
+                    ? 0.5 + random.nextDouble()
+                    : 1 + random.nextInt(max));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.management.ObjectName;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.analyzers.WeightedGraphAnalyzer;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GraphCreator;
+import org.javanetworkanalyzer.graphcreators.WeightedGraphCreator;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link AnalysisMetrics} recorded by the analyzers and graph
+ * creators.
+ */
+public class AnalysisMetricsTest {
+
+    private static final String FILENAME = "./files/graph2D.edges.csv";
+
+    @Test
+    public void testCentralityMetrics() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = load();
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        RecordingListener listener = new RecordingListener();
+        metrics.addListener(listener);
+        metrics.setEnabled(true);
+
+        WeightedGraphAnalyzer<EdgeCent> analyzer =
+                new WeightedGraphAnalyzer<EdgeCent>(graph);
+        analyzer.setMetrics(metrics);
+        analyzer.computeAll();
+
+        int n = graph.vertexSet().size();
+        assertEquals(n, metrics.getSourceCount());
+        assertEquals(n, listener.sources.size());
+        long settled = 0;
+        long total = 0;
+        for (SourceMetrics source : listener.sources) {
+            assertEquals("centrality", source.getAnalysis());
+            // The graph is connected.
+            assertEquals(n, source.getSettledCount());
+            assertTrue(source.getRelaxedCount() >= n - 1);
+            assertTrue(source.getQueueOperationCount() >= 2 * n);
+            assertTrue(source.getSPTSize() >= n - 1);
+            settled += source.getSettledCount();
+            total += source.getNanos();
+        }
+        assertEquals(settled, metrics.getSettledCount());
+        assertTrue(metrics.getMaxSearchMicros() * 1000 <= total);
+        assertTrue(graph.getVertex(metrics.getSlowestSourceId()) != null);
+        long histogram = 0;
+        for (long count : metrics.getSearchTimeHistogram()) {
+            histogram += count;
+        }
+        assertEquals(n, histogram);
+
+        metrics.reset();
+        assertEquals(0, metrics.getSourceCount());
+        assertEquals(0, metrics.getSettledCount());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        RecordingListener listener = new RecordingListener();
+        metrics.addListener(listener);
+        assertFalse(metrics.isEnabled());
+
+        WeightedGraphAnalyzer<EdgeCent> analyzer =
+                new WeightedGraphAnalyzer<EdgeCent>(load());
+        analyzer.setMetrics(metrics);
+        analyzer.computeAll();
+
+        assertEquals(0, metrics.getSourceCount());
+        assertTrue(listener.sources.isEmpty());
+    }
+
+    @Test
+    public void testOperationCounting() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = load();
+        Dijkstra<VWCent, EdgeCent> dijkstra =
+                new Dijkstra<VWCent, EdgeCent>(graph);
+        VWCent source = graph.vertexSet().iterator().next();
+        dijkstra.calculate(source);
+        assertEquals(0, dijkstra.getSettledCount());
+        assertEquals(0, dijkstra.getRelaxedCount());
+        assertEquals(0, dijkstra.getQueueOperationCount());
+        dijkstra.setOperationCounting(true);
+        dijkstra.calculate(source);
+        assertEquals(graph.vertexSet().size(), dijkstra.getSettledCount());
+        assertTrue(dijkstra.getRelaxedCount() > 0);
+        assertTrue(dijkstra.getQueueOperationCount() > 0);
+    }
+
+    @Test
+    public void testGraphLoaded() throws Exception {
+        AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+        RecordingListener listener = new RecordingListener();
+        metrics.addListener(listener);
+        metrics.setEnabled(true);
+        try {
+            long before = metrics.getGraphLoadCount();
+            WeightedKeyedGraph<VWCent, EdgeCent> graph = load();
+            assertEquals(before + 1, metrics.getGraphLoadCount());
+            assertEquals(1, listener.loads.size());
+            assertEquals(graph.vertexSet().size(),
+                         listener.loads.get(0).intValue());
+        } finally {
+            metrics.setEnabled(false);
+            metrics.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        ObjectName name = AnalysisMetrics.registerMBean();
+        // Registering twice is harmless.
+        assertEquals(name, AnalysisMetrics.registerMBean());
+        assertEquals(Boolean.FALSE, ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(name, "Enabled"));
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> load() throws Exception {
+        return new WeightedGraphCreator<VWCent, EdgeCent>(
+                FILENAME, GraphCreator.UNDIRECTED, VWCent.class,
+                EdgeCent.class, "length").loadGraph();
+    }
+
+    private static class RecordingListener implements MetricsListener {
+
+        private final List<SourceMetrics> sources = Collections
+                .synchronizedList(new ArrayList<SourceMetrics>());
+        private final List<Integer> loads = Collections
+                .synchronizedList(new ArrayList<Integer>());
+
+        @Override
+        public void sourceProcessed(SourceMetrics metrics) {
+            sources.add(metrics);
+        }
+
+        @Override
+        public void graphLoaded(int vertexCount, int edgeCount, long nanos) {
+            loads.add(vertexCount);
+        }
+    }
+}
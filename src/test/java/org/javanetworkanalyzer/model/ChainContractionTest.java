@@ -0,0 +1,261 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.model;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.javanetworkanalyzer.alg.Dijkstra;
+import org.javanetworkanalyzer.analyzers.AccessibilityAnalyzer;
+import org.javanetworkanalyzer.data.VAccess;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that searches and accessibility analysis on the graph contracted by
+ * {@link ChainContraction} give the same distances as on the original graph.
+ */
+public class ChainContractionTest {
+
+    private static final double TOLERANCE = 1E-10;
+    private static final int SIZE = 5;
+
+    @Test
+    public void testContraction() {
+        WeightedPseudoG<VAccess, EdgeCent> graph = graph();
+        ChainContraction<VAccess, EdgeCent> contraction =
+                new ChainContraction<VAccess, EdgeCent>(
+                graph, new HashSet<VAccess>());
+        WeightedKeyedGraph<VAccess, EdgeCent> contracted =
+                contraction.getContractedGraph();
+        // The grid but two of its corners, and a vertex of the ring.
+        assertEquals(SIZE * SIZE - 1, contracted.vertexSet().size());
+        assertNotNull(contraction.getChainOf(graph.getVertex(SIZE * SIZE)));
+        assertNull(contraction.getChainOf(graph.getVertex(1)));
+        assertNotNull(contraction.getChainOf(graph.getVertex(1001)));
+        assertSame(graph.getVertex(1), contracted.getVertex(1));
+
+        // Every original edge is found exactly once.
+        Set<Integer> ids = new HashSet<Integer>();
+        int vertices = contracted.vertexSet().size();
+        for (EdgeCent e : contracted.edgeSet()) {
+            for (int id : contraction.getEdgeIDs(e)) {
+                assertTrue(ids.add(id));
+            }
+            ChainContraction.Chain<VAccess, EdgeCent> chain =
+                    contraction.getChain(e);
+            if (chain != null) {
+                vertices += chain.getVertices().size();
+                assertEquals(contracted.getEdgeWeight(e), chain.getLength(),
+                             TOLERANCE);
+                assertEquals(chain.getVertices().size() + 1,
+                             chain.getEdges().size());
+                assertTrue(contraction.getChainsAt(chain.getSource())
+                        .contains(chain));
+                assertTrue(contraction.getChainsAt(chain.getTarget())
+                        .contains(chain));
+            }
+        }
+        assertEquals(graph.edgeSet().size(), ids.size());
+        assertEquals(graph.vertexSet().size(), vertices);
+    }
+
+    @Test
+    public void testDistances() {
+        WeightedPseudoG<VAccess, EdgeCent> expected = graph();
+        WeightedPseudoG<VAccess, EdgeCent> graph = graph();
+        ChainContraction<VAccess, EdgeCent> contraction =
+                new ChainContraction<VAccess, EdgeCent>(
+                graph, new HashSet<VAccess>());
+        Dijkstra<VAccess, EdgeCent> dijkstra =
+                new Dijkstra<VAccess, EdgeCent>(expected);
+        Dijkstra<VAccess, EdgeCent> contractedDijkstra =
+                new Dijkstra<VAccess, EdgeCent>(
+                contraction.getContractedGraph());
+        for (int source = 1; source < SIZE * SIZE; source += 6) {
+            dijkstra.calculate(expected.getVertex(source));
+            contractedDijkstra.calculate(graph.getVertex(source));
+            contraction.expandDistances();
+            for (VAccess v : expected.vertexSet()) {
+                assertEquals(v.getDistance(),
+                             graph.getVertex(v.getID()).getDistance(),
+                             TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void testAccessibility() {
+        WeightedPseudoG<VAccess, EdgeCent> expected = graph();
+        new AccessibilityAnalyzer<EdgeCent>(expected,
+                                            destinations(expected)).compute();
+        WeightedPseudoG<VAccess, EdgeCent> graph = graph();
+        Set<VAccess> destinations = destinations(graph);
+        ChainContraction<VAccess, EdgeCent> contraction =
+                new ChainContraction<VAccess, EdgeCent>(graph, destinations);
+        assertNull(contraction.getChainOf(graph.getVertex(1003)));
+        AccessibilityAnalyzer.contracted(contraction, destinations).compute();
+        for (VAccess v : expected.vertexSet()) {
+            VAccess w = graph.getVertex(v.getID());
+            assertEquals(v.getClosestDestinationId(),
+                         w.getClosestDestinationId());
+            assertEquals(v.getDistanceToClosestDestination(),
+                         w.getDistanceToClosestDestination(), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testIncrementalAccessibility() {
+        WeightedPseudoG<VAccess, EdgeCent> expected = graph();
+        Set<VAccess> expectedDestinations = new HashSet<VAccess>();
+        expectedDestinations.add(expected.getVertex(7));
+        expectedDestinations.add(expected.getVertex(1003));
+        expectedDestinations.add(expected.getVertex(12));
+        new AccessibilityAnalyzer<EdgeCent>(expected, expectedDestinations)
+                .compute();
+        WeightedPseudoG<VAccess, EdgeCent> graph = graph();
+        Set<VAccess> destinations = destinations(graph);
+        ChainContraction<VAccess, EdgeCent> contraction =
+                new ChainContraction<VAccess, EdgeCent>(graph, destinations);
+        AccessibilityAnalyzer<EdgeCent> analyzer =
+                AccessibilityAnalyzer.contracted(contraction, destinations);
+        analyzer.compute();
+        // The ring is left without a destination.
+        analyzer.removeDestination(graph.getVertex(2002));
+        analyzer.addDestination(graph.getVertex(12));
+        for (VAccess v : expected.vertexSet()) {
+            VAccess w = graph.getVertex(v.getID());
+            assertEquals(v.getClosestDestinationId(),
+                         w.getClosestDestinationId());
+            assertEquals(v.getDistanceToClosestDestination(),
+                         w.getDistanceToClosestDestination(), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testNearestDestinations() {
+        WeightedPseudoG<VAccess, EdgeCent> expected = graph();
+        new AccessibilityAnalyzer<EdgeCent>(expected, destinations(expected))
+                .computeNearest(2);
+        WeightedPseudoG<VAccess, EdgeCent> graph = graph();
+        Set<VAccess> destinations = destinations(graph);
+        ChainContraction<VAccess, EdgeCent> contraction =
+                new ChainContraction<VAccess, EdgeCent>(graph, destinations);
+        AccessibilityAnalyzer.contracted(contraction, destinations)
+                .computeNearest(2);
+        for (VAccess v : expected.vertexSet()) {
+            VAccess w = graph.getVertex(v.getID());
+            assertEquals(v.getNearestDestinationCount(),
+                         w.getNearestDestinationCount());
+            for (int i = 0; i < v.getNearestDestinationCount(); i++) {
+                assertEquals(v.getNearestDestinationId(i),
+                             w.getNearestDestinationId(i));
+                assertEquals(v.getNearestDestinationDistance(i),
+                             w.getNearestDestinationDistance(i), TOLERANCE);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirected() {
+        new ChainContraction<VAccess, EdgeCent>(
+                new DirectedWeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class), new HashSet<VAccess>());
+    }
+
+    private Set<VAccess> destinations(WeightedKeyedGraph<VAccess, ?> graph) {
+        Set<VAccess> destinations = new HashSet<VAccess>();
+        destinations.add(graph.getVertex(7));
+        destinations.add(graph.getVertex(1003));
+        destinations.add(graph.getVertex(2002));
+        return destinations;
+    }
+
+    /**
+     * Returns a square grid whose edges are split into chains of up to three
+     * inner vertices (ids from 1000), with a chain looping back to vertex 1,
+     * a loop on vertex {@code SIZE} and a separate ring (ids from 2000).
+     */
+    private WeightedPseudoG<VAccess, EdgeCent> graph() {
+        WeightedPseudoG<VAccess, EdgeCent> graph =
+                new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class);
+        Random random = new Random(13L);
+        int[] next = {1000, 1};
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                final int v = 1 + r * SIZE + c;
+                if (c + 1 < SIZE) {
+                    addChain(graph, random, v, v + 1, random.nextInt(4), next);
+                }
+                if (r + 1 < SIZE) {
+                    addChain(graph, random, v + SIZE, v, random.nextInt(4),
+                             next);
+                }
+            }
+        }
+        addChain(graph, random, 1, 1, 2, next);
+        graph.setEdgeWeight(graph.addEdge(SIZE, SIZE, next[1]++), 1.0);
+        for (int i = 0; i < 6; i++) {
+            graph.setEdgeWeight(graph.addEdge(2000 + i, 2000 + (i + 1) % 6,
+                                              next[1]++),
+                                1.0 + random.nextDouble());
+        }
+        return graph;
+    }
+
+    /**
+     * Adds a chain of the given number of inner vertices between the given
+     * vertices.
+     *
+     * @param next The next inner vertex id and the next edge id
+     */
+    private void addChain(WeightedPseudoG<VAccess, EdgeCent> graph,
+                          Random random, int source, int target, int inner,
+                          int[] next) {
+        int previous = source;
+        for (int i = 0; i <= inner; i++) {
+            final int v = (i == inner) ? target : next[0]++;
+            graph.setEdgeWeight(graph.addEdge(previous, v, next[1]++),
+                                1.0 + random.nextDouble());
+            previous = v;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.model;
+
+import org.javanetworkanalyzer.data.VDijkstra;
+import org.javanetworkanalyzer.data.VId;
+import org.jgrapht.graph.ClassBasedEdgeFactory;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link IntVertexMap} and the bulk edge loading of keyed graphs.
+ */
+public class IntVertexMapTest {
+
+    @Test
+    public void testCompactIds() {
+        IntVertexMap<VId> map = new IntVertexMap<VId>();
+        for (int i = 1; i <= 1000; i++) {
+            map.put(i, new VId(i));
+        }
+        assertEquals(1000, map.size());
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, map.get(i).getID());
+        }
+        assertNull(map.get(0));
+        assertNull(map.get(1001));
+    }
+
+    @Test
+    public void testSparseAndNegativeIds() {
+        IntVertexMap<VId> map = new IntVertexMap<VId>();
+        int[] ids = {-7, Integer.MIN_VALUE, Integer.MAX_VALUE, 1000000, 3,
+            -1, 123456789};
+        for (int id : ids) {
+            map.put(id, new VId(id));
+        }
+        assertEquals(ids.length, map.size());
+        for (int id : ids) {
+            assertTrue(map.containsKey(id));
+            assertEquals(id, map.get(id).getID());
+        }
+        assertFalse(map.containsKey(999999));
+        // Replacing a vertex does not change the size.
+        map.put(1000000, new VId(1000000));
+        assertEquals(ids.length, map.size());
+    }
+
+    @Test
+    public void testHashedIdsMoveToDenseArray() {
+        IntVertexMap<VId> map = new IntVertexMap<VId>();
+        // 100 is not compact at first, so it is hashed.
+        map.put(100, new VId(100));
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new VId(i));
+        }
+        assertEquals(101, map.size());
+        for (int i = 0; i <= 100; i++) {
+            assertEquals(i, map.get(i).getID());
+        }
+    }
+
+    @Test
+    public void testAddEdges() {
+        WeightedPseudoG<VDijkstra, Edge> g =
+                new WeightedPseudoG<VDijkstra, Edge>(VDijkstra.class,
+                new ClassBasedEdgeFactory<VDijkstra, Edge>(Edge.class), 4);
+        g.addEdges(new int[]{1, 2, 3}, new int[]{2, 3, 1},
+                   new int[]{10, 20, 30}, new double[]{1.5, 2.5, 3.5});
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(3, g.edgeSet().size());
+        Edge e = g.getEdge(g.getVertex(2), g.getVertex(3));
+        assertEquals(20, e.getID());
+        assertEquals(2.5, g.getEdgeWeight(e), 0.0);
+
+        DirectedPseudoG<VId, Edge> d =
+                new DirectedPseudoG<VId, Edge>(VId.class, Edge.class);
+        d.addEdges(new int[]{5, 5}, new int[]{6, 7}, null);
+        assertEquals(3, d.vertexSet().size());
+        assertEquals(-1, d.getEdge(d.getVertex(5), d.getVertex(7)).getID());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgesLengthMismatch() {
+        new PseudoG<VId, Edge>(VId.class, Edge.class)
+                .addEdges(new int[]{1, 2}, new int[]{2}, null);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.progress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import org.javanetworkanalyzer.analyzers.WeightedGraphAnalyzer;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.graphcreators.GraphCreator;
+import org.javanetworkanalyzer.graphcreators.WeightedGraphCreator;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link ConcurrentProgressMonitor} and its {@link StripedCounter}.
+ */
+public class ConcurrentProgressMonitorTest {
+
+    private static final int THREADS = 8;
+    private static final int COUNT = 100000;
+
+    @Test
+    public void testStripedCounter() throws Exception {
+        final StripedCounter counter = new StripedCounter();
+        run(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < COUNT; i++) {
+                    counter.increment();
+                }
+            }
+        });
+        assertEquals((long) THREADS * COUNT, counter.sum());
+        counter.reset();
+        assertEquals(0L, counter.sum());
+    }
+
+    @Test
+    public void testConcurrentProgress() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ConcurrentProgressMonitor pm = new ConcurrentProgressMonitor(
+                new PrintStream(bytes, true), 5L, 4);
+        pm.startTask("test", (long) THREADS * COUNT);
+        run(new Runnable() {
+            @Override
+            public void run() {
+                // Each thread counts its own iterations.
+                for (int i = 1; i <= COUNT; i++) {
+                    pm.setProgress(i, 0L);
+                }
+            }
+        });
+        assertEquals((long) THREADS * COUNT, pm.getCount());
+        assertEquals(100, pm.getPercentageComplete());
+        pm.endTask();
+        assertEquals(0L, pm.getRemainingMillis());
+        assertTrue(bytes.toString().endsWith("(00:00:00)\n"));
+        assertTrue(bytes.toString().contains("100%"));
+    }
+
+    @Test
+    public void testNestedTasks() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph =
+                new WeightedGraphCreator<VWCent, EdgeCent>(
+                "./files/graph2D.edges.csv", GraphCreator.UNDIRECTED,
+                VWCent.class, EdgeCent.class, "length").loadGraph();
+        final int n = graph.vertexSet().size();
+        final ConcurrentProgressMonitor pm = new ConcurrentProgressMonitor(
+                new PrintStream(new ByteArrayOutputStream()), 5L, 4) {
+            @Override
+            protected void report(int percentageComplete, long count,
+                                  long elapsedMillis, long remainingMillis,
+                                  boolean done) {
+                assertTrue(count <= n);
+                if (done) {
+                    assertEquals(n, count);
+                    assertEquals(100, percentageComplete);
+                }
+            }
+        };
+        // computeAll starts and ends its own task inside the outer one.
+        pm.startTask("outer", 0);
+        new WeightedGraphAnalyzer<EdgeCent>(graph, pm).computeAll();
+        assertEquals(n, pm.getCount());
+        assertEquals(n, pm.getEnd());
+        pm.endTask();
+        // A new task starts from zero.
+        final ConcurrentProgressMonitor again = new ConcurrentProgressMonitor(
+                new PrintStream(new ByteArrayOutputStream()), 5L, 4);
+        again.startTask("again", 10);
+        again.setProgress(3);
+        again.endTask();
+        again.startTask("again", 10);
+        assertEquals(0L, again.getCount());
+        again.setProgress(3);
+        assertEquals(3L, again.getCount());
+        assertEquals(30, again.getPercentageComplete());
+        again.endTask();
+    }
+
+    private void run(Runnable task) throws InterruptedException {
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            threads[i] = new Thread(task);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Java Network Analyzer provides a collection of graph theory and social
+ * network analysis algorithms implemented on mathematical graphs using the
+ * <a href="http://www.jgrapht.org/">JGraphT</a> library.
+ *
+ * Java Network Analyzer is developed by the GIS group of the DECIDE team of the 
+ * Lab-STICC CNRS laboratory, see <http://www.lab-sticc.fr/>.
+ * It is part of the OrbisGIS tool ecosystem.
+ *
+ * The GIS group of the DECIDE team is located at :
+ *
+ * Laboratoire Lab-STICC – CNRS UMR 6285
+ * Equipe DECIDE
+ * UNIVERSITÉ DE BRETAGNE-SUD
+ * Institut Universitaire de Technologie de Vannes
+ * 8, Rue Montaigne - BP 561 56017 Vannes Cedex
+ * 
+ * Java Network Analyzer is distributed under LGPL 3 license.
+ *
+ * Copyright (C) 2012-2014 CNRS (IRSTV CNRS FR 2488)
+ * Copyright (C) 2015-2018 CNRS (Lab-STICC CNRS UMR 6285)
+ *
+ * Java Network Analyzer is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * Java Network Analyzer is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * Java Network Analyzer. If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * For more information, please consult: <http://www.orbisgis.org/>
+ * or contact directly:
+ * info_at_ orbisgis.org
+ */
+package org.javanetworkanalyzer.results;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.javanetworkanalyzer.analyzers.AccessibilityAnalyzer;
+import org.javanetworkanalyzer.analyzers.WeightedGraphAnalyzer;
+import org.javanetworkanalyzer.data.VAccess;
+import org.javanetworkanalyzer.data.VWCent;
+import org.javanetworkanalyzer.generators.GridGraphGenerator;
+import org.javanetworkanalyzer.model.EdgeCent;
+import org.javanetworkanalyzer.model.WeightedKeyedGraph;
+import org.javanetworkanalyzer.model.WeightedPseudoG;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests streaming the results of the analyzers to {@link ResultSink}s.
+ */
+public class ResultSinkTest {
+
+    private static final double TOLERANCE = 1E-12;
+
+    @Test
+    public void testBinaryCentrality() throws Exception {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph = centralityGraph();
+        File file = File.createTempFile("centrality", ".bin");
+        file.deleteOnExit();
+        // Small blocks to write several blocks per kind.
+        ResultSink sink = new BinaryResultSink(file, 7);
+        WeightedGraphAnalyzer<EdgeCent> analyzer =
+                new WeightedGraphAnalyzer<EdgeCent>(graph);
+        analyzer.setResultSink(sink);
+        analyzer.computeAll();
+        sink.close();
+
+        CollectingSink read = new CollectingSink();
+        int n = graph.vertexSet().size();
+        int m = graph.edgeSet().size();
+        assertEquals(4 * n + m, BinaryResultReader.read(file, read));
+        assertEquals(n, read.closeness.size());
+        assertEquals(n, read.harmonicCloseness.size());
+        assertEquals(n, read.wassermanFaustCloseness.size());
+        assertEquals(n, read.betweenness.size());
+        assertEquals(m, read.edgeBetweenness.size());
+        for (VWCent v : graph.vertexSet()) {
+            assertEquals(v.getCloseness(), read.closeness.get(v.getID()),
+                         TOLERANCE);
+            assertEquals(v.getHarmonicCloseness(),
+                         read.harmonicCloseness.get(v.getID()), TOLERANCE);
+            assertEquals(v.getWassermanFaustCloseness(),
+                         read.wassermanFaustCloseness.get(v.getID()),
+                         TOLERANCE);
+            assertEquals(v.getBetweenness(), read.betweenness.get(v.getID()),
+                         TOLERANCE);
+        }
+        for (EdgeCent e : graph.edgeSet()) {
+            assertEquals(e.getBetweenness(),
+                         read.edgeBetweenness.get(e.getID()), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void testCSVAccessibility() throws Exception {
+        WeightedKeyedGraph<VAccess, EdgeCent> graph =
+                new WeightedPseudoG<VAccess, EdgeCent>(
+                VAccess.class, EdgeCent.class);
+        new GridGraphGenerator(10, 10, 2L).generate(graph);
+        Set<VAccess> destinations = new HashSet<VAccess>();
+        destinations.add(graph.getVertex(1));
+        destinations.add(graph.getVertex(100));
+        File file = File.createTempFile("accessibility", ".csv");
+        file.deleteOnExit();
+        ResultSink sink = new CSVResultSink(file);
+        AccessibilityAnalyzer<EdgeCent> analyzer =
+                new AccessibilityAnalyzer<EdgeCent>(graph, destinations);
+        analyzer.setResultSink(sink);
+        analyzer.compute();
+        sink.close();
+
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            assertEquals("\"result\";\"id\";\"value\";\"destination\"",
+                         reader.readLine());
+            int lines = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.replace("\"", "").split(";");
+                assertEquals("nearest_destination", fields[0]);
+                VAccess v = graph.getVertex(Integer.parseInt(fields[1]));
+                assertEquals(v.getDistanceToClosestDestination(),
+                             Double.parseDouble(fields[2]), TOLERANCE);
+                assertEquals(v.getClosestDestinationId(),
+                             Integer.parseInt(fields[3]));
+                lines++;
+            }
+            assertEquals(graph.vertexSet().size(), lines);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private WeightedKeyedGraph<VWCent, EdgeCent> centralityGraph() {
+        WeightedKeyedGraph<VWCent, EdgeCent> graph =
+                new WeightedPseudoG<VWCent, EdgeCent>(
+                VWCent.class, EdgeCent.class);
+        new GridGraphGenerator(6, 8, 1L).generate(graph);
+        return graph;
+    }
+
+    private static class CollectingSink implements ResultSink {
+
+        private final Map<Integer, Double> closeness =
+                new HashMap<Integer, Double>();
+        private final Map<Integer, Double> harmonicCloseness =
+                new HashMap<Integer, Double>();
+        private final Map<Integer, Double> wassermanFaustCloseness =
+                new HashMap<Integer, Double>();
+        private final Map<Integer, Double> betweenness =
+                new HashMap<Integer, Double>();
+        private final Map<Integer, Double> edgeBetweenness =
+                new HashMap<Integer, Double>();
+
+        @Override
+        public void closeness(int vertexId, double value) {
+            closeness.put(vertexId, value);
+        }
+
+        @Override
+        public void harmonicCloseness(int vertexId, double value) {
+            harmonicCloseness.put(vertexId, value);
+        }
+
+        @Override
+        public void wassermanFaustCloseness(int vertexId, double value) {
+            wassermanFaustCloseness.put(vertexId, value);
+        }
+
+        @Override
+        public void betweenness(int vertexId, double value) {
+            betweenness.put(vertexId, value);
+        }
+
+        @Override
+        public void edgeBetweenness(int edgeId, double value) {
+            edgeBetweenness.put(edgeId, value);
+        }
+
+        @Override
+        public void nearestDestination(int vertexId, int destinationId,
+                                       double distance) {
+            fail();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}